@@ -1,7 +1,12 @@
 package org.alvarowau.productcatalog.application.mapper;
 
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangeResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
 
@@ -67,6 +72,26 @@ public class ProductApplicationMapper {
         }
     }
 
+    /**
+     * Calcula los campos que cambiaría un UpdateProductRequest sobre un producto, sin modificarlo.
+     * <p>
+     * La actualización se aplica sobre una copia con las mismas reglas que
+     * {@link #updateDomainProduct(Product, UpdateProductRequest)} y se compara con el producto original,
+     * por lo que un request que reenvía los valores actuales no produce cambios.
+     *
+     * @param product Producto del dominio en su estado actual
+     * @param request DTO con los nuevos valores
+     * @return Campos modificados (vacío si el request no cambia nada)
+     */
+    public static ProductChanges toProductChanges(Product product, UpdateProductRequest request) {
+        Product updated = new Product(
+                product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), product.getVersion()
+        );
+        updateDomainProduct(updated, request);
+        return ProductChanges.between(product, updated);
+    }
+
     /**
      * Convierte un Product del dominio a un ProductResponse DTO.
      *
@@ -79,10 +104,25 @@ public class ProductApplicationMapper {
         }
         return new ProductResponse(
                 product.getId(), product.getName(), product.getDescription(),
-                product.getPrice(), product.getStock(), product.getCategory(), product.getStatus()
+                product.getPrice(), product.getStock(), product.getCategory(), product.getStatus(),
+                product.getVersion()
         );
     }
 
+    /**
+     * Convierte un cambio del historial del catálogo a un ProductChangeResponse DTO.
+     *
+     * @param change Cambio del dominio a convertir
+     * @return ProductChangeResponse (sin producto si el cambio es una lápida) o null si el cambio es null
+     */
+    public static ProductChangeResponse toProductChangeResponse(ProductChangeEvent change) {
+        if (change == null) {
+            return null;
+        }
+        return new ProductChangeResponse(change.getSequence(), change.getType(), change.getProductId(),
+                toProductResponse(change.getProduct()));
+    }
+
     /**
      * Convierte una lista de Products del dominio a una lista de ProductResponse DTOs.
      *
@@ -109,4 +149,20 @@ public class ProductApplicationMapper {
         }
         return optionalProduct.map(ProductApplicationMapper::toProductResponse);
     }
+
+    /**
+     * Convierte un ProductFilterRequest a un filtro del dominio.
+     *
+     * @param request DTO con los criterios de filtrado
+     * @return Filtro del dominio (vacío si el request es null)
+     */
+    public static ProductFilter toProductFilter(ProductFilterRequest request) {
+        if (request == null) {
+            return new ProductFilter();
+        }
+        return new ProductFilter(
+                request.getCategory(), request.getStatus(), request.getMinPrice(),
+                request.getMaxPrice(), request.getInStock()
+        );
+    }
 }
\ No newline at end of file
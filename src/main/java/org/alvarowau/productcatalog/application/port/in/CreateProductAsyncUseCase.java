@@ -0,0 +1,30 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de {@link CreateProductUseCase}.
+ * <p>
+ * Define el contrato para crear un producto sin bloquear al llamante siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface CreateProductAsyncUseCase {
+
+    /**
+     * Crea un nuevo producto en segundo plano.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Retornar de inmediato, ejecutando la creación en otro hilo</li>
+     *   <li>Completar el resultado igual que {@link CreateProductUseCase#createProduct(CreateProductRequest)}</li>
+     *   <li>Completarlo con error, en lugar de lanzarlo, si la creación falla o no se admite más trabajo</li>
+     * </ul>
+     *
+     * @param request DTO con los datos necesarios para crear el producto
+     * @return CompletableFuture con los datos del producto creado
+     */
+    CompletableFuture<ProductResponse> createProduct(CreateProductRequest request);
+}
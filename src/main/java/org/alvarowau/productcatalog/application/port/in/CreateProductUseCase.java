@@ -1,8 +1,11 @@
 package org.alvarowau.productcatalog.application.port.in;
 
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 
+import java.util.List;
+
 /**
  * Caso de uso para la creación de nuevos productos.
  * <p>
@@ -27,4 +30,20 @@ public interface CreateProductUseCase {
      * @throws IllegalArgumentException si los datos de entrada no son válidos
      */
     ProductResponse createProduct(CreateProductRequest request);
+
+    /**
+     * Crea muchos productos en una sola operación.
+     * <p>
+     * Implementaciones de este método deben:
+     * <ul>
+     *   <li>Validar cada elemento por separado, sin rechazar la petición completa por un elemento inválido</li>
+     *   <li>Persistir los productos válidos por bloques, agrupando las inserciones</li>
+     *   <li>Retornar un resultado por elemento, en el orden de la petición</li>
+     * </ul>
+     *
+     * @param requests Lista de DTOs con los datos de cada producto
+     * @return ProductBulkResponse con los totales y el resultado de cada elemento
+     * @throws IllegalArgumentException si la lista es nula, está vacía o supera el máximo permitido
+     */
+    ProductBulkResponse createProducts(List<CreateProductRequest> requests);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de {@link DeleteProductUseCase}.
+ * <p>
+ * Define el contrato para eliminar un producto sin bloquear al llamante siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface DeleteProductAsyncUseCase {
+
+    /**
+     * Elimina un producto existente en segundo plano.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Retornar de inmediato, ejecutando la eliminación en otro hilo</li>
+     *   <li>Completar el resultado igual que {@link DeleteProductUseCase#deleteProduct(Long)}</li>
+     *   <li>Completarlo con error, en lugar de lanzarlo, si la eliminación falla o no se admite más trabajo</li>
+     * </ul>
+     *
+     * @param id Identificador único del producto a eliminar
+     * @return CompletableFuture con true si el producto fue eliminado, false si no se encontró
+     */
+    CompletableFuture<Boolean> deleteProduct(Long id);
+}
@@ -1,5 +1,10 @@
 package org.alvarowau.productcatalog.application.port.in;
 
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductDeleteResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
+
+import java.util.List;
+
 /**
  * Caso de uso para la eliminación de productos existentes.
  * <p>
@@ -24,4 +29,36 @@ public interface DeleteProductUseCase {
      * @throws IllegalArgumentException si el ID proporcionado es nulo
      */
     boolean deleteProduct(Long id);
+
+    /**
+     * Elimina varios productos identificados por sus IDs.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Eliminar los productos por bloques con sentencias por conjuntos, no uno a uno</li>
+     *   <li>Ignorar los IDs que no correspondan a ningún producto</li>
+     *   <li>Realizar las operaciones de limpieza asociadas a cada producto eliminado</li>
+     * </ul>
+     *
+     * @param ids Identificadores de los productos a eliminar
+     * @return ProductDeleteResponse con el número de productos eliminados
+     * @throws IllegalArgumentException si la lista es nula, está vacía, contiene nulos o supera el máximo permitido
+     */
+    ProductDeleteResponse deleteProductsByIds(List<Long> ids);
+
+    /**
+     * Elimina todos los productos que cumplen los criterios de filtrado.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Exigir al menos la categoría o el estado, para evitar vaciar el catálogo por error</li>
+     *   <li>Procesar los productos por bloques, cada uno en una transacción corta</li>
+     *   <li>Realizar las operaciones de limpieza asociadas a cada producto eliminado</li>
+     * </ul>
+     *
+     * @param filter Criterios de filtrado (los campos nulos se ignoran)
+     * @return ProductDeleteResponse con el número de productos eliminados
+     * @throws IllegalArgumentException si no se indica categoría ni estado, o los criterios no son válidos
+     */
+    ProductDeleteResponse deleteProductsByFilter(ProductFilterRequest filter);
 }
\ No newline at end of file
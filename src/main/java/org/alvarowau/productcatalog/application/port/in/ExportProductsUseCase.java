@@ -0,0 +1,31 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso para la exportación completa del catálogo de productos.
+ * <p>
+ * Define el contrato para volcar todos los productos a sistemas externos siguiendo
+ * el principio de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface ExportProductsUseCase {
+
+    /**
+     * Recorre todo el catálogo entregando cada producto al consumidor indicado.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Leer los productos de forma incremental, sin materializar el catálogo en memoria</li>
+     *   <li>Entregar los productos ordenados por ID ascendente</li>
+     *   <li>Liberar los recursos de lectura (cursores, conexiones) al terminar o ante un error</li>
+     * </ul>
+     * El consumidor se invoca de forma síncrona, por lo que un consumidor lento
+     * ralentiza la lectura del repositorio (control de flujo natural).
+     *
+     * @param consumer Consumidor que recibe cada producto exportado
+     * @throws IllegalArgumentException si el consumidor es nulo
+     */
+    void exportProducts(Consumer<ProductResponse> consumer);
+}
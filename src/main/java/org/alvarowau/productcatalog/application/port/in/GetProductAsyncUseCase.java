@@ -0,0 +1,30 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de {@link GetProductUseCase}.
+ * <p>
+ * Define el contrato para consultar un producto sin bloquear al llamante siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface GetProductAsyncUseCase {
+
+    /**
+     * Obtiene un producto específico por su identificador único en segundo plano.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Retornar de inmediato, ejecutando la consulta en otro hilo</li>
+     *   <li>Completar el resultado igual que {@link GetProductUseCase#getProductById(Long)}</li>
+     *   <li>Completarlo con error, en lugar de lanzarlo, si la consulta falla o no se admite más trabajo</li>
+     * </ul>
+     *
+     * @param id Identificador único del producto a buscar
+     * @return CompletableFuture con el ProductResponse si se encuentra el producto, o vacío si no existe
+     */
+    CompletableFuture<Optional<ProductResponse>> getProductById(Long id);
+}
@@ -0,0 +1,30 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangesResponse;
+
+/**
+ * Caso de uso para la sincronización incremental del catálogo.
+ * <p>
+ * Define el contrato para consultar los cambios de productos posteriores a una secuencia
+ * siguiendo el principio de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface GetProductChangesUseCase {
+
+    /**
+     * Recupera una página de cambios posteriores a la secuencia indicada.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Devolver las altas y modificaciones con el estado actual del producto y las eliminaciones
+     *       como lápidas, en orden de secuencia</li>
+     *   <li>Indicar la secuencia desde la que pedir la página siguiente, que no cambia si no hay
+     *       cambios nuevos</li>
+     * </ul>
+     *
+     * @param since secuencia a partir de la cual (exclusiva) se recuperan cambios; 0 para empezar desde el principio
+     * @param limit número máximo de cambios a examinar
+     * @return página de cambios y secuencia siguiente
+     * @throws IllegalArgumentException si la secuencia es negativa o el límite no está entre 1 y el máximo permitido
+     */
+    ProductChangesResponse getChanges(long since, int limit);
+}
@@ -1,5 +1,8 @@
 package org.alvarowau.productcatalog.application.port.in;
 
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBatchResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductPageResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 
 import java.util.List;
@@ -30,6 +33,22 @@ public interface GetProductUseCase {
      */
     Optional<ProductResponse> getProductById(Long id);
 
+    /**
+     * Obtiene varios productos por sus identificadores en una sola operación.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Recuperar todos los productos con una única consulta al repositorio</li>
+     *   <li>Devolver los productos en el orden de los IDs solicitados (los IDs repetidos se devuelven una vez)</li>
+     *   <li>Informar de los IDs que no corresponden a ningún producto</li>
+     * </ul>
+     *
+     * @param ids Identificadores de los productos a buscar
+     * @return ProductBatchResponse con los productos encontrados y los IDs inexistentes
+     * @throws IllegalArgumentException si la lista es nula, está vacía, contiene IDs nulos o supera el máximo permitido
+     */
+    ProductBatchResponse getProductsByIds(List<Long> ids);
+
     /**
      * Obtiene todos los productos disponibles en el catálogo.
      * <p>
@@ -44,4 +63,39 @@ public interface GetProductUseCase {
      *         Retorna una lista vacía si no hay productos.
      */
     List<ProductResponse> getAllProducts();
+
+    /**
+     * Obtiene una página del catálogo usando paginación por cursor (keyset pagination).
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Decodificar el cursor recibido para obtener el punto de continuación</li>
+     *   <li>Recuperar como máximo {@code limit} productos posteriores a ese punto</li>
+     *   <li>Generar el cursor de la siguiente página solo si quedan más productos</li>
+     * </ul>
+     *
+     * @param cursor Cursor opaco devuelto por la página anterior, o null para la primera página
+     * @param limit Número máximo de productos de la página
+     * @return ProductPageResponse con los productos de la página y el cursor siguiente
+     * @throws IllegalArgumentException si el cursor no es válido o el límite está fuera de rango
+     */
+    ProductPageResponse getProductPage(String cursor, int limit);
+
+    /**
+     * Obtiene una página de productos que cumplen los criterios de filtrado.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Validar la coherencia de los criterios (por ejemplo, el rango de precios)</li>
+     *   <li>Resolver el filtro en el repositorio, sin filtrar en memoria</li>
+     *   <li>Paginar el resultado por cursor, igual que {@link #getProductPage(String, int)}</li>
+     * </ul>
+     *
+     * @param filter Criterios de filtrado (los campos nulos se ignoran)
+     * @param cursor Cursor opaco devuelto por la página anterior, o null para la primera página
+     * @param limit Número máximo de productos de la página
+     * @return ProductPageResponse con los productos que cumplen el filtro y el cursor siguiente
+     * @throws IllegalArgumentException si los criterios, el cursor o el límite no son válidos
+     */
+    ProductPageResponse getProductsByFilter(ProductFilterRequest filter, String cursor, int limit);
 }
\ No newline at end of file
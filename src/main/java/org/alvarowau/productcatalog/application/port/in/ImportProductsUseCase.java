@@ -0,0 +1,36 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductImportResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso para la importación masiva de productos desde un fichero.
+ * <p>
+ * Define el contrato para cargar catálogos de proveedores de cualquier tamaño siguiendo
+ * el principio de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface ImportProductsUseCase {
+
+    /**
+     * Importa todos los registros de un origen.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Leer el origen de forma incremental, con un número acotado de registros en memoria
+     *       independientemente del tamaño de la entrada</li>
+     *   <li>Validar y normalizar cada registro con las mismas reglas que la creación de un producto,
+     *       marcando como fallidos los inválidos sin detener la importación</li>
+     *   <li>Persistir los productos válidos por bloques, agrupando las inserciones</li>
+     *   <li>Informar periódicamente del avance al consumidor indicado</li>
+     * </ul>
+     * Si la lectura del origen falla, los bloques ya guardados se conservan y la respuesta
+     * indica el motivo por el que se interrumpió la importación.
+     *
+     * @param source Origen de los registros
+     * @param progress Consumidor que recibe los totales acumulados durante la importación
+     * @return Totales y errores de la importación
+     * @throws IllegalArgumentException si el origen o el consumidor son nulos
+     */
+    ProductImportResponse importProducts(ProductRecordSource source, Consumer<ProductImportResponse> progress);
+}
@@ -0,0 +1,36 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+
+import java.io.IOException;
+
+/**
+ * Origen de registros de una importación de productos (un fichero CSV, NDJSON, etc.).
+ * <p>
+ * Separa las dos fases de la lectura para poder repartirlas entre hilos:
+ * <ul>
+ *   <li>{@link #nextRecord()} corta el flujo de entrada en registros. Es secuencial y solo
+ *       la invoca un hilo</li>
+ *   <li>{@link #decode(String)} convierte un registro en un DTO de creación. No guarda estado
+ *       entre llamadas y puede invocarse desde varios hilos a la vez</li>
+ * </ul>
+ */
+public interface ProductRecordSource {
+
+    /**
+     * Lee el siguiente registro sin decodificarlo.
+     *
+     * @return texto del registro, o null si no quedan más
+     * @throws IOException si falla la lectura de la entrada
+     */
+    String nextRecord() throws IOException;
+
+    /**
+     * Decodifica un registro leído con {@link #nextRecord()}.
+     *
+     * @param record texto del registro
+     * @return DTO con los datos del producto
+     * @throws IllegalArgumentException si el registro está mal formado
+     */
+    CreateProductRequest decode(String record);
+}
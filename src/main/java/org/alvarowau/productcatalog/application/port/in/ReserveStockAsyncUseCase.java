@@ -0,0 +1,31 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de {@link ReserveStockUseCase}.
+ * <p>
+ * Define el contrato para reservar stock sin bloquear al llamante siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface ReserveStockAsyncUseCase {
+
+    /**
+     * Descuenta unidades del stock de un producto en segundo plano.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Retornar de inmediato, ejecutando la reserva en otro hilo</li>
+     *   <li>Completar el resultado igual que {@link ReserveStockUseCase#reserveStock(Long, StockReservationRequest)}</li>
+     *   <li>Completarlo con error, en lugar de lanzarlo, si la reserva falla o no se admite más trabajo</li>
+     * </ul>
+     *
+     * @param id Identificador único del producto
+     * @param request DTO con las unidades a reservar
+     * @return CompletableFuture con el resultado de la reserva
+     */
+    CompletableFuture<StockReservationResult> reserveStock(Long id, StockReservationRequest request);
+}
@@ -0,0 +1,30 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
+
+/**
+ * Caso de uso para la reserva de stock de un producto.
+ * <p>
+ * Define el contrato para descontar unidades del inventario siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface ReserveStockUseCase {
+
+    /**
+     * Descuenta unidades del stock de un producto de forma atómica.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Validar que la cantidad sea mayor que cero</li>
+     *   <li>Descontar el stock solo si hay unidades suficientes, sin leer antes el producto</li>
+     *   <li>Cambiar el estado a OUT_OF_STOCK si el stock llega a cero y el producto no está descontinuado</li>
+     * </ul>
+     *
+     * @param id Identificador único del producto
+     * @param request DTO con las unidades a reservar
+     * @return resultado de la reserva
+     * @throws IllegalArgumentException si el ID es nulo o la cantidad no es positiva
+     */
+    StockReservationResult reserveStock(Long id, StockReservationRequest request);
+}
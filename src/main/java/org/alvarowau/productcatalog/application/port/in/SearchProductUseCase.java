@@ -0,0 +1,40 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.domain.model.SearchMode;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+
+import java.util.List;
+
+/**
+ * Caso de uso para la búsqueda de texto completo de productos.
+ * <p>
+ * Define el contrato para buscar productos por palabras de su nombre y descripción
+ * siguiendo el principio de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface SearchProductUseCase {
+
+    /**
+     * Busca productos por texto libre sobre el nombre y la descripción.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Normalizar la consulta igual que el texto indexado (minúsculas, sin acentos)</li>
+     *   <li>Resolver la consulta contra el índice, sin recorrer el repositorio</li>
+     *   <li>Devolver los productos ordenados por relevancia</li>
+     * </ul>
+     *
+     * @param query Texto libre de la consulta
+     * @param mode Modo de combinación de los términos (AND u OR)
+     * @param limit Número máximo de resultados
+     * @return Lista de ProductResponse ordenada por relevancia (vacía si no hay coincidencias)
+     * @throws IllegalArgumentException si la consulta está vacía o el límite está fuera de rango
+     */
+    List<ProductResponse> searchProducts(String query, SearchMode mode, int limit);
+
+    /**
+     * Reconstruye el índice de búsqueda a partir del contenido actual del repositorio.
+     * <p>
+     * Se utiliza al arrancar la aplicación o para recuperar un índice desincronizado.
+     */
+    void rebuildSearchIndex();
+}
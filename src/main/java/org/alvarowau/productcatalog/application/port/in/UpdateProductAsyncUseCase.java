@@ -0,0 +1,43 @@
+package org.alvarowau.productcatalog.application.port.in;
+
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante asíncrona de {@link UpdateProductUseCase}.
+ * <p>
+ * Define el contrato para actualizar un producto sin bloquear al llamante siguiendo el principio
+ * de Arquitectura Hexagonal como puerto de entrada.
+ */
+public interface UpdateProductAsyncUseCase {
+
+    /**
+     * Actualiza un producto existente en segundo plano, sobre la versión que lea.
+     *
+     * @param id Identificador único del producto a actualizar
+     * @param request DTO con los nuevos datos del producto (campos nulos se ignoran)
+     * @return CompletableFuture con los datos actualizados del producto
+     */
+    default CompletableFuture<ProductResponse> updateProduct(Long id, UpdateProductRequest request) {
+        return updateProduct(id, request, null);
+    }
+
+    /**
+     * Actualiza un producto existente en segundo plano.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Retornar de inmediato, ejecutando la actualización en otro hilo</li>
+     *   <li>Completar el resultado igual que {@link UpdateProductUseCase#updateProduct(Long, UpdateProductRequest, Long)}</li>
+     *   <li>Completarlo con error, en lugar de lanzarlo, si la actualización falla o no se admite más trabajo</li>
+     * </ul>
+     *
+     * @param id Identificador único del producto a actualizar
+     * @param request DTO con los nuevos datos del producto (campos nulos se ignoran)
+     * @param expectedVersion Versión que el cliente espera modificar, o null para usar la versión leída
+     * @return CompletableFuture con los datos actualizados del producto y su nueva versión
+     */
+    CompletableFuture<ProductResponse> updateProduct(Long id, UpdateProductRequest request, Long expectedVersion);
+}
@@ -1,5 +1,6 @@
 package org.alvarowau.productcatalog.application.port.in;
 
+import org.alvarowau.productcatalog.domain.exception.ProductVersionConflictException;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
 
@@ -28,5 +29,22 @@ public interface UpdateProductUseCase {
      * @return ProductResponse con los datos actualizados del producto
      * @throws IllegalArgumentException si el ID es nulo o el request es inválido
      */
-    ProductResponse updateProduct(Long id, UpdateProductRequest request);
+    default ProductResponse updateProduct(Long id, UpdateProductRequest request) {
+        return updateProduct(id, request, null);
+    }
+
+    /**
+     * Actualiza un producto existente solo si su versión actual es la indicada.
+     * <p>
+     * La versión se comprueba al leer el producto y de nuevo en la propia escritura,
+     * de modo que dos actualizaciones concurrentes nunca se sobrescriben en silencio.
+     *
+     * @param id Identificador único del producto a actualizar
+     * @param request DTO con los nuevos datos del producto (campos nulos se ignoran)
+     * @param expectedVersion Versión que el cliente espera modificar, o null para usar la versión leída
+     * @return ProductResponse con los datos actualizados del producto y su nueva versión
+     * @throws IllegalArgumentException si el ID es nulo o el request es inválido
+     * @throws ProductVersionConflictException si la versión no coincide o el producto cambia durante la actualización
+     */
+    ProductResponse updateProduct(Long id, UpdateProductRequest request, Long expectedVersion);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.alvarowau.productcatalog.application.port.out;
+
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+
+import java.util.List;
+
+/**
+ * Puerto de lectura del historial de cambios del catálogo.
+ * <p>
+ * El repositorio registra cada escritura de productos en la misma transacción que la escritura,
+ * con un número de secuencia creciente (patrón outbox transaccional). Este puerto permite a los
+ * consumidores leer ese historial de forma incremental en lugar de recargar el catálogo completo.
+ */
+public interface ProductChangeFeedPort {
+
+    /**
+     * Recupera los cambios con secuencia mayor que {@code sequence}, en orden de secuencia.
+     * <p>
+     * Implementaciones deben:
+     * <ul>
+     *   <li>Devolver solo cambios confirmados, sin huecos: un cambio no es visible antes que otro
+     *       de secuencia menor</li>
+     *   <li>Incluir en cada UPSERT el estado actual del producto, y devolver como lápida el UPSERT
+     *       de un producto que ya no existe</li>
+     *   <li>Omitir los cambios de un producto seguidos de otro cambio del mismo producto en la
+     *       misma página, conservando la secuencia del último</li>
+     * </ul>
+     *
+     * @param sequence secuencia a partir de la cual (exclusiva) se recuperan cambios
+     * @param limit número máximo de cambios del historial que se examinan
+     * @return cambios ordenados por secuencia ascendente; vacía si no hay cambios posteriores
+     */
+    List<ProductChangeEvent> findChangesAfter(long sequence, int limit);
+}
@@ -1,9 +1,15 @@
 package org.alvarowau.productcatalog.application.port.out;
 
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Puerto para operaciones de persistencia de productos.
@@ -30,6 +36,22 @@ public interface ProductRepositoryPort {
      */
     Product save(Product producto);
 
+    /**
+     * Guarda varios productos en una sola operación.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Agrupar las escrituras (por ejemplo, en lotes JDBC) en lugar de enviar una sentencia por producto</li>
+     *   <li>Aplicar todas las escrituras de forma atómica: o se guardan todos los productos o ninguno</li>
+     *   <li>Retornar los productos guardados en el mismo orden que se recibieron</li>
+     * </ul>
+     *
+     * @param products lista de productos a guardar o actualizar
+     * @return lista con los productos guardados, en el orden de entrada
+     * @throws IllegalArgumentException si la lista o alguno de sus productos es null
+     */
+    List<Product> saveAll(List<Product> products);
+
     /**
      * Busca un producto por su identificador único.
      *
@@ -39,6 +61,23 @@ public interface ProductRepositoryPort {
      */
     Optional<Product> findById(Long id);
 
+    /**
+     * Busca varios productos por sus identificadores.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Resolver la búsqueda con el menor número posible de consultas
+     *       ({@code IN (...)} por bloques, no una consulta por ID)</li>
+     *   <li>Omitir los IDs que no existan y devolver cada producto una sola vez aunque su ID se repita</li>
+     * </ul>
+     * El orden del resultado no está garantizado.
+     *
+     * @param ids IDs de los productos a buscar
+     * @return lista con los productos encontrados (vacía si no existe ninguno)
+     * @throws IllegalArgumentException si la colección es null
+     */
+    List<Product> findAllById(Collection<Long> ids);
+
     /**
      * Obtiene todos los productos disponibles.
      *
@@ -46,6 +85,56 @@ public interface ProductRepositoryPort {
      */
     List<Product> findAll();
 
+    /**
+     * Obtiene una página de productos cuyo ID es estrictamente mayor que {@code afterId}.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Devolver los productos ordenados por ID ascendente</li>
+     *   <li>Resolver la consulta como un recorrido por rango sobre el ID (sin OFFSET)</li>
+     *   <li>No devolver más de {@code limit} productos</li>
+     * </ul>
+     *
+     * @param afterId ID del último producto de la página anterior, o null para empezar desde el principio
+     * @param limit número máximo de productos a devolver
+     * @return lista con los productos de la página (vacía si no hay más productos)
+     */
+    List<Product> findPage(Long afterId, int limit);
+
+    /**
+     * Recorre todos los productos como un flujo perezoso ordenado por ID ascendente.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Leer los productos de forma incremental (cursor del lado del servidor o equivalente)</li>
+     *   <li>No retener en memoria los productos ya entregados</li>
+     *   <li>Liberar los recursos asociados al cerrar el flujo</li>
+     * </ul>
+     * El llamador es responsable de cerrar el flujo (por ejemplo con try-with-resources)
+     * y, en implementaciones transaccionales, de consumirlo dentro de una transacción.
+     *
+     * @return flujo con todos los productos
+     */
+    Stream<Product> streamAll();
+
+    /**
+     * Obtiene una página de productos que cumplen el filtro indicado.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Resolver todos los criterios del filtro en una única consulta</li>
+     *   <li>Devolver solo productos con ID mayor que {@code afterId}, ordenados por ID ascendente</li>
+     *   <li>No devolver más de {@code limit} productos</li>
+     * </ul>
+     *
+     * @param filter criterios de filtrado (los criterios nulos se ignoran)
+     * @param afterId ID del último producto de la página anterior, o null para empezar desde el principio
+     * @param limit número máximo de productos a devolver
+     * @return lista con los productos que cumplen el filtro (vacía si no hay coincidencias)
+     * @throws IllegalArgumentException si el filtro es null
+     */
+    List<Product> findByFilter(ProductFilter filter, Long afterId, int limit);
+
     /**
      * Elimina un producto por su identificador único.
      *
@@ -54,4 +143,87 @@ public interface ProductRepositoryPort {
      * @throws IllegalArgumentException si el id es null
      */
     boolean deleteById(Long id);
+
+    /**
+     * Elimina varios productos por sus identificadores.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Eliminar los productos con sentencias por conjuntos ({@code IN (...)} por bloques),
+     *       sin cargarlos previamente</li>
+     *   <li>Ignorar los IDs que no existan</li>
+     * </ul>
+     *
+     * @param ids IDs de los productos a eliminar
+     * @return número de productos eliminados
+     * @throws IllegalArgumentException si la colección es null
+     */
+    int deleteAllById(Collection<Long> ids);
+
+    /**
+     * Obtiene los IDs de los productos que cumplen el filtro, sin cargar los productos.
+     * <p>
+     * Se usa para procesar por bloques operaciones masivas sobre un filtro: los IDs se
+     * devuelven ordenados de forma ascendente a partir de {@code afterId}.
+     *
+     * @param filter criterios de filtrado (los criterios nulos se ignoran)
+     * @param afterId ID a partir del cual (exclusivo) se buscan productos, o null para empezar desde el principio
+     * @param limit número máximo de IDs a devolver
+     * @return lista de IDs ordenada de forma ascendente (vacía si no hay coincidencias)
+     * @throws IllegalArgumentException si el filtro es null
+     */
+    List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit);
+
+    /**
+     * Actualiza solo los campos modificados de un producto si su versión es la esperada.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Escribir únicamente los campos no nulos de {@code changes}, sin cargar ni fusionar el producto</li>
+     *   <li>Comprobar la versión e incrementarla en la misma sentencia</li>
+     * </ul>
+     *
+     * @param id ID del producto
+     * @param expectedVersion versión leída del producto, o null para actualizar sin comprobarla
+     * @param changes campos modificados (no debe estar vacío)
+     * @return true si se ha actualizado, false si el producto no existe o su versión ha cambiado
+     * @throws IllegalArgumentException si el ID es null o no hay cambios
+     */
+    boolean updateFields(Long id, Long expectedVersion, ProductChanges changes);
+
+    /**
+     * Descuenta unidades del stock de un producto de forma atómica.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Comprobar y descontar el stock en una única operación, de modo que reservas
+     *       concurrentes sobre el mismo producto nunca lo dejen en negativo</li>
+     *   <li>Cambiar el estado a OUT_OF_STOCK si el stock llega a cero, salvo que el producto
+     *       esté descontinuado (mismas reglas que {@link Product#setStatus})</li>
+     *   <li>No modificar el producto si el stock es insuficiente</li>
+     * </ul>
+     *
+     * @param id ID del producto
+     * @param quantity unidades a descontar (mayor que cero)
+     * @return resultado de la reserva
+     * @throws IllegalArgumentException si el ID es null o la cantidad no es positiva
+     */
+    StockReservationResult reserveStock(Long id, int quantity);
+
+    /**
+     * Sustituye el stock de varios productos por valores absolutos.
+     * <p>
+     * Las implementaciones deben:
+     * <ul>
+     *   <li>Cambiar el estado a OUT_OF_STOCK en los productos que queden sin stock, salvo que
+     *       estén descontinuados (mismas reglas que {@link Product#setStatus})</li>
+     *   <li>No escribir los productos cuyo stock ya tenga el valor indicado</li>
+     *   <li>Ignorar los IDs que no existan</li>
+     * </ul>
+     *
+     * @param stockById nuevo stock por ID de producto (valores no negativos)
+     * @return número de productos actualizados
+     * @throws IllegalArgumentException si el mapa es null o contiene valores nulos o negativos
+     */
+    int updateStockLevels(Map<Long, Integer> stockById);
 }
\ No newline at end of file
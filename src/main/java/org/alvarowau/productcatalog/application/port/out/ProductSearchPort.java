@@ -0,0 +1,53 @@
+package org.alvarowau.productcatalog.application.port.out;
+
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Puerto para la indexación y búsqueda de texto completo de productos.
+ * <p>
+ * Define el contrato del motor de búsqueda sobre el nombre y la descripción de los
+ * productos siguiendo el patrón de Arquitectura Hexagonal. Este puerto funciona como
+ * puerto de salida y es independiente del repositorio de persistencia.
+ */
+public interface ProductSearchPort {
+
+    /**
+     * Indexa un producto, reemplazando cualquier versión indexada anteriormente.
+     *
+     * @param product el producto a indexar (debe tener ID)
+     * @throws IllegalArgumentException si el producto o su ID son null
+     */
+    void index(Product product);
+
+    /**
+     * Elimina un producto del índice. No hace nada si el producto no estaba indexado.
+     *
+     * @param id el ID del producto a eliminar del índice
+     */
+    void remove(Long id);
+
+    /**
+     * Reconstruye el índice completo a partir de los productos indicados.
+     * <p>
+     * Las implementaciones deben seguir atendiendo búsquedas con el índice anterior
+     * mientras se construye el nuevo y no perder las actualizaciones recibidas
+     * durante la reconstrucción.
+     *
+     * @param products flujo con todos los productos del catálogo
+     */
+    void rebuild(Stream<Product> products);
+
+    /**
+     * Busca productos cuyo nombre o descripción contengan los términos de la consulta.
+     *
+     * @param query texto libre de la consulta
+     * @param mode modo de combinación de los términos (todos o alguno)
+     * @param limit número máximo de resultados
+     * @return IDs de los productos encontrados, ordenados por relevancia descendente
+     */
+    List<Long> search(String query, SearchMode mode, int limit);
+}
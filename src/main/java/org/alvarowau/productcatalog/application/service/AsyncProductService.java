@@ -0,0 +1,122 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.port.in.CreateProductAsyncUseCase;
+import org.alvarowau.productcatalog.application.port.in.CreateProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.DeleteProductAsyncUseCase;
+import org.alvarowau.productcatalog.application.port.in.DeleteProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.GetProductAsyncUseCase;
+import org.alvarowau.productcatalog.application.port.in.GetProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.ReserveStockAsyncUseCase;
+import org.alvarowau.productcatalog.application.port.in.ReserveStockUseCase;
+import org.alvarowau.productcatalog.application.port.in.UpdateProductAsyncUseCase;
+import org.alvarowau.productcatalog.application.port.in.UpdateProductUseCase;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de las variantes asíncronas de los casos de uso de productos.
+ * <p>
+ * Cada operación delega en el caso de uso síncrono correspondiente y se ejecuta en el
+ * {@link Executor} indicado, de modo que el llamante recibe el {@link CompletableFuture} sin
+ * esperar a la persistencia. Si el ejecutor rechaza el trabajo por estar saturado, el resultado
+ * se completa con la {@link RejectedExecutionException} en lugar de lanzarla.
+ */
+public class AsyncProductService implements GetProductAsyncUseCase, CreateProductAsyncUseCase,
+        UpdateProductAsyncUseCase, DeleteProductAsyncUseCase, ReserveStockAsyncUseCase {
+
+    private final GetProductUseCase getProductUseCase;
+    private final CreateProductUseCase createProductUseCase;
+    private final UpdateProductUseCase updateProductUseCase;
+    private final DeleteProductUseCase deleteProductUseCase;
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final Executor executor;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param getProductUseCase Caso de uso para obtención de productos
+     * @param createProductUseCase Caso de uso para creación de productos
+     * @param updateProductUseCase Caso de uso para actualización de productos
+     * @param deleteProductUseCase Caso de uso para eliminación de productos
+     * @param reserveStockUseCase Caso de uso para reserva de stock
+     * @param executor Ejecutor en el que se resuelven los casos de uso
+     */
+    public AsyncProductService(GetProductUseCase getProductUseCase,
+                               CreateProductUseCase createProductUseCase,
+                               UpdateProductUseCase updateProductUseCase,
+                               DeleteProductUseCase deleteProductUseCase,
+                               ReserveStockUseCase reserveStockUseCase,
+                               Executor executor) {
+        this.getProductUseCase = getProductUseCase;
+        this.createProductUseCase = createProductUseCase;
+        this.updateProductUseCase = updateProductUseCase;
+        this.deleteProductUseCase = deleteProductUseCase;
+        this.reserveStockUseCase = reserveStockUseCase;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Optional<ProductResponse>> getProductById(Long id) {
+        return submit(() -> getProductUseCase.getProductById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ProductResponse> createProduct(CreateProductRequest request) {
+        return submit(() -> createProductUseCase.createProduct(request));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ProductResponse> updateProduct(Long id, UpdateProductRequest request) {
+        return submit(() -> updateProductUseCase.updateProduct(id, request));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ProductResponse> updateProduct(Long id, UpdateProductRequest request, Long expectedVersion) {
+        return submit(() -> updateProductUseCase.updateProduct(id, request, expectedVersion));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteProduct(Long id) {
+        return submit(() -> deleteProductUseCase.deleteProduct(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<StockReservationResult> reserveStock(Long id, StockReservationRequest request) {
+        return submit(() -> reserveStockUseCase.reserveStock(id, request));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.mapper.ProductApplicationMapper;
+import org.alvarowau.productcatalog.application.port.in.GetProductChangesUseCase;
+import org.alvarowau.productcatalog.application.port.out.ProductChangeFeedPort;
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangeResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangesResponse;
+
+import java.util.List;
+
+/**
+ * Implementación del caso de uso de sincronización incremental del catálogo.
+ * <p>
+ * Lee el historial de cambios que el repositorio escribe junto a cada escritura de productos.
+ * Un consumidor se sincroniza así:
+ * <ol>
+ *   <li>Hace una carga completa con la exportación y, a continuación, pide los cambios desde 0
+ *       (o desde la última secuencia que aplicó, si ya estaba sincronizado)</li>
+ *   <li>Aplica los cambios recibidos en orden</li>
+ *   <li>Repite con el {@code nextSince} de la respuesta hasta recibir una página vacía</li>
+ * </ol>
+ * Aplicar dos veces el mismo cambio no altera el resultado, por lo que el consumidor puede
+ * reintentar una página sin riesgo.
+ */
+public class ProductChangeFeedService implements GetProductChangesUseCase {
+
+    /**
+     * Número máximo de cambios permitido en una página.
+     */
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
+    private final ProductChangeFeedPort productChangeFeedPort;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param productChangeFeedPort Puerto de lectura del historial de cambios
+     */
+    public ProductChangeFeedService(ProductChangeFeedPort productChangeFeedPort) {
+        this.productChangeFeedPort = productChangeFeedPort;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Flujo:
+     * <ol>
+     *   <li>Valida la secuencia y el límite (entre 1 y {@value #MAX_CHANGES_PAGE_SIZE})</li>
+     *   <li>Lee los cambios posteriores a la secuencia</li>
+     *   <li>Toma como secuencia siguiente la del último cambio, o la recibida si no hay cambios</li>
+     * </ol>
+     */
+    @Override
+    public ProductChangesResponse getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES_PAGE_SIZE);
+        }
+        List<ProductChangeEvent> changes = productChangeFeedPort.findChangesAfter(since, limit);
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        List<ProductChangeResponse> responses = changes.stream()
+                .map(ProductApplicationMapper::toProductChangeResponse)
+                .toList();
+        return new ProductChangesResponse(responses, nextSince);
+    }
+}
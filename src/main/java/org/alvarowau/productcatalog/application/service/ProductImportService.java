@@ -0,0 +1,318 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.mapper.ProductApplicationMapper;
+import org.alvarowau.productcatalog.application.port.in.ImportProductsUseCase;
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkItemResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductImportResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Implementación del caso de uso de importación masiva de productos.
+ * <p>
+ * La importación es una cadena de tres etapas unidas por colas acotadas:
+ * <ol>
+ *   <li>Un hilo lector corta el origen en registros y los agrupa en bloques</li>
+ *   <li>Varios hilos decodifican, validan y normalizan cada bloque en paralelo</li>
+ *   <li>El hilo que invoca la importación guarda cada bloque con
+ *       {@link ProductRepositoryPort#saveAll(List)} y lo indexa para la búsqueda de texto</li>
+ * </ol>
+ * Cuando una etapa va más lenta que la anterior, su cola se llena y la anterior espera, por lo
+ * que en memoria nunca hay más de {@code (2 × queueCapacity + workers + 2) × batchSize} registros.
+ * Los bloques se guardan en el orden en que terminan su validación, así que los IDs asignados no
+ * siguen necesariamente el orden del fichero.
+ */
+public class ProductImportService implements ImportProductsUseCase {
+
+    private final ProductRepositoryPort productRepositoryPort;
+    private final ProductSearchPort productSearchPort;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+    private final long progressEvery;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param productRepositoryPort Puerto de repositorio donde se guardan los productos
+     * @param productSearchPort Puerto del índice de búsqueda de texto
+     * @param workers Número de hilos de validación
+     * @param batchSize Número de registros por bloque (y por lote de inserciones)
+     * @param queueCapacity Número máximo de bloques en espera entre dos etapas
+     * @param maxReportedErrors Número máximo de errores incluidos en la respuesta
+     * @param progressEvery Número de registros entre dos avisos de progreso
+     * @throws IllegalArgumentException si algún tamaño no es positivo
+     */
+    public ProductImportService(ProductRepositoryPort productRepositoryPort, ProductSearchPort productSearchPort,
+                                int workers, int batchSize, int queueCapacity, int maxReportedErrors,
+                                long progressEvery) {
+        if (workers < 1 || batchSize < 1 || queueCapacity < 1 || maxReportedErrors < 0 || progressEvery < 1) {
+            throw new IllegalArgumentException("Import pipeline sizes must be positive");
+        }
+        this.productRepositoryPort = productRepositoryPort;
+        this.productSearchPort = productSearchPort;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressEvery = progressEvery;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Un registro sin nombre o que no se puede decodificar se marca como fallido</li>
+     *   <li>Los registros válidos se convierten en productos con los mismos setters que
+     *       {@code POST /product}, que normalizan precio, stock, categoría y estado</li>
+     *   <li>Si un bloque no se puede guardar, se marcan como fallidos sus registros y se continúa</li>
+     * </ol>
+     * El consumidor de progreso se invoca desde el hilo que llama a este método y recibe
+     * los totales sin la lista de errores.
+     *
+     * @param source Origen de los registros
+     * @param progress Consumidor que recibe los totales acumulados durante la importación
+     * @return Totales, primeros errores y, si la lectura falló, el motivo
+     * @throws IllegalArgumentException si el origen o el consumidor son nulos
+     */
+    @Override
+    public ProductImportResponse importProducts(ProductRecordSource source, Consumer<ProductImportResponse> progress) {
+        if (source == null || progress == null) {
+            throw new IllegalArgumentException("source and progress must not be null");
+        }
+        BlockingQueue<RecordBatch> records = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ProductBatch> products = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<String> abortReason = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, daemonThreads());
+        try {
+            executor.execute(() -> readRecords(source, records, abortReason));
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> validateRecords(source, records, products, abortReason));
+            }
+            return writeProducts(products, progress, abortReason);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Etapa de lectura: agrupa los registros en bloques y, al terminar o fallar (incluso por un
+     * {@link Error}), envía una marca de fin a cada hilo de validación.
+     */
+    private void readRecords(ProductRecordSource source, BlockingQueue<RecordBatch> records,
+                             AtomicReference<String> abortReason) {
+        long number = 1;
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            try {
+                for (String record = source.nextRecord(); record != null; record = source.nextRecord()) {
+                    batch.add(record);
+                    if (batch.size() == batchSize) {
+                        records.put(new RecordBatch(number, batch));
+                        number += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                abortReason.set("Input could not be read after record " + (number + batch.size() - 1)
+                        + ": " + e.getMessage());
+            }
+            if (!batch.isEmpty()) {
+                records.put(new RecordBatch(number, batch));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            abortReason.compareAndSet(null, "Input could not be read after record "
+                    + (number + batch.size() - 1) + ": " + e);
+            throw e;
+        } finally {
+            putEndMarkers(records, RecordBatch.END, workers);
+        }
+    }
+
+    /**
+     * Etapa de validación: decodifica y normaliza cada registro de un bloque y, al terminar o
+     * fallar (incluso por un {@link Error}), envía su marca de fin a la etapa de escritura.
+     */
+    private void validateRecords(ProductRecordSource source, BlockingQueue<RecordBatch> records,
+                                 BlockingQueue<ProductBatch> products, AtomicReference<String> abortReason) {
+        long number = 0;
+        try {
+            for (RecordBatch batch = records.take(); batch != RecordBatch.END; batch = records.take()) {
+                ProductBatch validated = new ProductBatch(batch.records.size());
+                for (int i = 0; i < batch.records.size(); i++) {
+                    number = batch.firstNumber + i;
+                    try {
+                        CreateProductRequest request = source.decode(batch.records.get(i));
+                        if (request == null) {
+                            validated.fail(number, "product must not be null");
+                        } else if (request.getName() == null || request.getName().isBlank()) {
+                            validated.fail(number, "name must not be blank");
+                        } else {
+                            validated.add(number, ProductApplicationMapper.toDomainProduct(request));
+                        }
+                    } catch (RuntimeException e) {
+                        validated.fail(number, e.getMessage());
+                    }
+                }
+                products.put(validated);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Error e) {
+            abortReason.compareAndSet(null, "Record " + number + " could not be validated: " + e);
+            throw e;
+        } finally {
+            putEndMarkers(products, ProductBatch.END, 1);
+        }
+    }
+
+    /**
+     * Etapa de escritura: guarda cada bloque validado hasta recibir la marca de fin de todos
+     * los hilos de validación.
+     */
+    private ProductImportResponse writeProducts(BlockingQueue<ProductBatch> products,
+                                                Consumer<ProductImportResponse> progress,
+                                                AtomicReference<String> abortReason) {
+        ProductImportResponse response = new ProductImportResponse(0, 0, 0, new ArrayList<>(), null);
+        long nextProgress = progressEvery;
+        int finished = 0;
+        try {
+            while (finished < workers) {
+                ProductBatch batch = products.take();
+                if (batch == ProductBatch.END) {
+                    finished++;
+                    continue;
+                }
+                batch.errors.forEach(error -> recordFailure(response, error));
+                saveBatch(batch, response);
+                response.setRead(response.getRead() + batch.size);
+                if (response.getRead() >= nextProgress) {
+                    progress.accept(new ProductImportResponse(response.getRead(), response.getCreated(),
+                            response.getFailed(), List.of(), null));
+                    nextProgress = (response.getRead() / progressEvery + 1) * progressEvery;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortReason.compareAndSet(null, "Import was interrupted");
+        }
+        response.setAbortReason(abortReason.get());
+        return response;
+    }
+
+    /**
+     * Envía {@code count} marcas de fin; si el hilo se interrumpe, la importación ya ha terminado
+     * y nadie las espera.
+     */
+    private static <T> void putEndMarkers(BlockingQueue<T> queue, T end, int count) {
+        try {
+            for (int i = 0; i < count; i++) {
+                queue.put(end);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void saveBatch(ProductBatch batch, ProductImportResponse response) {
+        if (batch.products.isEmpty()) {
+            return;
+        }
+        try {
+            List<Product> saved = productRepositoryPort.saveAll(batch.products);
+            for (Product product : saved) {
+                if (product != null && product.getId() != null) {
+                    productSearchPort.index(product);
+                }
+            }
+            response.setCreated(response.getCreated() + saved.size());
+        } catch (RuntimeException e) {
+            for (Long number : batch.numbers) {
+                recordFailure(response, ProductBulkItemResult.failed(recordIndex(number),
+                        "Batch could not be saved: " + e.getMessage()));
+            }
+        }
+    }
+
+    private void recordFailure(ProductImportResponse response, ProductBulkItemResult error) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(error);
+        }
+    }
+
+    private static int recordIndex(long number) {
+        return (int) Math.min(number, Integer.MAX_VALUE);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Bloque de registros sin decodificar, numerados a partir de {@code firstNumber}.
+     */
+    private static final class RecordBatch {
+
+        private static final RecordBatch END = new RecordBatch(0, List.of());
+
+        private final long firstNumber;
+        private final List<String> records;
+
+        RecordBatch(long firstNumber, List<String> records) {
+            this.firstNumber = firstNumber;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Bloque de productos validados junto con el número de registro de cada uno
+     * y los registros que no superaron la validación.
+     */
+    private static final class ProductBatch {
+
+        private static final ProductBatch END = new ProductBatch(0);
+
+        private final int size;
+        private final List<Product> products = new ArrayList<>();
+        private final List<Long> numbers = new ArrayList<>();
+        private final List<ProductBulkItemResult> errors = new ArrayList<>();
+
+        ProductBatch(int size) {
+            this.size = size;
+        }
+
+        void add(long number, Product product) {
+            numbers.add(number);
+            products.add(product);
+        }
+
+        void fail(long number, String error) {
+            errors.add(ProductBulkItemResult.failed(recordIndex(number), error));
+        }
+    }
+}
@@ -3,12 +3,31 @@ package org.alvarowau.productcatalog.application.service;
 import org.alvarowau.productcatalog.application.mapper.ProductApplicationMapper;
 import org.alvarowau.productcatalog.application.port.in.*;
 import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.domain.exception.ProductVersionConflictException;
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio que implementa los casos de uso para la gestión de productos.
@@ -18,17 +37,50 @@ import java.util.Optional;
  */
 @Service
 public class ProductService implements CreateProductUseCase, DeleteProductUseCase,
-        GetProductUseCase, UpdateProductUseCase {
+        GetProductUseCase, UpdateProductUseCase, ExportProductsUseCase, SearchProductUseCase, ReserveStockUseCase {
+
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Número máximo de resultados permitido en una búsqueda de texto.
+     */
+    static final int MAX_SEARCH_RESULTS = 100;
+
+    /**
+     * Número máximo de IDs permitido en una consulta de varios productos.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Número máximo de elementos permitido en una creación masiva.
+     */
+    static final int MAX_BULK_SIZE = 50_000;
+
+    /**
+     * Número de productos guardados en cada transacción de una creación masiva.
+     */
+    static final int BULK_CHUNK_SIZE = 1000;
+
+    /**
+     * Número de productos eliminados en cada sentencia de una eliminación masiva.
+     */
+    static final int DELETE_CHUNK_SIZE = 500;
 
     private final ProductRepositoryPort productRepositoryPort;
+    private final ProductSearchPort productSearchPort;
 
     /**
      * Constructor para la inyección de dependencias.
      *
      * @param productRepositoryPort Puerto de repositorio para persistencia de productos
+     * @param productSearchPort Puerto del índice de búsqueda de texto
      */
-    public ProductService(ProductRepositoryPort productRepositoryPort) {
+    public ProductService(ProductRepositoryPort productRepositoryPort, ProductSearchPort productSearchPort) {
         this.productRepositoryPort = productRepositoryPort;
+        this.productSearchPort = productSearchPort;
     }
 
     /**
@@ -38,6 +90,7 @@ public class ProductService implements CreateProductUseCase, DeleteProductUseCas
      * <ol>
      *   <li>Convierte el DTO de creación a entidad de dominio</li>
      *   <li>Persiste la nueva entidad</li>
+     *   <li>Indexa el producto guardado para la búsqueda de texto</li>
      *   <li>Convierte la entidad guardada a DTO de respuesta</li>
      * </ol>
      *
@@ -49,11 +102,65 @@ public class ProductService implements CreateProductUseCase, DeleteProductUseCas
     public ProductResponse createProduct(CreateProductRequest request) {
         Product product = ProductApplicationMapper.toDomainProduct(request);
         Product savedProduct = productRepositoryPort.save(product);
+        indexProduct(savedProduct);
         return ProductApplicationMapper.toProductResponse(savedProduct);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Valida cada elemento; los inválidos se marcan como fallidos sin afectar al resto</li>
+     *   <li>Guarda los productos válidos en bloques de {@value #BULK_CHUNK_SIZE}, cada uno en una transacción</li>
+     *   <li>Si un bloque falla, marca como fallidos sus elementos y continúa con el siguiente</li>
+     *   <li>Indexa los productos guardados para la búsqueda de texto</li>
+     * </ol>
+     *
+     * @param requests DTOs de creación (como máximo {@value #MAX_BULK_SIZE})
+     * @return Totales y resultado de cada elemento, en el orden de la petición
+     * @throws IllegalArgumentException si la lista es nula, vacía o demasiado larga
+     */
+    @Override
+    public ProductBulkResponse createProducts(List<CreateProductRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("requests must not be empty");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " products are allowed");
+        }
+        ProductBulkItemResult[] results = new ProductBulkItemResult[requests.size()];
+        List<Product> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+        for (int i = 0; i < requests.size(); i++) {
+            CreateProductRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = ProductBulkItemResult.failed(i, "product must not be null");
+            } else if (request.getName() == null || request.getName().isBlank()) {
+                results[i] = ProductBulkItemResult.failed(i, "name must not be blank");
+            } else {
+                chunk.add(ProductApplicationMapper.toDomainProduct(request));
+                chunkIndexes.add(i);
+                if (chunk.size() == BULK_CHUNK_SIZE) {
+                    saveChunk(chunk, chunkIndexes, results);
+                }
+            }
+        }
+        saveChunk(chunk, chunkIndexes, results);
+
+        int created = 0;
+        for (ProductBulkItemResult result : results) {
+            if (result.getError() == null) {
+                created++;
+            }
+        }
+        return new ProductBulkResponse(created, results.length - created, Arrays.asList(results));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si el producto se elimina, también se retira del índice de búsqueda.
      *
      * @param id Identificador del producto a eliminar
      * @return true si el producto existía y fue eliminado, false en caso contrario
@@ -61,7 +168,77 @@ public class ProductService implements CreateProductUseCase, DeleteProductUseCas
      */
     @Override
     public boolean deleteProduct(Long id) {
-        return productRepositoryPort.deleteById(id);
+        boolean deleted = productRepositoryPort.deleteById(id);
+        if (deleted) {
+            productSearchPort.remove(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los IDs se eliminan en bloques de {@value #DELETE_CHUNK_SIZE}, cada uno con una única
+     * sentencia y su propia transacción, y se retiran del índice de búsqueda.
+     *
+     * @param ids Identificadores de los productos (como máximo {@value #MAX_BULK_SIZE})
+     * @return Número de productos eliminados
+     * @throws IllegalArgumentException si la lista es nula, vacía, contiene nulos o es demasiado larga
+     */
+    @Override
+    public ProductDeleteResponse deleteProductsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " ids are allowed");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must not contain null values");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        long deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += deleteChunk(distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size())));
+        }
+        return new ProductDeleteResponse(deleted);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Obtiene los IDs del siguiente bloque de {@value #DELETE_CHUNK_SIZE} productos que cumplen el filtro</li>
+     *   <li>Los elimina con una única sentencia y los retira del índice de búsqueda</li>
+     *   <li>Repite a partir del último ID procesado hasta agotar los productos</li>
+     * </ol>
+     *
+     * @param filterRequest Criterios de filtrado (se exige categoría o estado)
+     * @return Número de productos eliminados
+     * @throws IllegalArgumentException si falta categoría y estado, o minPrice es mayor que maxPrice
+     */
+    @Override
+    public ProductDeleteResponse deleteProductsByFilter(ProductFilterRequest filterRequest) {
+        ProductFilter filter = ProductApplicationMapper.toProductFilter(filterRequest);
+        if (filter.getCategory() == null && filter.getStatus() == null) {
+            throw new IllegalArgumentException("category or status is required to delete by filter");
+        }
+        validatePriceRange(filter);
+        long deleted = 0;
+        Long afterId = null;
+        while (true) {
+            List<Long> ids = productRepositoryPort.findIdsByFilter(filter, afterId, DELETE_CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            deleted += deleteChunk(ids);
+            if (ids.size() < DELETE_CHUNK_SIZE) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return new ProductDeleteResponse(deleted);
     }
 
     /**
@@ -77,6 +254,46 @@ public class ProductService implements CreateProductUseCase, DeleteProductUseCas
         return ProductApplicationMapper.toOptionalProductResponse(optionalProduct);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Valida la lista y elimina los IDs repetidos conservando el orden</li>
+     *   <li>Recupera todos los productos con una única llamada al repositorio</li>
+     *   <li>Recorre los IDs solicitados separando los productos encontrados de los IDs inexistentes</li>
+     * </ol>
+     *
+     * @param ids Identificadores de los productos (como máximo {@value #MAX_BATCH_SIZE})
+     * @return Productos encontrados en el orden solicitado e IDs inexistentes
+     * @throws IllegalArgumentException si la lista es nula, vacía, contiene nulos o es demasiado larga
+     */
+    @Override
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids are allowed");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must not contain null values");
+        }
+        LinkedHashSet<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> productsById = findAllByIdIndexed(requestedIds);
+        List<ProductResponse> products = new ArrayList<>(productsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Product product = productsById.get(id);
+            if (product == null) {
+                missingIds.add(id);
+            } else {
+                products.add(ProductApplicationMapper.toProductResponse(product));
+            }
+        }
+        return new ProductBatchResponse(products, missingIds);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -93,24 +310,321 @@ public class ProductService implements CreateProductUseCase, DeleteProductUseCas
      * <p>
      * Implementación específica:
      * <ol>
-     *   <li>Busca el producto existente</li>
-     *   <li>Aplica las actualizaciones</li>
-     *   <li>Persiste los cambios</li>
+     *   <li>Decodifica el cursor al ID del último producto entregado</li>
+     *   <li>Solicita {@code limit + 1} productos para saber si existe una página siguiente</li>
+     *   <li>Construye la página y codifica el ID de su último producto como cursor siguiente</li>
+     * </ol>
+     *
+     * @param cursor Cursor opaco de la página anterior, o null para la primera página
+     * @param limit Número máximo de productos de la página (entre 1 y {@value #MAX_PAGE_SIZE})
+     * @return Página de productos con el cursor siguiente (null si no hay más)
+     * @throws IllegalArgumentException si el cursor no es válido o el límite está fuera de rango
+     */
+    @Override
+    public ProductPageResponse getProductPage(String cursor, int limit) {
+        validatePageSize(limit);
+        Long afterId = decodeCursor(cursor);
+        List<Product> products = productRepositoryPort.findPage(afterId, limit + 1);
+        return toPageResponse(products, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Convierte el DTO de filtrado a un filtro del dominio</li>
+     *   <li>Solicita {@code limit + 1} productos filtrados a partir del cursor</li>
+     *   <li>Construye la página y el cursor siguiente</li>
+     * </ol>
+     *
+     * @param filterRequest Criterios de filtrado
+     * @param cursor Cursor opaco de la página anterior, o null para la primera página
+     * @param limit Número máximo de productos de la página (entre 1 y {@value #MAX_PAGE_SIZE})
+     * @return Página de productos filtrados con el cursor siguiente (null si no hay más)
+     * @throws IllegalArgumentException si minPrice es mayor que maxPrice, o cursor/límite no son válidos
+     */
+    @Override
+    public ProductPageResponse getProductsByFilter(ProductFilterRequest filterRequest, String cursor, int limit) {
+        validatePageSize(limit);
+        ProductFilter filter = ProductApplicationMapper.toProductFilter(filterRequest);
+        validatePriceRange(filter);
+        Long afterId = decodeCursor(cursor);
+        List<Product> products = productRepositoryPort.findByFilter(filter, afterId, limit + 1);
+        return toPageResponse(products, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se ejecuta dentro de una transacción de solo lectura que permanece abierta
+     * mientras dure el recorrido, necesaria para mantener el cursor del repositorio.
+     *
+     * @param consumer Consumidor que recibe cada producto exportado
+     * @throws IllegalArgumentException si el consumidor es nulo
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<ProductResponse> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("consumer must not be null");
+        }
+        try (Stream<Product> products = productRepositoryPort.streamAll()) {
+            products.map(ProductApplicationMapper::toProductResponse).forEach(consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Busca el producto existente y comprueba la versión esperada, si se indica</li>
+     *   <li>Calcula qué campos cambiaría el request respecto al estado actual</li>
+     *   <li>Si no cambia ninguno, retorna el producto actual sin escribir en el repositorio</li>
+     *   <li>Si no, escribe solo los campos modificados con una única sentencia condicionada a la versión leída</li>
+     *   <li>Reindexa el producto para la búsqueda de texto si cambian el nombre o la descripción</li>
      *   <li>Retorna la representación actualizada</li>
      * </ol>
      *
      * @param id Identificador del producto a actualizar
      * @param request DTO con los datos de actualización
+     * @param expectedVersion Versión que el cliente espera modificar, o null para usar la versión leída
      * @return DTO con la representación del producto actualizado
      * @throws IllegalArgumentException si el id o request son nulos/inválidos
+     * @throws ProductVersionConflictException si la versión no coincide o el producto cambia durante la actualización
      * @throws RuntimeException si no se encuentra el producto
      */
     @Override
-    public ProductResponse updateProduct(Long id, UpdateProductRequest request) {
+    public ProductResponse updateProduct(Long id, UpdateProductRequest request, Long expectedVersion) {
         Product existingProduct = productRepositoryPort.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        boolean clientVersion = expectedVersion != null;
+        if (clientVersion && !expectedVersion.equals(existingProduct.getVersion())) {
+            throw new ProductVersionConflictException(id, true);
+        }
+        ProductChanges changes = ProductApplicationMapper.toProductChanges(existingProduct, request);
+        if (changes.isEmpty()) {
+            return ProductApplicationMapper.toProductResponse(existingProduct);
+        }
+        if (!productRepositoryPort.updateFields(id, existingProduct.getVersion(), changes)) {
+            throw new ProductVersionConflictException(id, clientVersion);
+        }
         ProductApplicationMapper.updateDomainProduct(existingProduct, request);
-        Product updatedProduct = productRepositoryPort.save(existingProduct);
-        return ProductApplicationMapper.toProductResponse(updatedProduct);
+        if (existingProduct.getVersion() != null) {
+            existingProduct.setVersion(existingProduct.getVersion() + 1);
+        }
+        if (changes.affectsSearchText()) {
+            indexProduct(existingProduct);
+        }
+        return ProductApplicationMapper.toProductResponse(existingProduct);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Valida la cantidad solicitada</li>
+     *   <li>Delega en el repositorio un descuento condicional en una sola sentencia, sin leer
+     *       antes el producto, para que las reservas concurrentes no pierdan actualizaciones</li>
+     * </ol>
+     * El stock y el estado no forman parte del índice de búsqueda, por lo que no es necesario reindexar.
+     *
+     * @param id Identificador del producto
+     * @param request DTO con las unidades a reservar
+     * @return Resultado de la reserva
+     * @throws IllegalArgumentException si el id es nulo o la cantidad no es positiva
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, StockReservationRequest request) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (request == null || request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        return productRepositoryPort.reserveStock(id, request.getQuantity());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación específica:
+     * <ol>
+     *   <li>Resuelve la consulta en el índice, que devuelve los IDs ordenados por relevancia</li>
+     *   <li>Recupera todos los productos del repositorio en una sola llamada y los ordena como el índice</li>
+     *   <li>Descarta los IDs que ya no existan en el repositorio</li>
+     * </ol>
+     *
+     * @param query Texto libre de la consulta
+     * @param mode Modo de combinación de los términos (AND si es nulo)
+     * @param limit Número máximo de resultados (entre 1 y {@value #MAX_SEARCH_RESULTS})
+     * @return Lista de productos ordenada por relevancia
+     * @throws IllegalArgumentException si la consulta está vacía o el límite está fuera de rango
+     */
+    @Override
+    public List<ProductResponse> searchProducts(String query, SearchMode mode, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> ids = productSearchPort.search(query, mode == null ? SearchMode.AND : mode, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> productsById = findAllByIdIndexed(ids);
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return ProductApplicationMapper.toProductResponseList(products);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre el repositorio en streaming dentro de una transacción de solo lectura.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuildSearchIndex() {
+        try (Stream<Product> products = productRepositoryPort.streamAll()) {
+            productSearchPort.rebuild(products);
+        }
+    }
+
+    /**
+     * Comprueba que el rango de precios del filtro sea coherente.
+     *
+     * @param filter Filtro a validar
+     * @throws IllegalArgumentException si minPrice es mayor que maxPrice
+     */
+    private static void validatePriceRange(ProductFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+    }
+
+    /**
+     * Elimina un bloque de productos y los retira del índice de búsqueda.
+     *
+     * @param ids IDs de los productos del bloque
+     * @return Número de productos eliminados
+     */
+    private int deleteChunk(List<Long> ids) {
+        int deleted = productRepositoryPort.deleteAllById(ids);
+        ids.forEach(productSearchPort::remove);
+        return deleted;
+    }
+
+    /**
+     * Guarda un bloque de productos de una creación masiva y registra el resultado de cada uno.
+     *
+     * @param chunk Productos a guardar (se vacía al terminar)
+     * @param indexes Posición en la petición de cada producto del bloque (se vacía al terminar)
+     * @param results Resultados de la creación masiva
+     */
+    private void saveChunk(List<Product> chunk, List<Integer> indexes, ProductBulkItemResult[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Product> saved = productRepositoryPort.saveAll(chunk);
+            for (int j = 0; j < saved.size(); j++) {
+                results[indexes.get(j)] = ProductBulkItemResult.created(indexes.get(j), saved.get(j).getId());
+                indexProduct(saved.get(j));
+            }
+        } catch (RuntimeException e) {
+            for (Integer index : indexes) {
+                results[index] = ProductBulkItemResult.failed(index, "Chunk could not be saved: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+        indexes.clear();
+    }
+
+    /**
+     * Recupera varios productos del repositorio en una sola llamada, indexados por ID.
+     *
+     * @param ids IDs de los productos a recuperar
+     * @return Mapa de ID a producto con los productos encontrados
+     */
+    private Map<Long, Product> findAllByIdIndexed(Collection<Long> ids) {
+        return productRepositoryPort.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Codifica un ID de producto como cursor opaco (Base64 URL-safe sin relleno).
+     *
+     * @param id ID del último producto de la página
+     * @return Cursor opaco
+     */
+    static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica un cursor opaco al ID del último producto entregado.
+     *
+     * @param cursor Cursor recibido del cliente (puede ser null o vacío)
+     * @return ID codificado en el cursor, o null si no se proporcionó cursor
+     * @throws IllegalArgumentException si el cursor no tiene un formato válido
+     */
+    static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Indexa un producto guardado para la búsqueda de texto.
+     *
+     * @param product Producto devuelto por el repositorio (se ignora si es nulo)
+     */
+    private void indexProduct(Product product) {
+        if (product != null && product.getId() != null) {
+            productSearchPort.index(product);
+        }
+    }
+
+    /**
+     * Valida que el tamaño de página solicitado esté dentro del rango permitido.
+     *
+     * @param limit Tamaño de página solicitado
+     * @throws IllegalArgumentException si el límite es menor que 1 o mayor que {@value #MAX_PAGE_SIZE}
+     */
+    private static void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Construye una página a partir de los productos obtenidos con {@code limit + 1}.
+     *
+     * @param products Productos recuperados (como máximo {@code limit + 1})
+     * @param limit Tamaño de la página
+     * @return Página con como máximo {@code limit} productos y el cursor siguiente si sobró alguno
+     */
+    private static ProductPageResponse toPageResponse(List<Product> products, int limit) {
+        boolean hasNext = products.size() > limit;
+        List<Product> pageProducts = hasNext ? products.subList(0, limit) : products;
+        String nextCursor = hasNext ? encodeCursor(pageProducts.get(limit - 1).getId()) : null;
+        return new ProductPageResponse(ProductApplicationMapper.toProductResponseList(pageProducts), nextCursor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package org.alvarowau.productcatalog.domain.exception;
+
+import lombok.Getter;
+
+/**
+ * Excepción lanzada cuando una escritura condicional sobre un producto no se aplica
+ * porque su versión ya no es la esperada.
+ * <p>
+ * Distingue dos situaciones:
+ * <ul>
+ *   <li>El cliente indicó la versión esperada y no coincide con la actual (precondición fallida)</li>
+ *   <li>El producto cambió entre la lectura y la escritura de esta misma operación (conflicto)</li>
+ * </ul>
+ */
+@Getter
+public class ProductVersionConflictException extends RuntimeException {
+
+    /**
+     * ID del producto afectado.
+     */
+    private final Long productId;
+
+    /**
+     * Indica si la versión no coincide con la indicada por el cliente.
+     */
+    private final boolean preconditionFailed;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param productId ID del producto afectado
+     * @param preconditionFailed true si la versión indicada por el cliente no coincide con la actual
+     */
+    public ProductVersionConflictException(Long productId, boolean preconditionFailed) {
+        super("Product " + productId + " was modified concurrently");
+        this.productId = productId;
+        this.preconditionFailed = preconditionFailed;
+    }
+}
@@ -55,6 +55,30 @@ public class Product {
      */
     private Status status;
 
+    /**
+     * Versión del producto, usada para detectar modificaciones concurrentes.
+     * <p>
+     * La asigna el repositorio y cambia en cada escritura; es nula en productos no guardados.
+     */
+    @Setter
+    private Long version;
+
+    /**
+     * Constructor con todos los atributos salvo la versión.
+     *
+     * @param id ID del producto
+     * @param name Nombre del producto
+     * @param description Descripción del producto
+     * @param price Precio del producto
+     * @param stock Cantidad en inventario
+     * @param category Categoría del producto
+     * @param status Estado del producto
+     */
+    public Product(Long id, String name, String description, BigDecimal price, Integer stock,
+                   Category category, Status status) {
+        this(id, name, description, price, stock, category, status, null);
+    }
+
     /**
      * Constructor para crear un nuevo producto sin ID.
      *
@@ -0,0 +1,37 @@
+package org.alvarowau.productcatalog.domain.model;
+
+import lombok.*;
+
+/**
+ * Cambio de un producto registrado en el historial de cambios del catálogo.
+ * <p>
+ * Cada cambio tiene un número de secuencia único y creciente: un consumidor que recuerda
+ * la última secuencia leída puede pedir solo los cambios posteriores y aplicarlos en orden.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ProductChangeEvent {
+
+    /**
+     * Número de secuencia del cambio, mayor que el de todos los cambios confirmados antes.
+     */
+    private final long sequence;
+
+    /**
+     * ID del producto modificado.
+     */
+    private final Long productId;
+
+    /**
+     * Tipo de cambio.
+     */
+    private final ProductChangeType type;
+
+    /**
+     * Estado actual del producto en los cambios {@link ProductChangeType#UPSERT},
+     * o null en las lápidas.
+     */
+    private final Product product;
+}
@@ -0,0 +1,11 @@
+package org.alvarowau.productcatalog.domain.model;
+
+/**
+ * Enumeración que representa el tipo de un cambio del catálogo.
+ */
+public enum ProductChangeType {
+    /** El producto se ha creado o modificado; el cambio incluye su estado actual. */
+    UPSERT,
+    /** El producto se ha eliminado (lápida); el cambio solo incluye su ID. */
+    DELETE
+}
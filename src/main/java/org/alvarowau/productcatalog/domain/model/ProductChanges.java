@@ -0,0 +1,94 @@
+package org.alvarowau.productcatalog.domain.model;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Conjunto de campos modificados de un producto.
+ * <p>
+ * Cada campo contiene el nuevo valor, o null si no cambia. Se obtiene comparando el
+ * estado actual del producto con el resultado de aplicarle una actualización, de modo
+ * que el repositorio pueda escribir solo las columnas modificadas o no escribir nada.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@EqualsAndHashCode
+public class ProductChanges {
+
+    /**
+     * Nuevo nombre, o null si no cambia.
+     */
+    private final String name;
+
+    /**
+     * Nueva descripción, o null si no cambia.
+     */
+    private final String description;
+
+    /**
+     * Nuevo precio, o null si no cambia.
+     */
+    private final BigDecimal price;
+
+    /**
+     * Nuevo stock, o null si no cambia.
+     */
+    private final Integer stock;
+
+    /**
+     * Nueva categoría, o null si no cambia.
+     */
+    private final Category category;
+
+    /**
+     * Nuevo estado, o null si no cambia.
+     */
+    private final Status status;
+
+    /**
+     * Calcula los campos que difieren entre dos estados del mismo producto.
+     * <p>
+     * Los precios se comparan por valor numérico, sin tener en cuenta la escala
+     * ({@code 10.0} y {@code 10.00} se consideran iguales).
+     *
+     * @param current Estado actual del producto
+     * @param updated Estado del producto tras aplicar la actualización
+     * @return campos modificados (vacío si ambos estados son equivalentes)
+     */
+    public static ProductChanges between(Product current, Product updated) {
+        return new ProductChanges(
+                changed(current.getName(), updated.getName()),
+                changed(current.getDescription(), updated.getDescription()),
+                current.getPrice() != null && updated.getPrice() != null
+                        && current.getPrice().compareTo(updated.getPrice()) == 0 ? null : updated.getPrice(),
+                changed(current.getStock(), updated.getStock()),
+                changed(current.getCategory(), updated.getCategory()),
+                changed(current.getStatus(), updated.getStatus()));
+    }
+
+    /**
+     * Indica si no hay ningún campo modificado.
+     *
+     * @return true si todos los campos son nulos
+     */
+    public boolean isEmpty() {
+        return name == null && description == null && price == null && stock == null
+                && category == null && status == null;
+    }
+
+    /**
+     * Indica si cambia algún campo indexado para la búsqueda de texto (nombre o descripción).
+     *
+     * @return true si cambia el nombre o la descripción
+     */
+    public boolean affectsSearchText() {
+        return name != null || description != null;
+    }
+
+    private static <T> T changed(T current, T updated) {
+        return Objects.equals(current, updated) ? null : updated;
+    }
+}
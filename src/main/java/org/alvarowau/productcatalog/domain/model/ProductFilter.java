@@ -0,0 +1,68 @@
+package org.alvarowau.productcatalog.domain.model;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Criterios de filtrado de productos del catálogo.
+ * <p>
+ * Todos los criterios son opcionales: un criterio nulo no restringe el resultado
+ * y los criterios presentes se combinan con AND.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ProductFilter {
+
+    /**
+     * Categoría exacta que deben tener los productos.
+     */
+    private Category category;
+
+    /**
+     * Estado exacto que deben tener los productos.
+     */
+    private Status status;
+
+    /**
+     * Precio mínimo (inclusive).
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * Precio máximo (inclusive).
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * Si es true, solo productos con stock mayor que cero; si es false, solo productos sin stock.
+     */
+    private Boolean inStock;
+
+    /**
+     * Indica si el filtro no contiene ningún criterio.
+     *
+     * @return true si todos los criterios son nulos
+     */
+    public boolean isEmpty() {
+        return category == null && status == null && minPrice == null && maxPrice == null && inStock == null;
+    }
+
+    /**
+     * Evalúa el filtro sobre un producto ya cargado en memoria.
+     *
+     * @param product Producto a evaluar
+     * @return true si el producto cumple todos los criterios del filtro
+     */
+    public boolean matches(Product product) {
+        if (product == null) return false;
+        if (category != null && category != product.getCategory()) return false;
+        if (status != null && status != product.getStatus()) return false;
+        if (minPrice != null && product.getPrice().compareTo(minPrice) < 0) return false;
+        if (maxPrice != null && product.getPrice().compareTo(maxPrice) > 0) return false;
+        return inStock == null || inStock == (product.getStock() > 0);
+    }
+}
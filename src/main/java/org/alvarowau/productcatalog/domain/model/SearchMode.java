@@ -0,0 +1,11 @@
+package org.alvarowau.productcatalog.domain.model;
+
+/**
+ * Enumeración que representa cómo se combinan los términos de una búsqueda de texto.
+ */
+public enum SearchMode {
+    /** El producto debe contener todos los términos de la consulta. */
+    AND,
+    /** Basta con que el producto contenga alguno de los términos de la consulta. */
+    OR
+}
@@ -0,0 +1,13 @@
+package org.alvarowau.productcatalog.domain.model;
+
+/**
+ * Enumeración que representa el resultado de una reserva de stock.
+ */
+public enum StockReservationResult {
+    /** El stock se ha descontado. */
+    RESERVED,
+    /** El producto existe pero no tiene stock suficiente; no se ha modificado. */
+    INSUFFICIENT_STOCK,
+    /** No existe ningún producto con el ID indicado. */
+    NOT_FOUND
+}
@@ -1,16 +1,27 @@
 package org.alvarowau.productcatalog.infrastructure.adapter.in;
 
+import org.alvarowau.productcatalog.domain.model.SearchMode;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.*;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.importer.ProductImportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador REST para la gestión de productos.
  * <p>
  * Expone los endpoints para operaciones CRUD de productos siguiendo las mejores prácticas RESTful.
  * Mapea las peticiones HTTP a los casos de uso correspondientes del sistema.
+ * <p>
+ * Las operaciones sobre un único producto retornan un {@link CompletableFuture}: el caso de uso
+ * se resuelve en otro hilo y el hilo del servidor queda libre mientras tanto. Si el ejecutor de
+ * casos de uso está saturado, responden 503.
  */
 public interface ProductRestController {
 
@@ -18,21 +29,52 @@ public interface ProductRestController {
      * Crea un nuevo producto.
      *
      * @param request Datos necesarios para la creación del producto
-     * @return ResponseEntity con el producto creado y estado HTTP 201
+     * @return ResponseEntity con el producto creado y estado HTTP 201, o 503 si no se admite más trabajo
      * @apiNote POST /api/products
      */
     @PostMapping
-    ResponseEntity<ProductResponse> createProduct(@RequestBody CreateProductRequest request);
+    CompletableFuture<ResponseEntity<ProductResponse>> createProduct(@RequestBody CreateProductRequest request);
+
+    /**
+     * Crea muchos productos en una sola petición.
+     * <p>
+     * Cada elemento se valida y se guarda de forma independiente: la respuesta incluye
+     * el ID asignado o el motivo del fallo de cada uno, en el orden de la petición.
+     *
+     * @param requests Lista de productos a crear
+     * @return ResponseEntity con los resultados por elemento (200) o lista inválida (400)
+     * @apiNote POST /api/products/_bulk
+     */
+    @PostMapping("/_bulk")
+    ResponseEntity<ProductBulkResponse> createProducts(@RequestBody List<CreateProductRequest> requests);
+
+    /**
+     * Importa productos desde un fichero CSV o NDJSON enviado como cuerpo de la petición.
+     * <p>
+     * El cuerpo se procesa en streaming, validando y guardando los productos por bloques,
+     * por lo que admite ficheros de cualquier tamaño. El formato se indica con la cabecera
+     * {@code Content-Type} ({@code text/csv} o {@code application/x-ndjson}).
+     *
+     * @param contentType Tipo del cuerpo
+     * @param body Contenido del fichero
+     * @return ResponseEntity con los totales y los primeros errores (200) o cabecera CSV inválida (400)
+     * @apiNote POST /api/products/_import
+     */
+    @PostMapping(value = "/_import", consumes = {ProductImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<ProductImportResponse> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         InputStream body);
 
     /**
      * Obtiene un producto específico por su ID.
+     * <p>
+     * La respuesta incluye la versión del producto en la cabecera {@code ETag}.
      *
      * @param id Identificador único del producto
-     * @return ResponseEntity con el producto encontrado (200) o no encontrado (404)
+     * @return ResponseEntity con el producto encontrado (200), no encontrado (404) o saturado (503)
      * @apiNote GET /api/products/{id}
      */
     @GetMapping("/{id}")
-    ResponseEntity<ProductResponse> getProductById(@PathVariable Long id);
+    CompletableFuture<ResponseEntity<ProductResponse>> getProductById(@PathVariable Long id);
 
     /**
      * Obtiene todos los productos disponibles.
@@ -43,24 +85,170 @@ public interface ProductRestController {
     @GetMapping
     ResponseEntity<List<ProductResponse>> getAllProducts();
 
+    /**
+     * Obtiene una página de productos mediante paginación por cursor.
+     *
+     * @param after Cursor opaco devuelto en {@code nextCursor} por la página anterior (opcional)
+     * @param limit Número máximo de productos de la página
+     * @return ResponseEntity con la página de productos (200) o petición inválida (400)
+     * @apiNote GET /api/products?after={cursor}&limit={n}
+     */
+    @GetMapping(params = "limit")
+    ResponseEntity<ProductPageResponse> getProductPage(@RequestParam(required = false) String after,
+                                                       @RequestParam int limit);
+
+    /**
+     * Obtiene la página de productos que sigue al cursor indicado, con el tamaño de página por defecto (100).
+     * <p>
+     * Evita que un cursor sin {@code limit} caiga en {@link #getAllProducts()} y devuelva el
+     * catálogo completo ignorando el cursor.
+     *
+     * @param after Cursor opaco devuelto en {@code nextCursor} por la página anterior
+     * @return ResponseEntity con la página de productos (200) o cursor inválido (400)
+     * @apiNote GET /api/products?after={cursor}
+     */
+    @GetMapping(params = {"after", "!limit"})
+    default ResponseEntity<ProductPageResponse> getProductPage(@RequestParam String after) {
+        return getProductPage(after, 100);
+    }
+
+    /**
+     * Obtiene varios productos por sus IDs en una sola petición.
+     *
+     * @param ids IDs separados por comas, en el orden en que se quieren recibir
+     * @return ResponseEntity con los productos encontrados y los IDs inexistentes (200) o lista inválida (400)
+     * @apiNote GET /api/products?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestParam List<Long> ids);
+
+    /**
+     * Obtiene varios productos por sus IDs, recibidos en el cuerpo de la petición.
+     * <p>
+     * Variante de {@link #getProductsByIds(List)} para listas demasiado largas para la URL.
+     *
+     * @param request Cuerpo con la lista de IDs
+     * @return ResponseEntity con los productos encontrados y los IDs inexistentes (200) o lista inválida (400)
+     * @apiNote POST /api/products/_batch
+     */
+    @PostMapping("/_batch")
+    ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestBody ProductBatchRequest request);
+
+    /**
+     * Obtiene una página de productos que cumplen los criterios de filtrado.
+     *
+     * @param filter Criterios de filtrado tomados de los parámetros de consulta
+     *               ({@code category}, {@code status}, {@code minPrice}, {@code maxPrice}, {@code inStock})
+     * @param after Cursor opaco devuelto en {@code nextCursor} por la página anterior (opcional)
+     * @param limit Número máximo de productos de la página (100 por defecto)
+     * @return ResponseEntity con la página de productos filtrados (200) o criterios inválidos (400)
+     * @apiNote GET /api/products/filter?category=ELECTRONICS&status=AVAILABLE&maxPrice=50
+     */
+    @GetMapping("/filter")
+    ResponseEntity<ProductPageResponse> getProductsByFilter(@ModelAttribute ProductFilterRequest filter,
+                                                            @RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "100") int limit);
+
+    /**
+     * Busca productos por texto libre en su nombre y descripción.
+     *
+     * @param q Texto de la consulta (no distingue mayúsculas ni acentos)
+     * @param mode Modo de combinación de los términos: AND (todos, por defecto) u OR (alguno)
+     * @param limit Número máximo de resultados (20 por defecto)
+     * @return ResponseEntity con los productos ordenados por relevancia (200) o consulta inválida (400)
+     * @apiNote GET /api/products/search?q=camiseta algodon&mode=AND&limit=20
+     */
+    @GetMapping("/search")
+    ResponseEntity<List<ProductResponse>> searchProducts(@RequestParam String q,
+                                                         @RequestParam(defaultValue = "AND") SearchMode mode,
+                                                         @RequestParam(defaultValue = "20") int limit);
+
+    /**
+     * Obtiene los cambios del catálogo posteriores a una secuencia, para sincronizar copias
+     * del catálogo sin recargarlo completo.
+     * <p>
+     * Las altas y modificaciones llegan como UPSERT con el estado actual del producto y las
+     * eliminaciones como DELETE sin producto, en orden de secuencia. La página siguiente se pide
+     * con {@code since} igual al {@code nextSince} de la respuesta.
+     *
+     * @param since Secuencia a partir de la cual (exclusiva) se recuperan cambios (0 por defecto)
+     * @param limit Número máximo de cambios de la página (100 por defecto)
+     * @return ResponseEntity con la página de cambios (200), parámetros inválidos (400) o
+     *         repositorio sin historial de cambios (501)
+     * @apiNote GET /api/products/changes?since=1520&limit=500
+     */
+    @GetMapping("/changes")
+    ResponseEntity<ProductChangesResponse> getProductChanges(@RequestParam(defaultValue = "0") long since,
+                                                             @RequestParam(defaultValue = "100") int limit);
+
+    /**
+     * Exporta el catálogo completo como JSON delimitado por saltos de línea (NDJSON).
+     * <p>
+     * La respuesta se escribe en streaming a medida que se leen los productos,
+     * por lo que el consumo de memoria no depende del tamaño del catálogo.
+     *
+     * @return ResponseEntity con el cuerpo en streaming, un producto por línea (200)
+     * @apiNote GET /api/products/export
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportProducts();
+
     /**
      * Actualiza un producto existente.
+     * <p>
+     * Con la cabecera {@code If-Match} la actualización solo se aplica si el producto sigue en
+     * la versión indicada (la del {@code ETag} recibido). Sin ella, se aplica sobre la versión
+     * leída y falla si otro cliente modifica el producto a la vez.
      *
      * @param id Identificador del producto a actualizar
      * @param request Datos para la actualización (campos nulos serán ignorados)
-     * @return ResponseEntity con el producto actualizado (200) o no encontrado (404)
+     * @param ifMatch Versión esperada del producto (opcional)
+     * @return ResponseEntity con el producto actualizado (200), no encontrado (404),
+     *         modificación concurrente (409), versión distinta de la indicada (412) o saturado (503)
      * @apiNote PUT /api/products/{id}
      */
     @PutMapping("/{id}")
-    ResponseEntity<ProductResponse> updateProduct(@PathVariable Long id, @RequestBody UpdateProductRequest request);
+    CompletableFuture<ResponseEntity<ProductResponse>> updateProduct(@PathVariable Long id,
+                                                                     @RequestBody UpdateProductRequest request,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch);
 
     /**
      * Elimina un producto existente.
      *
      * @param id Identificador del producto a eliminar
-     * @return ResponseEntity vacío con estado 204 (éxito) o 404 (no encontrado)
+     * @return ResponseEntity vacío con estado 204 (éxito), 404 (no encontrado) o 503 (saturado)
      * @apiNote DELETE /api/products/{id}
      */
     @DeleteMapping("/{id}")
-    ResponseEntity<Void> deleteProduct(@PathVariable Long id);
+    CompletableFuture<ResponseEntity<Void>> deleteProduct(@PathVariable Long id);
+
+    /**
+     * Reserva unidades del stock de un producto.
+     * <p>
+     * El descuento es atómico: varias reservas simultáneas sobre el mismo producto
+     * nunca dejan el stock en negativo.
+     *
+     * @param id ID del producto
+     * @param request Unidades a reservar
+     * @return ResponseEntity vacío con estado 204 si se reservó, 409 si no hay stock suficiente,
+     *         404 si no existe el producto, 400 si la cantidad es inválida o 503 si no se admite más trabajo
+     * @apiNote POST /api/products/{id}/stock/reserve
+     */
+    @PostMapping("/{id}/stock/reserve")
+    CompletableFuture<ResponseEntity<Void>> reserveStock(@PathVariable Long id, @RequestBody StockReservationRequest request);
+
+    /**
+     * Elimina varios productos, indicados por ID o mediante un filtro.
+     * <p>
+     * Se debe indicar una lista de IDs o, en su lugar, criterios de filtrado con al menos
+     * la categoría o el estado; no se admiten ambos a la vez.
+     *
+     * @param ids IDs separados por comas (opcional)
+     * @param filter Criterios de filtrado tomados de los parámetros de consulta (opcional)
+     * @return ResponseEntity con el número de productos eliminados (200) o criterios inválidos (400)
+     * @apiNote DELETE /api/products?ids=1,2,3 o DELETE /api/products?category=TOYS&status=DISCONTINUED
+     */
+    @DeleteMapping
+    ResponseEntity<ProductDeleteResponse> deleteProducts(@RequestParam(required = false) List<Long> ids,
+                                                         @ModelAttribute ProductFilterRequest filter);
 }
\ No newline at end of file
@@ -1,45 +1,107 @@
 package org.alvarowau.productcatalog.infrastructure.adapter.in;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.alvarowau.productcatalog.application.port.in.*;
+import org.alvarowau.productcatalog.domain.exception.ProductVersionConflictException;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.*;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.importer.ProductImportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Implementación del controlador REST para operaciones de productos.
  * <p>
  * Esta clase maneja las peticiones HTTP y delega la lógica de negocio
- * a los casos de uso correspondientes.
+ * a los casos de uso correspondientes. Las operaciones sobre un único producto usan las
+ * variantes asíncronas de los casos de uso y traducen su resultado a la respuesta cuando
+ * se completa; un rechazo por saturación del ejecutor se responde con 503.
  */
 @RestController
 @RequestMapping("/product")
 public class ProductRestControllerImpl implements ProductRestController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductRestControllerImpl.class);
+
     private final CreateProductUseCase createProductUseCase;
     private final GetProductUseCase getProductUseCase;
-    private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final ExportProductsUseCase exportProductsUseCase;
+    private final SearchProductUseCase searchProductUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
+    private final ObjectProvider<GetProductChangesUseCase> getProductChangesUseCase;
+    private final GetProductAsyncUseCase getProductAsyncUseCase;
+    private final CreateProductAsyncUseCase createProductAsyncUseCase;
+    private final UpdateProductAsyncUseCase updateProductAsyncUseCase;
+    private final DeleteProductAsyncUseCase deleteProductAsyncUseCase;
+    private final ReserveStockAsyncUseCase reserveStockAsyncUseCase;
+    private final ObjectMapper objectMapper;
+    private final int exportFlushEvery;
 
     /**
      * Constructor para inyección de dependencias.
      *
      * @param createProductUseCase Caso de uso para creación de productos
      * @param getProductUseCase Caso de uso para obtención de productos
-     * @param updateProductUseCase Caso de uso para actualización de productos
      * @param deleteProductUseCase Caso de uso para eliminación de productos
+     * @param exportProductsUseCase Caso de uso para exportación del catálogo
+     * @param searchProductUseCase Caso de uso para búsqueda de texto de productos
+     * @param importProductsUseCase Caso de uso para importación masiva de productos
+     * @param getProductChangesUseCase Caso de uso para el historial de cambios, si el repositorio lo mantiene
+     * @param getProductAsyncUseCase Caso de uso asíncrono para obtención de un producto
+     * @param createProductAsyncUseCase Caso de uso asíncrono para creación de un producto
+     * @param updateProductAsyncUseCase Caso de uso asíncrono para actualización de un producto
+     * @param deleteProductAsyncUseCase Caso de uso asíncrono para eliminación de un producto
+     * @param reserveStockAsyncUseCase Caso de uso asíncrono para reserva de stock
+     * @param objectMapper ObjectMapper de la aplicación, usado para serializar la exportación y decodificar las importaciones NDJSON
+     * @param exportFlushEvery Número de productos escritos entre cada vaciado explícito del buffer de salida
      */
     public ProductRestControllerImpl(CreateProductUseCase createProductUseCase,
                                      GetProductUseCase getProductUseCase,
-                                     UpdateProductUseCase updateProductUseCase,
-                                     DeleteProductUseCase deleteProductUseCase) {
+                                     DeleteProductUseCase deleteProductUseCase,
+                                     ExportProductsUseCase exportProductsUseCase,
+                                     SearchProductUseCase searchProductUseCase,
+                                     ImportProductsUseCase importProductsUseCase,
+                                     ObjectProvider<GetProductChangesUseCase> getProductChangesUseCase,
+                                     GetProductAsyncUseCase getProductAsyncUseCase,
+                                     CreateProductAsyncUseCase createProductAsyncUseCase,
+                                     UpdateProductAsyncUseCase updateProductAsyncUseCase,
+                                     DeleteProductAsyncUseCase deleteProductAsyncUseCase,
+                                     ReserveStockAsyncUseCase reserveStockAsyncUseCase,
+                                     ObjectMapper objectMapper,
+                                     @Value("${product.export.flush-every:1000}") int exportFlushEvery) {
         this.createProductUseCase = createProductUseCase;
         this.getProductUseCase = getProductUseCase;
-        this.updateProductUseCase = updateProductUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
+        this.exportProductsUseCase = exportProductsUseCase;
+        this.searchProductUseCase = searchProductUseCase;
+        this.importProductsUseCase = importProductsUseCase;
+        this.getProductChangesUseCase = getProductChangesUseCase;
+        this.getProductAsyncUseCase = getProductAsyncUseCase;
+        this.createProductAsyncUseCase = createProductAsyncUseCase;
+        this.updateProductAsyncUseCase = updateProductAsyncUseCase;
+        this.deleteProductAsyncUseCase = deleteProductAsyncUseCase;
+        this.reserveStockAsyncUseCase = reserveStockAsyncUseCase;
+        this.objectMapper = objectMapper;
+        this.exportFlushEvery = exportFlushEvery;
     }
 
     /**
@@ -48,15 +110,58 @@ public class ProductRestControllerImpl implements ProductRestController {
      * Maneja peticiones POST para crear nuevos productos.
      *
      * @param request Datos del producto a crear
-     * @return ResponseEntity con el producto creado (201) o error (400)
+     * @return ResponseEntity con el producto creado (201), error (400) o saturado (503)
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<ProductResponse>> createProduct(CreateProductRequest request) {
+        return createProductAsyncUseCase.createProduct(request).handle((response, error) -> {
+            if (error != null) {
+                return failure(error);
+            }
+            if (response == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones POST de creación masiva.
+     *
+     * @param requests Productos a crear
+     * @return ResponseEntity con los resultados por elemento (200) o lista inválida (400)
+     */
+    @Override
+    public ResponseEntity<ProductBulkResponse> createProducts(List<CreateProductRequest> requests) {
+        try {
+            return ResponseEntity.ok(createProductUseCase.createProducts(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones POST de importación. El progreso se registra en el log a medida
+     * que se guardan los bloques.
+     *
+     * @param contentType Tipo del cuerpo
+     * @param body Contenido del fichero
+     * @return ResponseEntity con los totales y los primeros errores (200) o cabecera inválida (400)
      */
     @Override
-    public ResponseEntity<ProductResponse> createProduct(CreateProductRequest request) {
-        ProductResponse response = createProductUseCase.createProduct(request);
-        if (response == null) {
+    public ResponseEntity<ProductImportResponse> importProducts(String contentType, InputStream body) {
+        try {
+            ProductImportFormat format = ProductImportFormat.fromMediaType(MediaType.parseMediaType(contentType));
+            return ResponseEntity.ok(importProductsUseCase.importProducts(format.open(body, objectMapper),
+                    progress -> log.info("Imported {} records ({} created, {} failed)",
+                            progress.getRead(), progress.getCreated(), progress.getFailed())));
+        } catch (IllegalArgumentException | IOException e) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     /**
@@ -65,13 +170,17 @@ public class ProductRestControllerImpl implements ProductRestController {
      * Maneja peticiones GET para obtener un producto específico.
      *
      * @param id ID del producto a buscar
-     * @return ResponseEntity con el producto (200) o no encontrado (404)
+     * @return ResponseEntity con el producto (200), no encontrado (404) o saturado (503)
      */
     @Override
-    public ResponseEntity<ProductResponse> getProductById(Long id) {
-        Optional<ProductResponse> response = getProductUseCase.getProductById(id);
-        return response.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<ProductResponse>> getProductById(Long id) {
+        return getProductAsyncUseCase.getProductById(id).handle((response, error) -> {
+            if (error != null) {
+                return failure(error);
+            }
+            return response.map(ProductRestControllerImpl::withETag)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        });
     }
 
     /**
@@ -90,6 +199,147 @@ public class ProductRestControllerImpl implements ProductRestController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones GET paginadas por cursor.
+     *
+     * @param after Cursor de la página anterior (opcional)
+     * @param limit Tamaño máximo de la página
+     * @return ResponseEntity con la página de productos (200) o cursor/límite inválido (400)
+     */
+    @Override
+    public ResponseEntity<ProductPageResponse> getProductPage(String after, int limit) {
+        try {
+            return ResponseEntity.ok(getProductUseCase.getProductPage(after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones GET de consulta de varios productos por ID.
+     *
+     * @param ids IDs solicitados
+     * @return ResponseEntity con los productos y los IDs inexistentes (200) o lista inválida (400)
+     */
+    @Override
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(List<Long> ids) {
+        try {
+            return ResponseEntity.ok(getProductUseCase.getProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones POST de consulta de varios productos por ID.
+     *
+     * @param request Cuerpo con los IDs solicitados
+     * @return ResponseEntity con los productos y los IDs inexistentes (200) o lista inválida (400)
+     */
+    @Override
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(ProductBatchRequest request) {
+        return getProductsByIds(request == null ? null : request.getIds());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones GET de filtrado paginadas por cursor.
+     *
+     * @param filter Criterios de filtrado
+     * @param after Cursor de la página anterior (opcional)
+     * @param limit Tamaño máximo de la página
+     * @return ResponseEntity con la página filtrada (200) o criterios inválidos (400)
+     */
+    @Override
+    public ResponseEntity<ProductPageResponse> getProductsByFilter(ProductFilterRequest filter, String after, int limit) {
+        try {
+            return ResponseEntity.ok(getProductUseCase.getProductsByFilter(filter, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones GET de búsqueda de texto.
+     *
+     * @param q Texto de la consulta
+     * @param mode Modo de combinación de los términos
+     * @param limit Número máximo de resultados
+     * @return ResponseEntity con los resultados por relevancia (200) o consulta inválida (400)
+     */
+    @Override
+    public ResponseEntity<List<ProductResponse>> searchProducts(String q, SearchMode mode, int limit) {
+        try {
+            return ResponseEntity.ok(searchProductUseCase.searchProducts(q, mode, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones GET del historial de cambios.
+     *
+     * @param since Secuencia a partir de la cual se recuperan cambios
+     * @param limit Número máximo de cambios
+     * @return ResponseEntity con la página de cambios (200), parámetros inválidos (400) o historial no disponible (501)
+     */
+    @Override
+    public ResponseEntity<ProductChangesResponse> getProductChanges(long since, int limit) {
+        GetProductChangesUseCase useCase = getProductChangesUseCase.getIfAvailable();
+        if (useCase == null) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        try {
+            return ResponseEntity.ok(useCase.getChanges(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cada producto se serializa directamente sobre el stream de salida. Las escrituras
+     * bloquean cuando el cliente no consume, lo que frena la lectura del cursor (control
+     * de flujo), y el buffer se vacía cada {@code exportFlushEvery} productos.
+     *
+     * @return ResponseEntity con el cuerpo NDJSON en streaming (200)
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                exportProductsUseCase.exportProducts(product -> {
+                    try {
+                        writer.writeValue(generator, product);
+                        generator.writeRaw('\n');
+                        if (++written[0] % exportFlushEvery == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -97,16 +347,30 @@ public class ProductRestControllerImpl implements ProductRestController {
      *
      * @param id ID del producto a actualizar
      * @param request Datos de actualización
-     * @return ResponseEntity con producto actualizado (200) o no encontrado (404)
+     * @param ifMatch Versión esperada del producto (opcional)
+     * @return ResponseEntity con producto actualizado (200), no encontrado (404),
+     *         modificación concurrente (409), versión distinta de la indicada (412) o saturado (503)
      */
     @Override
-    public ResponseEntity<ProductResponse> updateProduct(Long id, UpdateProductRequest request) {
-        try {
-            ProductResponse response = updateProductUseCase.updateProduct(id, request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity<ProductResponse>> updateProduct(Long id, UpdateProductRequest request,
+                                                                            String ifMatch) {
+        CompletableFuture<ProductResponse> update = ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")
+                ? updateProductAsyncUseCase.updateProduct(id, request)
+                : updateProductAsyncUseCase.updateProduct(id, request, parseVersion(ifMatch));
+        return update.handle((response, error) -> {
+            if (error == null) {
+                return withETag(response);
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof ProductVersionConflictException e) {
+                return ResponseEntity.status(e.isPreconditionFailed() ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                        .build();
+            }
+            if (cause instanceof RuntimeException && !(cause instanceof RejectedExecutionException)) {
+                return ResponseEntity.notFound().build();
+            }
+            return failure(cause);
+        });
     }
 
     /**
@@ -115,12 +379,114 @@ public class ProductRestControllerImpl implements ProductRestController {
      * Maneja peticiones DELETE para eliminar productos.
      *
      * @param id ID del producto a eliminar
-     * @return ResponseEntity sin contenido (204) o no encontrado (404)
+     * @return ResponseEntity sin contenido (204), no encontrado (404) o saturado (503)
      */
     @Override
-    public ResponseEntity<Void> deleteProduct(Long id) {
-        boolean response = deleteProductUseCase.deleteProduct(id);
-        return response ? ResponseEntity.noContent().build()
-                : ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<Void>> deleteProduct(Long id) {
+        return deleteProductAsyncUseCase.deleteProduct(id).handle((deleted, error) -> {
+            if (error != null) {
+                return failure(error);
+            }
+            return deleted ? ResponseEntity.noContent().<Void>build()
+                    : ResponseEntity.notFound().<Void>build();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones POST de reserva de stock.
+     *
+     * @param id ID del producto
+     * @param request Unidades a reservar
+     * @return ResponseEntity vacío con estado 204, 409, 404, 400 o 503 según el resultado
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<Void>> reserveStock(Long id, StockReservationRequest request) {
+        return reserveStockAsyncUseCase.reserveStock(id, request).handle((result, error) -> {
+            if (error != null) {
+                return unwrap(error) instanceof IllegalArgumentException
+                        ? ResponseEntity.badRequest().<Void>build()
+                        : failure(error);
+            }
+            return switch (result) {
+                case RESERVED -> ResponseEntity.noContent().build();
+                case INSUFFICIENT_STOCK -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+                case NOT_FOUND -> ResponseEntity.notFound().build();
+            };
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Maneja peticiones DELETE masivas por lista de IDs o por filtro.
+     *
+     * @param ids IDs de los productos a eliminar (opcional)
+     * @param filter Criterios de filtrado (opcional)
+     * @return ResponseEntity con el número de productos eliminados (200) o criterios inválidos (400)
+     */
+    @Override
+    public ResponseEntity<ProductDeleteResponse> deleteProducts(List<Long> ids, ProductFilterRequest filter) {
+        try {
+            if (ids == null || ids.isEmpty()) {
+                return ResponseEntity.ok(deleteProductUseCase.deleteProductsByFilter(filter));
+            }
+            if (hasCriteria(filter)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(deleteProductUseCase.deleteProductsByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Traduce el error de un caso de uso asíncrono: 503 si el ejecutor rechazó el trabajo; en otro
+     * caso lo relanza para que Spring lo trate como si lo hubiera lanzado el controlador.
+     */
+    private static <T> ResponseEntity<T> failure(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static boolean hasCriteria(ProductFilterRequest filter) {
+        return filter != null && (filter.getCategory() != null || filter.getStatus() != null
+                || filter.getMinPrice() != null || filter.getMaxPrice() != null || filter.getInStock() != null);
+    }
+
+    private static ResponseEntity<ProductResponse> withETag(ProductResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response != null && response.getVersion() != null) {
+            builder.eTag("\"" + response.getVersion() + "\"");
+        }
+        return builder.body(response);
+    }
+
+    /**
+     * Obtiene la versión de una cabecera {@code If-Match} con una única etiqueta fuerte.
+     * {@code If-Match} exige comparación fuerte (RFC 9110, sección 13.1.1): una etiqueta débil, o que
+     * no sea una versión, nunca coincide, por lo que se traduce en una versión imposible.
+     */
+    private static Long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            return -1L;
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro que garantiza que cada cliente lea sus propias escrituras aunque la réplica de lectura
+ * vaya con retraso.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Las peticiones de escritura ({@code POST}, {@code PUT}, {@code PATCH}, {@code DELETE})
+ *       devuelven la cookie {@value #COOKIE_NAME} con el instante de la escritura</li>
+ *   <li>Mientras no haya pasado {@code maxReplicaLag} desde ese instante, las peticiones del mismo
+ *       cliente leen de la base de datos principal (ver {@link ReadYourWrites})</li>
+ *   <li>Pasado ese tiempo la réplica ya tiene los cambios y las lecturas vuelven a ella</li>
+ * </ul>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Cookie con el instante (milisegundos desde la época) de la última escritura del cliente.
+     */
+    static final String COOKIE_NAME = "product-last-write";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long maxReplicaLagMillis;
+    private final LongSupplier currentTimeMillis;
+
+    /**
+     * Crea el filtro.
+     *
+     * @param maxReplicaLag Retraso máximo de la réplica respecto a la base de datos principal
+     */
+    public ReadYourWritesFilter(Duration maxReplicaLag) {
+        this(maxReplicaLag, System::currentTimeMillis);
+    }
+
+    /**
+     * Crea el filtro con un reloj explícito (usado en pruebas).
+     *
+     * @param maxReplicaLag Retraso máximo de la réplica respecto a la base de datos principal
+     * @param currentTimeMillis Reloj en milisegundos desde la época
+     */
+    ReadYourWritesFilter(Duration maxReplicaLag, LongSupplier currentTimeMillis) {
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = currentTimeMillis.getAsLong();
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (maxReplicaLagMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        long sinceLastWrite = now - lastWrite(request);
+        if (write || (sinceLastWrite >= 0 && sinceLastWrite < maxReplicaLagMillis)) {
+            ReadYourWrites.requirePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.reset();
+        }
+    }
+
+    /**
+     * Instante de la última escritura del cliente, o 0 si no consta o la cookie no es válida.
+     */
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,138 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de peticiones concurrentes que se ajusta solo según la latencia observada.
+ * <p>
+ * Funcionamiento (variante del algoritmo de gradiente):
+ * <ul>
+ *   <li>Se mantienen dos medias móviles de la latencia: una corta (últimas peticiones) y una
+ *       larga, que aproxima la latencia sin carga</li>
+ *   <li>Tras cada petición, el límite se acerca a {@code límite × gradiente + √límite}, con
+ *       {@code gradiente = tolerancia × larga / corta} acotado entre 0,5 y 1: si la latencia
+ *       actual supera la habitual el límite baja de forma multiplicativa, y si no crece poco a poco</li>
+ *   <li>Una petición fallida por el servidor (5xx) reduce el límite un 10 %</li>
+ *   <li>El límite solo crece si se está usando al menos la mitad, para no inflarse con poca carga</li>
+ * </ul>
+ * La admisión no espera: si ya hay tantas peticiones en curso como permite el límite, se rechaza.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double SHORT_WINDOW_WEIGHT = 2.0 / (10 + 1);
+    private static final double LONG_WINDOW_WEIGHT = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int currentLimit;
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * Crea el límite.
+     *
+     * @param initialLimit Límite inicial
+     * @param minLimit Límite mínimo
+     * @param maxLimit Límite máximo
+     * @throws IllegalArgumentException si no se cumple {@code 1 <= minLimit <= initialLimit <= maxLimit}
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    /**
+     * Intenta admitir una petición que puede ocupar, como mucho, la fracción {@code share} del límite.
+     * <p>
+     * Las peticiones prioritarias usan {@code share = 1}; las de menor prioridad, una fracción menor,
+     * de modo que se rechazan antes y siempre queda hueco para las prioritarias.
+     *
+     * @param share Fracción del límite disponible para la petición (entre 0 y 1)
+     * @return true si se admite; en ese caso debe llamarse a {@link #release(long, boolean, boolean)} al terminar
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (currentLimit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera una petición admitida y ajusta el límite con su resultado.
+     *
+     * @param rttNanos Duración de la petición, en nanosegundos
+     * @param dropped true si la petición falló por el servidor
+     * @param sample false para no usar la petición en el ajuste (por ejemplo, respuestas en streaming)
+     */
+    public void release(long rttNanos, boolean dropped, boolean sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample) {
+            update(rttNanos, dropped, inFlightAtCompletion);
+        }
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inFlightAtCompletion) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            currentLimit = (int) limit;
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WINDOW_WEIGHT;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_WINDOW_WEIGHT;
+        }
+        // Si la latencia bajó de forma duradera, la media larga se acerca antes a la nueva referencia
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        if (gradient >= 1.0 && inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+        currentLimit = (int) limit;
+    }
+
+    /**
+     * Límite actual de peticiones concurrentes.
+     */
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Obtiene una instantánea del límite y sus contadores.
+     *
+     * @return estadísticas del límite
+     */
+    public synchronized ConcurrencyLimitStats stats() {
+        return new ConcurrencyLimitStats(currentLimit, inFlight.get(), accepted.sum(), rejected.sum(),
+                (long) shortRttNanos / 1_000, (long) longRttNanos / 1_000);
+    }
+}
@@ -0,0 +1,180 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.admission;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro de control de admisión de la API de productos.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Las lecturas y las escrituras tienen cada una su {@link AdaptiveConcurrencyLimit}, de modo
+ *       que una ráfaga de escrituras lentas no deja sin servicio a las lecturas, ni al revés</li>
+ *   <li>La consulta de un producto por ID ({@code GET /product/{id}}) puede usar todo el límite de
+ *       lecturas; las lecturas costosas (listados, filtros, búsquedas, exportación) solo la fracción
+ *       {@code expensiveShare}, así que bajo sobrecarga se descartan primero</li>
+ *   <li>Una petición que no cabe se rechaza al momento con 503 y la cabecera {@code Retry-After},
+ *       sin esperar en ninguna cola</li>
+ *   <li>El permiso se libera al terminar la respuesta, también en las peticiones asíncronas, y la
+ *       duración de la petición alimenta el ajuste del límite (salvo en las respuestas en streaming)</li>
+ * </ul>
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern PRODUCT_BY_ID = Pattern.compile("/product/\\d+/?");
+    private static final Set<String> STREAMING_PATHS = Set.of("/product/export", "/product/_import");
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final double expensiveShare;
+    private final String retryAfterSeconds;
+
+    /**
+     * Crea el filtro.
+     *
+     * @param readLimit Límite de las lecturas
+     * @param writeLimit Límite de las escrituras
+     * @param expensiveShare Fracción del límite de lecturas disponible para las lecturas costosas (entre 0 y 1)
+     * @param retryAfter Tiempo que se indica al cliente que espere antes de reintentar
+     * @throws IllegalArgumentException si la fracción está fuera de rango o el tiempo es negativo
+     */
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                                  double expensiveShare, Duration retryAfter) {
+        if (!(expensiveShare > 0 && expensiveShare <= 1)) {
+            throw new IllegalArgumentException("expensiveShare must be in (0, 1]");
+        }
+        if (retryAfter == null || retryAfter.isNegative()) {
+            throw new IllegalArgumentException("retryAfter must not be negative");
+        }
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.expensiveShare = expensiveShare;
+        this.retryAfterSeconds = Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * Solo controla las peticiones de la API de productos.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.equals("/product") || path.startsWith("/product/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        AdaptiveConcurrencyLimit limit = write ? writeLimit : readLimit;
+        double share = write || PRODUCT_BY_ID.matcher(path).matches() ? 1.0 : expensiveShare;
+        if (!limit.tryAcquire(share)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        Permit permit = new Permit(limit, !STREAMING_PATHS.contains(path), System.nanoTime());
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            permit.release(true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit, response));
+        } else {
+            permit.release(isServerFailure(response.getStatus()));
+        }
+    }
+
+    /**
+     * Indica si una respuesta revela un fallo o una saturación del servidor (5xx salvo 501).
+     */
+    private static boolean isServerFailure(int status) {
+        return status >= 500 && status != HttpServletResponse.SC_NOT_IMPLEMENTED;
+    }
+
+    /**
+     * Estadísticas del límite de lecturas.
+     */
+    public ConcurrencyLimitStats readStats() {
+        return readLimit.stats();
+    }
+
+    /**
+     * Estadísticas del límite de escrituras.
+     */
+    public ConcurrencyLimitStats writeStats() {
+        return writeLimit.stats();
+    }
+
+    /**
+     * Permiso de una petición admitida; se libera una sola vez aunque se notifique varias.
+     */
+    private static final class Permit {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final boolean sample;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimit limit, boolean sample, long start) {
+            this.limit = limit;
+            this.sample = sample;
+            this.start = start;
+        }
+
+        private void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, dropped, sample);
+            }
+        }
+    }
+
+    /**
+     * Libera el permiso de una petición asíncrona cuando termina, falla o vence su tiempo máximo.
+     */
+    private static final class PermitReleasingListener implements AsyncListener {
+
+        private final Permit permit;
+        private final HttpServletResponse response;
+
+        private PermitReleasingListener(Permit permit, HttpServletResponse response) {
+            this.permit = permit;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(isServerFailure(response.getStatus()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Instantánea de un límite adaptativo de peticiones concurrentes.
+ * <p>
+ * Los contadores son acumulados desde el arranque de la aplicación.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ConcurrencyLimitStats {
+
+    /**
+     * Límite actual de peticiones concurrentes.
+     */
+    private final int limit;
+
+    /**
+     * Peticiones admitidas en curso.
+     */
+    private final int inFlight;
+
+    /**
+     * Peticiones admitidas.
+     */
+    private final long acceptedCount;
+
+    /**
+     * Peticiones rechazadas por superar el límite.
+     */
+    private final long rejectedCount;
+
+    /**
+     * Media móvil corta de la latencia, en microsegundos.
+     */
+    private final long shortRttMicros;
+
+    /**
+     * Media móvil larga de la latencia (referencia sin carga), en microsegundos.
+     */
+    private final long longRttMicros;
+}
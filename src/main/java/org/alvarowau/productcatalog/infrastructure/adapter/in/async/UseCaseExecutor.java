@@ -0,0 +1,126 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.async;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ejecutor de los casos de uso asíncronos, con un número fijo de hilos y una cola acotada.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Las tareas que no caben en la cola se rechazan con {@link RejectedExecutionException}
+ *       en lugar de acumularse sin límite</li>
+ *   <li>Cada tarea pasa por un {@link TaskDecorator} en el hilo que la envía, que puede capturar
+ *       el contexto de ese hilo (por ejemplo, a qué base de datos deben ir sus lecturas) y
+ *       restaurarlo en el hilo que la ejecuta</li>
+ *   <li>Cuenta las tareas enviadas, rechazadas y terminadas, y el tiempo que esperan en la cola
+ *       (ver {@link #stats()})</li>
+ * </ul>
+ */
+public class UseCaseExecutor extends ThreadPoolExecutor {
+
+    private final int queueCapacity;
+    private final TaskDecorator taskDecorator;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Crea el ejecutor sin propagar contexto a las tareas.
+     *
+     * @param threads Número de hilos
+     * @param queueCapacity Número máximo de tareas esperando un hilo
+     * @throws IllegalArgumentException si algún parámetro no es positivo
+     */
+    public UseCaseExecutor(int threads, int queueCapacity) {
+        this(threads, queueCapacity, task -> task);
+    }
+
+    /**
+     * Crea el ejecutor.
+     *
+     * @param threads Número de hilos
+     * @param queueCapacity Número máximo de tareas esperando un hilo
+     * @param taskDecorator Decorador aplicado a cada tarea en el hilo que la envía
+     * @throws IllegalArgumentException si algún parámetro no es positivo
+     */
+    public UseCaseExecutor(int threads, int queueCapacity, TaskDecorator taskDecorator) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory());
+        this.queueCapacity = queueCapacity;
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command must not be null");
+        }
+        submitted.increment();
+        try {
+            super.execute(new TimedTask(taskDecorator.decorate(command), System.nanoTime()));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene una instantánea de los contadores del ejecutor.
+     *
+     * @return estadísticas del ejecutor
+     */
+    public UseCaseExecutorStats stats() {
+        long startedCount = started.sum();
+        return new UseCaseExecutorStats(submitted.sum(), rejected.sum(), getCompletedTaskCount(), getActiveCount(),
+                getQueue().size(), queueCapacity, getPoolSize(),
+                startedCount == 0 ? 0 : queueWaitNanos.sum() / startedCount / 1_000,
+                maxQueueWaitNanos.get() / 1_000);
+    }
+
+    /**
+     * Tarea que anota su espera en la cola antes de ejecutarse.
+     */
+    private final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        private TimedTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            long waited = System.nanoTime() - enqueuedAt;
+            started.increment();
+            queueWaitNanos.add(waited);
+            maxQueueWaitNanos.accumulate(waited);
+            task.run();
+        }
+    }
+
+    /**
+     * Crea hilos con nombre {@code use-case-N} para identificarlos en los volcados de hilos.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "use-case-" + sequence.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.async;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Instantánea de los contadores del ejecutor de casos de uso asíncronos.
+ * <p>
+ * Los contadores son acumulados desde el arranque de la aplicación.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UseCaseExecutorStats {
+
+    /**
+     * Tareas enviadas, incluidas las rechazadas.
+     */
+    private final long submittedCount;
+
+    /**
+     * Tareas rechazadas por estar la cola llena.
+     */
+    private final long rejectedCount;
+
+    /**
+     * Tareas terminadas, con éxito o con error.
+     */
+    private final long completedCount;
+
+    /**
+     * Hilos ejecutando una tarea en el momento de la instantánea.
+     */
+    private final int activeThreads;
+
+    /**
+     * Tareas esperando un hilo en el momento de la instantánea.
+     */
+    private final int queueSize;
+
+    /**
+     * Número máximo de tareas que pueden esperar un hilo.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Hilos creados por el ejecutor.
+     */
+    private final int poolSize;
+
+    /**
+     * Tiempo medio de espera en la cola de las tareas iniciadas, en microsegundos.
+     */
+    private final long averageQueueWaitMicros;
+
+    /**
+     * Tiempo máximo de espera en la cola, en microsegundos.
+     */
+    private final long maxQueueWaitMicros;
+}
@@ -0,0 +1,23 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para la consulta de varios productos por ID en una sola petición.
+ * <p>
+ * Se usa como cuerpo de {@code POST /product/_batch} cuando la lista de IDs
+ * es demasiado larga para enviarla en la URL.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    /**
+     * IDs de los productos solicitados, en el orden en que se quieren recibir.
+     */
+    private List<Long> ids;
+}
@@ -0,0 +1,28 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una consulta de varios productos por ID.
+ * <p>
+ * Contiene los productos encontrados en el orden de la petición y
+ * los IDs solicitados que no existen en el catálogo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    /**
+     * Productos encontrados, en el mismo orden en que se solicitaron sus IDs.
+     */
+    private List<ProductResponse> products;
+
+    /**
+     * IDs solicitados que no corresponden a ningún producto, en el orden de la petición.
+     */
+    private List<Long> missingIds;
+}
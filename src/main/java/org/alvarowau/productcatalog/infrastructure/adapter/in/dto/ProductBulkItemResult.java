@@ -0,0 +1,53 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+/**
+ * DTO con el resultado de un elemento de una creación masiva de productos.
+ * <p>
+ * Cada resultado se corresponde con la posición del elemento en la petición:
+ * si se creó contiene el ID asignado y, si no, el motivo del fallo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkItemResult {
+
+    /**
+     * Posición del elemento en la lista recibida (empezando en 0).
+     */
+    private int index;
+
+    /**
+     * ID asignado al producto creado, o null si no se creó.
+     */
+    private Long id;
+
+    /**
+     * Motivo por el que no se creó el producto, o null si se creó.
+     */
+    private String error;
+
+    /**
+     * Crea el resultado de un elemento creado correctamente.
+     *
+     * @param index Posición del elemento en la petición
+     * @param id ID asignado al producto
+     * @return Resultado sin error
+     */
+    public static ProductBulkItemResult created(int index, Long id) {
+        return new ProductBulkItemResult(index, id, null);
+    }
+
+    /**
+     * Crea el resultado de un elemento que no se pudo crear.
+     *
+     * @param index Posición del elemento en la petición
+     * @param error Motivo del fallo
+     * @return Resultado sin ID
+     */
+    public static ProductBulkItemResult failed(int index, String error) {
+        return new ProductBulkItemResult(index, null, error);
+    }
+}
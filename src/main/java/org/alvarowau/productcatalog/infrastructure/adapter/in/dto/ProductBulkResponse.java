@@ -0,0 +1,32 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una creación masiva de productos.
+ * <p>
+ * Incluye los totales y un resultado por cada elemento recibido, en el mismo orden.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkResponse {
+
+    /**
+     * Número de productos creados.
+     */
+    private int created;
+
+    /**
+     * Número de elementos que no se pudieron crear.
+     */
+    private int failed;
+
+    /**
+     * Resultado de cada elemento, en el orden de la petición.
+     */
+    private List<ProductBulkItemResult> results;
+}
@@ -0,0 +1,34 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+
+/**
+ * DTO para un cambio del historial de cambios del catálogo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeResponse {
+
+    /**
+     * Número de secuencia del cambio.
+     */
+    private long sequence;
+
+    /**
+     * Tipo de cambio: UPSERT (alta o modificación) o DELETE (lápida).
+     */
+    private ProductChangeType type;
+
+    /**
+     * ID del producto modificado.
+     */
+    private Long productId;
+
+    /**
+     * Estado actual del producto, o null si el cambio es una lápida.
+     */
+    private ProductResponse product;
+}
@@ -0,0 +1,28 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para una página del historial de cambios del catálogo.
+ * <p>
+ * El consumidor aplica los cambios en orden y pide la página siguiente con
+ * {@code since = nextSince}; cuando la lista llega vacía está al día.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesResponse {
+
+    /**
+     * Cambios de la página, ordenados por secuencia ascendente.
+     */
+    private List<ProductChangeResponse> changes;
+
+    /**
+     * Secuencia desde la que pedir la página siguiente.
+     */
+    private long nextSince;
+}
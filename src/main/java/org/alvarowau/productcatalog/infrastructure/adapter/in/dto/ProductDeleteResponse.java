@@ -0,0 +1,18 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+/**
+ * DTO para la respuesta de una eliminación masiva de productos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDeleteResponse {
+
+    /**
+     * Número de productos eliminados.
+     */
+    private long deleted;
+}
@@ -0,0 +1,53 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Status;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para la solicitud de filtrado de productos.
+ * <p>
+ * Se construye a partir de los parámetros de consulta de la petición.
+ * Todos los campos son opcionales y los presentes se combinan con AND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterRequest {
+
+    /**
+     * Categoría de los productos buscados.
+     * <p>
+     * Ejemplo: ELECTRONICS
+     */
+    private Category category;
+
+    /**
+     * Estado de los productos buscados.
+     * <p>
+     * Ejemplo: AVAILABLE
+     */
+    private Status status;
+
+    /**
+     * Precio mínimo (inclusive).
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * Precio máximo (inclusive).
+     * <p>
+     * Si se proporciona junto a minPrice, no puede ser menor que este.
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * Disponibilidad en inventario.
+     * <p>
+     * true para productos con stock, false para productos sin stock.
+     */
+    private Boolean inStock;
+}
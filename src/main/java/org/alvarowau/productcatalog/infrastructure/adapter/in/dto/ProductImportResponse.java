@@ -0,0 +1,44 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para el resultado de una importación masiva de productos.
+ * <p>
+ * A diferencia de {@link ProductBulkResponse}, no incluye un resultado por registro: solo los
+ * totales y los primeros errores, para que el tamaño de la respuesta no dependa del fichero.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+
+    /**
+     * Número de registros leídos.
+     */
+    private long read;
+
+    /**
+     * Número de productos creados.
+     */
+    private long created;
+
+    /**
+     * Número de registros que no se pudieron crear.
+     */
+    private long failed;
+
+    /**
+     * Primeros registros fallidos; el índice es el número de registro (empezando en 1).
+     */
+    private List<ProductBulkItemResult> errors;
+
+    /**
+     * Motivo por el que la importación se interrumpió antes del final de la entrada,
+     * o null si se leyó completa.
+     */
+    private String abortReason;
+}
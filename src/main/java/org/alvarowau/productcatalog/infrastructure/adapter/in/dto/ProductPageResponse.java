@@ -0,0 +1,30 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta paginada de productos mediante cursor (keyset pagination).
+ * <p>
+ * Contiene los productos de la página actual y un cursor opaco que el cliente
+ * debe enviar en la siguiente petición para continuar recorriendo el catálogo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponse {
+
+    /**
+     * Productos de la página actual, ordenados por ID ascendente.
+     */
+    private List<ProductResponse> content;
+
+    /**
+     * Cursor opaco para obtener la siguiente página.
+     * <p>
+     * Es nulo cuando no hay más productos después de esta página.
+     */
+    private String nextCursor;
+}
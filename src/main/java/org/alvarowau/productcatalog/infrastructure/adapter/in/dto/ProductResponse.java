@@ -66,4 +66,28 @@ public class ProductResponse {
      * Ejemplo: AVAILABLE, OUT_OF_STOCK
      */
     private Status status;
+
+    /**
+     * Versión actual del producto.
+     * <p>
+     * Se envía también como cabecera {@code ETag}; el cliente puede indicarla en
+     * {@code If-Match} al actualizar para no sobrescribir cambios de otros.
+     */
+    private Long version;
+
+    /**
+     * Constructor con todos los atributos salvo la versión.
+     *
+     * @param id ID del producto
+     * @param name Nombre del producto
+     * @param description Descripción del producto
+     * @param price Precio del producto
+     * @param stock Cantidad en inventario
+     * @param category Categoría del producto
+     * @param status Estado del producto
+     */
+    public ProductResponse(Long id, String name, String description, BigDecimal price, Integer stock,
+                           Category category, Status status) {
+        this(id, name, description, price, stock, category, status, null);
+    }
 }
\ No newline at end of file
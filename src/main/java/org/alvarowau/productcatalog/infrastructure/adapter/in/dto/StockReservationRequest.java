@@ -0,0 +1,18 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.dto;
+
+import lombok.*;
+
+/**
+ * DTO para la solicitud de reserva de stock de un producto.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+
+    /**
+     * Unidades a descontar del stock. Debe ser mayor que cero.
+     */
+    private Integer quantity;
+}
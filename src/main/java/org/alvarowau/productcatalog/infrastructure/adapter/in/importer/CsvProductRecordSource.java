@@ -0,0 +1,186 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Origen de registros en formato CSV (RFC 4180).
+ * <p>
+ * Formato:
+ * <ul>
+ *   <li>La primera línea es la cabecera. Se reconocen las columnas {@code name}, {@code description},
+ *       {@code price}, {@code stock}, {@code category} y {@code status} en cualquier orden y sin
+ *       distinguir mayúsculas; el resto se ignoran</li>
+ *   <li>Los campos pueden ir entre comillas dobles, con comillas escapadas como {@code ""} y
+ *       saltos de línea dentro del campo</li>
+ *   <li>Los campos vacíos equivalen a no informar el valor; categoría y estado se indican con el
+ *       nombre de la constante ({@code ELECTRONICS}, {@code AVAILABLE}...)</li>
+ *   <li>Las líneas en blanco se ignoran</li>
+ * </ul>
+ */
+public class CsvProductRecordSource implements ProductRecordSource {
+
+    private final BufferedReader reader;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int priceColumn;
+    private final int stockColumn;
+    private final int categoryColumn;
+    private final int statusColumn;
+
+    /**
+     * Crea el origen leyendo la cabecera.
+     *
+     * @param reader Lector del fichero, posicionado al principio
+     * @throws IOException si falla la lectura de la cabecera
+     * @throws IllegalArgumentException si la entrada está vacía o la cabecera no tiene columna {@code name}
+     */
+    public CsvProductRecordSource(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = nextNonBlankLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input must start with a header line");
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : split(stripBom(header))) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        this.nameColumn = columns.indexOf("name");
+        if (nameColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain a 'name' column");
+        }
+        this.descriptionColumn = columns.indexOf("description");
+        this.priceColumn = columns.indexOf("price");
+        this.stockColumn = columns.indexOf("stock");
+        this.categoryColumn = columns.indexOf("category");
+        this.statusColumn = columns.indexOf("status");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Un registro termina en el primer salto de línea que no esté dentro de un campo entre comillas.
+     */
+    @Override
+    public String nextRecord() throws IOException {
+        String line = nextNonBlankLine();
+        if (line == null || !hasOpenQuote(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (hasOpenQuote(record)) {
+            String next = reader.readLine();
+            if (next == null) {
+                throw new IOException("Unterminated quoted field at end of input");
+            }
+            record.append('\n').append(next);
+        }
+        return record.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CreateProductRequest decode(String record) {
+        List<String> fields = split(record);
+        CreateProductRequest request = new CreateProductRequest();
+        request.setName(field(fields, nameColumn));
+        request.setDescription(field(fields, descriptionColumn));
+        String price = field(fields, priceColumn);
+        String stock = field(fields, stockColumn);
+        String category = field(fields, categoryColumn);
+        String status = field(fields, statusColumn);
+        try {
+            request.setPrice(price == null ? null : new BigDecimal(price.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+        try {
+            request.setStock(stock == null ? null : Integer.valueOf(stock.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid stock: " + stock);
+        }
+        try {
+            request.setCategory(category == null ? null : Category.valueOf(category.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid category: " + category);
+        }
+        try {
+            request.setStatus(status == null ? null : Status.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        return request;
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        return line;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column);
+        return value.isBlank() ? null : value;
+    }
+
+    private static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    /**
+     * Separa un registro en campos, quitando las comillas y resolviendo las comillas escapadas.
+     */
+    private static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,56 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Origen de registros en formato NDJSON: un objeto JSON con los campos de
+ * {@link CreateProductRequest} por línea, igual que los que genera {@code GET /product/export}.
+ * Las líneas en blanco se ignoran.
+ */
+public class NdjsonProductRecordSource implements ProductRecordSource {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+
+    /**
+     * Crea el origen.
+     *
+     * @param reader Lector del fichero
+     * @param objectMapper ObjectMapper de la aplicación, usado para decodificar cada línea
+     */
+    public NdjsonProductRecordSource(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(CreateProductRequest.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String nextRecord() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        return line;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CreateProductRequest decode(String record) {
+        try {
+            return objectReader.readValue(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
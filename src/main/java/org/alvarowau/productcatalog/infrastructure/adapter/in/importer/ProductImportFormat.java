@@ -0,0 +1,90 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Formatos de fichero admitidos por la importación de productos.
+ */
+public enum ProductImportFormat {
+
+    /**
+     * CSV con cabecera (ver {@link CsvProductRecordSource}).
+     */
+    CSV,
+
+    /**
+     * Un objeto JSON por línea (ver {@link NdjsonProductRecordSource}).
+     */
+    NDJSON;
+
+    /**
+     * Tipo MIME de las importaciones CSV.
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Abre un origen de registros de este formato sobre un flujo UTF-8.
+     * <p>
+     * El flujo no se cierra: es responsabilidad de quien lo abrió.
+     *
+     * @param input Flujo de entrada
+     * @param objectMapper ObjectMapper de la aplicación
+     * @return Origen de registros
+     * @throws IOException si falla la lectura de la cabecera
+     * @throws IllegalArgumentException si la cabecera no es válida
+     */
+    public ProductRecordSource open(InputStream input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return switch (this) {
+            case CSV -> new CsvProductRecordSource(reader);
+            case NDJSON -> new NdjsonProductRecordSource(reader, objectMapper);
+        };
+    }
+
+    /**
+     * Obtiene el formato correspondiente a un tipo MIME.
+     *
+     * @param mediaType Tipo MIME de la petición
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException si el tipo no es CSV ni NDJSON
+     */
+    public static ProductImportFormat fromMediaType(MediaType mediaType) {
+        if (mediaType != null && MediaType.valueOf(TEXT_CSV_VALUE).includes(mediaType)) {
+            return CSV;
+        }
+        if (mediaType != null && MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import media type: " + mediaType);
+    }
+
+    /**
+     * Obtiene el formato a partir de la extensión de un fichero
+     * ({@code .csv}, {@code .ndjson} o {@code .jsonl}).
+     *
+     * @param fileName Nombre del fichero
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException si la extensión no es reconocida
+     */
+    public static ProductImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot infer import format from file name: " + fileName);
+    }
+}
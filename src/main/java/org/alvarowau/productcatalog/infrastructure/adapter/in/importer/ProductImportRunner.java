@@ -0,0 +1,83 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alvarowau.productcatalog.application.port.in.ImportProductsUseCase;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkItemResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductImportResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importación de productos desde la línea de comandos.
+ * <p>
+ * Se activa al arrancar con {@code --product.import.file=<ruta>}; el formato se deduce de la
+ * extensión o se indica con {@code --product.import.format=CSV|NDJSON}. Para importar sin
+ * levantar el servidor HTTP se añade {@code --spring.main.web-application-type=none}.
+ */
+@Component
+@ConditionalOnProperty(name = "product.import.file")
+public class ProductImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportRunner.class);
+
+    private final ImportProductsUseCase importProductsUseCase;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final String format;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param importProductsUseCase Caso de uso de importación
+     * @param objectMapper ObjectMapper de la aplicación
+     * @param file Fichero a importar
+     * @param format Formato del fichero (vacío para deducirlo de la extensión)
+     */
+    public ProductImportRunner(ImportProductsUseCase importProductsUseCase, ObjectMapper objectMapper,
+                               @Value("${product.import.file}") Path file,
+                               @Value("${product.import.format:}") String format) {
+        this.importProductsUseCase = importProductsUseCase;
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * Importa el fichero configurado y registra el progreso y el resultado.
+     *
+     * @param args Argumentos de la aplicación (no se usan)
+     * @throws IOException si no se puede abrir el fichero
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ProductImportFormat importFormat = format.isBlank()
+                ? ProductImportFormat.fromFileName(file.getFileName().toString())
+                : ProductImportFormat.valueOf(format.trim().toUpperCase());
+        long start = System.nanoTime();
+        ProductImportResponse response;
+        try (InputStream input = Files.newInputStream(file)) {
+            response = importProductsUseCase.importProducts(importFormat.open(input, objectMapper),
+                    progress -> log.info("Imported {} records ({} created, {} failed) from {}",
+                            progress.getRead(), progress.getCreated(), progress.getFailed(), file));
+        }
+        for (ProductBulkItemResult error : response.getErrors()) {
+            log.warn("Record {} of {} was not imported: {}", error.getIndex(), file, error.getError());
+        }
+        if (response.getAbortReason() != null) {
+            log.error("Import of {} aborted: {}", file, response.getAbortReason());
+        }
+        log.info("Import of {} finished in {} ms: {} records read, {} created, {} failed", file,
+                (System.nanoTime() - start) / 1_000_000, response.getRead(), response.getCreated(),
+                response.getFailed());
+    }
+}
@@ -0,0 +1,91 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out;
+
+import org.alvarowau.productcatalog.application.port.out.ProductChangeFeedPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.mapper.ProductJpaMapper;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeJpaEntity;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeJpaRepository;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaEntity;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adaptador JPA que implementa el puerto de lectura del historial de cambios.
+ * <p>
+ * El historial lo escribe {@link ProductJpaAdapter} en la tabla {@code product_changes}, en la misma
+ * transacción que cada escritura de productos. Este adaptador lo lee con un recorrido por rango
+ * sobre la clave primaria y completa los UPSERT con el estado actual de cada producto.
+ */
+@Component
+@ConditionalOnExpression("'${product.repository.type:jpa}' == 'jpa'")
+public class ProductChangeFeedJpaAdapter implements ProductChangeFeedPort {
+
+    private final ProductChangeJpaRepository changeRepository;
+    private final ProductJpaRepository productRepository;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param changeRepository Repositorio JPA del historial de cambios
+     * @param productRepository Repositorio JPA de productos
+     */
+    public ProductChangeFeedJpaAdapter(ProductChangeJpaRepository changeRepository,
+                                       ProductJpaRepository productRepository) {
+        this.changeRepository = changeRepository;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA, en una transacción de solo lectura:
+     * 1. Recupera como máximo {@code limit} filas del historial con secuencia mayor que {@code sequence}
+     * 2. Conserva solo el último cambio de cada producto dentro de la página
+     * 3. Carga con consultas {@code IN (...)} los productos de los UPSERT conservados
+     * 4. Devuelve como lápida el UPSERT de un producto que ya no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductChangeEvent> findChangesAfter(long sequence, int limit) {
+        List<ProductChangeJpaEntity> entries = changeRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                sequence, Limit.of(limit));
+        Map<Long, Long> lastSequenceByProduct = new HashMap<>();
+        for (ProductChangeJpaEntity entry : entries) {
+            lastSequenceByProduct.put(entry.getProductId(), entry.getSequence());
+        }
+        List<ProductChangeJpaEntity> latest = new ArrayList<>(lastSequenceByProduct.size());
+        List<Long> upsertIds = new ArrayList<>();
+        for (ProductChangeJpaEntity entry : entries) {
+            if (lastSequenceByProduct.get(entry.getProductId()) == entry.getSequence().longValue()) {
+                latest.add(entry);
+                if (entry.getType() == ProductChangeType.UPSERT) {
+                    upsertIds.add(entry.getProductId());
+                }
+            }
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (int from = 0; from < upsertIds.size(); from += ProductJpaAdapter.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = upsertIds.subList(from, Math.min(from + ProductJpaAdapter.IN_CLAUSE_CHUNK_SIZE, upsertIds.size()));
+            for (ProductJpaEntity entity : productRepository.findAllById(chunk)) {
+                products.put(entity.getId(), ProductJpaMapper.toDomainEntity(entity));
+            }
+        }
+        List<ProductChangeEvent> changes = new ArrayList<>(latest.size());
+        for (ProductChangeJpaEntity entry : latest) {
+            Product product = products.get(entry.getProductId());
+            ProductChangeType type = product == null ? ProductChangeType.DELETE : entry.getType();
+            changes.add(new ProductChangeEvent(entry.getSequence(), entry.getProductId(), type, product));
+        }
+        return changes;
+    }
+}
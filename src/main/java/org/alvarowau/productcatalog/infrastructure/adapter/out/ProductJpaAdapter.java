@@ -1,63 +1,246 @@
 package org.alvarowau.productcatalog.infrastructure.adapter.out;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.bloom.ProductIdFilter;
 import org.alvarowau.productcatalog.infrastructure.adapter.out.mapper.ProductJpaMapper;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeCounterJpaEntity;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeJpaEntity;
 import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaEntity;
 import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaSpecifications;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Fallback;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Adaptador JPA que implementa el puerto de repositorio de productos.
  * <p>
  * Esta clase conecta la capa de dominio con la infraestructura JPA,
  * transformando entre entidades de dominio y entidades JPA.
+ * <p>
+ * Las lecturas se ejecutan en transacciones de solo lectura, que pueden atenderse desde una
+ * réplica (ver {@code ReadWriteRoutingDataSource}); las escrituras usan la base de datos principal.
+ * <p>
+ * Cada escritura que modifica productos registra además, en la misma transacción, un cambio por
+ * producto en el historial de cambios (ver {@link ProductChangeFeedJpaAdapter}).
+ * <p>
+ * Si hay un {@link ProductIdFilter} activo, las lecturas, borrados y reservas de un ID que el
+ * filtro descarta se responden sin consultar la base de datos. El adaptador anota en el filtro
+ * los productos que inserta, retira los que elimina una vez confirmada la transacción y lo
+ * siembra con los IDs existentes al terminar el arranque.
+ * <p>
+ * Es el repositorio por defecto: cualquier otro adaptador del puerto que se registre como bean
+ * (los alternativos o los decoradores) tiene preferencia sobre él.
  */
 @Component
-public class ProductJpaAdapter implements ProductRepositoryPort {
+@ConditionalOnExpression("'${product.repository.type:jpa}' == 'jpa'")
+@Fallback
+public class ProductJpaAdapter implements ProductRepositoryPort, SmartInitializingSingleton {
+
+    /**
+     * Número máximo de IDs por consulta {@code IN (...)}, para no superar el límite
+     * de parámetros por sentencia de las bases de datos.
+     */
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(ProductJpaAdapter.class);
 
     private final ProductJpaRepository repository;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+    private final int batchSize;
+    private final ProductIdFilter idFilter;
 
     /**
      * Constructor para inyección de dependencias.
      *
      * @param repository Repositorio JPA de productos
+     * @param entityManager EntityManager compartido, usado para las consultas en streaming y las escrituras masivas
+     * @param streamFetchSize Número de filas que el driver JDBC trae por cada viaje al recorrer el catálogo
+     * @param batchSize Tamaño de los lotes JDBC; las escrituras masivas vacían el contexto de persistencia cada lote
+     * @param idFilter Filtro de IDs existentes, si está activo
      */
-    public ProductJpaAdapter(ProductJpaRepository repository) {
+    public ProductJpaAdapter(ProductJpaRepository repository, EntityManager entityManager,
+                             @Value("${product.export.fetch-size:500}") int streamFetchSize,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                             ObjectProvider<ProductIdFilter> idFilter) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+        this.batchSize = batchSize;
+        this.idFilter = idFilter.getIfAvailable();
+    }
+
+    /**
+     * Crea la fila del contador de secuencias del historial si aún no existe.
+     * <p>
+     * Se ejecuta al crear los beans, antes de que el servidor web o los {@code ApplicationRunner}
+     * puedan escribir productos: así las primeras escrituras concurrentes encuentran la fila y se
+     * ordenan con su bloqueo, en lugar de intentar crearla a la vez.
+     */
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        if (entityManager.find(ProductChangeCounterJpaEntity.class, ProductChangeCounterJpaEntity.SINGLETON_ID) == null) {
+            entityManager.persist(new ProductChangeCounterJpaEntity(ProductChangeCounterJpaEntity.SINGLETON_ID, 0L));
+        }
+    }
+
+    /**
+     * Siembra el filtro de IDs con todos los productos existentes al terminar el arranque.
+     * <p>
+     * Recorre solo la columna ID con un cursor. Se ejecuta en una transacción de escritura para
+     * leer de la base de datos principal aunque haya réplica, ya que una réplica retrasada
+     * omitiría altas recientes. No hace nada si el filtro no está activo o ya está sembrado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIdFilter() {
+        if (idFilter == null || idFilter.isSeeded()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (Stream<Long> ids = entityManager
+                .createQuery("SELECT p.id FROM ProductJpaEntity p", Long.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .getResultStream()) {
+            idFilter.seed(ids::iterator);
+        }
+        log.info("Product id filter seeded in {} ms: {}", (System.nanoTime() - start) / 1_000_000, idFilter.stats());
     }
 
     /**
      * {@inheritDoc}
      * <p>
      * Implementación con JPA:
-     * 1. Convierte la entidad de dominio a entidad JPA
-     * 2. Persiste la entidad JPA
-     * 3. Convierte la entidad guardada de vuelta a dominio
+     * 1. Convierte la entidad de dominio a entidad JPA y la asocia al contexto de persistencia
+     *    (ver {@link #attach(Product)})
+     * 2. Sincroniza el contexto para obtener la versión definitiva
+     * 3. Registra el cambio en el historial
+     * 4. Convierte la entidad guardada de vuelta a dominio
      */
     @Override
+    @Transactional
     public Product save(Product product) {
-        ProductJpaEntity entity = ProductJpaMapper.toJpaEntity(product);
-        ProductJpaEntity savedEntity = repository.save(entity);
+        ProductJpaEntity savedEntity = attach(product);
+        entityManager.flush();
+        recordChanges(List.of(savedEntity.getId()), ProductChangeType.UPSERT);
         return ProductJpaMapper.toDomainEntity(savedEntity);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA, en una única transacción:
+     * 1. Persiste los productos nuevos y fusiona los existentes; los IDs de la secuencia se asignan sin INSERT
+     * 2. Cada {@code batchSize} productos sincroniza el contexto de persistencia, lo que envía las
+     *    inserciones pendientes como un lote JDBC, y lo vacía para que no crezca con la carga
+     * 3. Convierte cada entidad guardada a dominio
+     * 4. Registra un cambio por producto en el historial
+     */
+    @Override
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        List<Product> saved = new ArrayList<>(products.size());
+        List<ProductJpaEntity> pending = new ArrayList<>(batchSize);
+        for (Product product : products) {
+            if (product == null) {
+                throw new IllegalArgumentException("products must not contain null values");
+            }
+            pending.add(attach(product));
+            if (pending.size() == batchSize) {
+                flushAndClear(pending, saved);
+            }
+        }
+        flushAndClear(pending, saved);
+        recordChanges(saved.stream().map(Product::getId).distinct().toList(), ProductChangeType.UPSERT);
+        return saved;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
      * Implementación con JPA:
-     * 1. Busca la entidad JPA por ID
-     * 2. Si existe, la convierte a entidad de dominio
+     * 1. Si el filtro de IDs descarta el producto, retorna vacío sin consultar la base de datos
+     * 2. Busca la entidad JPA por ID
+     * 3. Si existe, la convierte a entidad de dominio
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Product> findById(Long id) {
+        if (!mightExist(id)) {
+            return Optional.empty();
+        }
         Optional<ProductJpaEntity> optionalEntity = repository.findById(id);
+        if (optionalEntity.isEmpty()) {
+            recordFalsePositives(1);
+        }
         return optionalEntity.map(ProductJpaMapper::toDomainEntity);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Elimina los IDs repetidos y los que descarta el filtro de IDs
+     * 2. Ejecuta una consulta {@code IN (...)} por cada bloque de {@value #IN_CLAUSE_CHUNK_SIZE} IDs
+     * 3. Convierte cada entidad a dominio
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Long> distinctIds = ids.stream().distinct().filter(this::mightExist).toList();
+        List<ProductJpaEntity> entities = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            entities.addAll(repository.findAllById(chunk));
+        }
+        recordFalsePositives(distinctIds.size() - entities.size());
+        return ProductJpaMapper.toDomainEntities(entities);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -66,6 +249,7 @@ public class ProductJpaAdapter implements ProductRepositoryPort {
      * 2. Convierte cada entidad a dominio
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Product> findAll() {
         List<ProductJpaEntity> entities = repository.findAll();
         return ProductJpaMapper.toDomainEntities(entities);
@@ -75,16 +259,379 @@ public class ProductJpaAdapter implements ProductRepositoryPort {
      * {@inheritDoc}
      * <p>
      * Implementación con JPA:
-     * 1. Verifica si existe la entidad
-     * 2. Si existe, la elimina y retorna true
-     * 3. Si no existe, retorna false
+     * 1. Recupera como máximo {@code limit} entidades con ID mayor que {@code afterId}
+     * 2. Convierte cada entidad a dominio
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findPage(Long afterId, int limit) {
+        long fromId = afterId == null ? 0L : afterId;
+        List<ProductJpaEntity> entities = repository.findByIdGreaterThanOrderByIdAsc(fromId, Limit.of(limit));
+        return ProductJpaMapper.toDomainEntities(entities);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Abre un cursor de solo lectura con el fetch size configurado
+     * 2. Convierte cada entidad a dominio
+     * 3. Desvincula la entidad del contexto de persistencia para que no crezca durante el recorrido
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        Stream<ProductJpaEntity> entities = entityManager
+                .createQuery("SELECT p FROM ProductJpaEntity p ORDER BY p.id", ProductJpaEntity.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        return entities.map(entity -> {
+            Product product = ProductJpaMapper.toDomainEntity(entity);
+            entityManager.detach(entity);
+            return product;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Combina los criterios del filtro y el cursor en una única especificación
+     * 2. Ejecuta una sola consulta ordenada por ID y limitada a {@code limit} filas
+     * 3. Convierte cada entidad a dominio
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        List<ProductJpaEntity> entities = repository.findBy(
+                ProductJpaSpecifications.matching(filter).and(ProductJpaSpecifications.idGreaterThan(afterId)),
+                query -> query.sortBy(Sort.by("id")).limit(limit).all());
+        return ProductJpaMapper.toDomainEntities(entities);
+    }
+
+    /**
+     * Asocia un producto al contexto de persistencia para insertarlo o actualizarlo.
+     * <ul>
+     *   <li>Sin ID: se persiste y la secuencia le asigna uno sin necesidad de INSERT inmediato</li>
+     *   <li>Con versión: se fusiona, y Hibernate rechaza la escritura si la versión ya no es la actual</li>
+     *   <li>Con ID pero sin versión: se copian sus atributos sobre la entidad actual, sin comprobar la
+     *       versión, o se inserta si no existe</li>
+     * </ul>
+     * Los productos insertados se anotan en el filtro de IDs antes de que la inserción sea visible.
+     */
+    private ProductJpaEntity attach(Product product) {
+        ProductJpaEntity entity = ProductJpaMapper.toJpaEntity(product);
+        if (entity.getId() == null) {
+            entityManager.persist(entity);
+            addToIdFilter(entity.getId());
+            return entity;
+        }
+        if (entity.getVersion() == null) {
+            ProductJpaEntity managed = entityManager.find(ProductJpaEntity.class, entity.getId());
+            if (managed != null) {
+                ProductJpaMapper.updateJpaEntity(managed, product);
+                return managed;
+            }
+            ProductJpaEntity inserted = entityManager.merge(entity);
+            addToIdFilter(inserted.getId());
+            return inserted;
+        }
+        return entityManager.merge(entity);
+    }
+
+    /**
+     * Envía las escrituras pendientes, convierte las entidades a dominio y vacía el contexto de persistencia.
+     */
+    private void flushAndClear(List<ProductJpaEntity> pending, List<Product> saved) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        saved.addAll(ProductJpaMapper.toDomainEntities(pending));
+        entityManager.clear();
+        pending.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Si el filtro de IDs descarta el producto, retorna false sin consultar la base de datos
+     * 2. Ejecuta una única sentencia {@code DELETE ... WHERE id = ?}, sin consultar antes la entidad
+     * 3. Si eliminó una fila, registra la lápida en el historial, la retira del filtro de IDs al
+     *    confirmar y retorna true
      */
     @Override
+    @Transactional
     public boolean deleteById(Long id) {
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
-            return true;
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (!mightExist(id)) {
+            return false;
+        }
+        boolean tracked = idFilter != null && idFilter.isSeeded();
+        if (repository.deleteProductById(id) == 0) {
+            recordFalsePositives(1);
+            return false;
+        }
+        if (tracked) {
+            removeFromIdFilterAfterCommit(List.of(id));
+        }
+        recordChanges(List.of(id), ProductChangeType.DELETE);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA, en una única transacción:
+     * 1. Elimina los IDs repetidos y los que descarta el filtro de IDs
+     * 2. Por cada bloque de {@value #IN_CLAUSE_CHUNK_SIZE} IDs, proyecta y bloquea
+     *    ({@code SELECT ... FOR UPDATE}) los que existen y ejecuta una sentencia
+     *    {@code DELETE ... WHERE id IN (...)} sobre ellos; el bloqueo garantiza que son exactamente
+     *    las filas que elimina la sentencia
+     * 3. Registra una lápida por cada ID eliminado, los retira del filtro de IDs al confirmar y
+     *    retorna el número de filas eliminadas
+     */
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Long> distinctIds = ids.stream().distinct().filter(this::mightExist).toList();
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        boolean tracked = idFilter != null && idFilter.isSeeded();
+        List<Long> deletedIds = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            List<Long> lockedIds = repository.lockExistingIds(chunk);
+            if (!lockedIds.isEmpty()) {
+                repository.deleteProductsByIdIn(lockedIds);
+                deletedIds.addAll(lockedIds);
+            }
+        }
+        if (tracked && !deletedIds.isEmpty()) {
+            removeFromIdFilterAfterCommit(deletedIds);
+        }
+        recordChanges(deletedIds, ProductChangeType.DELETE);
+        return deletedIds.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Aplica los mismos predicados que {@link #findByFilter(ProductFilter, Long, int)}
+     * 2. Proyecta únicamente la columna ID, ordenada y limitada a {@code limit} filas
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ProductJpaEntity> root = query.from(ProductJpaEntity.class);
+        Specification<ProductJpaEntity> specification = ProductJpaSpecifications.matching(filter)
+                .and(ProductJpaSpecifications.idGreaterThan(afterId));
+        query.select(root.get("id"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Construye una sentencia {@code UPDATE ... WHERE id = ? AND version = ?} cuyo SET contiene solo las
+     *    columnas modificadas y el incremento de la versión
+     * 2. Sincroniza el contexto de persistencia antes de ejecutarla y lo vacía después, igual que las
+     *    consultas {@code @Modifying} del repositorio
+     * 3. Si la sentencia actualizó una fila, registra el cambio en el historial y retorna true
+     */
+    @Override
+    @Transactional
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        if (!mightExist(id)) {
+            return false;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<ProductJpaEntity> update = cb.createCriteriaUpdate(ProductJpaEntity.class);
+        Root<ProductJpaEntity> root = update.from(ProductJpaEntity.class);
+        if (changes.getName() != null) {
+            update.set(root.<String>get("name"), changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            update.set(root.<String>get("description"), changes.getDescription());
+        }
+        if (changes.getPrice() != null) {
+            update.set(root.<BigDecimal>get("price"), changes.getPrice());
+        }
+        if (changes.getStock() != null) {
+            update.set(root.<Integer>get("stock"), changes.getStock());
+        }
+        if (changes.getCategory() != null) {
+            update.set(root.<Category>get("category"), changes.getCategory());
+        }
+        if (changes.getStatus() != null) {
+            update.set(root.<Status>get("status"), changes.getStatus());
+        }
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(expectedVersion == null
+                ? cb.equal(root.get("id"), id)
+                : cb.and(cb.equal(root.get("id"), id), cb.equal(version, expectedVersion)));
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        if (updated == 0) {
+            return false;
+        }
+        recordChanges(List.of(id), ProductChangeType.UPSERT);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA:
+     * 1. Ejecuta una única sentencia {@code UPDATE} condicional, sin consultar antes la entidad
+     * 2. Si no se actualiza ninguna fila, comprueba si el producto existe para distinguir
+     *    falta de stock de producto inexistente (solo en el camino de fallo). Si el filtro de IDs
+     *    descarta el producto, retorna NOT_FOUND sin ejecutar ninguna sentencia
+     * 3. Si se reserva, registra el cambio en el historial
+     */
+    @Override
+    @Transactional
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        if (!mightExist(id)) {
+            return StockReservationResult.NOT_FOUND;
+        }
+        if (repository.decrementStock(id, quantity, Status.OUT_OF_STOCK, Status.DISCONTINUED) > 0) {
+            recordChanges(List.of(id), ProductChangeType.UPSERT);
+            return StockReservationResult.RESERVED;
+        }
+        return repository.existsById(id) ? StockReservationResult.INSUFFICIENT_STOCK : StockReservationResult.NOT_FOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementación con JPA, en una única transacción: ejecuta una sentencia {@code UPDATE}
+     * por producto, que no escribe la fila si el stock ya tiene el valor indicado, y registra
+     * en el historial un cambio por cada producto actualizado.
+     */
+    @Override
+    @Transactional
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        for (Integer stock : stockById.values()) {
+            if (stock == null || stock < 0) {
+                throw new IllegalArgumentException("stock levels must not be null or negative");
+            }
+        }
+        List<Long> updatedIds = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : stockById.entrySet()) {
+            if (repository.updateStockLevel(entry.getKey(), entry.getValue(),
+                    Status.OUT_OF_STOCK, Status.DISCONTINUED) > 0) {
+                updatedIds.add(entry.getKey());
+            }
+        }
+        recordChanges(updatedIds, ProductChangeType.UPSERT);
+        return updatedIds.size();
+    }
+
+    /**
+     * Indica si un producto puede existir según el filtro de IDs (siempre true sin filtro).
+     */
+    private boolean mightExist(Long id) {
+        return idFilter == null || idFilter.mightContain(id);
+    }
+
+    private void addToIdFilter(Long id) {
+        if (idFilter != null) {
+            idFilter.add(id);
+        }
+    }
+
+    private void recordFalsePositives(long count) {
+        if (idFilter != null) {
+            idFilter.recordFalsePositives(count);
+        }
+    }
+
+    /**
+     * Retira productos del filtro de IDs cuando se confirme la transacción en curso. Si la
+     * transacción se deshace, los productos siguen existiendo y se mantienen en el filtro.
+     */
+    private void removeFromIdFilterAfterCommit(List<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idFilter.remove(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idFilter.remove(ids);
+            }
+        });
+    }
+
+    /**
+     * Registra un cambio por producto en el historial, dentro de la transacción en curso.
+     * <ul>
+     *   <li>Bloquea para escritura la fila del contador de secuencias (creada al arrancar, ver
+     *       {@link #afterSingletonsInstantiated()}) y reserva tantas secuencias consecutivas como productos</li>
+     *   <li>El bloqueo dura hasta la confirmación, así que las transacciones que escriben productos
+     *       confirman su historial en orden de secuencia. Se toma siempre como último bloqueo de la
+     *       transacción para que dos escrituras no puedan esperarse mutuamente</li>
+     *   <li>Inserta las filas del historial en lotes de {@code batchSize}, vaciando el contexto de
+     *       persistencia entre lotes</li>
+     * </ul>
+     */
+    private void recordChanges(List<Long> productIds, ProductChangeType type) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        ProductChangeCounterJpaEntity counter = entityManager.find(ProductChangeCounterJpaEntity.class,
+                ProductChangeCounterJpaEntity.SINGLETON_ID, LockModeType.PESSIMISTIC_WRITE);
+        if (counter == null) {
+            throw new IllegalStateException("Product change counter row is missing");
+        }
+        long sequence = counter.getLastSequence();
+        counter.setLastSequence(sequence + productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            entityManager.persist(new ProductChangeJpaEntity(++sequence, productIds.get(i), type));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
         }
-        return false;
+        entityManager.flush();
     }
-}
\ No newline at end of file
+}
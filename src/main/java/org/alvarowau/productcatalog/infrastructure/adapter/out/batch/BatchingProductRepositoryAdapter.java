@@ -0,0 +1,300 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.batch;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de {@link ProductRepositoryPort} que agrupa las lecturas por ID concurrentes en una
+ * sola consulta {@code IN (...)}.
+ * <p>
+ * Funcionamiento de {@link #findById(Long)}:
+ * <ul>
+ *   <li>La primera lectura que no encuentra un lote abierto lo abre y pasa a ser su líder: espera
+ *       hasta {@code window} a que se sumen otras lecturas</li>
+ *   <li>Las lecturas que llegan mientras el lote está abierto se añaden a él; las del mismo ID
+ *       comparten un único resultado (single-flight)</li>
+ *   <li>El lote se cierra al cumplirse la ventana (lo ejecuta el líder) o al alcanzar
+ *       {@code maxBatchSize} IDs (lo ejecuta la lectura que lo llena, y el líder deja de esperar),
+ *       y se resuelve con una sola llamada a {@link ProductRepositoryPort#findAllById(Collection)}</li>
+ *   <li>Una lectura nunca se une a un lote ya enviado, así que siempre ve las escrituras
+ *       confirmadas antes de empezar</li>
+ * </ul>
+ * Las lecturas hechas dentro de una transacción se delegan sin agrupar, porque el lote se ejecuta
+ * en otro hilo y no vería los cambios aún no confirmados de esa transacción. Por el mismo motivo
+ * se delegan las lecturas que {@link ReadYourWrites} envía a la base de datos principal: el lote
+ * podría ejecutarlo el hilo de una lectura que va a la réplica. Como {@link Product}
+ * es mutable, cada lectura recibe su propia copia del producto.
+ * <p>
+ * No usa hilos propios: las consultas las ejecutan los hilos que leen. El resto de operaciones
+ * se delegan sin cambios.
+ */
+public class BatchingProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private Batch open;
+
+    /**
+     * Crea el decorador.
+     *
+     * @param delegate Repositorio decorado
+     * @param window Tiempo máximo que una lectura espera a que se sumen otras a su lote
+     * @param maxBatchSize Número de IDs distintos a partir del cual el lote se envía sin esperar
+     * @throws IllegalArgumentException si la ventana es negativa o el tamaño no es positivo
+     */
+    public BatchingProductRepositoryAdapter(ProductRepositoryPort delegate, Duration window, int maxBatchSize) {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("window must not be negative");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Product save(Product product) {
+        return delegate.save(product);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return delegate.saveAll(products);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Se agrupa con las lecturas concurrentes salvo que haya una transacción activa o que la
+     * lectura deba ir a la base de datos principal.
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null || TransactionSynchronizationManager.isActualTransactionActive()
+                || ReadYourWrites.isPrimaryRequired()) {
+            return delegate.findById(id);
+        }
+        Batch batch;
+        CompletableFuture<Product> result;
+        boolean leader = false;
+        boolean full = false;
+        synchronized (lock) {
+            if (open == null) {
+                open = new Batch(Thread.currentThread());
+                leader = true;
+            }
+            batch = open;
+            result = batch.results.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (batch.results.size() >= maxBatchSize) {
+                open = null;
+                full = true;
+            }
+        }
+        if (full) {
+            if (!leader) {
+                LockSupport.unpark(batch.leader);
+            }
+            load(batch);
+        } else if (leader) {
+            awaitWindow(batch);
+        }
+        return Optional.ofNullable(await(result)).map(BatchingProductRepositoryAdapter::copyOf);
+    }
+
+    /**
+     * Espera a que se cumpla la ventana o a que otra lectura llene el lote; si sigue abierto,
+     * lo cierra y lo ejecuta.
+     */
+    private void awaitWindow(Batch batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining = windowNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            synchronized (lock) {
+                if (open != batch) {
+                    return;
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        synchronized (lock) {
+            if (open != batch) {
+                return;
+            }
+            open = null;
+        }
+        load(batch);
+    }
+
+    /**
+     * Resuelve todos los IDs del lote con una sola consulta (o con {@code findById} si solo hay uno).
+     * Un fallo del repositorio se entrega a todas las lecturas del lote.
+     */
+    private void load(Batch batch) {
+        try {
+            Map<Long, Product> found = new HashMap<>();
+            if (batch.results.size() == 1) {
+                Long id = batch.results.keySet().iterator().next();
+                delegate.findById(id).ifPresent(product -> found.put(id, product));
+            } else {
+                for (Product product : delegate.findAllById(batch.results.keySet())) {
+                    found.put(product.getId(), product);
+                }
+            }
+            batch.results.forEach((id, result) -> result.complete(found.get(id)));
+        } catch (RuntimeException | Error e) {
+            batch.results.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private static Product await(CompletableFuture<Product> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        return delegate.findByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        return delegate.deleteById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        return delegate.deleteAllById(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        return delegate.findIdsByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        return delegate.updateFields(id, expectedVersion, changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        return delegate.reserveStock(id, quantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        return delegate.updateStockLevels(stockById);
+    }
+
+    private static Product copyOf(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), product.getVersion());
+    }
+
+    /**
+     * Lote de lecturas: el hilo que lo abrió y el resultado pendiente de cada ID, en orden de llegada.
+     * El mapa solo se modifica bajo el cerrojo del decorador mientras el lote está abierto.
+     */
+    private static final class Batch {
+
+        private final Thread leader;
+        private final Map<Long, CompletableFuture<Product>> results = new LinkedHashMap<>();
+
+        private Batch(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom con contadores de 4 bits, que admite borrados y actualizaciones concurrentes.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Cada clave incrementa {@code k} contadores elegidos con doble hash; la clave puede estar si
+ *       todos son distintos de cero y seguro que no está si alguno vale cero</li>
+ *   <li>Los contadores se empaquetan de 16 en 16 en un {@link AtomicLongArray} y se actualizan
+ *       con compare-and-set, sin bloqueos</li>
+ *   <li>Un contador que llega a 15 queda saturado y ya no se decrementa: la clave se puede
+ *       seguir dando por presente de más, nunca de menos</li>
+ *   <li>Borrar una clave que no se añadió decrementaría contadores de otras claves y provocaría
+ *       falsos negativos; el llamante debe garantizar que no ocurre</li>
+ * </ul>
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final int counters;
+    private final int hashes;
+    private final LongAdder nonZeroCounters = new LongAdder();
+
+    /**
+     * Dimensiona el filtro para un número de claves y una tasa de falsos positivos.
+     *
+     * @param expectedInsertions número de claves previsto
+     * @param falsePositiveRate tasa de falsos positivos con ese número de claves (entre 0 y 1, exclusivos)
+     * @throws IllegalArgumentException si algún parámetro está fuera de rango o el filtro resultante es demasiado grande
+     */
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        if (bits > (double) Integer.MAX_VALUE - COUNTERS_PER_WORD) {
+            throw new IllegalArgumentException("Filter for " + expectedInsertions + " ids is too large");
+        }
+        this.counters = (int) Math.ceil(bits / COUNTERS_PER_WORD) * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round(counters / (double) expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray(counters / COUNTERS_PER_WORD);
+    }
+
+    /**
+     * Añade una clave.
+     */
+    void add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            increment(Math.floorMod(h1 + i * h2, counters));
+        }
+    }
+
+    /**
+     * Borra una clave añadida antes. Si algún contador ya vale cero, la clave no estaba y no se toca nada.
+     */
+    void remove(long key) {
+        if (!mightContain(key)) {
+            return;
+        }
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            decrement(Math.floorMod(h1 + i * h2, counters));
+        }
+    }
+
+    /**
+     * Indica si la clave puede estar en el filtro.
+     *
+     * @return false si seguro que no se ha añadido (o se ha borrado); true si puede estar
+     */
+    boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            if (count(Math.floorMod(h1 + i * h2, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estima la tasa de falsos positivos actual a partir de la proporción de contadores ocupados.
+     */
+    double estimatedFalsePositiveRate() {
+        return Math.pow(Math.max(0L, nonZeroCounters.sum()) / (double) counters, hashes);
+    }
+
+    /**
+     * Memoria ocupada por los contadores, en bytes.
+     */
+    long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    int counterCount() {
+        return counters;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    private long count(int index) {
+        return (words.get(index / COUNTERS_PER_WORD) >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void increment(int index) {
+        int word = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT) {
+                return;
+            }
+            if (words.compareAndSet(word, current, current + (1L << shift))) {
+                if (count == 0) {
+                    nonZeroCounters.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    private void decrement(int index) {
+        int word = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == 0 || count == MAX_COUNT) {
+                return;
+            }
+            if (words.compareAndSet(word, current, current - (1L << shift))) {
+                if (count == 1) {
+                    nonZeroCounters.decrement();
+                }
+                return;
+            }
+        }
+    }
+
+    private static int shift(int index) {
+        return (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    /**
+     * Mezcla los bits de la clave (finalizador de SplitMix64), ya que los IDs son consecutivos.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,132 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.bloom;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro en memoria de los IDs de producto existentes, para responder sin consultar la base
+ * de datos que un producto no existe.
+ * <p>
+ * Ciclo de vida:
+ * <ul>
+ *   <li>Se crea vacío y sin sembrar: mientras tanto {@link #mightContain(Long)} responde siempre
+ *       que puede existir, pero {@link #add(Long)} ya anota las altas</li>
+ *   <li>{@link #seed(Iterable)} recorre los IDs existentes y lo marca como sembrado; las altas
+ *       concurrentes con el recorrido también quedan anotadas</li>
+ *   <li>Las bajas solo se aplican con {@link #remove(Collection)} si el ID estaba anotado, es
+ *       decir, si el filtro ya estaba sembrado cuando se eliminó la fila (ver {@link #isSeeded()});
+ *       las demás se ignoran y solo cuestan algún falso positivo más</li>
+ * </ul>
+ * El filtro solo conoce las escrituras de esta instancia: no debe activarse si otras instancias
+ * o procesos insertan productos en la misma base de datos.
+ */
+public class ProductIdFilter {
+
+    private final CountingBloomFilter filter;
+    private volatile boolean seeded;
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile long seededIds;
+
+    /**
+     * Crea el filtro vacío y sin sembrar.
+     *
+     * @param expectedIds número de IDs previsto
+     * @param falsePositiveRate tasa de falsos positivos con ese número de IDs (entre 0 y 1, exclusivos)
+     * @throws IllegalArgumentException si algún parámetro está fuera de rango
+     */
+    public ProductIdFilter(long expectedIds, double falsePositiveRate) {
+        this.filter = new CountingBloomFilter(expectedIds, falsePositiveRate);
+    }
+
+    /**
+     * Anota los IDs existentes y marca el filtro como sembrado. No hace nada si ya lo estaba.
+     *
+     * @param ids IDs de todos los productos existentes
+     */
+    public synchronized void seed(Iterable<Long> ids) {
+        if (seeded) {
+            return;
+        }
+        long count = 0;
+        for (Long id : ids) {
+            filter.add(id);
+            count++;
+        }
+        seededIds = count;
+        seeded = true;
+    }
+
+    /**
+     * Indica si el filtro ya está sembrado y sus respuestas negativas son fiables.
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Indica si un producto puede existir.
+     *
+     * @param id ID del producto
+     * @return false si seguro que no existe; true si puede existir o el filtro aún no está sembrado
+     */
+    public boolean mightContain(Long id) {
+        if (id == null || !seeded) {
+            return true;
+        }
+        if (filter.mightContain(id)) {
+            positives.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * Anota un producto nuevo. Debe llamarse antes de que la inserción sea visible para otras lecturas.
+     *
+     * @param id ID del producto insertado
+     */
+    public void add(Long id) {
+        if (id != null) {
+            filter.add(id);
+        }
+    }
+
+    /**
+     * Retira productos eliminados. Solo debe llamarse después de confirmar la eliminación y para
+     * filas eliminadas cuando el filtro ya estaba sembrado.
+     *
+     * @param ids IDs de los productos eliminados
+     */
+    public void remove(Collection<Long> ids) {
+        for (Long id : ids) {
+            if (id != null) {
+                filter.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Anota productos que el filtro daba por posibles y no existían.
+     *
+     * @param count número de falsos positivos
+     */
+    public void recordFalsePositives(long count) {
+        if (seeded && count > 0) {
+            falsePositives.add(count);
+        }
+    }
+
+    /**
+     * Obtiene una instantánea de los contadores y del tamaño del filtro.
+     *
+     * @return estadísticas del filtro
+     */
+    public ProductIdFilterStats stats() {
+        return new ProductIdFilterStats(negatives.sum(), positives.sum(), falsePositives.sum(),
+                filter.estimatedFalsePositiveRate(), filter.memoryBytes(), filter.counterCount(),
+                filter.hashCount(), seededIds, seeded);
+    }
+}
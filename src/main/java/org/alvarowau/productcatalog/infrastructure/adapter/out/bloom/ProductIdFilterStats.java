@@ -0,0 +1,73 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.bloom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Instantánea de los contadores y del tamaño del filtro de IDs de producto.
+ * <p>
+ * Los contadores son acumulados desde el arranque de la aplicación y solo cuentan las
+ * consultas hechas con el filtro ya sembrado.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ProductIdFilterStats {
+
+    /**
+     * Consultas resueltas en memoria porque el producto seguro que no existe.
+     */
+    private final long negativeCount;
+
+    /**
+     * Consultas en las que el producto podía existir y se consultó la base de datos.
+     */
+    private final long positiveCount;
+
+    /**
+     * Consultas en las que el producto podía existir pero la base de datos no lo encontró.
+     */
+    private final long falsePositiveCount;
+
+    /**
+     * Tasa de falsos positivos estimada a partir de la ocupación actual del filtro.
+     */
+    private final double estimatedFalsePositiveRate;
+
+    /**
+     * Memoria ocupada por los contadores del filtro, en bytes.
+     */
+    private final long memoryBytes;
+
+    /**
+     * Número de contadores de 4 bits del filtro.
+     */
+    private final int counterCount;
+
+    /**
+     * Número de funciones hash (contadores por ID).
+     */
+    private final int hashCount;
+
+    /**
+     * Número de IDs anotados al sembrar el filtro.
+     */
+    private final long seededIds;
+
+    /**
+     * Indica si el filtro ya estaba sembrado en el momento de la instantánea.
+     */
+    private final boolean seeded;
+
+    /**
+     * Calcula la tasa de falsos positivos observada: de las consultas de productos inexistentes,
+     * la proporción que el filtro no pudo descartar.
+     *
+     * @return tasa observada entre 0 y 1 (0 si todavía no hay consultas de productos inexistentes)
+     */
+    public double observedFalsePositiveRate() {
+        long absent = negativeCount + falsePositiveCount;
+        return absent == 0 ? 0.0 : (double) falsePositiveCount / absent;
+    }
+}
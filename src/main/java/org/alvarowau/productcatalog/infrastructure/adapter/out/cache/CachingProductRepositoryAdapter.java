@@ -0,0 +1,355 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.cache;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de {@link ProductRepositoryPort} que cachea las lecturas por ID.
+ * <p>
+ * Comportamiento:
+ * <ul>
+ *   <li>{@link #findById(Long)} es de lectura a través (read-through): consulta la caché y,
+ *       si no está el producto, lo carga del repositorio decorado y lo almacena</li>
+ *   <li>{@link #findAllById(Collection)} resuelve los aciertos desde la caché y pide el resto
+ *       al repositorio decorado en una sola llamada</li>
+ *   <li>{@link #save(Product)}, {@link #saveAll(List)}, {@link #updateFields(Long, Long, ProductChanges)},
+ *       {@link #deleteById(Long)}, {@link #deleteAllById(Collection)}, {@link #reserveStock(Long, int)} y
+ *       {@link #updateStockLevels(Map)} invalidan las entradas de los productos afectados
+ *       después de delegar la escritura</li>
+ *   <li>Las consultas de listas, páginas y flujos se delegan sin cachear</li>
+ * </ul>
+ * Como {@link Product} es mutable, la caché guarda su propia copia de cada producto y
+ * entrega una copia nueva en cada acierto: modificar un producto leído no altera la caché.
+ * <p>
+ * Con una réplica de lectura, el repositorio decorado puede devolver datos atrasados:
+ * <ul>
+ *   <li>Las lecturas que {@link ReadYourWrites} envía a la base de datos principal no consultan la
+ *       caché, y su resultado sustituye a la entrada cacheada</li>
+ *   <li>El resto no publica en la caché lo leído si el producto pudo cambiar hace menos de
+ *       {@code replicaMaxLag}, para no fijar hasta el fin de su tiempo de vida un dato que la
+ *       réplica aún no tenía</li>
+ * </ul>
+ * <p>
+ * La política de expulsión y los contadores se describen en {@link ProductCache}.
+ */
+public class CachingProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final ProductCache cache;
+    private final long replicaMaxLagNanos;
+
+    /**
+     * Crea el decorador.
+     *
+     * @param delegate Repositorio decorado
+     * @param maximumSize Número máximo de productos cacheados
+     * @param ttl Tiempo de vida de cada producto cacheado
+     */
+    public CachingProductRepositoryAdapter(ProductRepositoryPort delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, Duration.ZERO);
+    }
+
+    /**
+     * Crea el decorador delante de un repositorio que puede leer de una réplica.
+     *
+     * @param delegate Repositorio decorado
+     * @param maximumSize Número máximo de productos cacheados
+     * @param ttl Tiempo de vida de cada producto cacheado
+     * @param replicaMaxLag Retraso máximo de la réplica respecto a la base de datos principal (cero sin réplica)
+     */
+    public CachingProductRepositoryAdapter(ProductRepositoryPort delegate, int maximumSize, Duration ttl,
+                                           Duration replicaMaxLag) {
+        this(delegate, maximumSize, ttl, replicaMaxLag, System::nanoTime);
+    }
+
+    /**
+     * Crea el decorador con un reloj explícito (usado en pruebas).
+     *
+     * @param delegate Repositorio decorado
+     * @param maximumSize Número máximo de productos cacheados
+     * @param ttl Tiempo de vida de cada producto cacheado
+     * @param nanoClock Reloj monótono en nanosegundos
+     */
+    CachingProductRepositoryAdapter(ProductRepositoryPort delegate, int maximumSize, Duration ttl,
+                                    LongSupplier nanoClock) {
+        this(delegate, maximumSize, ttl, Duration.ZERO, nanoClock);
+    }
+
+    /**
+     * Crea el decorador con réplica y un reloj explícito (usado en pruebas).
+     *
+     * @param delegate Repositorio decorado
+     * @param maximumSize Número máximo de productos cacheados
+     * @param ttl Tiempo de vida de cada producto cacheado
+     * @param replicaMaxLag Retraso máximo de la réplica respecto a la base de datos principal
+     * @param nanoClock Reloj monótono en nanosegundos
+     * @throws IllegalArgumentException si el retraso es negativo
+     */
+    CachingProductRepositoryAdapter(ProductRepositoryPort delegate, int maximumSize, Duration ttl,
+                                    Duration replicaMaxLag, LongSupplier nanoClock) {
+        if (replicaMaxLag == null || replicaMaxLag.isNegative()) {
+            throw new IllegalArgumentException("replicaMaxLag must not be negative");
+        }
+        this.delegate = delegate;
+        this.cache = new ProductCache(maximumSize, ttl, nanoClock);
+        this.replicaMaxLagNanos = replicaMaxLag.toNanos();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalida la entrada del producto aunque la escritura falle, ya que no se
+     * sabe si el repositorio llegó a aplicarla.
+     */
+    @Override
+    public Product save(Product product) {
+        Long id = product == null ? null : product.getId();
+        try {
+            return delegate.save(product);
+        } finally {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalida las entradas de los productos existentes aunque la escritura falle.
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        try {
+            return delegate.saveAll(products);
+        } finally {
+            if (products != null) {
+                for (Product product : products) {
+                    if (product != null && product.getId() != null) {
+                        cache.invalidate(product.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se cachean los productos encontrados; las búsquedas sin resultado
+     * se delegan siempre.
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null) {
+            return delegate.findById(null);
+        }
+        boolean primaryRead = ReadYourWrites.isPrimaryRequired();
+        if (!primaryRead) {
+            Product cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Optional.of(copyOf(cached));
+            }
+        }
+        long stamp = cache.stamp(id);
+        boolean publish = primaryRead || !cache.invalidatedWithin(id, replicaMaxLagNanos);
+        Optional<Product> loaded = delegate.findById(id);
+        if (publish) {
+            loaded.ifPresent(product -> cache.putIfUnchanged(id, copyOf(product), stamp));
+        }
+        return loaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los productos no cacheados se cargan con una única llamada al repositorio
+     * decorado y se almacenan igual que en {@link #findById(Long)}.
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        boolean primaryRead = ReadYourWrites.isPrimaryRequired();
+        List<Product> found = new ArrayList<>(ids.size());
+        Set<Long> missing = new LinkedHashSet<>();
+        Map<Long, Long> stamps = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Product cached = id == null || primaryRead ? null : cache.getIfPresent(id);
+            if (cached != null) {
+                found.add(copyOf(cached));
+            } else if (id != null) {
+                missing.add(id);
+                if (primaryRead || !cache.invalidatedWithin(id, replicaMaxLagNanos)) {
+                    stamps.put(id, cache.stamp(id));
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        for (Product product : delegate.findAllById(missing)) {
+            Long stamp = stamps.get(product.getId());
+            if (stamp != null) {
+                cache.putIfUnchanged(product.getId(), copyOf(product), stamp);
+            }
+            found.add(product);
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        return delegate.findByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            if (ids != null) {
+                for (Long id : ids) {
+                    if (id != null) {
+                        cache.invalidate(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        return delegate.findIdsByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalida la entrada del producto aunque la actualización falle.
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        try {
+            return delegate.updateFields(id, expectedVersion, changes);
+        } finally {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalida la entrada del producto aunque la reserva falle.
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        try {
+            return delegate.reserveStock(id, quantity);
+        } finally {
+            if (id != null) {
+                cache.invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Invalida las entradas de los productos afectados aunque la escritura falle.
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        try {
+            return delegate.updateStockLevels(stockById);
+        } finally {
+            if (stockById != null) {
+                for (Long id : stockById.keySet()) {
+                    if (id != null) {
+                        cache.invalidate(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene los contadores de aciertos, fallos y expulsiones de la caché.
+     *
+     * @return instantánea de los contadores
+     */
+    public ProductCacheStats stats() {
+        return cache.stats();
+    }
+
+    private static Product copyOf(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), product.getVersion());
+    }
+}
@@ -0,0 +1,305 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.cache;
+
+import org.alvarowau.productcatalog.domain.model.Product;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché de productos acotada en tamaño con política de admisión TinyLFU y tiempo de vida por entrada.
+ * <p>
+ * Organización:
+ * <ul>
+ *   <li>Las entradas viven en un {@link ConcurrentHashMap}: las lecturas no toman ningún cerrojo</li>
+ *   <li>Las claves se reparten en segmentos, cada uno con su propio cerrojo, su capacidad y su cola CLOCK.
+ *       Solo las escrituras (altas, invalidaciones y expulsiones) toman el cerrojo del segmento</li>
+ *   <li>Una lectura marca la entrada como referenciada y suma un acceso en el {@link FrequencySketch}</li>
+ * </ul>
+ * Cuando un segmento está lleno, el barrido CLOCK elige como víctima la primera entrada no referenciada
+ * y el nuevo producto solo se admite si su frecuencia estimada supera la de la víctima. Así un recorrido
+ * puntual por muchos productos distintos no desplaza a los productos más consultados, como ocurriría con LRU.
+ * <p>
+ * Cada segmento mantiene además un contador de invalidaciones: una carga iniciada antes de una
+ * invalidación no puede publicar su resultado, lo que evita guardar un producto ya obsoleto.
+ */
+class ProductCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Capacidad mínima de cada segmento: con segmentos muy pequeños el reparto
+     * desigual de las claves haría competir entre sí a los productos más consultados.
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 256;
+
+    private final ConcurrentHashMap<Long, Entry> entries;
+    private final Segment[] segments;
+    private final FrequencySketch sketch;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Crea una caché vacía.
+     *
+     * @param maximumSize Número máximo de productos almacenados
+     * @param ttl Tiempo de vida de cada entrada desde que se carga
+     * @param nanoClock Reloj monótono en nanosegundos
+     * @throws IllegalArgumentException si el tamaño o el tiempo de vida no son positivos
+     */
+    ProductCache(int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        int segmentCount = Math.min(MAX_SEGMENTS, Math.max(1, Integer.highestOneBit(maximumSize / MIN_SEGMENT_CAPACITY)));
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.sketch = new FrequencySketch(maximumSize);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Obtiene el producto almacenado para la clave, si existe y no ha caducado.
+     *
+     * @param id ID del producto
+     * @return producto almacenado, o null si no está en la caché
+     */
+    Product getIfPresent(long id) {
+        sketch.increment(id);
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(nanoClock.getAsLong())) {
+            misses.increment();
+            segmentFor(id).removeExpired(entry);
+            return null;
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Devuelve el sello de invalidaciones del segmento de la clave.
+     * <p>
+     * Debe obtenerse antes de cargar el producto y pasarse después a {@link #putIfUnchanged}.
+     *
+     * @param id ID del producto
+     * @return sello actual
+     */
+    long stamp(long id) {
+        return segmentFor(id).invalidations;
+    }
+
+    /**
+     * Almacena un producto cargado, salvo que el segmento haya recibido invalidaciones
+     * desde que se obtuvo el sello o que la política de admisión lo rechace.
+     *
+     * @param id ID del producto
+     * @param value Producto a almacenar (no debe modificarse después)
+     * @param stamp Sello obtenido con {@link #stamp(long)} antes de la carga
+     */
+    void putIfUnchanged(long id, Product value, long stamp) {
+        segmentFor(id).put(id, value, stamp);
+    }
+
+    /**
+     * Indica si el segmento de la clave ha recibido alguna invalidación en los últimos {@code nanos} nanosegundos.
+     *
+     * @param id ID del producto
+     * @param nanos Ventana de tiempo
+     * @return true si hubo una invalidación dentro de la ventana
+     */
+    boolean invalidatedWithin(long id, long nanos) {
+        Segment segment = segmentFor(id);
+        return segment.invalidations != 0 && nanoClock.getAsLong() - segment.lastInvalidation < nanos;
+    }
+
+    /**
+     * Elimina la entrada de la clave e impide que las cargas en curso la vuelvan a publicar.
+     *
+     * @param id ID del producto
+     */
+    void invalidate(long id) {
+        segmentFor(id).invalidate(id);
+    }
+
+    /**
+     * Obtiene una instantánea de los contadores.
+     *
+     * @return contadores acumulados y tamaño actual
+     */
+    ProductCacheStats stats() {
+        return new ProductCacheStats(hits.sum(), misses.sum(), evictions.sum(),
+                rejections.sum(), expirations.sum(), entries.size());
+    }
+
+    private Segment segmentFor(long id) {
+        int h = Long.hashCode(id) * 0x9E3779B9;
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Porción de la caché con su propio cerrojo de escritura y su cola CLOCK.
+     */
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Entry> clock = new ArrayDeque<>();
+        private final int capacity;
+        private int size;
+        private volatile long invalidations;
+        private volatile long lastInvalidation;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void put(long id, Product value, long stamp) {
+            lock.lock();
+            try {
+                if (invalidations != stamp) {
+                    return;
+                }
+                long now = nanoClock.getAsLong();
+                Entry fresh = new Entry(id, value, now + ttlNanos);
+                Entry previous = entries.get(id);
+                if (previous != null) {
+                    previous.removed = true;
+                } else if (size < capacity) {
+                    size++;
+                } else if (!makeRoom(id, now)) {
+                    rejections.increment();
+                    return;
+                }
+                entries.put(id, fresh);
+                clock.addLast(fresh);
+                compactIfNeeded();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void invalidate(long id) {
+            lock.lock();
+            try {
+                lastInvalidation = nanoClock.getAsLong();
+                invalidations++;
+                Entry entry = entries.remove(id);
+                if (entry != null) {
+                    entry.removed = true;
+                    size--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeExpired(Entry entry) {
+            lock.lock();
+            try {
+                if (!entry.removed && entries.remove(entry.key, entry)) {
+                    entry.removed = true;
+                    size--;
+                    expirations.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Barrido CLOCK: las entradas referenciadas pierden la marca y pasan al final de la cola.
+         * Una entrada caducada libera sitio directamente; si no, la primera entrada no referenciada
+         * solo se expulsa si el candidato es más frecuente que ella.
+         *
+         * @return true si se ha expulsado una entrada para el candidato
+         */
+        private boolean makeRoom(long candidate, long now) {
+            while (true) {
+                Entry head = clock.pollFirst();
+                if (head == null) {
+                    return true;
+                }
+                if (head.removed) {
+                    continue;
+                }
+                if (head.isExpired(now)) {
+                    evict(head);
+                    expirations.increment();
+                    return true;
+                }
+                if (head.referenced) {
+                    head.referenced = false;
+                    clock.addLast(head);
+                    continue;
+                }
+                if (sketch.frequency(candidate) <= sketch.frequency(head.key)) {
+                    clock.addFirst(head);
+                    return false;
+                }
+                evict(head);
+                evictions.increment();
+                return true;
+            }
+        }
+
+        private void evict(Entry entry) {
+            entries.remove(entry.key, entry);
+            entry.removed = true;
+        }
+
+        /**
+         * Descarta de la cola las entradas ya sustituidas o invalidadas cuando se acumulan demasiadas.
+         */
+        private void compactIfNeeded() {
+            if (clock.size() > 2 * capacity + 16) {
+                clock.removeIf(entry -> entry.removed);
+            }
+        }
+    }
+
+    /**
+     * Entrada de la caché. El valor y la caducidad son inmutables; la marca de referencia
+     * se escribe en las lecturas sin cerrojo.
+     */
+    private static final class Entry {
+
+        private final long key;
+        private final Product value;
+        private final long expiresAt;
+        private volatile boolean referenced;
+        private boolean removed;
+
+        Entry(long key, Product value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
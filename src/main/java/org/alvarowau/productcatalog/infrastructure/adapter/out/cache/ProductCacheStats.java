@@ -0,0 +1,56 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Instantánea de los contadores de la caché de productos.
+ * <p>
+ * Los contadores son acumulados desde el arranque de la aplicación.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ProductCacheStats {
+
+    /**
+     * Lecturas resueltas desde la caché.
+     */
+    private final long hitCount;
+
+    /**
+     * Lecturas que tuvieron que consultar el repositorio.
+     */
+    private final long missCount;
+
+    /**
+     * Entradas expulsadas para hacer sitio a otras más frecuentes.
+     */
+    private final long evictionCount;
+
+    /**
+     * Productos no admitidos por ser menos frecuentes que la entrada que habrían expulsado.
+     */
+    private final long rejectionCount;
+
+    /**
+     * Entradas descartadas por superar su tiempo de vida.
+     */
+    private final long expirationCount;
+
+    /**
+     * Número de entradas almacenadas en el momento de la instantánea.
+     */
+    private final long size;
+
+    /**
+     * Calcula la proporción de lecturas resueltas desde la caché.
+     *
+     * @return tasa de aciertos entre 0 y 1 (0 si todavía no hay lecturas)
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,89 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Origen de datos que reparte las conexiones entre la base de datos principal y una réplica
+ * de lectura.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>La conexión física se obtiene de forma diferida, al ejecutar la primera sentencia, cuando
+ *       el gestor de transacciones ya ha marcado la conexión como de solo lectura o no</li>
+ *   <li>Las transacciones de solo lectura usan la réplica; el resto, y el acceso sin transacción,
+ *       la base de datos principal</li>
+ *   <li>Si {@link ReadYourWrites} lo exige para el hilo actual, también las transacciones de solo
+ *       lectura usan la base de datos principal</li>
+ * </ul>
+ * Al cerrarse cierra ambos orígenes de datos si admiten cierre (pools de conexiones).
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    /**
+     * Crea el origen de datos. Obtiene una conexión de la base de datos principal para conocer
+     * su configuración por defecto.
+     *
+     * @param primary Base de datos principal
+     * @param replica Réplica de lectura
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        setReadOnlyDataSource(new ReplicaUnlessPrimaryRequired(primary, replica));
+    }
+
+    /**
+     * Cierra los pools de conexiones de la base de datos principal y de la réplica.
+     *
+     * @throws Exception si falla el cierre de alguno de ellos
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        } finally {
+            if (primary instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Origen de datos de las transacciones de solo lectura: la réplica, salvo que el hilo actual
+     * deba leer sus propias escrituras.
+     */
+    private static final class ReplicaUnlessPrimaryRequired extends DelegatingDataSource {
+
+        private final DataSource primary;
+
+        ReplicaUnlessPrimaryRequired(DataSource primary, DataSource replica) {
+            super(replica);
+            this.primary = primary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private DataSource target() {
+            return ReadYourWrites.isPrimaryRequired() ? primary : obtainTargetDataSource();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.datasource;
+
+/**
+ * Marca, para el hilo actual, que las lecturas deben ir a la base de datos principal aunque
+ * se ejecuten en una transacción de solo lectura.
+ * <p>
+ * Se activa mientras se atiende una petición de un cliente que ha escrito hace menos de lo que
+ * puede tardar la réplica en recibir el cambio, para que vea sus propias escrituras.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Envía a la base de datos principal las lecturas del hilo actual hasta llamar a {@link #reset()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Indica si las lecturas del hilo actual deben ir a la base de datos principal.
+     *
+     * @return true si se ha llamado a {@link #requirePrimary()} sin {@link #reset()} posterior
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Vuelve a permitir que las lecturas del hilo actual usen la réplica.
+     */
+    public static void reset() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Envuelve una tarea para que se ejecute con la marca que tiene ahora el hilo actual, sea cual
+     * sea el hilo que la ejecute. Al terminar, el hilo que la ejecuta recupera su marca anterior.
+     * <p>
+     * Sirve como {@link org.springframework.core.task.TaskDecorator} de los ejecutores a los que
+     * se pasan trabajos de una petición.
+     *
+     * @param task Tarea a envolver
+     * @return tarea con la marca del hilo actual
+     */
+    public static Runnable propagate(Runnable task) {
+        boolean primaryRequired = isPrimaryRequired();
+        return () -> {
+            boolean previous = isPrimaryRequired();
+            set(primaryRequired);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    private static void set(boolean primaryRequired) {
+        if (primaryRequired) {
+            requirePrimary();
+        } else {
+            reset();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de {@link ProductRepositoryPort} que resuelve las lecturas más frecuentes con
+ * sentencias preparadas sobre la tabla {@code products}, sin pasar por Hibernate.
+ * <p>
+ * Cada fila se convierte directamente en un {@link Product} con los mismos setters que usa
+ * {@code ProductJpaMapper}, sin entidad JPA intermedia, contexto de persistencia ni copia para
+ * la comprobación de cambios. Solo se desvían las consultas indicadas en {@code queries}
+ * ({@link JdbcReadQuery}); el resto de lecturas y todas las escrituras siguen yendo al
+ * adaptador decorado (JPA).
+ * <p>
+ * Las lecturas propias se ejecutan en transacciones de solo lectura, como en el adaptador JPA.
+ */
+public class JdbcProductReadAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+    private final Set<JdbcReadQuery> queries;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param delegate Adaptador que atiende las escrituras y las lecturas no seleccionadas
+     * @param dataSource Origen de datos de la tabla {@code products}
+     * @param queries Consultas que se resuelven con JDBC directo
+     * @param streamFetchSize Número de filas que el driver trae por cada viaje al recorrer el catálogo
+     */
+    public JdbcProductReadAdapter(ProductRepositoryPort delegate, DataSource dataSource,
+                                  Set<JdbcReadQuery> queries, int streamFetchSize) {
+        this.delegate = delegate;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(streamFetchSize);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(streaming);
+        this.queries = queries.isEmpty() ? EnumSet.noneOf(JdbcReadQuery.class) : EnumSet.copyOf(queries);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Product save(Product product) {
+        return delegate.save(product);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return delegate.saveAll(products);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Con {@link JdbcReadQuery#FIND_BY_ID}: una sentencia {@code SELECT ... WHERE id = ?}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findById(Long id) {
+        if (!queries.contains(JdbcReadQuery.FIND_BY_ID)) {
+            return delegate.findById(id);
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        List<Product> found = jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), ProductRows::map);
+        return found.stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Con {@link JdbcReadQuery#FIND_BY_ID}: una sentencia {@code IN (...)} por cada bloque de
+     * {@value ProductRows#IN_CLAUSE_CHUNK_SIZE} IDs distintos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (!queries.contains(JdbcReadQuery.FIND_BY_ID)) {
+            return delegate.findAllById(ids);
+        }
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<Product> found = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += ProductRows.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ProductRows.IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            found.addAll(jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk), ProductRows::map));
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAll() {
+        if (!queries.contains(JdbcReadQuery.FIND_ALL)) {
+            return delegate.findAll();
+        }
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + " ORDER BY id", ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findPage(Long afterId, int limit) {
+        if (!queries.contains(JdbcReadQuery.FIND_ALL)) {
+            return delegate.findPage(afterId, limit);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("afterId", afterId == null ? 0L : afterId)
+                .addValue("limit", limit);
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id > :afterId ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                parameters, ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Con {@link JdbcReadQuery#FIND_ALL}: un único cursor con el fetch size configurado; la
+     * conexión se libera al cerrar el flujo.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        if (!queries.contains(JdbcReadQuery.FIND_ALL)) {
+            return delegate.streamAll();
+        }
+        return streamingJdbc.queryForStream(ProductRows.SELECT_PRODUCTS + " ORDER BY id", Map.of(), ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Con {@link JdbcReadQuery#FILTER}: una sentencia con solo los predicados de los criterios
+     * presentes, ordenada por ID y limitada a {@code limit} filas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (!queries.contains(JdbcReadQuery.FILTER)) {
+            return delegate.findByFilter(filter, afterId, limit);
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String where = ProductRows.filterClause(filter, afterId, limit, parameters);
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + where, parameters, ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        return delegate.deleteById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        return delegate.deleteAllById(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (!queries.contains(JdbcReadQuery.FILTER)) {
+            return delegate.findIdsByFilter(filter, afterId, limit);
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String where = ProductRows.filterClause(filter, afterId, limit, parameters);
+        return jdbc.queryForList("SELECT id FROM products" + where, parameters, Long.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        return delegate.updateFields(id, expectedVersion, changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        return delegate.reserveStock(id, quantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        return delegate.updateStockLevels(stockById);
+    }
+}
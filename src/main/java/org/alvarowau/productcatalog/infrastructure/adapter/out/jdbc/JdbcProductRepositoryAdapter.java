@@ -0,0 +1,504 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador JDBC completo del puerto de repositorio sobre la tabla {@code products} de un
+ * origen de datos, sin JPA.
+ * <p>
+ * A diferencia del adaptador JPA, los IDs no los genera la base de datos: cada producto debe
+ * llegar con su ID asignado (ver {@code ShardedProductRepositoryAdapter}), y un ID sin versión que
+ * no existe se inserta con versión 0. Por lo demás sigue la misma semántica:
+ * <ul>
+ *   <li>Con versión, la escritura solo se aplica si coincide con la almacenada; si no, o si el
+ *       producto no existe, se lanza {@link OptimisticLockingFailureException}</li>
+ *   <li>Sin versión, se sobrescribe el producto sin comprobarla</li>
+ *   <li>Cada escritura incrementa la versión; las reservas y los niveles de stock se aplican con
+ *       una única sentencia condicional</li>
+ * </ul>
+ * Todas las sentencias tienen el tiempo máximo de ejecución indicado. Al cerrarse cierra el
+ * origen de datos si admite cierre (pool de conexiones propio).
+ */
+public class JdbcProductRepositoryAdapter implements ProductRepositoryPort, AutoCloseable {
+
+    private static final String INSERT =
+            "INSERT INTO products (id, name, description, price, stock, category, status, version) "
+                    + "VALUES (:id, :name, :description, :price, :stock, :category, :status, :newVersion)";
+
+    private static final String UPDATE =
+            "UPDATE products SET name = :name, description = :description, price = :price, stock = :stock, "
+                    + "category = :category, status = :status, version = :newVersion WHERE id = :id";
+
+    private static final String UPDATE_CHECKED = UPDATE + " AND version = :version";
+
+    private static final String RESERVE_STOCK = "UPDATE products SET "
+            + "status = CASE WHEN stock = :quantity AND status <> :discontinued THEN :outOfStock ELSE status END, "
+            + "stock = stock - :quantity, version = version + 1 "
+            + "WHERE id = :id AND stock >= :quantity";
+
+    private static final String UPDATE_STOCK_LEVEL = "UPDATE products SET "
+            + "status = CASE WHEN :stock = 0 AND status <> :discontinued THEN :outOfStock ELSE status END, "
+            + "stock = :stock, version = version + 1 "
+            + "WHERE id = :id AND stock <> :stock";
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS products ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL, "
+                    + "description VARCHAR(1000), "
+                    + "price NUMERIC(10, 2) NOT NULL, "
+                    + "stock INTEGER NOT NULL, "
+                    + "category VARCHAR(32) NOT NULL, "
+                    + "status VARCHAR(32) NOT NULL, "
+                    + "version BIGINT)",
+            "CREATE INDEX IF NOT EXISTS idx_products_category_status_price ON products (category, status, price)",
+            "CREATE INDEX IF NOT EXISTS idx_products_status_price ON products (status, price)",
+            "CREATE INDEX IF NOT EXISTS idx_products_price ON products (price)");
+
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbc;
+    private final TransactionTemplate transactions;
+
+    /**
+     * Crea el adaptador.
+     *
+     * @param dataSource Origen de datos de la tabla {@code products}
+     * @param queryTimeout Tiempo máximo de ejecución de cada sentencia (se redondea a segundos)
+     * @param streamFetchSize Número de filas que el driver trae por cada viaje al recorrer el catálogo
+     */
+    public JdbcProductRepositoryAdapter(DataSource dataSource, Duration queryTimeout, int streamFetchSize) {
+        this.dataSource = dataSource;
+        int timeoutSeconds = (int) Math.max(1, (queryTimeout.toMillis() + 999) / 1000);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(timeoutSeconds);
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setQueryTimeout(timeoutSeconds);
+        streaming.setFetchSize(streamFetchSize);
+        this.streamingJdbc = new NamedParameterJdbcTemplate(streaming);
+        this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Crea la tabla {@code products} y sus índices si no existen, con las mismas columnas que la
+     * entidad JPA salvo la secuencia de IDs.
+     */
+    public void createTableIfMissing() {
+        for (String statement : SCHEMA) {
+            jdbc.getJdbcTemplate().execute(statement);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException si el producto no tiene ID asignado
+     */
+    @Override
+    public Product save(Product product) {
+        if (product.getId() == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return transactions.execute(status -> write(product));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * En una única transacción:
+     * <ol>
+     *   <li>Bloquea las filas existentes de los productos sin versión y lee su versión actual</li>
+     *   <li>Inserta en lote los que no existen y actualiza en lote el resto, comprobando la
+     *       versión de los que la traen</li>
+     * </ol>
+     * Si la lista repite un ID, los productos se escriben uno a uno en orden.
+     *
+     * @throws IllegalArgumentException si algún producto no tiene ID asignado
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Product product : products) {
+            if (product == null) {
+                throw new IllegalArgumentException("products must not contain null values");
+            }
+            if (product.getId() == null) {
+                throw new IllegalArgumentException("id must not be null");
+            }
+            ids.add(product.getId());
+        }
+        if (ids.size() < products.size()) {
+            return transactions.execute(status -> products.stream().map(this::write).toList());
+        }
+        return transactions.execute(status -> writeBatch(products));
+    }
+
+    private Product write(Product product) {
+        Long expectedVersion = product.getVersion();
+        if (expectedVersion != null) {
+            if (jdbc.update(UPDATE_CHECKED, parameters(product, expectedVersion + 1)) == 0) {
+                throw conflict(product.getId());
+            }
+            return withVersion(product, expectedVersion + 1);
+        }
+        List<Long> current = jdbc.queryForList("SELECT version FROM products WHERE id = :id FOR UPDATE",
+                new MapSqlParameterSource("id", product.getId()), Long.class);
+        if (current.isEmpty()) {
+            jdbc.update(INSERT, parameters(product, 0L));
+            return withVersion(product, 0L);
+        }
+        long version = nextVersion(current.get(0));
+        jdbc.update(UPDATE, parameters(product, version));
+        return withVersion(product, version);
+    }
+
+    private List<Product> writeBatch(List<Product> products) {
+        List<Long> unversioned = products.stream()
+                .filter(product -> product.getVersion() == null)
+                .map(Product::getId)
+                .toList();
+        Map<Long, Long> currentVersions = lockVersions(unversioned);
+        List<Product> saved = new ArrayList<>(products.size());
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        List<SqlParameterSource> updates = new ArrayList<>();
+        List<SqlParameterSource> checkedUpdates = new ArrayList<>();
+        List<Long> checkedIds = new ArrayList<>();
+        for (Product product : products) {
+            long version;
+            if (product.getVersion() != null) {
+                version = product.getVersion() + 1;
+                checkedUpdates.add(parameters(product, version));
+                checkedIds.add(product.getId());
+            } else if (currentVersions.containsKey(product.getId())) {
+                version = nextVersion(currentVersions.get(product.getId()));
+                updates.add(parameters(product, version));
+            } else {
+                version = 0L;
+                inserts.add(parameters(product, version));
+            }
+            saved.add(withVersion(product, version));
+        }
+        if (!checkedUpdates.isEmpty()) {
+            int[] counts = jdbc.batchUpdate(UPDATE_CHECKED, checkedUpdates.toArray(SqlParameterSource[]::new));
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    throw conflict(checkedIds.get(i));
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbc.batchUpdate(UPDATE, updates.toArray(SqlParameterSource[]::new));
+        }
+        if (!inserts.isEmpty()) {
+            jdbc.batchUpdate(INSERT, inserts.toArray(SqlParameterSource[]::new));
+        }
+        return saved;
+    }
+
+    /**
+     * Bloquea las filas existentes de unos IDs y devuelve su versión actual.
+     */
+    private Map<Long, Long> lockVersions(List<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ProductRows.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ProductRows.IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            jdbc.query("SELECT id, version FROM products WHERE id IN (:ids) FOR UPDATE",
+                    new MapSqlParameterSource("ids", chunk),
+                    row -> {
+                        long version = row.getLong("version");
+                        versions.put(row.getLong("id"), row.wasNull() ? null : version);
+                    });
+        }
+        return versions;
+    }
+
+    private static long nextVersion(Long current) {
+        return current == null ? 0L : current + 1;
+    }
+
+    private static MapSqlParameterSource parameters(Product product, long newVersion) {
+        return new MapSqlParameterSource("id", product.getId())
+                .addValue("name", product.getName())
+                .addValue("description", product.getDescription())
+                .addValue("price", product.getPrice())
+                .addValue("stock", product.getStock())
+                .addValue("category", product.getCategory().name())
+                .addValue("status", product.getStatus().name())
+                .addValue("version", product.getVersion())
+                .addValue("newVersion", newVersion);
+    }
+
+    private static Product withVersion(Product product, long version) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), version);
+    }
+
+    private static OptimisticLockingFailureException conflict(Long id) {
+        return new OptimisticLockingFailureException("Product " + id + " was updated or deleted by another transaction");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), ProductRows::map).stream().findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Ejecuta una consulta {@code IN (...)} por cada bloque de {@value ProductRows#IN_CLAUSE_CHUNK_SIZE}
+     * IDs distintos.
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<Product> found = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += ProductRows.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ProductRows.IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            found.addAll(jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk), ProductRows::map));
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los productos se devuelven ordenados por ID.
+     */
+    @Override
+    public List<Product> findAll() {
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + " ORDER BY id", ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("afterId", afterId == null ? 0L : afterId)
+                .addValue("limit", limit);
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + " WHERE id > :afterId ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                parameters, ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre la tabla con un único cursor; la conexión se libera al cerrar el flujo.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return streamingJdbc.queryForStream(ProductRows.SELECT_PRODUCTS + " ORDER BY id", Map.of(), ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String where = ProductRows.filterClause(filter, afterId, limit, parameters);
+        return jdbc.query(ProductRows.SELECT_PRODUCTS + where, parameters, ProductRows::map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return jdbc.update("DELETE FROM products WHERE id = :id", new MapSqlParameterSource("id", id)) > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += ProductRows.IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ProductRows.IN_CLAUSE_CHUNK_SIZE, distinctIds.size()));
+            deleted += jdbc.update("DELETE FROM products WHERE id IN (:ids)", new MapSqlParameterSource("ids", chunk));
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String where = ProductRows.filterClause(filter, afterId, limit, parameters);
+        return jdbc.queryForList("SELECT id FROM products" + where, parameters, Long.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Una sentencia {@code UPDATE ... WHERE id = ? AND version = ?} cuyo SET contiene solo las
+     * columnas modificadas y el incremento de la versión.
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE products SET version = version + 1");
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id);
+        if (changes.getName() != null) {
+            sql.append(", name = :name");
+            parameters.addValue("name", changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            sql.append(", description = :description");
+            parameters.addValue("description", changes.getDescription());
+        }
+        if (changes.getPrice() != null) {
+            sql.append(", price = :price");
+            parameters.addValue("price", changes.getPrice());
+        }
+        if (changes.getStock() != null) {
+            sql.append(", stock = :stock");
+            parameters.addValue("stock", changes.getStock());
+        }
+        if (changes.getCategory() != null) {
+            sql.append(", category = :category");
+            parameters.addValue("category", changes.getCategory().name());
+        }
+        if (changes.getStatus() != null) {
+            sql.append(", status = :status");
+            parameters.addValue("status", changes.getStatus().name());
+        }
+        sql.append(" WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            parameters.addValue("version", expectedVersion);
+        }
+        return jdbc.update(sql.toString(), parameters) > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Una única sentencia {@code UPDATE} condicional; solo si no actualiza ninguna fila se
+     * comprueba si el producto existe.
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id)
+                .addValue("quantity", quantity)
+                .addValue("outOfStock", Status.OUT_OF_STOCK.name())
+                .addValue("discontinued", Status.DISCONTINUED.name());
+        if (jdbc.update(RESERVE_STOCK, parameters) > 0) {
+            return StockReservationResult.RESERVED;
+        }
+        Integer exists = jdbc.queryForObject("SELECT COUNT(*) FROM products WHERE id = :id",
+                new MapSqlParameterSource("id", id), Integer.class);
+        return exists != null && exists > 0 ? StockReservationResult.INSUFFICIENT_STOCK : StockReservationResult.NOT_FOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * En una única transacción, con un lote de sentencias {@code UPDATE} que no escriben la fila
+     * si el stock ya tiene el valor indicado.
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        for (Integer stock : stockById.values()) {
+            if (stock == null || stock < 0) {
+                throw new IllegalArgumentException("stock levels must not be null or negative");
+            }
+        }
+        if (stockById.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] batch = stockById.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource("id", entry.getKey())
+                        .addValue("stock", entry.getValue())
+                        .addValue("outOfStock", Status.OUT_OF_STOCK.name())
+                        .addValue("discontinued", Status.DISCONTINUED.name()))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = transactions.execute(status -> jdbc.batchUpdate(UPDATE_STOCK_LEVEL, batch));
+        int updated = 0;
+        for (int count : counts) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+
+    /**
+     * Cierra el origen de datos si admite cierre.
+     *
+     * @throws Exception si falla el cierre
+     */
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
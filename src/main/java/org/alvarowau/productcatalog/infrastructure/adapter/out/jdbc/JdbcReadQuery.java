@@ -0,0 +1,22 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+/**
+ * Consultas de lectura que {@link JdbcProductReadAdapter} puede resolver con JDBC directo.
+ */
+public enum JdbcReadQuery {
+
+    /**
+     * Búsqueda por ID y por lista de IDs.
+     */
+    FIND_BY_ID,
+
+    /**
+     * Listado completo, paginado por cursor y exportación en streaming.
+     */
+    FIND_ALL,
+
+    /**
+     * Filtrado por criterios, devolviendo productos o solo IDs.
+     */
+    FILTER
+}
@@ -0,0 +1,76 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Sentencias y conversión de filas compartidas por los adaptadores JDBC de la tabla {@code products}.
+ */
+final class ProductRows {
+
+    /**
+     * Número máximo de IDs por consulta {@code IN (...)}, igual que en el adaptador JPA.
+     */
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    static final String SELECT_PRODUCTS =
+            "SELECT id, name, description, price, stock, category, status, version FROM products";
+
+    private ProductRows() {
+    }
+
+    /**
+     * Construye el {@code WHERE ... ORDER BY ... FETCH FIRST} de un filtro con los mismos
+     * predicados que {@code ProductJpaSpecifications}.
+     */
+    static String filterClause(ProductFilter filter, Long afterId, int limit, MapSqlParameterSource parameters) {
+        StringBuilder sql = new StringBuilder(" WHERE id > :afterId");
+        parameters.addValue("afterId", afterId == null ? 0L : afterId);
+        if (filter.getCategory() != null) {
+            sql.append(" AND category = :category");
+            parameters.addValue("category", filter.getCategory().name());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = :status");
+            parameters.addValue("status", filter.getStatus().name());
+        }
+        if (filter.getMinPrice() != null) {
+            sql.append(" AND price >= :minPrice");
+            parameters.addValue("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            sql.append(" AND price <= :maxPrice");
+            parameters.addValue("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getInStock() != null) {
+            sql.append(filter.getInStock() ? " AND stock > 0" : " AND stock <= 0");
+        }
+        sql.append(" ORDER BY id FETCH FIRST :limit ROWS ONLY");
+        parameters.addValue("limit", limit);
+        return sql.toString();
+    }
+
+    /**
+     * Convierte una fila en producto con los setters del dominio, en el mismo orden que
+     * {@code ProductJpaMapper} (el stock antes que el estado).
+     */
+    static Product map(ResultSet row, int rowNumber) throws SQLException {
+        Product product = new Product();
+        product.setId(row.getLong("id"));
+        product.setName(row.getString("name"));
+        product.setDescription(row.getString("description"));
+        product.setPrice(row.getBigDecimal("price"));
+        product.setStock(row.getInt("stock"));
+        product.setCategory(Category.valueOf(row.getString("category")));
+        product.setStatus(Status.valueOf(row.getString("status")));
+        long version = row.getLong("version");
+        product.setVersion(row.wasNull() ? null : version);
+        return product;
+    }
+}
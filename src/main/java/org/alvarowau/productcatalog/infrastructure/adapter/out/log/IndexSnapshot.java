@@ -0,0 +1,172 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea del índice del log en disco ({@code index-<n>.snapshot}).
+ * <p>
+ * Guarda la posición de cada producto vivo y el último ID asignado. {@code n} es el primer
+ * segmento posterior a la instantánea: al arrancar se carga la instantánea más reciente válida y
+ * solo se reproducen los segmentos desde {@code n}. El fichero termina con el número de entradas
+ * y un CRC32C de todo su contenido, y se publica con un renombrado atómico.
+ */
+final class IndexSnapshot {
+
+    private static final int MAGIC = 0x49445831;
+    private static final Pattern FILE_NAME = Pattern.compile("index-(\\d+)\\.snapshot");
+
+    private final long firstSegment;
+    private final long lastId;
+
+    private IndexSnapshot(long firstSegment, long lastId) {
+        this.firstSegment = firstSegment;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Primer segmento que hay que reproducir después de cargar la instantánea.
+     */
+    long firstSegment() {
+        return firstSegment;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    /**
+     * Escribe una instantánea y borra las anteriores.
+     *
+     * @param directory directorio del log
+     * @param firstSegment primer segmento no cubierto por la instantánea
+     * @param lastId último ID asignado
+     * @param index posiciones de los productos vivos
+     * @throws UncheckedIOException si no se puede escribir la instantánea
+     */
+    static void write(Path directory, long firstSegment, long lastId, Map<Long, RecordLocation> index) {
+        Path temporary = directory.resolve("index.snapshot.tmp");
+        try {
+            CRC32C checksum = new CRC32C();
+            try (OutputStream file = Files.newOutputStream(temporary);
+                 DataOutputStream output = new DataOutputStream(
+                         new BufferedOutputStream(new CheckedOutputStream(file, checksum), 1 << 16))) {
+                output.writeInt(MAGIC);
+                output.writeLong(firstSegment);
+                output.writeLong(lastId);
+                long count = 0;
+                for (Map.Entry<Long, RecordLocation> entry : index.entrySet()) {
+                    RecordLocation location = entry.getValue();
+                    output.writeLong(entry.getKey());
+                    output.writeLong(location.segment());
+                    output.writeLong(location.offset());
+                    output.writeInt(location.length());
+                    output.writeLong(location.version());
+                    count++;
+                }
+                output.writeLong(count);
+                output.flush();
+                new DataOutputStream(file).writeInt((int) checksum.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve("index-" + firstSegment + ".snapshot"),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (long older : numbers(directory)) {
+                if (older < firstSegment) {
+                    Files.deleteIfExists(directory.resolve("index-" + older + ".snapshot"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Carga la instantánea válida más reciente de un directorio.
+     *
+     * @param directory directorio del log
+     * @param entries receptor de cada entrada (ID y posición); puede recibir entradas de una
+     *                instantánea dañada antes de descartarla, así que debe poder reiniciarse
+     * @param reset acción que descarta las entradas recibidas de una instantánea dañada
+     * @return la instantánea cargada, o null si no hay ninguna válida
+     * @throws UncheckedIOException si no se puede leer el directorio
+     */
+    static IndexSnapshot readLatest(Path directory, BiConsumer<Long, RecordLocation> entries, Runnable reset) {
+        List<Long> numbers = numbers(directory);
+        numbers.sort(Comparator.reverseOrder());
+        for (long number : numbers) {
+            IndexSnapshot snapshot = read(directory.resolve("index-" + number + ".snapshot"), entries);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            reset.run();
+        }
+        return null;
+    }
+
+    private static IndexSnapshot read(Path file, BiConsumer<Long, RecordLocation> entries) {
+        try {
+            long size = Files.size(file);
+            CRC32C checksum = new CRC32C();
+            try (InputStream raw = Files.newInputStream(file);
+                 CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(raw, 1 << 16), checksum);
+                 DataInputStream input = new DataInputStream(checked)) {
+                long entryCount = (size - 32) / 36;
+                if (size < 32 || (size - 32) % 36 != 0 || input.readInt() != MAGIC) {
+                    return null;
+                }
+                long firstSegment = input.readLong();
+                long lastId = input.readLong();
+                for (long i = 0; i < entryCount; i++) {
+                    long id = input.readLong();
+                    entries.accept(id, new RecordLocation(input.readLong(), input.readLong(), input.readInt(), input.readLong()));
+                }
+                long count = input.readLong();
+                int expected = (int) checksum.getValue();
+                int stored = input.readInt();
+                return count == entryCount && stored == expected ? new IndexSnapshot(firstSegment, lastId) : null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<Long> numbers(Path directory) {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return numbers;
+    }
+}
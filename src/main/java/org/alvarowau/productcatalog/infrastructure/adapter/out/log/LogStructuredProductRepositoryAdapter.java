@@ -0,0 +1,648 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adaptador de persistencia que implementa {@link ProductRepositoryPort} sobre un log de solo
+ * escritura al final ({@link ProductLog}).
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Cada escritura añade al log la versión completa del producto (o una lápida si se elimina)
+ *       y apunta el índice en memoria a ese registro. Las escrituras son secuenciales y se
+ *       confirman en grupo: los hilos que escriben a la vez comparten el mismo {@code fsync}</li>
+ *   <li>Las lecturas buscan la posición en el índice y leen solo ese registro</li>
+ *   <li>Cada {@code snapshotInterval} se sella el segmento activo y se guarda una instantánea del
+ *       índice ({@link IndexSnapshot}); al arrancar se carga la instantánea y solo se reproducen
+ *       los segmentos posteriores</li>
+ *   <li>Después de cada instantánea se compactan los segmentos que ya cubre y cuya proporción de
+ *       registros sustituidos o lápidas supera {@code compactionMinGarbage}: sus registros vigentes
+ *       se copian al final del log y el segmento se borra</li>
+ * </ul>
+ * Las escrituras se serializan con un cerrojo, pero el {@code fsync} se espera fuera de él; una
+ * lectura concurrente puede ver un cambio antes de que su escritor reciba la confirmación.
+ * Versiones, generación de IDs y errores siguen la semántica del adaptador JPA.
+ */
+public class LogStructuredProductRepositoryAdapter implements ProductRepositoryPort, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogStructuredProductRepositoryAdapter.class);
+
+    private final Path directory;
+    private final ProductLog productLog;
+    private final Duration snapshotInterval;
+    private final double compactionMinGarbage;
+    private final ConcurrentSkipListMap<Long, RecordLocation> index = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> liveBytes = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long lastId;
+    private long appendsSinceSnapshot;
+    private volatile long snapshotSegment;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Abre el log de un directorio, creándolo si no existe, y reconstruye el índice a partir
+     * de la última instantánea y los segmentos posteriores.
+     *
+     * @param directory Directorio del log
+     * @param segmentSize Tamaño a partir del cual se abre un segmento nuevo
+     * @param fsync Si es true, cada escritura espera a que su registro esté en disco
+     * @param snapshotInterval Intervalo entre instantáneas del índice (y compactaciones)
+     * @param compactionMinGarbage Proporción mínima de bytes obsoletos para compactar un segmento
+     * @throws IllegalArgumentException si algún tamaño o proporción no es válido
+     * @throws IllegalStateException si el log o la instantánea están dañados
+     * @throws UncheckedIOException si no se pueden leer los ficheros
+     */
+    public LogStructuredProductRepositoryAdapter(Path directory, long segmentSize, boolean fsync,
+                                                 Duration snapshotInterval, double compactionMinGarbage) {
+        if (segmentSize <= 0 || snapshotInterval.isNegative() || snapshotInterval.isZero()
+                || compactionMinGarbage <= 0 || compactionMinGarbage > 1) {
+            throw new IllegalArgumentException("Invalid product log settings");
+        }
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.compactionMinGarbage = compactionMinGarbage;
+        this.productLog = ProductLog.open(directory, segmentSize, fsync);
+        try {
+            recover();
+            productLog.startSegment(snapshotSegment);
+        } catch (RuntimeException e) {
+            productLog.close();
+            throw e;
+        }
+    }
+
+    private void recover() {
+        IndexSnapshot snapshot = IndexSnapshot.readLatest(directory, index::put, index::clear);
+        if (snapshot != null) {
+            snapshotSegment = snapshot.firstSegment();
+            lastId = snapshot.lastId();
+        }
+        for (long segment : productLog.segments()) {
+            if (segment >= snapshotSegment) {
+                productLog.scan(segment, this::replay);
+            }
+        }
+        for (RecordLocation location : index.values()) {
+            if (productLog.size(location.segment()) < location.offset() + location.length()) {
+                throw new IllegalStateException("Product log index snapshot points to missing segment " + location.segment());
+            }
+            liveBytes.merge(location.segment(), (long) location.length(), Long::sum);
+        }
+        log.info("Product log recovered {} products from {} (snapshot segment {})", index.size(), directory, snapshotSegment);
+    }
+
+    private void replay(long segment, long offset, byte[] record) {
+        long id = ProductLogCodec.id(record);
+        appendsSinceSnapshot++;
+        lastId = Math.max(lastId, id);
+        if (ProductLogCodec.type(record) == ProductLogCodec.PUT) {
+            index.put(id, new RecordLocation(segment, offset, record.length, ProductLogCodec.version(record)));
+        } else {
+            index.remove(id);
+        }
+    }
+
+    /**
+     * Programa las instantáneas del índice y la compactación.
+     */
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-log-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el mantenimiento, guarda una última instantánea para que el siguiente arranque no
+     * tenga que reproducir el log y cierra los segmentos.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            snapshot();
+        } finally {
+            productLog.close();
+        }
+    }
+
+    /**
+     * Guarda una instantánea del índice si hubo escrituras desde la anterior y compacta los
+     * segmentos que cubre. Lo ejecuta el hilo de mantenimiento; es público para poder forzarlo.
+     */
+    public synchronized void maintain() {
+        snapshot();
+        compact();
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("Product log maintenance failed; will retry", e);
+        }
+    }
+
+    /**
+     * Sella el segmento activo y escribe la instantánea del índice. El índice se recorre sin
+     * detener las escrituras: las que se cuelen en el recorrido están en segmentos posteriores
+     * a la instantánea y se vuelven a aplicar al reproducirlos.
+     */
+    private synchronized void snapshot() {
+        long firstSegment;
+        long lastIdAtRoll;
+        writeLock.lock();
+        try {
+            if (appendsSinceSnapshot == 0) {
+                return;
+            }
+            firstSegment = productLog.roll();
+            lastIdAtRoll = lastId;
+            appendsSinceSnapshot = 0;
+        } finally {
+            writeLock.unlock();
+        }
+        IndexSnapshot.write(directory, firstSegment, lastIdAtRoll, index);
+        snapshotSegment = firstSegment;
+    }
+
+    /**
+     * Compacta los segmentos anteriores a la última instantánea. Como la instantánea ya cubre
+     * esos segmentos, sus lápidas y registros sustituidos se pueden descartar sin más.
+     */
+    private void compact() {
+        for (long segment : productLog.segments()) {
+            if (segment >= snapshotSegment) {
+                break;
+            }
+            long live;
+            writeLock.lock();
+            try {
+                live = liveBytes.getOrDefault(segment, 0L);
+            } finally {
+                writeLock.unlock();
+            }
+            long size = productLog.size(segment);
+            if (live > 0 && live > size * (1 - compactionMinGarbage)) {
+                continue;
+            }
+            if (live > 0) {
+                productLog.scan(segment, this::copyIfCurrent);
+                productLog.force();
+            }
+            productLog.delete(segment);
+            log.debug("Compacted product log segment {} ({} of {} bytes live)", segment, live, size);
+        }
+    }
+
+    private void copyIfCurrent(long segment, long offset, byte[] record) {
+        if (ProductLogCodec.type(record) != ProductLogCodec.PUT) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            long id = ProductLogCodec.id(record);
+            RecordLocation current = index.get(id);
+            if (current != null && current.isAt(segment, offset)) {
+                index(id, productLog.append(record, current.version()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws OptimisticLockingFailureException si la versión indicada no es la almacenada
+     */
+    @Override
+    public Product save(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("product must not be null");
+        }
+        Product stored;
+        writeLock.lock();
+        try {
+            RecordLocation current = product.getId() == null ? null : index.get(product.getId());
+            checkVersion(product, current);
+            stored = put(product, current == null ? 0L : current.version() + 1);
+        } finally {
+            writeLock.unlock();
+        }
+        productLog.sync();
+        return stored;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Todas las versiones se comprueban antes de escribir y la lista se confirma con un único
+     * {@code fsync}.
+     *
+     * @throws OptimisticLockingFailureException si la versión de algún producto no es la almacenada
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        if (products.stream().anyMatch(product -> product == null)) {
+            throw new IllegalArgumentException("products must not contain null values");
+        }
+        List<Product> saved = new ArrayList<>(products.size());
+        writeLock.lock();
+        try {
+            Map<Long, Long> pendingVersions = new HashMap<>();
+            for (Product product : products) {
+                if (product.getId() != null) {
+                    RecordLocation current = index.get(product.getId());
+                    Long stored = pendingVersions.containsKey(product.getId())
+                            ? pendingVersions.get(product.getId())
+                            : current == null ? null : current.version();
+                    if (product.getVersion() != null && !product.getVersion().equals(stored)) {
+                        throw conflict(product.getId());
+                    }
+                    pendingVersions.put(product.getId(), stored == null ? 0L : stored + 1);
+                }
+            }
+            for (Product product : products) {
+                RecordLocation current = product.getId() == null ? null : index.get(product.getId());
+                saved.add(put(product, current == null ? 0L : current.version() + 1));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        productLog.sync();
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return Optional.ofNullable(read(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Product> found = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Product product = id == null ? null : read(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        try (Stream<Product> all = streamAll()) {
+            return all.toList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        List<Product> page = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Product> products = iterateFrom(afterId);
+        while (page.size() < limit && products.hasNext()) {
+            page.add(products.next());
+        }
+        return page;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre el índice en orden de ID sin cerrojos; no es una vista consistente si hay escrituras.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterateFrom(null),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        List<Product> found = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Product> products = iterateFrom(afterId);
+        while (found.size() < limit && products.hasNext()) {
+            Product product = products.next();
+            if (filter.matches(product)) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        boolean deleted;
+        writeLock.lock();
+        try {
+            deleted = delete(id);
+        } finally {
+            writeLock.unlock();
+        }
+        if (deleted) {
+            productLog.sync();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        int deleted = 0;
+        writeLock.lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                if (id != null && delete(id)) {
+                    deleted++;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (deleted > 0) {
+            productLog.sync();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        return findByFilter(filter, afterId, limit).stream().map(Product::getId).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        writeLock.lock();
+        try {
+            Product current = read(id);
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return false;
+            }
+            put(new Product(id,
+                    changes.getName() != null ? changes.getName() : current.getName(),
+                    changes.getDescription() != null ? changes.getDescription() : current.getDescription(),
+                    changes.getPrice() != null ? changes.getPrice() : current.getPrice(),
+                    changes.getStock() != null ? changes.getStock() : current.getStock(),
+                    changes.getCategory() != null ? changes.getCategory() : current.getCategory(),
+                    changes.getStatus() != null ? changes.getStatus() : current.getStatus(),
+                    null), current.getVersion() + 1);
+        } finally {
+            writeLock.unlock();
+        }
+        productLog.sync();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        writeLock.lock();
+        try {
+            Product current = read(id);
+            if (current == null) {
+                return StockReservationResult.NOT_FOUND;
+            }
+            if (current.getStock() < quantity) {
+                return StockReservationResult.INSUFFICIENT_STOCK;
+            }
+            putWithStock(current, current.getStock() - quantity);
+        } finally {
+            writeLock.unlock();
+        }
+        productLog.sync();
+        return StockReservationResult.RESERVED;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        for (Integer stock : stockById.values()) {
+            if (stock == null || stock < 0) {
+                throw new IllegalArgumentException("stock levels must not be null or negative");
+            }
+        }
+        int updated = 0;
+        writeLock.lock();
+        try {
+            for (Map.Entry<Long, Integer> entry : stockById.entrySet()) {
+                Product current = read(entry.getKey());
+                if (current != null && !current.getStock().equals(entry.getValue())) {
+                    putWithStock(current, entry.getValue());
+                    updated++;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (updated > 0) {
+            productLog.sync();
+        }
+        return updated;
+    }
+
+    /**
+     * Añade la versión completa de un producto al log; asigna el ID si es nuevo.
+     * Se llama con el cerrojo de escritura tomado.
+     */
+    private Product put(Product product, long version) {
+        Product stored = new Product(product.getId() == null ? ++lastId : product.getId(), product.getName(),
+                product.getDescription(), product.getPrice(), product.getStock(), product.getCategory(),
+                product.getStatus(), version);
+        lastId = Math.max(lastId, stored.getId());
+        index(stored.getId(), productLog.append(ProductLogCodec.encodePut(stored), version));
+        return stored;
+    }
+
+    private void putWithStock(Product product, int stock) {
+        Status status = stock == 0 && product.getStatus() != Status.DISCONTINUED
+                ? Status.OUT_OF_STOCK : product.getStatus();
+        put(new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                stock, product.getCategory(), status, null), product.getVersion() + 1);
+    }
+
+    /**
+     * Añade una lápida al log. Se llama con el cerrojo de escritura tomado.
+     */
+    private boolean delete(long id) {
+        RecordLocation current = index.remove(id);
+        if (current == null) {
+            return false;
+        }
+        productLog.append(ProductLogCodec.encodeDelete(id), current.version());
+        liveBytes.merge(current.segment(), (long) -current.length(), Long::sum);
+        appendsSinceSnapshot++;
+        return true;
+    }
+
+    /**
+     * Apunta el índice a un registro nuevo y actualiza los bytes vigentes de cada segmento.
+     */
+    private void index(long id, RecordLocation location) {
+        RecordLocation previous = index.put(id, location);
+        if (previous != null) {
+            liveBytes.merge(previous.segment(), (long) -previous.length(), Long::sum);
+        }
+        liveBytes.merge(location.segment(), (long) location.length(), Long::sum);
+        appendsSinceSnapshot++;
+    }
+
+    /**
+     * Lee el registro vigente de un producto. Si la compactación borró su segmento entre la
+     * búsqueda y la lectura, vuelve a buscarlo: el índice ya apunta a la copia.
+     */
+    private Product read(long id) {
+        while (true) {
+            RecordLocation location = index.get(id);
+            if (location == null) {
+                return null;
+            }
+            byte[] record = productLog.read(location);
+            if (record != null) {
+                return ProductLogCodec.decodePut(record);
+            }
+        }
+    }
+
+    private Iterator<Product> iterateFrom(Long afterId) {
+        Iterator<Long> ids = (afterId == null ? index.keySet() : index.tailMap(afterId, false).keySet()).iterator();
+        return new Iterator<>() {
+            private Product next = advance();
+
+            private Product advance() {
+                while (ids.hasNext()) {
+                    Product product = read(ids.next());
+                    if (product != null) {
+                        return product;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Product next() {
+                Product current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private static void checkVersion(Product product, RecordLocation current) {
+        if (product.getVersion() != null && (current == null || current.version() != product.getVersion())) {
+            throw conflict(product.getId());
+        }
+    }
+
+    private static OptimisticLockingFailureException conflict(Long id) {
+        return new OptimisticLockingFailureException("Product " + id + " was updated or deleted by another transaction");
+    }
+}
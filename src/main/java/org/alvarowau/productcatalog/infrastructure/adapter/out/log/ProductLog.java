@@ -0,0 +1,397 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Log de registros de productos dividido en segmentos ({@code segment-<n>.log}).
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Solo se escribe al final del segmento activo; cuando supera {@code segmentSize} se sella
+ *       (se fuerza a disco) y se abre el siguiente. Los segmentos sellados no vuelven a cambiar</li>
+ *   <li>Las escrituras se confirman en grupo: {@link #sync()} fuerza el segmento activo una sola
+ *       vez para todos los registros añadidos hasta ese momento, y los hilos que llegan mientras
+ *       otro está forzando esperan a ese mismo {@code fsync} o al siguiente</li>
+ *   <li>Las lecturas son posicionales y pueden ejecutarse en paralelo con las escrituras</li>
+ * </ul>
+ */
+final class ProductLog implements AutoCloseable {
+
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object syncMonitor = new Object();
+    private final AtomicLong durable = new AtomicLong();
+    private Segment active;
+    private long written;
+    private boolean syncing;
+
+    private ProductLog(Path directory, long segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Abre los segmentos existentes de un directorio, creándolo si no existe. No se puede
+     * escribir hasta llamar a {@link #startSegment(long)}, una vez recorridos los segmentos.
+     *
+     * @param directory directorio del log
+     * @param segmentSize tamaño a partir del cual se abre un segmento nuevo
+     * @param fsync si es true, {@link #sync()} fuerza los registros a disco
+     * @return log abierto
+     * @throws UncheckedIOException si no se puede leer el directorio o abrir un segmento
+     */
+    static ProductLog open(Path directory, long segmentSize, boolean fsync) {
+        ProductLog log = new ProductLog(directory, segmentSize, fsync);
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        long number = Long.parseLong(matcher.group(1));
+                        log.segments.put(number, Segment.open(file, number, StandardOpenOption.READ));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.close();
+            throw new UncheckedIOException(e);
+        }
+        return log;
+    }
+
+    /**
+     * Números de los segmentos existentes, en orden.
+     */
+    List<Long> segments() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    /**
+     * Número del segmento activo.
+     */
+    synchronized long activeSegment() {
+        return active.number;
+    }
+
+    /**
+     * Tamaño en bytes de un segmento, o 0 si no existe.
+     */
+    long size(long segment) {
+        Segment found = segments.get(segment);
+        return found == null ? 0 : found.size;
+    }
+
+    /**
+     * Recorre los registros de un segmento sellado en orden.
+     * <p>
+     * Un registro incompleto o con CRC incorrecto en el último segmento es una escritura que no
+     * terminó antes de una caída: el segmento se trunca en ese punto.
+     *
+     * @param segment número del segmento
+     * @param visitor receptor de cada registro válido
+     * @throws IllegalStateException si un segmento que no es el último está dañado
+     * @throws UncheckedIOException si no se puede leer el segmento
+     */
+    void scan(long segment, RecordVisitor visitor) {
+        Segment found = segments.get(segment);
+        long offset = 0;
+        try (InputStream file = Files.newInputStream(found.path);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            while (offset < found.size) {
+                byte[] record = readRecord(input, found.size - offset);
+                if (record == null || !ProductLogCodec.isValid(record)) {
+                    if (segment != segments.lastKey()) {
+                        throw new IllegalStateException("Product log segment " + found.path + " is corrupted at offset " + offset);
+                    }
+                    found.truncate(offset);
+                    return;
+                }
+                visitor.visit(segment, offset, record);
+                offset += record.length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readRecord(DataInputStream input, long remaining) throws IOException {
+        if (remaining < ProductLogCodec.FRAME_HEADER) {
+            return null;
+        }
+        int length = input.readInt();
+        if (length < ProductLogCodec.BODY_HEADER || length > remaining - ProductLogCodec.FRAME_HEADER) {
+            return null;
+        }
+        byte[] record = new byte[ProductLogCodec.FRAME_HEADER + length];
+        ByteBuffer.wrap(record).putInt(length);
+        try {
+            input.readFully(record, 4, record.length - 4);
+        } catch (EOFException e) {
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Abre un segmento activo nuevo a continuación del último existente.
+     *
+     * @param minimum número mínimo del nuevo segmento
+     * @throws UncheckedIOException si no se puede crear el segmento
+     */
+    synchronized void startSegment(long minimum) {
+        long number = Math.max(minimum, segments.isEmpty() ? 1 : segments.lastKey() + 1);
+        try {
+            active = Segment.open(directory.resolve("segment-" + number + ".log"), number,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.put(number, active);
+    }
+
+    /**
+     * Añade un registro al segmento activo, abriendo antes uno nuevo si está lleno.
+     * El registro no es duradero hasta que se llama a {@link #sync()}.
+     *
+     * @param record registro codificado
+     * @param version versión del producto (ignorada en las lápidas)
+     * @return posición del registro
+     * @throws UncheckedIOException si falla la escritura
+     */
+    synchronized RecordLocation append(byte[] record, long version) {
+        if (active.size >= segmentSize) {
+            roll();
+        }
+        long offset = active.size;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                active.channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        active.size += record.length;
+        written += record.length;
+        return new RecordLocation(active.number, offset, record.length, version);
+    }
+
+    /**
+     * Sella el segmento activo forzándolo a disco y abre el siguiente.
+     *
+     * @return número del nuevo segmento activo
+     * @throws UncheckedIOException si no se puede forzar o crear un segmento
+     */
+    synchronized long roll() {
+        try {
+            active.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        durable.accumulateAndGet(written, Math::max);
+        startSegment(active.number + 1);
+        return active.number;
+    }
+
+    /**
+     * Fuerza a disco el segmento activo aunque el log se abriera sin {@code fsync}.
+     *
+     * @throws UncheckedIOException si falla el {@code fsync}
+     */
+    synchronized void force() {
+        try {
+            active.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        durable.accumulateAndGet(written, Math::max);
+    }
+
+    /**
+     * Espera a que todos los registros añadidos hasta ahora estén en disco, compartiendo el
+     * {@code fsync} con los demás hilos que esperan a la vez. No hace nada si el log se abrió
+     * sin {@code fsync}.
+     *
+     * @throws UncheckedIOException si falla el {@code fsync}
+     */
+    void sync() {
+        if (!fsync) {
+            return;
+        }
+        long target;
+        synchronized (this) {
+            target = written;
+        }
+        boolean interrupted = false;
+        try {
+            synchronized (syncMonitor) {
+                while (durable.get() < target && syncing) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (durable.get() >= target) {
+                    return;
+                }
+                syncing = true;
+            }
+            try {
+                Segment segment;
+                long upTo;
+                synchronized (this) {
+                    segment = active;
+                    upTo = written;
+                }
+                segment.channel.force(false);
+                durable.accumulateAndGet(upTo, Math::max);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                synchronized (syncMonitor) {
+                    syncing = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Lee un registro completo.
+     *
+     * @param location posición del registro
+     * @return registro, o null si su segmento se ha eliminado (el llamante debe volver a buscarlo)
+     * @throws IllegalStateException si el registro está dañado
+     * @throws UncheckedIOException si falla la lectura
+     */
+    byte[] read(RecordLocation location) {
+        Segment segment = segments.get(location.segment());
+        if (segment == null) {
+            return null;
+        }
+        byte[] record = new byte[location.length()];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        try {
+            while (buffer.hasRemaining()) {
+                if (segment.channel.read(buffer, location.offset() + buffer.position()) < 0) {
+                    throw new IllegalStateException("Product log record at " + location.offset()
+                            + " of segment " + location.segment() + " is truncated");
+                }
+            }
+        } catch (ClosedChannelException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!ProductLogCodec.isValid(record)) {
+            throw new IllegalStateException("Product log record at " + location.offset()
+                    + " of segment " + location.segment() + " is corrupted");
+        }
+        return record;
+    }
+
+    /**
+     * Elimina un segmento sellado. Las lecturas en curso sobre él devuelven null.
+     *
+     * @throws UncheckedIOException si no se puede borrar el fichero
+     */
+    void delete(long segment) {
+        Segment removed = segments.remove(segment);
+        if (removed != null) {
+            removed.close();
+            try {
+                Files.deleteIfExists(removed.path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Fuerza a disco el segmento activo y cierra todos los segmentos.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (active != null) {
+                active.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            segments.values().forEach(Segment::close);
+        }
+    }
+
+    /**
+     * Receptor de los registros de un segmento.
+     */
+    interface RecordVisitor {
+
+        void visit(long segment, long offset, byte[] record);
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long number;
+        private final FileChannel channel;
+        private volatile long size;
+
+        private Segment(Path path, long number, FileChannel channel) throws IOException {
+            this.path = path;
+            this.number = number;
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        static Segment open(Path path, long number, StandardOpenOption... options) throws IOException {
+            return new Segment(path, number, FileChannel.open(path, options));
+        }
+
+        void truncate(long length) throws IOException {
+            try (FileChannel writable = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                writable.truncate(length);
+                writable.force(true);
+            }
+            size = length;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato de los registros del log de productos.
+ * <p>
+ * Cada registro es {@code [longitud del cuerpo (int)][CRC32C del cuerpo (int)][cuerpo]} y el cuerpo
+ * es {@code [tipo (byte)][id (long)][datos]}. Un registro {@link #PUT} lleva el producto completo;
+ * un registro {@link #DELETE} (lápida) no lleva datos. El CRC permite detectar un registro
+ * escrito a medias al final del log o dañado en disco.
+ */
+final class ProductLogCodec {
+
+    /**
+     * Tipo de registro con la versión completa de un producto.
+     */
+    static final byte PUT = 1;
+
+    /**
+     * Tipo de registro que marca un producto como eliminado.
+     */
+    static final byte DELETE = 2;
+
+    /**
+     * Bytes de la cabecera de un registro (longitud y CRC).
+     */
+    static final int FRAME_HEADER = 8;
+
+    /**
+     * Bytes fijos del cuerpo (tipo e ID).
+     */
+    static final int BODY_HEADER = 9;
+
+    private static final int NULL_NAME = 1;
+    private static final int NULL_DESCRIPTION = 1 << 1;
+    private static final int NULL_PRICE = 1 << 2;
+    private static final int NULL_STOCK = 1 << 3;
+    private static final int NULL_CATEGORY = 1 << 4;
+    private static final int NULL_STATUS = 1 << 5;
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private ProductLogCodec() {
+    }
+
+    /**
+     * Codifica el registro con la versión completa de un producto guardado (con ID y versión).
+     *
+     * @param product producto
+     * @return registro con cabecera y CRC
+     */
+    static byte[] encodePut(Product product) {
+        byte[] name = bytes(product.getName());
+        byte[] description = bytes(product.getDescription());
+        byte[] unscaledPrice = product.getPrice() == null ? new byte[0] : product.getPrice().unscaledValue().toByteArray();
+        int flags = (product.getName() == null ? NULL_NAME : 0)
+                | (product.getDescription() == null ? NULL_DESCRIPTION : 0)
+                | (product.getPrice() == null ? NULL_PRICE : 0)
+                | (product.getStock() == null ? NULL_STOCK : 0)
+                | (product.getCategory() == null ? NULL_CATEGORY : 0)
+                | (product.getStatus() == null ? NULL_STATUS : 0);
+        int bodyLength = BODY_HEADER + 8 + 1 + 4 + name.length + 4 + description.length
+                + 4 + 4 + unscaledPrice.length + 4 + 1 + 1;
+        ByteBuffer record = frame(bodyLength, PUT, product.getId());
+        record.putLong(product.getVersion());
+        record.put((byte) flags);
+        record.putInt(name.length).put(name);
+        record.putInt(description.length).put(description);
+        record.putInt(product.getPrice() == null ? 0 : product.getPrice().scale());
+        record.putInt(unscaledPrice.length).put(unscaledPrice);
+        record.putInt(product.getStock() == null ? 0 : product.getStock());
+        record.put(product.getCategory() == null ? 0 : (byte) product.getCategory().ordinal());
+        record.put(product.getStatus() == null ? 0 : (byte) product.getStatus().ordinal());
+        return seal(record);
+    }
+
+    /**
+     * Codifica la lápida de un producto eliminado.
+     *
+     * @param id ID del producto
+     * @return registro con cabecera y CRC
+     */
+    static byte[] encodeDelete(long id) {
+        return seal(frame(BODY_HEADER, DELETE, id));
+    }
+
+    /**
+     * Comprueba el CRC de un registro completo.
+     *
+     * @param record registro con cabecera
+     * @return true si el CRC coincide con el cuerpo
+     */
+    static boolean isValid(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        int length = buffer.getInt();
+        if (length < BODY_HEADER || length != record.length - FRAME_HEADER) {
+            return false;
+        }
+        int crc = buffer.getInt();
+        CRC32C checksum = new CRC32C();
+        checksum.update(record, FRAME_HEADER, length);
+        return (int) checksum.getValue() == crc;
+    }
+
+    static byte type(byte[] record) {
+        return record[FRAME_HEADER];
+    }
+
+    static long id(byte[] record) {
+        return ByteBuffer.wrap(record).getLong(FRAME_HEADER + 1);
+    }
+
+    /**
+     * Versión del producto de un registro {@link #PUT}, sin decodificar el resto.
+     */
+    static long version(byte[] record) {
+        return ByteBuffer.wrap(record).getLong(FRAME_HEADER + BODY_HEADER);
+    }
+
+    /**
+     * Decodifica el producto de un registro {@link #PUT}.
+     *
+     * @param record registro con cabecera
+     * @return producto
+     */
+    static Product decodePut(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.position(FRAME_HEADER + 1);
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        int flags = buffer.get();
+        String name = string(buffer, (flags & NULL_NAME) != 0);
+        String description = string(buffer, (flags & NULL_DESCRIPTION) != 0);
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.getInt()];
+        buffer.get(unscaled);
+        int stock = buffer.getInt();
+        int category = buffer.get();
+        int status = buffer.get();
+        return new Product(id, name, description,
+                (flags & NULL_PRICE) != 0 ? null : new BigDecimal(new BigInteger(unscaled), scale),
+                (flags & NULL_STOCK) != 0 ? null : stock,
+                (flags & NULL_CATEGORY) != 0 ? null : CATEGORIES[category],
+                (flags & NULL_STATUS) != 0 ? null : STATUSES[status],
+                version);
+    }
+
+    private static ByteBuffer frame(int bodyLength, byte type, long id) {
+        ByteBuffer record = ByteBuffer.allocate(FRAME_HEADER + bodyLength);
+        record.putInt(bodyLength);
+        record.putInt(0);
+        record.put(type);
+        record.putLong(id);
+        return record;
+    }
+
+    private static byte[] seal(ByteBuffer record) {
+        byte[] bytes = record.array();
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes, FRAME_HEADER, bytes.length - FRAME_HEADER);
+        record.putInt(4, (int) checksum.getValue());
+        return bytes;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer, boolean isNull) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return isNull ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+}
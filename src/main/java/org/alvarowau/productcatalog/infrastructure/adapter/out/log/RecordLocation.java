@@ -0,0 +1,40 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+/**
+ * Posición en el log del registro vigente de un producto, junto con su versión
+ * para comprobar conflictos sin leer el registro.
+ */
+final class RecordLocation {
+
+    private final long segment;
+    private final long offset;
+    private final int length;
+    private final long version;
+
+    RecordLocation(long segment, long offset, int length, long version) {
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.version = version;
+    }
+
+    long segment() {
+        return segment;
+    }
+
+    long offset() {
+        return offset;
+    }
+
+    int length() {
+        return length;
+    }
+
+    long version() {
+        return version;
+    }
+
+    boolean isAt(long segment, long offset) {
+        return this.segment == segment && this.offset == offset;
+    }
+}
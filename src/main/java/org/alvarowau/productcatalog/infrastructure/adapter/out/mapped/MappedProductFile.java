@@ -0,0 +1,354 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.mapped;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Formato en disco del almacén de productos proyectado en memoria.
+ * <p>
+ * El almacén son dos ficheros:
+ * <ul>
+ *   <li>{@code products.records}: una cabecera seguida de registros de {@value #RECORD_SIZE} bytes,
+ *       uno por producto, con los campos numéricos y los enumerados como ordinales. El número de
+ *       registro (la posición) no cambia mientras exista el fichero</li>
+ *   <li>{@code products.strings}: zona de desbordamiento donde se añaden en UTF-8 el nombre y la
+ *       descripción; el registro guarda su posición y longitud. Un texto nunca cruza el límite
+ *       entre dos bloques proyectados</li>
+ * </ul>
+ * Disposición de un registro:
+ * <pre>
+ *  0 id (long)            8 versión (long)        16 precio sin escala (long)
+ * 24 posición del nombre (long)                   32 posición de la descripción (long)
+ * 40 longitud del nombre (int)                    44 longitud de la descripción (int)
+ * 48 stock (int)  52 categoría (byte)  53 estado (byte)  54 escala del precio (byte)  55 marcas (byte)
+ * </pre>
+ * Las marcas indican si el registro está vivo (un borrado solo la limpia) y qué campos son nulos.
+ * La cabecera guarda el número de registros y el final de la zona de textos, y se actualiza después
+ * de escribir lo que referencia. Las páginas modificadas quedan en la caché del sistema operativo,
+ * así que sobreviven a la caída del proceso; ante una caída del sistema solo está garantizado lo
+ * escrito antes del último {@link #force()}. El espacio de los textos sustituidos no se reutiliza.
+ * <p>
+ * La clase no es segura para hilos: la sincronización corresponde a quien la usa.
+ */
+final class MappedProductFile implements AutoCloseable {
+
+    static final int RECORD_SIZE = 64;
+
+    private static final int MAGIC = 0x50524F44;
+    private static final int LAYOUT_VERSION = 1;
+
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_LAYOUT = 4;
+    private static final int HEADER_RECORD_COUNT = 8;
+    private static final int HEADER_STRINGS_END = 16;
+    private static final int HEADER_CHUNK_SIZE = 24;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int PRICE_UNSCALED = 16;
+    private static final int NAME_OFFSET = 24;
+    private static final int DESCRIPTION_OFFSET = 32;
+    private static final int NAME_LENGTH = 40;
+    private static final int DESCRIPTION_LENGTH = 44;
+    private static final int STOCK = 48;
+    private static final int CATEGORY = 52;
+    private static final int STATUS = 53;
+    private static final int PRICE_SCALE = 54;
+    private static final int FLAGS = 55;
+
+    private static final int LIVE = 1;
+    private static final int NULL_VERSION = 1 << 1;
+    private static final int NULL_PRICE = 1 << 2;
+    private static final int NULL_STOCK = 1 << 3;
+    private static final int NULL_CATEGORY = 1 << 4;
+    private static final int NULL_STATUS = 1 << 5;
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final MappedRegion records;
+    private final MappedRegion strings;
+    private int recordCount;
+    private long stringsEnd;
+
+    private MappedProductFile(MappedRegion records, MappedRegion strings) {
+        this.records = records;
+        this.strings = strings;
+        this.recordCount = (int) records.getLong(HEADER_RECORD_COUNT);
+        this.stringsEnd = records.getLong(HEADER_STRINGS_END);
+    }
+
+    /**
+     * Abre el almacén de un directorio, creándolo si no existe.
+     * <p>
+     * Un almacén existente conserva el tamaño de bloque con el que se creó.
+     *
+     * @param directory directorio del almacén
+     * @param chunkSize tamaño de los bloques proyectados para un almacén nuevo
+     * @return almacén abierto
+     * @throws IllegalArgumentException si el tamaño de bloque no es un múltiplo positivo de {@value #RECORD_SIZE}
+     * @throws IllegalStateException si los ficheros no tienen el formato esperado
+     * @throws UncheckedIOException si no se pueden abrir los ficheros
+     */
+    static MappedProductFile open(Path directory, int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("chunkSize must be a positive multiple of " + RECORD_SIZE);
+        }
+        Path recordsFile = directory.resolve("products.records");
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(recordsFile) && Files.size(recordsFile) >= RECORD_SIZE) {
+                chunkSize = readChunkSize(recordsFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MappedRegion records = MappedRegion.open(recordsFile, chunkSize);
+        int magic = records.getInt(HEADER_MAGIC);
+        if (magic == 0) {
+            records.putInt(HEADER_MAGIC, MAGIC);
+            records.putInt(HEADER_LAYOUT, LAYOUT_VERSION);
+            records.putInt(HEADER_CHUNK_SIZE, chunkSize);
+        } else if (magic != MAGIC || records.getInt(HEADER_LAYOUT) != LAYOUT_VERSION) {
+            records.close();
+            throw new IllegalStateException(recordsFile + " is not a product store of layout version " + LAYOUT_VERSION);
+        }
+        MappedRegion strings = MappedRegion.open(directory.resolve("products.strings"), chunkSize);
+        return new MappedProductFile(records, strings);
+    }
+
+    private static int readChunkSize(Path recordsFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(recordsFile)) {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE);
+            channel.read(header, 0);
+            int stored = header.getInt(HEADER_CHUNK_SIZE);
+            if (stored <= 0 || stored % RECORD_SIZE != 0) {
+                throw new IllegalStateException(recordsFile + " has an invalid chunk size");
+            }
+            return stored;
+        }
+    }
+
+    /**
+     * Número de registros escritos, vivos o borrados.
+     */
+    int recordCount() {
+        return recordCount;
+    }
+
+    long id(int record) {
+        return records.getLong(base(record) + ID);
+    }
+
+    boolean isLive(int record) {
+        return (flags(record) & LIVE) != 0;
+    }
+
+    Long version(int record) {
+        return (flags(record) & NULL_VERSION) != 0 ? null : records.getLong(base(record) + VERSION);
+    }
+
+    int stock(int record) {
+        return records.getInt(base(record) + STOCK);
+    }
+
+    /**
+     * Lee un producto completo, incluidos el nombre y la descripción.
+     */
+    Product read(int record) {
+        long base = base(record);
+        int flags = flags(record);
+        return new Product(
+                records.getLong(base + ID),
+                readString(records.getLong(base + NAME_OFFSET), records.getInt(base + NAME_LENGTH)),
+                readString(records.getLong(base + DESCRIPTION_OFFSET), records.getInt(base + DESCRIPTION_LENGTH)),
+                (flags & NULL_PRICE) != 0 ? null
+                        : BigDecimal.valueOf(records.getLong(base + PRICE_UNSCALED), records.getByte(base + PRICE_SCALE)),
+                (flags & NULL_STOCK) != 0 ? null : records.getInt(base + STOCK),
+                (flags & NULL_CATEGORY) != 0 ? null : CATEGORIES[records.getByte(base + CATEGORY)],
+                (flags & NULL_STATUS) != 0 ? null : STATUSES[records.getByte(base + STATUS)],
+                (flags & NULL_VERSION) != 0 ? null : records.getLong(base + VERSION));
+    }
+
+    /**
+     * Lee un producto sin nombre ni descripción, sin tocar la zona de textos. Sirve para evaluar
+     * filtros, que solo usan los campos de ancho fijo.
+     */
+    Product readFixedFields(int record) {
+        long base = base(record);
+        int flags = flags(record);
+        return new Product(
+                records.getLong(base + ID), null, null,
+                (flags & NULL_PRICE) != 0 ? null
+                        : BigDecimal.valueOf(records.getLong(base + PRICE_UNSCALED), records.getByte(base + PRICE_SCALE)),
+                (flags & NULL_STOCK) != 0 ? null : records.getInt(base + STOCK),
+                (flags & NULL_CATEGORY) != 0 ? null : CATEGORIES[records.getByte(base + CATEGORY)],
+                (flags & NULL_STATUS) != 0 ? null : STATUSES[records.getByte(base + STATUS)],
+                null);
+    }
+
+    /**
+     * Comprueba que un producto cabe en la disposición del registro sin escribir nada.
+     *
+     * @throws IllegalArgumentException si el precio o algún texto no caben
+     */
+    void checkFits(Product product) {
+        if (product.getPrice() != null) {
+            BigDecimal price = product.getPrice();
+            if (price.unscaledValue().bitLength() > 63 || price.scale() < Byte.MIN_VALUE || price.scale() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("price " + price + " does not fit the product store record");
+            }
+        }
+        checkFits(product.getName());
+        checkFits(product.getDescription());
+    }
+
+    private void checkFits(String value) {
+        if (value != null && value.length() > strings.chunkSize() / 3
+                && value.getBytes(StandardCharsets.UTF_8).length > strings.chunkSize()) {
+            throw new IllegalArgumentException("text of " + value.length() + " characters does not fit a product store chunk");
+        }
+    }
+
+    /**
+     * Añade un registro al final del fichero.
+     *
+     * @return número del registro
+     */
+    int append(Product product) {
+        int record = recordCount;
+        records.ensureCapacity(base(record) + RECORD_SIZE);
+        write(record, product, false);
+        recordCount++;
+        records.putLong(HEADER_RECORD_COUNT, recordCount);
+        return record;
+    }
+
+    /**
+     * Sustituye un registro. Los textos que no cambian conservan su posición en la zona de textos.
+     */
+    void write(int record, Product product) {
+        write(record, product, true);
+    }
+
+    private void write(int record, Product product, boolean reuseStrings) {
+        long base = base(record);
+        int flags = LIVE;
+        writeString(base + NAME_OFFSET, base + NAME_LENGTH, product.getName(), reuseStrings);
+        writeString(base + DESCRIPTION_OFFSET, base + DESCRIPTION_LENGTH, product.getDescription(), reuseStrings);
+        if (product.getPrice() == null) {
+            flags |= NULL_PRICE;
+        } else {
+            records.putLong(base + PRICE_UNSCALED, product.getPrice().unscaledValue().longValue());
+            records.putByte(base + PRICE_SCALE, (byte) product.getPrice().scale());
+        }
+        if (product.getStock() == null) {
+            flags |= NULL_STOCK;
+        } else {
+            records.putInt(base + STOCK, product.getStock());
+        }
+        if (product.getCategory() == null) {
+            flags |= NULL_CATEGORY;
+        } else {
+            records.putByte(base + CATEGORY, (byte) product.getCategory().ordinal());
+        }
+        if (product.getStatus() == null) {
+            flags |= NULL_STATUS;
+        } else {
+            records.putByte(base + STATUS, (byte) product.getStatus().ordinal());
+        }
+        if (product.getVersion() == null) {
+            flags |= NULL_VERSION;
+        } else {
+            records.putLong(base + VERSION, product.getVersion());
+        }
+        records.putLong(base + ID, product.getId());
+        records.putByte(base + FLAGS, (byte) flags);
+    }
+
+    /**
+     * Actualiza en el sitio el stock, el estado y la versión de un registro, sin tocar los textos.
+     */
+    void writeStock(int record, int stock, Status status, long version) {
+        long base = base(record);
+        records.putInt(base + STOCK, stock);
+        records.putByte(base + STATUS, (byte) status.ordinal());
+        records.putLong(base + VERSION, version);
+        records.putByte(base + FLAGS, (byte) (flags(record) & ~(NULL_STOCK | NULL_STATUS | NULL_VERSION)));
+    }
+
+    /**
+     * Marca un registro como borrado; su posición se puede reutilizar para el mismo ID.
+     */
+    void markDeleted(int record) {
+        records.putByte(base(record) + FLAGS, (byte) (flags(record) & ~LIVE));
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas de ambos ficheros.
+     */
+    void force() {
+        strings.force();
+        records.force();
+    }
+
+    @Override
+    public void close() {
+        strings.close();
+        records.close();
+    }
+
+    private void writeString(long offsetField, long lengthField, String value, boolean reuse) {
+        if (value == null) {
+            records.putInt(lengthField, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (reuse && records.getInt(lengthField) == bytes.length) {
+            byte[] current = new byte[bytes.length];
+            strings.get(records.getLong(offsetField), current);
+            if (Arrays.equals(current, bytes)) {
+                return;
+            }
+        }
+        long offset = stringsEnd;
+        long chunkEnd = (offset / strings.chunkSize() + 1) * strings.chunkSize();
+        if (offset + bytes.length > chunkEnd) {
+            offset = chunkEnd;
+        }
+        strings.ensureCapacity(offset + bytes.length);
+        strings.put(offset, bytes);
+        stringsEnd = offset + bytes.length;
+        records.putLong(HEADER_STRINGS_END, stringsEnd);
+        records.putLong(offsetField, offset);
+        records.putInt(lengthField, bytes.length);
+    }
+
+    private String readString(long offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int flags(int record) {
+        return records.getByte(base(record) + FLAGS);
+    }
+
+    private static long base(int record) {
+        return (long) (record + 1) * RECORD_SIZE;
+    }
+}
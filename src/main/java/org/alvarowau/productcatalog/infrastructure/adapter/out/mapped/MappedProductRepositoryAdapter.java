@@ -0,0 +1,554 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.mapped;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adaptador de persistencia que implementa {@link ProductRepositoryPort} sobre un fichero
+ * proyectado en memoria ({@link MappedProductFile}).
+ * <p>
+ * Organización:
+ * <ul>
+ *   <li>Cada producto ocupa un registro de ancho fijo; los textos van en una zona aparte</li>
+ *   <li>Un índice en memoria, dos arrays paralelos ordenados por ID, traduce cada ID a su número
+ *       de registro. Al abrir el almacén se reconstruye leyendo solo el ID de cada registro, sin
+ *       cargar productos: arrancar es volver a proyectar los ficheros</li>
+ *   <li>Las lecturas se hacen directamente sobre las páginas proyectadas; los filtros se evalúan
+ *       con los campos de ancho fijo y solo se leen los textos de los productos que coinciden</li>
+ *   <li>Las escrituras sustituyen el registro en su sitio; las reservas y los niveles de stock
+ *       solo reescriben stock, estado y versión</li>
+ * </ul>
+ * Un cerrojo de lectura/escritura permite lecturas concurrentes y serializa las escrituras.
+ * Versiones, generación de IDs y errores siguen la semántica del adaptador JPA.
+ */
+public class MappedProductRepositoryAdapter implements ProductRepositoryPort, AutoCloseable {
+
+    private static final int STREAM_PAGE_SIZE = 512;
+
+    private final MappedProductFile file;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] ids;
+    private int[] records;
+    private int size;
+    private long lastId;
+
+    /**
+     * Abre el almacén de un directorio, creándolo si no existe, y reconstruye el índice.
+     *
+     * @param directory Directorio del almacén
+     * @param chunkSize Tamaño de los bloques proyectados para un almacén nuevo (múltiplo de 64)
+     * @throws IllegalArgumentException si el tamaño de bloque no es válido
+     * @throws IllegalStateException si los ficheros no son un almacén de productos
+     * @throws UncheckedIOException si no se pueden abrir los ficheros
+     */
+    public MappedProductRepositoryAdapter(Path directory, int chunkSize) {
+        this.file = MappedProductFile.open(directory, chunkSize);
+        int count = file.recordCount();
+        this.ids = new long[Math.max(count, 16)];
+        this.records = new int[ids.length];
+        boolean sorted = true;
+        for (int record = 0; record < count; record++) {
+            long id = file.id(record);
+            sorted &= record == 0 || id > ids[record - 1];
+            ids[record] = id;
+            records[record] = record;
+            lastId = Math.max(lastId, id);
+        }
+        this.size = count;
+        if (!sorted) {
+            sortIndex();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws OptimisticLockingFailureException si la versión indicada no es la almacenada
+     */
+    @Override
+    public Product save(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("product must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            file.checkFits(product);
+            if (product.getId() != null) {
+                checkVersion(product, storedVersion(product.getId()));
+            }
+            return store(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Todas las versiones y tamaños se comprueban antes de escribir, así que un conflicto
+     * no deja la lista guardada a medias.
+     *
+     * @throws OptimisticLockingFailureException si la versión de algún producto no es la almacenada
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        if (products.stream().anyMatch(product -> product == null)) {
+            throw new IllegalArgumentException("products must not contain null values");
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, Long> pendingVersions = new HashMap<>();
+            for (Product product : products) {
+                file.checkFits(product);
+                if (product.getId() != null) {
+                    Long stored = pendingVersions.containsKey(product.getId())
+                            ? pendingVersions.get(product.getId()) : storedVersion(product.getId());
+                    checkVersion(product, stored);
+                    pendingVersions.put(product.getId(), stored == null ? 0L : stored + 1);
+                }
+            }
+            List<Product> saved = new ArrayList<>(products.size());
+            for (Product product : products) {
+                saved.add(store(product));
+            }
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        lock.readLock().lock();
+        try {
+            int record = liveRecord(id);
+            return record < 0 ? Optional.empty() : Optional.of(file.read(record));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        lock.readLock().lock();
+        try {
+            List<Product> found = new ArrayList<>(ids.size());
+            for (Long id : new LinkedHashSet<>(ids)) {
+                int record = id == null ? -1 : liveRecord(id);
+                if (record >= 0) {
+                    found.add(file.read(record));
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        try (Stream<Product> all = streamAll()) {
+            return all.toList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Product> page = new ArrayList<>(Math.min(limit, STREAM_PAGE_SIZE));
+            for (int i = firstAfter(afterId); i < size && page.size() < limit; i++) {
+                if (file.isLive(records[i])) {
+                    page.add(file.read(records[i]));
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre el almacén por páginas de {@value #STREAM_PAGE_SIZE} productos, tomando el cerrojo
+     * de lectura solo mientras lee cada página.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        Spliterator<Product> pages = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private List<Product> page = List.of();
+            private int next;
+            private Long afterId;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Product> action) {
+                if (next == page.size()) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    page = findPage(afterId, STREAM_PAGE_SIZE);
+                    next = 0;
+                    exhausted = page.size() < STREAM_PAGE_SIZE;
+                    if (page.isEmpty()) {
+                        return false;
+                    }
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                action.accept(page.get(next++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        lock.readLock().lock();
+        try {
+            List<Product> found = new ArrayList<>(Math.min(limit, STREAM_PAGE_SIZE));
+            for (int i = firstAfter(afterId); i < size && found.size() < limit; i++) {
+                if (file.isLive(records[i]) && filter.matches(file.readFixedFields(records[i]))) {
+                    found.add(file.read(records[i]));
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int record = liveRecord(id);
+            if (record < 0) {
+                return false;
+            }
+            file.markDeleted(record);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (Long id : new LinkedHashSet<>(ids)) {
+                int record = id == null ? -1 : liveRecord(id);
+                if (record >= 0) {
+                    file.markDeleted(record);
+                    deleted++;
+                }
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        lock.readLock().lock();
+        try {
+            List<Long> found = new ArrayList<>(Math.min(limit, STREAM_PAGE_SIZE));
+            for (int i = firstAfter(afterId); i < size && found.size() < limit; i++) {
+                if (file.isLive(records[i]) && filter.matches(file.readFixedFields(records[i]))) {
+                    found.add(ids[i]);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        lock.writeLock().lock();
+        try {
+            int record = liveRecord(id);
+            if (record < 0 || (expectedVersion != null && !expectedVersion.equals(file.version(record)))) {
+                return false;
+            }
+            Product current = file.read(record);
+            Product updated = new Product(id,
+                    changes.getName() != null ? changes.getName() : current.getName(),
+                    changes.getDescription() != null ? changes.getDescription() : current.getDescription(),
+                    changes.getPrice() != null ? changes.getPrice() : current.getPrice(),
+                    changes.getStock() != null ? changes.getStock() : current.getStock(),
+                    changes.getCategory() != null ? changes.getCategory() : current.getCategory(),
+                    changes.getStatus() != null ? changes.getStatus() : current.getStatus(),
+                    nextVersion(current.getVersion()));
+            file.checkFits(updated);
+            file.write(record, updated);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        lock.writeLock().lock();
+        try {
+            int record = liveRecord(id);
+            if (record < 0) {
+                return StockReservationResult.NOT_FOUND;
+            }
+            int stock = file.stock(record);
+            if (stock < quantity) {
+                return StockReservationResult.INSUFFICIENT_STOCK;
+            }
+            writeStock(record, stock - quantity);
+            return StockReservationResult.RESERVED;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        for (Integer stock : stockById.values()) {
+            if (stock == null || stock < 0) {
+                throw new IllegalArgumentException("stock levels must not be null or negative");
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            int updated = 0;
+            for (Map.Entry<Long, Integer> entry : stockById.entrySet()) {
+                int record = liveRecord(entry.getKey());
+                if (record >= 0 && file.stock(record) != entry.getValue()) {
+                    writeStock(record, entry.getValue());
+                    updated++;
+                }
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas.
+     */
+    public void force() {
+        lock.readLock().lock();
+        try {
+            file.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas y cierra los ficheros.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            file.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda un producto ya validado: asigna ID a los nuevos, reutiliza el registro de un ID
+     * borrado y sustituye en su sitio el de uno existente.
+     */
+    private Product store(Product product) {
+        Product stored = new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), 0L);
+        if (stored.getId() == null) {
+            stored.setId(++lastId);
+        }
+        int position = position(stored.getId());
+        if (position < 0) {
+            int record = file.append(stored);
+            insertIntoIndex(-position - 1, stored.getId(), record);
+            lastId = Math.max(lastId, stored.getId());
+        } else {
+            int record = records[position];
+            if (file.isLive(record)) {
+                stored.setVersion(nextVersion(file.version(record)));
+            }
+            file.write(record, stored);
+        }
+        return stored;
+    }
+
+    private void writeStock(int record, int stock) {
+        Product current = file.readFixedFields(record);
+        Status status = stock == 0 && current.getStatus() != Status.DISCONTINUED
+                ? Status.OUT_OF_STOCK : current.getStatus();
+        file.writeStock(record, stock, status, nextVersion(file.version(record)));
+    }
+
+    private Long storedVersion(long id) {
+        int record = liveRecord(id);
+        return record < 0 ? null : file.version(record);
+    }
+
+    private static void checkVersion(Product product, Long storedVersion) {
+        if (product.getVersion() != null && !product.getVersion().equals(storedVersion)) {
+            throw new OptimisticLockingFailureException(
+                    "Product " + product.getId() + " was updated or deleted by another transaction");
+        }
+    }
+
+    private static long nextVersion(Long version) {
+        return version == null ? 0L : version + 1;
+    }
+
+    /**
+     * Registro vivo de un ID, o -1 si no existe o está borrado.
+     */
+    private int liveRecord(long id) {
+        int position = position(id);
+        return position >= 0 && file.isLive(records[position]) ? records[position] : -1;
+    }
+
+    private int position(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    private int firstAfter(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        int position = position(afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private void insertIntoIndex(int position, long id, int record) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            records = Arrays.copyOf(records, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        System.arraycopy(records, position, records, position + 1, size - position);
+        ids[position] = id;
+        records[position] = record;
+        size++;
+    }
+
+    /**
+     * Ordena el índice por ID; solo hace falta si se guardaron productos con IDs explícitos
+     * menores que otros ya existentes.
+     */
+    private void sortIndex() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        long[] sortedIds = new long[ids.length];
+        int[] sortedRecords = new int[records.length];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedRecords[i] = records[order[i]];
+        }
+        ids = sortedIds;
+        records = sortedRecords;
+    }
+}
@@ -0,0 +1,143 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.mapped;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fichero proyectado en memoria por bloques de tamaño fijo.
+ * <p>
+ * Cada bloque es un {@link MappedByteBuffer} independiente, lo que permite superar el límite de
+ * 2 GB de una sola proyección y crecer sin volver a proyectar lo ya proyectado. Quien escribe
+ * es responsable de que ningún valor cruce el límite entre dos bloques.
+ * <p>
+ * La clase no es segura para hilos: la sincronización corresponde a quien la usa.
+ */
+final class MappedRegion implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+
+    private MappedRegion(FileChannel channel, int chunkSize) {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Abre (o crea) un fichero y proyecta los bloques que ya contiene.
+     *
+     * @param file fichero
+     * @param chunkSize tamaño de cada bloque en bytes
+     * @return región proyectada
+     * @throws UncheckedIOException si no se puede abrir o proyectar el fichero
+     */
+    static MappedRegion open(Path file, int chunkSize) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedRegion region = new MappedRegion(channel, chunkSize);
+            region.ensureCapacity(Math.max(channel.size(), 1));
+            return region;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Proyecta los bloques necesarios para que la región alcance al menos {@code size} bytes;
+     * el fichero crece hasta el final del último bloque.
+     *
+     * @param size tamaño mínimo en bytes
+     * @throws UncheckedIOException si no se puede proyectar un bloque
+     */
+    void ensureCapacity(long size) {
+        try {
+            while ((long) chunks.size() * chunkSize < size) {
+                chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) chunks.size() * chunkSize, chunkSize));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long getLong(long offset) {
+        return chunk(offset).getLong(position(offset));
+    }
+
+    int getInt(long offset) {
+        return chunk(offset).getInt(position(offset));
+    }
+
+    byte getByte(long offset) {
+        return chunk(offset).get(position(offset));
+    }
+
+    void putLong(long offset, long value) {
+        chunk(offset).putLong(position(offset), value);
+    }
+
+    void putInt(long offset, int value) {
+        chunk(offset).putInt(position(offset), value);
+    }
+
+    void putByte(long offset, byte value) {
+        chunk(offset).put(position(offset), value);
+    }
+
+    /**
+     * Copia bytes de la región; el rango no debe cruzar el límite de un bloque.
+     */
+    void get(long offset, byte[] target) {
+        chunk(offset).get(position(offset), target);
+    }
+
+    /**
+     * Escribe bytes en la región; el rango no debe cruzar el límite de un bloque.
+     */
+    void put(long offset, byte[] source) {
+        chunk(offset).put(position(offset), source);
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas de todos los bloques.
+     */
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Fuerza las páginas modificadas y cierra el fichero. Los bloques siguen proyectados
+     * hasta que el recolector de basura los libera.
+     *
+     * @throws UncheckedIOException si no se puede cerrar el fichero
+     */
+    @Override
+    public void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer chunk(long offset) {
+        return chunks.get((int) (offset / chunkSize));
+    }
+
+    private int position(long offset) {
+        return (int) (offset % chunkSize);
+    }
+}
@@ -21,6 +21,24 @@ public class ProductJpaMapper {
     private ProductJpaMapper() {
     }
 
+    /**
+     * Copia los atributos de un Product de dominio sobre una entidad JPA ya gestionada.
+     * <p>
+     * No copia el ID ni la versión: la entidad conserva los suyos y Hibernate incrementa
+     * la versión al sincronizar los cambios.
+     *
+     * @param jpaEntity Entidad JPA a actualizar
+     * @param domainProduct Entidad de dominio con los nuevos valores
+     */
+    public static void updateJpaEntity(ProductJpaEntity jpaEntity, Product domainProduct) {
+        jpaEntity.setName(domainProduct.getName());
+        jpaEntity.setDescription(domainProduct.getDescription());
+        jpaEntity.setPrice(domainProduct.getPrice());
+        jpaEntity.setStock(domainProduct.getStock());
+        jpaEntity.setCategory(domainProduct.getCategory());
+        jpaEntity.setStatus(domainProduct.getStatus());
+    }
+
     /**
      * Convierte una entidad de dominio Product a una entidad JPA ProductJpaEntity.
      *
@@ -39,6 +57,7 @@ public class ProductJpaMapper {
         jpaEntity.setStock(domainProduct.getStock());
         jpaEntity.setCategory(domainProduct.getCategory());
         jpaEntity.setStatus(domainProduct.getStatus());
+        jpaEntity.setVersion(domainProduct.getVersion());
         return jpaEntity;
     }
 
@@ -60,6 +79,7 @@ public class ProductJpaMapper {
         domainProduct.setStock(jpaEntity.getStock());
         domainProduct.setCategory(jpaEntity.getCategory());
         domainProduct.setStatus(jpaEntity.getStatus());
+        domainProduct.setVersion(jpaEntity.getVersion());
         return domainProduct;
     }
 
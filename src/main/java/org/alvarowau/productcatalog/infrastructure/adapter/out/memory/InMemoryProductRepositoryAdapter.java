@@ -0,0 +1,422 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.memory;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de persistencia en memoria que implementa {@link ProductRepositoryPort}.
+ * <p>
+ * Organización:
+ * <ul>
+ *   <li>Los productos viven en un {@link LongProductMap}: las búsquedas por ID no toman cerrojos
+ *       ni envuelven la clave, y cada escritura solo bloquea el segmento de su producto</li>
+ *   <li>Los recorridos ({@link #findAll()}, páginas, filtros y {@link #streamAll()}) leen una
+ *       instantánea ordenada por ID que se reconstruye, una sola vez, tras la primera lectura
+ *       posterior a una escritura. Mientras no haya escrituras, todas las lecturas comparten la misma</li>
+ *   <li>Los IDs se generan con un contador atómico y las versiones se incrementan en cada
+ *       escritura, con la misma semántica que el adaptador JPA</li>
+ * </ul>
+ * No hay conversión entre entidades: cada lectura solo copia el producto almacenado, necesario
+ * porque {@link Product} es mutable. Los datos se pierden al parar la aplicación; está pensado para
+ * nodos de solo lectura (cargados con la importación masiva) y para medir la capa de aplicación
+ * sin base de datos.
+ */
+public class InMemoryProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final LongProductMap products = new LongProductMap();
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(0, new long[0], new Product[0]);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Un producto con versión solo se guarda si coincide con la almacenada.
+     *
+     * @throws OptimisticLockingFailureException si la versión indicada no es la almacenada
+     */
+    @Override
+    public Product save(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("product must not be null");
+        }
+        Product saved = store(product);
+        modifications.incrementAndGet();
+        return copyOf(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si un producto no se puede guardar por un conflicto de versión, se restauran
+     * los ya guardados de la misma llamada.
+     *
+     * @throws OptimisticLockingFailureException si la versión de algún producto no es la almacenada
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        if (products.stream().anyMatch(product -> product == null)) {
+            throw new IllegalArgumentException("products must not contain null values");
+        }
+        List<Product> saved = new ArrayList<>(products.size());
+        List<Product> previous = new ArrayList<>(products.size());
+        try {
+            for (Product product : products) {
+                previous.add(product.getId() == null ? null : this.products.get(product.getId()));
+                saved.add(store(product));
+            }
+        } catch (RuntimeException e) {
+            for (int i = saved.size() - 1; i >= 0; i--) {
+                Product restored = previous.get(i);
+                if (restored == null) {
+                    this.products.remove(saved.get(i).getId());
+                } else {
+                    this.products.put(restored.getId(), restored);
+                }
+            }
+            throw e;
+        } finally {
+            modifications.incrementAndGet();
+        }
+        saved.replaceAll(InMemoryProductRepositoryAdapter::copyOf);
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return Optional.ofNullable(products.get(id)).map(InMemoryProductRepositoryAdapter::copyOf);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Product> found = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Product product = id == null ? null : products.get(id);
+            if (product != null) {
+                found.add(copyOf(product));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        return snapshot().stream(0).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        Snapshot current = snapshot();
+        return current.stream(current.firstAfter(afterId)).limit(limit).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El flujo recorre la instantánea vigente al invocarlo: no ve las escrituras posteriores.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return snapshot().stream(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        Snapshot current = snapshot();
+        List<Product> found = new ArrayList<>(Math.min(limit, 256));
+        for (int i = current.firstAfter(afterId); i < current.ids.length && found.size() < limit; i++) {
+            if (filter.matches(current.products[i])) {
+                found.add(copyOf(current.products[i]));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        boolean deleted = products.remove(id) != null;
+        if (deleted) {
+            modifications.incrementAndGet();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        int deleted = 0;
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id != null && products.remove(id) != null) {
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            modifications.incrementAndGet();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        Snapshot current = snapshot();
+        List<Long> found = new ArrayList<>(Math.min(limit, 256));
+        for (int i = current.firstAfter(afterId); i < current.ids.length && found.size() < limit; i++) {
+            if (filter.matches(current.products[i])) {
+                found.add(current.ids[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        boolean[] updated = {false};
+        products.compute(id, current -> {
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return current;
+            }
+            updated[0] = true;
+            return new Product(id,
+                    changes.getName() != null ? changes.getName() : current.getName(),
+                    changes.getDescription() != null ? changes.getDescription() : current.getDescription(),
+                    changes.getPrice() != null ? changes.getPrice() : current.getPrice(),
+                    changes.getStock() != null ? changes.getStock() : current.getStock(),
+                    changes.getCategory() != null ? changes.getCategory() : current.getCategory(),
+                    changes.getStatus() != null ? changes.getStatus() : current.getStatus(),
+                    nextVersion(current));
+        });
+        if (updated[0]) {
+            modifications.incrementAndGet();
+        }
+        return updated[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        StockReservationResult[] result = {StockReservationResult.NOT_FOUND};
+        products.compute(id, current -> {
+            if (current == null) {
+                return null;
+            }
+            if (current.getStock() < quantity) {
+                result[0] = StockReservationResult.INSUFFICIENT_STOCK;
+                return current;
+            }
+            result[0] = StockReservationResult.RESERVED;
+            return withStock(current, current.getStock() - quantity);
+        });
+        if (result[0] == StockReservationResult.RESERVED) {
+            modifications.incrementAndGet();
+        }
+        return result[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        for (Integer stock : stockById.values()) {
+            if (stock == null || stock < 0) {
+                throw new IllegalArgumentException("stock levels must not be null or negative");
+            }
+        }
+        int[] updated = {0};
+        stockById.forEach((id, stock) -> products.compute(id, current -> {
+            if (current == null || current.getStock().equals(stock)) {
+                return current;
+            }
+            updated[0]++;
+            return withStock(current, stock);
+        }));
+        if (updated[0] > 0) {
+            modifications.incrementAndGet();
+        }
+        return updated[0];
+    }
+
+    /**
+     * Guarda un producto asignándole ID y versión; devuelve la instancia almacenada.
+     */
+    private Product store(Product product) {
+        Product stored;
+        if (product.getId() == null) {
+            stored = copyOf(product);
+            stored.setId(lastId.incrementAndGet());
+            stored.setVersion(0L);
+            products.put(stored.getId(), stored);
+            return stored;
+        }
+        long id = product.getId();
+        Product[] result = new Product[1];
+        products.compute(id, current -> {
+            if (current == null && product.getVersion() != null
+                    || current != null && product.getVersion() != null && !product.getVersion().equals(current.getVersion())) {
+                throw new OptimisticLockingFailureException("Product " + id + " was updated or deleted by another transaction");
+            }
+            result[0] = copyOf(product);
+            result[0].setVersion(current == null ? 0L : nextVersion(current));
+            return result[0];
+        });
+        lastId.accumulateAndGet(id, Math::max);
+        return result[0];
+    }
+
+    /**
+     * Devuelve la instantánea ordenada vigente, reconstruyéndola si ha habido escrituras
+     * desde que se creó. Si una escritura llega durante la reconstrucción, la instantánea
+     * nace ya desfasada y la siguiente lectura la vuelve a construir.
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current.modification == modifications.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long modification = modifications.get();
+            if (current.modification == modification) {
+                return current;
+            }
+            List<Product> all = new ArrayList<>(products.size());
+            products.forEach(all::add);
+            Product[] sorted = all.toArray(new Product[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+            long[] ids = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getId();
+            }
+            current = new Snapshot(modification, ids, sorted);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private static Product withStock(Product product, int stock) {
+        Status status = stock == 0 && product.getStatus() != Status.DISCONTINUED
+                ? Status.OUT_OF_STOCK : product.getStatus();
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                stock, product.getCategory(), status, nextVersion(product));
+    }
+
+    private static long nextVersion(Product product) {
+        return product.getVersion() == null ? 0L : product.getVersion() + 1;
+    }
+
+    private static Product copyOf(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), product.getVersion());
+    }
+
+    /**
+     * Productos ordenados por ID en un instante dado.
+     */
+    private static final class Snapshot {
+
+        private final long modification;
+        private final long[] ids;
+        private final Product[] products;
+
+        Snapshot(long modification, long[] ids, Product[] products) {
+            this.modification = modification;
+            this.ids = ids;
+            this.products = products;
+        }
+
+        /**
+         * Posición del primer producto con ID mayor que el indicado (0 si es null).
+         */
+        int firstAfter(Long afterId) {
+            if (afterId == null) {
+                return 0;
+            }
+            int index = Arrays.binarySearch(ids, afterId);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        Stream<Product> stream(int from) {
+            return IntStream.range(from, ids.length).mapToObj(i -> copyOf(products[i]));
+        }
+    }
+}
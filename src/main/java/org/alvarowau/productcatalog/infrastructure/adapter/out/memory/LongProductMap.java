@@ -0,0 +1,277 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.memory;
+
+import org.alvarowau.productcatalog.domain.model.Product;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mapa concurrente de productos indexado por un {@code long} sin envolver.
+ * <p>
+ * Organización:
+ * <ul>
+ *   <li>Las claves se reparten en segmentos según los bits altos de su hash; cada segmento es una
+ *       tabla de direccionamiento abierto con sondeo lineal sobre un {@code long[]} de claves y un
+ *       array paralelo de productos, sin objetos por entrada ni claves {@link Long}</li>
+ *   <li>Las lecturas son optimistas: recorren la tabla sin cerrojo y solo toman el de lectura si
+ *       una escritura del mismo segmento se cruzó con ellas</li>
+ *   <li>Las escrituras toman el cerrojo de escritura de su segmento. Los borrados desplazan hacia
+ *       atrás las entradas siguientes, así que no quedan marcas de borrado que alarguen el sondeo</li>
+ * </ul>
+ * Los productos almacenados no deben modificarse: quien los lee recibe la misma instancia.
+ */
+final class LongProductMap {
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    LongProductMap() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Obtiene el producto de una clave.
+     *
+     * @param key clave
+     * @return producto almacenado, o null si no existe
+     */
+    Product get(long key) {
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Almacena un producto, sustituyendo el anterior.
+     *
+     * @param key clave
+     * @param product producto (no nulo)
+     * @return producto anterior, o null si no existía
+     */
+    Product put(long key, Product product) {
+        return compute(key, current -> product);
+    }
+
+    /**
+     * Elimina una clave.
+     *
+     * @param key clave
+     * @return producto eliminado, o null si no existía
+     */
+    Product remove(long key) {
+        return compute(key, current -> null);
+    }
+
+    /**
+     * Sustituye de forma atómica el producto de una clave por el resultado de una función.
+     * <p>
+     * La función recibe el producto actual (o null) y devuelve el nuevo (o null para eliminarlo).
+     * Se ejecuta con el cerrojo del segmento tomado, por lo que debe ser breve.
+     *
+     * @param key clave
+     * @param remapping función de actualización
+     * @return producto anterior, o null si no existía
+     */
+    Product compute(long key, UnaryOperator<Product> remapping) {
+        long hash = mix(key);
+        return segmentFor(hash).compute(key, hash, remapping);
+    }
+
+    /**
+     * Recorre todos los productos, segmento a segmento, con el cerrojo de lectura de cada uno.
+     *
+     * @param action acción para cada producto
+     */
+    void forEach(Consumer<Product> action) {
+        for (Segment segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    /**
+     * Número de productos almacenados.
+     *
+     * @return número de productos
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    /**
+     * Finalizador de MurmurHash3: reparte los IDs consecutivos por toda la tabla.
+     */
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Tabla de un segmento; se sustituye entera al crecer para que una lectura optimista
+     * nunca combine claves y valores de tablas distintas.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final Product[] values;
+        private final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Product[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_SEGMENT_CAPACITY);
+        private int size;
+
+        Product get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            Product product = find(table, key, hash);
+            if (lock.validate(stamp)) {
+                return product;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Product compute(long key, long hash, UnaryOperator<Product> remapping) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int slot = slot(current, key, hash);
+                Product previous = current.values[slot];
+                Product updated = remapping.apply(previous);
+                if (updated != null) {
+                    if (previous == null) {
+                        if ((size + 1) * 2 > current.keys.length) {
+                            current = resize(current);
+                            slot = slot(current, key, hash);
+                        }
+                        current.keys[slot] = key;
+                        size++;
+                    }
+                    current.values[slot] = updated;
+                } else if (previous != null) {
+                    delete(current, slot);
+                    size--;
+                }
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void forEach(Consumer<Product> action) {
+            long stamp = lock.readLock();
+            try {
+                for (Product product : table.values) {
+                    if (product != null) {
+                        action.accept(product);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * Busca una clave sin cerrojo; el sondeo está acotado por la capacidad para que una
+         * lectura cruzada con una escritura no pueda dar vueltas indefinidamente.
+         */
+        private static Product find(Table table, long key, long hash) {
+            long[] keys = table.keys;
+            Product[] values = table.values;
+            int mask = table.mask;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Product product = values[index];
+                if (product == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return product;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Posición de la clave, o de la primera posición libre de su sondeo si no está.
+         */
+        private static int slot(Table table, long key, long hash) {
+            int index = (int) hash & table.mask;
+            while (table.values[index] != null && table.keys[index] != key) {
+                index = (index + 1) & table.mask;
+            }
+            return index;
+        }
+
+        private Table resize(Table current) {
+            Table resized = new Table(current.keys.length * 2);
+            for (int i = 0; i < current.keys.length; i++) {
+                if (current.values[i] != null) {
+                    int index = slot(resized, current.keys[i], mix(current.keys[i]));
+                    resized.keys[index] = current.keys[i];
+                    resized.values[index] = current.values[i];
+                }
+            }
+            table = resized;
+            return resized;
+        }
+
+        /**
+         * Borrado con desplazamiento hacia atrás: mueve al hueco las entradas siguientes del
+         * mismo sondeo para que ninguna quede detrás de una posición vacía.
+         */
+        private static void delete(Table table, int slot) {
+            int hole = slot;
+            int index = (slot + 1) & table.mask;
+            while (table.values[index] != null) {
+                int home = (int) mix(table.keys[index]) & table.mask;
+                if (((index - home) & table.mask) >= ((index - hole) & table.mask)) {
+                    table.keys[hole] = table.keys[index];
+                    table.values[hole] = table.values[index];
+                    hole = index;
+                }
+                index = (index + 1) & table.mask;
+            }
+            table.keys[hole] = 0;
+            table.values[hole] = null;
+        }
+    }
+}
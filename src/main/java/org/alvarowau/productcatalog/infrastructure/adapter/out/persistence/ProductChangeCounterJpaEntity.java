@@ -0,0 +1,37 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entidad JPA que representa la fila única con la última secuencia asignada del historial de cambios.
+ * <p>
+ * Cada transacción que registra cambios la bloquea para escritura, toma las secuencias siguientes y
+ * la actualiza. El bloqueo se mantiene hasta la confirmación, de modo que las secuencias se confirman
+ * en orden y un lector nunca ve una secuencia sin haber visto antes todas las menores.
+ */
+@Entity
+@Table(name = "product_change_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeCounterJpaEntity {
+
+    /**
+     * ID de la única fila de la tabla.
+     */
+    public static final long SINGLETON_ID = 1L;
+
+    /**
+     * Identificador de la fila (siempre {@value #SINGLETON_ID}).
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Última secuencia asignada.
+     */
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
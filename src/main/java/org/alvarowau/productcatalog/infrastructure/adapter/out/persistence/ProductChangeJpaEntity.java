@@ -0,0 +1,45 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+
+/**
+ * Entidad JPA que representa una fila del historial de cambios de productos (outbox).
+ * <p>
+ * Se inserta en la misma transacción que la escritura del producto, por lo que el historial
+ * nunca contiene cambios que no llegaron a confirmarse ni le falta ninguno confirmado.
+ * Solo guarda el ID del producto: el estado se lee de la tabla de productos al consultar el historial.
+ */
+@Entity
+@Table(name = "product_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeJpaEntity {
+
+    /**
+     * Número de secuencia del cambio.
+     * <p>
+     * No se genera con una secuencia de la base de datos: los valores de una secuencia se reparten
+     * antes de confirmar, y una transacción podría confirmar el número 8 mientras otra aún no ha
+     * confirmado el 7. Se asigna a partir de {@link ProductChangeCounterJpaEntity}, bloqueado
+     * hasta el final de la transacción.
+     */
+    @Id
+    private Long sequence;
+
+    /**
+     * ID del producto modificado.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Tipo de cambio.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductChangeType type;
+}
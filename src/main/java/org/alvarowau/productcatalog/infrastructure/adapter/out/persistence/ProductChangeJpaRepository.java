@@ -0,0 +1,22 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repositorio JPA del historial de cambios de productos.
+ */
+public interface ProductChangeJpaRepository extends JpaRepository<ProductChangeJpaEntity, Long> {
+
+    /**
+     * Recupera los cambios con secuencia mayor que la indicada, usando la clave primaria
+     * ({@code WHERE sequence > ? ORDER BY sequence FETCH FIRST ? ROWS ONLY}).
+     *
+     * @param sequence secuencia a partir de la cual (exclusiva) se recuperan cambios
+     * @param limit número máximo de cambios a recuperar
+     * @return lista de cambios ordenada por secuencia
+     */
+    List<ProductChangeJpaEntity> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+}
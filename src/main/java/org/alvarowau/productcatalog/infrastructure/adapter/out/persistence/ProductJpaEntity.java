@@ -11,9 +11,22 @@ import java.math.BigDecimal;
  * <p>
  * Mapea los atributos de un producto a una estructura relacional,
  * siguiendo las convenciones de JPA para persistencia.
+ * <p>
+ * Los índices compuestos cubren los filtros del catálogo (ver {@code ProductJpaSpecifications}):
+ * <ul>
+ *   <li>{@code (category, status, price)}: filtros por categoría, opcionalmente con estado y rango de precio</li>
+ *   <li>{@code (status, price)}: filtros por estado sin categoría, opcionalmente con rango de precio</li>
+ *   <li>{@code (price)}: filtros únicamente por rango de precio</li>
+ * </ul>
+ * El filtro de stock se aplica como predicado residual sobre las filas ya seleccionadas
+ * por índice, ya que por sí solo es poco selectivo.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_status_price", columnList = "category, status, price"),
+        @Index(name = "idx_products_status_price", columnList = "status, price"),
+        @Index(name = "idx_products_price", columnList = "price")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,10 +36,14 @@ public class ProductJpaEntity {
     /**
      * Identificador único del producto en la base de datos.
      * <p>
-     * Se genera automáticamente mediante una estrategia de identidad.
+     * Se genera con la secuencia {@code products_seq} y el optimizador pooled de Hibernate:
+     * cada consulta a la secuencia reserva un bloque de {@code allocationSize} IDs que se asignan
+     * en memoria. A diferencia de una columna de identidad, el ID se conoce antes del INSERT,
+     * lo que permite a Hibernate agrupar las inserciones en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -90,4 +107,30 @@ public class ProductJpaEntity {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Status status;
+
+    /**
+     * Versión del producto para el control de concurrencia optimista.
+     * <p>
+     * Hibernate la incrementa en cada actualización de la entidad y añade la versión leída
+     * a la condición del UPDATE; las sentencias de actualización directas la incrementan
+     * explícitamente.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Constructor con todos los atributos salvo la versión, que asigna Hibernate.
+     *
+     * @param id ID del producto
+     * @param name Nombre del producto
+     * @param description Descripción del producto
+     * @param price Precio del producto
+     * @param stock Cantidad en inventario
+     * @param category Categoría del producto
+     * @param status Estado del producto
+     */
+    public ProductJpaEntity(Long id, String name, String description, BigDecimal price, Integer stock,
+                            Category category, Status status) {
+        this(id, name, description, price, stock, category, status, null);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,128 @@
 package org.alvarowau.productcatalog.infrastructure.adapter.out.persistence;
 
+import jakarta.persistence.LockModeType;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositorio JPA para la entidad ProductJpaEntity.
  * <p>
  * Proporciona operaciones CRUD básicas y de paginación para la gestión de productos
- * en la base de datos, heredando toda la funcionalidad de JpaRepository.
+ * en la base de datos, heredando toda la funcionalidad de JpaRepository, y consultas
+ * dinámicas mediante especificaciones (ver {@link ProductJpaSpecifications}).
  * <p>
  * Las implementaciones concretas son generadas automáticamente por Spring Data JPA.
  */
-public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, Long> {
+public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, Long>,
+        JpaSpecificationExecutor<ProductJpaEntity> {
+
+    /**
+     * Obtiene los productos con ID mayor que el indicado, ordenados por ID ascendente.
+     * <p>
+     * Se traduce a un recorrido por rango sobre la clave primaria
+     * ({@code WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY}), por lo que el coste
+     * de cada página es constante independientemente de su profundidad.
+     *
+     * @param id    ID a partir del cual (exclusivo) se recuperan productos
+     * @param limit número máximo de productos a recuperar
+     * @return lista de entidades JPA de la página
+     */
+    List<ProductJpaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Elimina un producto con una única sentencia {@code DELETE ... WHERE id = ?}.
+     * <p>
+     * A diferencia de {@link #deleteById(Object)}, no carga la entidad antes de eliminarla.
+     * Debe ejecutarse dentro de una transacción.
+     *
+     * @param id ID del producto a eliminar
+     * @return número de filas eliminadas (0 o 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductJpaEntity p WHERE p.id = :id")
+    int deleteProductById(@Param("id") Long id);
+
+    /**
+     * Proyecta los IDs indicados que existen y bloquea sus filas ({@code SELECT ... FOR UPDATE})
+     * hasta el final de la transacción, sin cargar las entidades.
+     * <p>
+     * Debe ejecutarse dentro de una transacción. Mientras dure, ninguna otra puede eliminar ni
+     * modificar esas filas, así que los IDs devueltos son exactamente los que eliminará un
+     * {@link #deleteProductsByIdIn(Collection)} posterior en la misma transacción.
+     *
+     * @param ids IDs de los productos a buscar
+     * @return IDs existentes, en cualquier orden
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE p.id IN :ids")
+    List<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Elimina varios productos con una única sentencia {@code DELETE ... WHERE id IN (...)}.
+     * <p>
+     * Debe ejecutarse dentro de una transacción.
+     *
+     * @param ids IDs de los productos a eliminar
+     * @return número de filas eliminadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductJpaEntity p WHERE p.id IN :ids")
+    int deleteProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Descuenta stock con una única sentencia condicional
+     * {@code UPDATE ... SET stock = stock - ? WHERE id = ? AND stock >= ?}.
+     * <p>
+     * La comprobación y el descuento los hace la base de datos bajo el bloqueo de la fila,
+     * por lo que las reservas concurrentes se serializan sin bloqueos en la aplicación.
+     * Si el stock llega a cero, el estado pasa a {@code outOfStock} salvo que sea
+     * {@code discontinued}. También incrementa la versión del producto. El estado se asigna antes que el stock para que la condición
+     * vea el valor anterior también en bases de datos que aplican el SET en orden.
+     * Debe ejecutarse dentro de una transacción.
+     *
+     * @param id ID del producto
+     * @param quantity unidades a descontar
+     * @param outOfStock estado a asignar cuando se agota el stock
+     * @param discontinued estado que nunca se sustituye
+     * @return número de filas actualizadas (0 si no existe o no hay stock suficiente)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductJpaEntity p SET "
+            + "p.status = CASE WHEN p.stock = :quantity AND p.status <> :discontinued THEN :outOfStock ELSE p.status END, "
+            + "p.stock = p.stock - :quantity, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity,
+                       @Param("outOfStock") Status outOfStock, @Param("discontinued") Status discontinued);
 
-}
\ No newline at end of file
+    /**
+     * Sustituye el stock de un producto por un valor absoluto, salvo que ya lo tenga.
+     * <p>
+     * Si el nuevo stock es cero, el estado pasa a {@code outOfStock} salvo que sea
+     * {@code discontinued}. También incrementa la versión del producto.
+     * Debe ejecutarse dentro de una transacción.
+     *
+     * @param id ID del producto
+     * @param stock nuevo stock
+     * @param outOfStock estado a asignar cuando el stock es cero
+     * @param discontinued estado que nunca se sustituye
+     * @return número de filas actualizadas (0 si no existe o ya tenía ese stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductJpaEntity p SET "
+            + "p.status = CASE WHEN :stock = 0 AND p.status <> :discontinued THEN :outOfStock ELSE p.status END, "
+            + "p.stock = :stock, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stock <> :stock")
+    int updateStockLevel(@Param("id") Long id, @Param("stock") int stock,
+                         @Param("outOfStock") Status outOfStock, @Param("discontinued") Status discontinued);
+}
@@ -0,0 +1,71 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.persistence;
+
+import jakarta.persistence.criteria.Predicate;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Especificaciones JPA para consultas dinámicas sobre ProductJpaEntity.
+ * <p>
+ * Traduce los criterios del dominio a predicados que se combinan en una única
+ * sentencia SQL, de forma que la base de datos pueda resolverlos con los índices
+ * declarados en {@link ProductJpaEntity}.
+ */
+public class ProductJpaSpecifications {
+
+    /**
+     * Constructor privado para prevenir instanciación.
+     * <p>
+     * Todos los métodos de esta clase son estáticos.
+     */
+    private ProductJpaSpecifications() {
+    }
+
+    /**
+     * Crea una especificación con los criterios presentes en el filtro.
+     *
+     * @param filter Filtro del dominio (puede ser null o estar vacío)
+     * @return Especificación que combina con AND los criterios no nulos
+     */
+    public static Specification<ProductJpaEntity> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getInStock() != null) {
+                predicates.add(filter.getInStock()
+                        ? cb.greaterThan(root.get("stock"), 0)
+                        : cb.lessThanOrEqualTo(root.get("stock"), 0));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Crea una especificación que limita los resultados a IDs mayores que el indicado.
+     *
+     * @param afterId ID a partir del cual (exclusivo) se buscan productos, o null para no limitar
+     * @return Especificación sobre la clave primaria
+     */
+    public static Specification<ProductJpaEntity> idGreaterThan(Long afterId) {
+        return (root, query, cb) -> afterId == null
+                ? cb.conjunction()
+                : cb.greaterThan(root.get("id"), afterId);
+    }
+}
@@ -0,0 +1,381 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de búsqueda basado en un índice invertido en memoria.
+ * <p>
+ * Para cada término normalizado (ver {@link SearchTextAnalyzer}) mantiene una
+ * {@link PostingList} con los IDs de los productos que lo contienen y su peso
+ * (los términos del nombre pesan más que los de la descripción). Además guarda,
+ * por producto, las listas en las que aparece para poder actualizarlo o eliminarlo
+ * de forma incremental sin recorrer el índice.
+ * <p>
+ * Las consultas se puntúan con una variante de BM25 sin normalización por longitud:
+ * <ul>
+ *   <li>AND: se recorre la lista más corta y se comprueba el resto por búsqueda binaria</li>
+ *   <li>OR: se mezclan las listas ordenadas acumulando la puntuación de cada producto</li>
+ * </ul>
+ * En ambos casos solo se conservan los {@code limit} mejores resultados en un montículo acotado.
+ * <p>
+ * Las lecturas comparten un cerrojo de lectura y las actualizaciones toman el de escritura.
+ */
+@Component
+public class InvertedIndexProductSearchAdapter implements ProductSearchPort {
+
+    /**
+     * Peso de cada aparición de un término en el nombre del producto.
+     */
+    static final int NAME_WEIGHT = 3;
+
+    /**
+     * Peso de cada aparición de un término en la descripción del producto.
+     */
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    private IndexData current = new IndexData();
+
+    /**
+     * Cambios recibidos durante una reconstrucción (null como valor indica eliminación).
+     * Es null cuando no hay ninguna reconstrucción en curso.
+     */
+    private Map<Long, Product> pendingChanges;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            throw new IllegalArgumentException("product and product id must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            current.add(product);
+            if (pendingChanges != null) {
+                pendingChanges.put(product.getId(), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            current.remove(id);
+            if (pendingChanges != null) {
+                pendingChanges.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * El nuevo índice se construye fuera del cerrojo. Los cambios recibidos mientras
+     * tanto se registran y se vuelven a aplicar sobre el índice nuevo justo antes de
+     * sustituir al anterior, por lo que prevalece siempre el último cambio de cada producto.
+     */
+    @Override
+    public void rebuild(Stream<Product> products) {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            IndexData fresh = new IndexData();
+            try {
+                products.forEach(fresh::add);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach((id, product) -> {
+                    if (product == null) {
+                        fresh.remove(id);
+                    } else {
+                        fresh.add(product);
+                    }
+                });
+                current = fresh;
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> search(String query, SearchMode mode, int limit) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>(SearchTextAnalyzer.analyze(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList postings = current.postings.get(term);
+                if (postings == null) {
+                    if (mode == SearchMode.AND) {
+                        return List.of();
+                    }
+                } else {
+                    lists.add(postings);
+                }
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            TopResults top = new TopResults(limit);
+            if (mode == SearchMode.AND) {
+                searchAll(lists, top);
+            } else {
+                searchAny(lists, top);
+            }
+            return top.idsByScore();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de productos indexados.
+     *
+     * @return número de productos presentes en el índice
+     */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return current.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de términos distintos del índice.
+     *
+     * @return número de listas de apariciones
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return current.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersección: recorre la lista más corta y busca cada ID en las demás.
+     * Como los IDs crecen, cada búsqueda binaria empieza donde terminó la anterior.
+     */
+    private void searchAll(List<PostingList> lists, TopResults top) {
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        double[] idf = idf(lists);
+        PostingList driver = lists.get(0);
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int i = 0; i < driver.size(); i++) {
+            long id = driver.idAt(i);
+            double score = termScore(idf[0], driver.weightAt(i));
+            for (int l = 1; l < lists.size(); l++) {
+                PostingList other = lists.get(l);
+                int index = other.indexOf(id, cursors[l]);
+                if (index < 0) {
+                    cursors[l] = -index - 1;
+                    if (cursors[l] >= other.size()) {
+                        break candidates;
+                    }
+                    continue candidates;
+                }
+                cursors[l] = index + 1;
+                score += termScore(idf[l], other.weightAt(index));
+            }
+            top.offer(id, score);
+        }
+    }
+
+    /**
+     * Unión: mezcla las listas ordenadas avanzando en cada paso por el menor ID pendiente.
+     */
+    private void searchAny(List<PostingList> lists, TopResults top) {
+        double[] idf = idf(lists);
+        int[] cursors = new int[lists.size()];
+        while (true) {
+            long minId = Long.MAX_VALUE;
+            boolean pending = false;
+            for (int l = 0; l < lists.size(); l++) {
+                if (cursors[l] < lists.get(l).size()) {
+                    minId = Math.min(minId, lists.get(l).idAt(cursors[l]));
+                    pending = true;
+                }
+            }
+            if (!pending) {
+                return;
+            }
+            double score = 0;
+            for (int l = 0; l < lists.size(); l++) {
+                PostingList postings = lists.get(l);
+                if (cursors[l] < postings.size() && postings.idAt(cursors[l]) == minId) {
+                    score += termScore(idf[l], postings.weightAt(cursors[l]));
+                    cursors[l]++;
+                }
+            }
+            top.offer(minId, score);
+        }
+    }
+
+    private double[] idf(List<PostingList> lists) {
+        int documents = current.documents.size();
+        double[] idf = new double[lists.size()];
+        for (int l = 0; l < lists.size(); l++) {
+            int df = lists.get(l).size();
+            idf[l] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+        return idf;
+    }
+
+    private static double termScore(double idf, int weight) {
+        return idf * (weight * (K1 + 1)) / (weight + K1);
+    }
+
+    /**
+     * Estructuras del índice. Solo se modifican bajo el cerrojo de escritura
+     * o antes de ser publicadas durante una reconstrucción.
+     */
+    private static final class IndexData {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, PostingList[]> documents = new HashMap<>();
+
+        void add(Product product) {
+            long id = product.getId();
+            remove(id);
+            Map<String, Integer> weights = new HashMap<>();
+            for (String term : SearchTextAnalyzer.analyze(product.getName())) {
+                weights.merge(term, NAME_WEIGHT, Integer::sum);
+            }
+            for (String term : SearchTextAnalyzer.analyze(product.getDescription())) {
+                weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+            }
+            if (weights.isEmpty()) {
+                return;
+            }
+            PostingList[] lists = new PostingList[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                PostingList postings = this.postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                postings.put(id, entry.getValue());
+                lists[i++] = postings;
+            }
+            documents.put(id, lists);
+        }
+
+        void remove(long id) {
+            PostingList[] lists = documents.remove(id);
+            if (lists == null) {
+                return;
+            }
+            for (PostingList postings : lists) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    this.postings.remove(postings.term());
+                }
+            }
+        }
+    }
+
+    /**
+     * Montículo acotado con los mejores resultados. A igual puntuación se prefiere el ID menor.
+     */
+    private static final class TopResults {
+
+        private static final Comparator<Hit> WORST_FIRST = Comparator.<Hit>comparingDouble(hit -> hit.score)
+                .thenComparing(hit -> hit.id, Comparator.reverseOrder());
+
+        private final int limit;
+        private final PriorityQueue<Hit> heap;
+
+        TopResults(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024), WORST_FIRST);
+        }
+
+        void offer(long id, double score) {
+            Hit hit = new Hit(id, score);
+            if (heap.size() < limit) {
+                heap.offer(hit);
+            } else if (WORST_FIRST.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(hit);
+            }
+        }
+
+        List<Long> idsByScore() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(WORST_FIRST.reversed());
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.id);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Resultado puntuado de una búsqueda.
+     */
+    private static final class Hit {
+
+        private final long id;
+        private final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
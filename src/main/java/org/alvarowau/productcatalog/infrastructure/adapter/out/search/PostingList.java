@@ -0,0 +1,143 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de apariciones (posting list) de un término del índice invertido.
+ * <p>
+ * Guarda los IDs de producto ordenados de forma ascendente en un array de
+ * {@code long} y, en paralelo, el peso del término en cada producto en un array
+ * de {@code int}. Al usar arrays primitivos no hay objetos por entrada, lo que
+ * mantiene el índice compacto y permite intersecciones por búsqueda binaria.
+ * <p>
+ * No es segura para uso concurrente: la sincronización es responsabilidad del índice.
+ */
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final String term;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Crea una lista de apariciones vacía.
+     *
+     * @param term Término al que pertenece la lista
+     */
+    PostingList(String term) {
+        this.term = term;
+    }
+
+    /**
+     * Añade o reemplaza el peso de un producto.
+     * <p>
+     * Las inserciones en orden ascendente de ID (como en una reconstrucción) son O(1).
+     *
+     * @param id ID del producto
+     * @param weight Peso del término en el producto
+     */
+    void put(long id, int weight) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+            return;
+        }
+        int index = indexOf(id);
+        if (index >= 0) {
+            weights[index] = weight;
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        weights[insertAt] = weight;
+        size++;
+    }
+
+    /**
+     * Elimina un producto de la lista.
+     *
+     * @param id ID del producto
+     */
+    void remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+        size--;
+        if (size > INITIAL_CAPACITY && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+            weights = Arrays.copyOf(weights, weights.length / 2);
+        }
+    }
+
+    /**
+     * Busca la posición de un producto mediante búsqueda binaria.
+     *
+     * @param id ID del producto
+     * @return posición del producto, o {@code -(punto de inserción) - 1} si no está
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Busca la posición de un producto a partir de una posición dada, con búsqueda galopante.
+     * <p>
+     * Se usa en las intersecciones, donde los IDs consultados crecen de forma monótona: prueba las
+     * posiciones {@code from}, {@code from + 1}, {@code from + 3}, {@code from + 7}... doblando el
+     * salto hasta pasar el ID, y solo entonces hace la búsqueda binaria en el último tramo. Así el
+     * coste depende de la distancia al resultado y no del tamaño de la lista.
+     *
+     * @param id ID del producto
+     * @param from Posición inicial de la búsqueda
+     * @return posición del producto, o {@code -(punto de inserción) - 1} si no está
+     */
+    int indexOf(long id, int from) {
+        int low = Math.min(from, size);
+        int step = 1;
+        int high = low;
+        while (high < size && ids[high] < id) {
+            low = high + 1;
+            high = low + step - 1;
+            step <<= 1;
+        }
+        return Arrays.binarySearch(ids, low, Math.min(high + 1, size), id);
+    }
+
+    String term() {
+        return term;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    int weightAt(int index) {
+        return weights[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, newCapacity);
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+    }
+}
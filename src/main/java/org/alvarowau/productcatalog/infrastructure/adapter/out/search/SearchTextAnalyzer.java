@@ -0,0 +1,63 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analizador de texto para el índice de búsqueda.
+ * <p>
+ * Convierte un texto libre en una lista de términos normalizados:
+ * <ol>
+ *   <li>Descompone los caracteres (NFD) y elimina las marcas diacríticas ("camión" → "camion", "ñ" → "n")</li>
+ *   <li>Pasa el texto a minúsculas</li>
+ *   <li>Separa por cualquier carácter que no sea letra o dígito</li>
+ *   <li>Descarta letras sueltas y palabras vacías del español (los dígitos sueltos se conservan)</li>
+ * </ol>
+ * El mismo análisis se aplica al indexar y al consultar, por lo que las búsquedas
+ * no distinguen mayúsculas ni acentos.
+ */
+public class SearchTextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "de", "la", "el", "en", "los", "las", "del", "al", "un", "una", "unos", "unas",
+            "y", "o", "u", "e", "con", "sin", "por", "para", "que", "se", "su", "sus",
+            "lo", "le", "les", "es", "como", "mas", "muy", "este", "esta", "estos", "estas"
+    );
+
+    /**
+     * Constructor privado para prevenir instanciación.
+     * <p>
+     * Todos los métodos de esta clase son estáticos.
+     */
+    private SearchTextAnalyzer() {
+    }
+
+    /**
+     * Normaliza y divide un texto en términos indexables.
+     *
+     * @param text Texto a analizar (puede ser null)
+     * @return Lista de términos en el orden en que aparecen, con repeticiones (vacía si el texto es null)
+     */
+    public static List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String[] tokens = SEPARATORS.split(folded.toLowerCase(Locale.ROOT));
+        List<String> terms = new ArrayList<>(tokens.length);
+        for (String token : tokens) {
+            boolean indexable = token.length() > 1 || (token.length() == 1 && Character.isDigit(token.charAt(0)));
+            if (indexable && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
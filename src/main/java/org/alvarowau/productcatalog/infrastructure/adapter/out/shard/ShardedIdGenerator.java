@@ -0,0 +1,96 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.shard;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Generador de IDs de producto que llevan codificado el fragmento donde se guardan.
+ * <p>
+ * Cada ID ocupa los 63 bits no negativos de un {@code long} y se compone de:
+ * <ul>
+ *   <li>{@value #TIMESTAMP_BITS} bits de milisegundos desde {@value #EPOCH_MILLIS} (1 de enero de
+ *       2024), suficientes para unos 69 años: los IDs crecen con el tiempo y la paginación por ID
+ *       sigue el orden de alta</li>
+ *   <li>{@value #WORKER_BITS} bits con el número de instancia, para que varias instancias puedan
+ *       escribir en los mismos fragmentos sin repetir IDs</li>
+ *   <li>{@value #SHARD_BITS} bits con el número de fragmento</li>
+ *   <li>{@value #SEQUENCE_BITS} bits de secuencia dentro del mismo milisegundo; al agotarse se
+ *       toma el milisegundo siguiente</li>
+ * </ul>
+ * El reloj nunca retrocede dentro del proceso: si el del sistema lo hace, se sigue usando el
+ * último milisegundo emitido.
+ * <p>
+ * Los IDs superan 2<sup>53</sup>, así que los clientes JavaScript deben leerlos como texto o
+ * {@code BigInt}: un {@code Number} los redondea.
+ */
+final class ShardedIdGenerator {
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int TIMESTAMP_BITS = 41;
+    static final int WORKER_BITS = 4;
+    static final int SHARD_BITS = 8;
+    static final int SEQUENCE_BITS = 10;
+    static final int MAX_WORKERS = 1 << WORKER_BITS;
+    static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final long MAX_ELAPSED_MILLIS = (1L << TIMESTAMP_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerBits;
+    private final LongSupplier currentTimeMillis;
+    private long lastMillis;
+    private long sequence;
+
+    /**
+     * Crea el generador de una instancia.
+     *
+     * @param workerId número de esta instancia (entre 0 y {@value #MAX_WORKERS} - 1), distinto en
+     *                 cada instancia que escribe en los mismos fragmentos
+     * @param currentTimeMillis reloj en milisegundos
+     * @throws IllegalArgumentException si el número de instancia está fuera de rango
+     */
+    ShardedIdGenerator(int workerId, LongSupplier currentTimeMillis) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("workerId must be between 0 and " + (MAX_WORKERS - 1));
+        }
+        this.workerBits = (long) workerId << (SHARD_BITS + SEQUENCE_BITS);
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Genera un ID nuevo para un fragmento.
+     *
+     * @param shard número de fragmento (entre 0 y {@value #MAX_SHARDS} - 1)
+     * @return ID único entre las instancias con distinto número
+     * @throws IllegalStateException si el reloj ha superado el rango de los IDs
+     */
+    synchronized long next(int shard) {
+        long now = Math.max(currentTimeMillis.getAsLong(), lastMillis);
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                now = lastMillis + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        long elapsed = now - EPOCH_MILLIS;
+        if (elapsed < 0 || elapsed > MAX_ELAPSED_MILLIS) {
+            throw new IllegalStateException("Clock is outside the range of sharded ids: " + now);
+        }
+        lastMillis = now;
+        return (elapsed << (WORKER_BITS + SHARD_BITS + SEQUENCE_BITS)) | workerBits
+                | ((long) shard << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Fragmento de un ID. Los IDs que no generó este generador (por ejemplo, los anteriores al
+     * reparto) también se asignan a un fragmento fijo a partir de los mismos bits.
+     *
+     * @param id ID del producto
+     * @param shardCount número de fragmentos
+     * @return número de fragmento
+     */
+    static int shardOf(long id, int shardCount) {
+        return (int) ((id >>> SEQUENCE_BITS) & (MAX_SHARDS - 1)) % shardCount;
+    }
+}
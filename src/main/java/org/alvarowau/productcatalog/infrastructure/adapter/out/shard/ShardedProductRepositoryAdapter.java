@@ -0,0 +1,510 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.shard;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adaptador del puerto de repositorio que reparte los productos entre varios fragmentos
+ * (normalmente bases de datos distintas, ver {@code JdbcProductRepositoryAdapter}).
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Los productos nuevos reciben un ID que lleva codificado su fragmento (ver
+ *       {@link ShardedIdGenerator}); los fragmentos se asignan por turnos para repartir la carga</li>
+ *   <li>Las operaciones sobre un ID ({@code findById}, {@code save}, {@code deleteById},
+ *       {@code updateFields}, {@code reserveStock}) van solo a su fragmento</li>
+ *   <li>Las operaciones sobre varios IDs se agrupan por fragmento y se envían en paralelo</li>
+ *   <li>Los listados y filtros se piden en paralelo a todos los fragmentos y se combinan por ID
+ *       con una mezcla de k vías, pidiendo a cada uno como mucho {@code limit} productos</li>
+ *   <li>Cada fragmento tiene {@code shardTimeout} para responder; si alguno no lo hace, la
+ *       operación falla con {@link QueryTimeoutException} en lugar de devolver resultados parciales</li>
+ * </ul>
+ * Los fragmentos deben aceptar productos con ID asignado y devolver los listados ordenados por
+ * ID. Las escrituras que abarcan varios fragmentos no son atómicas: cada fragmento confirma su
+ * parte por separado.
+ */
+public class ShardedProductRepositoryAdapter implements ProductRepositoryPort, AutoCloseable {
+
+    /**
+     * Número de productos que {@link #streamAll()} pide en cada página.
+     */
+    static final int STREAM_PAGE_SIZE = 512;
+
+    private final List<ProductRepositoryPort> shards;
+    private final ShardedIdGenerator ids;
+    private final ExecutorService executor;
+    private final long shardTimeoutNanos;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    /**
+     * Crea el adaptador para la única instancia que escribe en los fragmentos (instancia 0).
+     *
+     * @param shards Fragmentos, en un orden fijo: el número de fragmento forma parte de los IDs
+     * @param shardTimeout Tiempo máximo de respuesta de cada fragmento en las consultas en paralelo
+     * @param scatterThreads Número de hilos para las consultas en paralelo
+     */
+    public ShardedProductRepositoryAdapter(List<? extends ProductRepositoryPort> shards, Duration shardTimeout,
+                                           int scatterThreads) {
+        this(shards, shardTimeout, scatterThreads, 0);
+    }
+
+    /**
+     * Crea el adaptador.
+     *
+     * @param shards Fragmentos, en un orden fijo: el número de fragmento forma parte de los IDs
+     * @param shardTimeout Tiempo máximo de respuesta de cada fragmento en las consultas en paralelo
+     * @param scatterThreads Número de hilos para las consultas en paralelo
+     * @param workerId Número de esta instancia, distinto en cada instancia que escribe en los
+     *                 mismos fragmentos (ver {@link ShardedIdGenerator})
+     */
+    public ShardedProductRepositoryAdapter(List<? extends ProductRepositoryPort> shards, Duration shardTimeout,
+                                           int scatterThreads, int workerId) {
+        this(shards, shardTimeout, scatterThreads, workerId, System::currentTimeMillis);
+    }
+
+    /**
+     * Crea el adaptador con un reloj explícito (usado en pruebas).
+     *
+     * @param shards Fragmentos, en un orden fijo
+     * @param shardTimeout Tiempo máximo de respuesta de cada fragmento
+     * @param scatterThreads Número de hilos para las consultas en paralelo
+     * @param workerId Número de esta instancia
+     * @param currentTimeMillis Reloj del generador de IDs
+     */
+    ShardedProductRepositoryAdapter(List<? extends ProductRepositoryPort> shards, Duration shardTimeout,
+                                    int scatterThreads, int workerId, LongSupplier currentTimeMillis) {
+        if (shards.isEmpty() || shards.size() > ShardedIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("shards must contain between 1 and " + ShardedIdGenerator.MAX_SHARDS + " elements");
+        }
+        if (scatterThreads <= 0) {
+            throw new IllegalArgumentException("scatterThreads must be positive");
+        }
+        this.shards = List.copyOf(shards);
+        this.ids = new ShardedIdGenerator(workerId, currentTimeMillis);
+        this.executor = Executors.newFixedThreadPool(scatterThreads, daemonThreads());
+        this.shardTimeoutNanos = shardTimeout.toNanos();
+    }
+
+    /**
+     * Fragmento que guarda un ID.
+     */
+    private ProductRepositoryPort shardFor(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return shards.get(ShardedIdGenerator.shardOf(id, shards.size()));
+    }
+
+    /**
+     * Asigna un ID en el siguiente fragmento a los productos nuevos.
+     */
+    private Product withId(Product product) {
+        if (product.getId() != null) {
+            return product;
+        }
+        int shard = Math.floorMod(nextShard.getAndIncrement(), shards.size());
+        return new Product(ids.next(shard), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategory(), product.getStatus(), product.getVersion());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Product save(Product product) {
+        Product identified = withId(product);
+        return shardFor(identified.getId()).save(identified);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Asigna los IDs de los productos nuevos, guarda en paralelo la parte de cada fragmento y
+     * devuelve los productos en el orden recibido.
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null) {
+            throw new IllegalArgumentException("products must not be null");
+        }
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<Product>> productsByShard = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (product == null) {
+                throw new IllegalArgumentException("products must not contain null values");
+            }
+            Product identified = withId(product);
+            int shard = ShardedIdGenerator.shardOf(identified.getId(), shards.size());
+            positionsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+            productsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(identified);
+        }
+        Map<Integer, List<Product>> savedByShard = scatter(productsByShard, ProductRepositoryPort::saveAll);
+        Product[] saved = new Product[products.size()];
+        positionsByShard.forEach((shard, positions) -> {
+            List<Product> shardSaved = savedByShard.get(shard);
+            for (int i = 0; i < positions.size(); i++) {
+                saved[positions.get(i)] = shardSaved.get(i);
+            }
+        });
+        return List.of(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        return shardFor(id).findById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Consulta en paralelo solo los fragmentos que guardan alguno de los IDs.
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        Map<Integer, List<Long>> idsByShard = groupByShard(ids.stream().distinct().toList());
+        List<Product> found = new ArrayList<>(ids.size());
+        scatter(idsByShard, ProductRepositoryPort::findAllById).values().forEach(found::addAll);
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los productos se devuelven ordenados por ID.
+     */
+    @Override
+    public List<Product> findAll() {
+        return mergeById(scatterAll(ProductRepositoryPort::findAll), Product::getId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        return mergeById(scatterAll(shard -> shard.findPage(afterId, limit)), Product::getId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Recorre el catálogo por páginas de {@value #STREAM_PAGE_SIZE} productos, cada una combinada
+     * de todos los fragmentos, sin mantener conexiones abiertas entre páginas.
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        Spliterator<Product> pages = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private List<Product> page = List.of();
+            private int next;
+            private Long afterId;
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Product> action) {
+                if (next == page.size()) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    page = findPage(afterId, STREAM_PAGE_SIZE);
+                    next = 0;
+                    exhausted = page.size() < STREAM_PAGE_SIZE;
+                    if (page.isEmpty()) {
+                        return false;
+                    }
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                action.accept(page.get(next++));
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        return mergeById(scatterAll(shard -> shard.findByFilter(filter, afterId, limit)), Product::getId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        return shardFor(id).deleteById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        Map<Integer, List<Long>> idsByShard = groupByShard(ids.stream().distinct().toList());
+        return scatter(idsByShard, ProductRepositoryPort::deleteAllById).values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        return mergeById(scatterAll(shard -> shard.findIdsByFilter(filter, afterId, limit)), Long::longValue, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        return shardFor(id).updateFields(id, expectedVersion, changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        return shardFor(id).reserveStock(id, quantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null) {
+            throw new IllegalArgumentException("stockById must not be null");
+        }
+        Map<Integer, Map<Long, Integer>> stockByShard = new HashMap<>();
+        stockById.forEach((id, stock) -> stockByShard
+                .computeIfAbsent(ShardedIdGenerator.shardOf(shardKey(id), shards.size()), key -> new HashMap<>())
+                .put(id, stock));
+        return scatter(stockByShard, ProductRepositoryPort::updateStockLevels).values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * Detiene los hilos de consulta y cierra los fragmentos que admiten cierre.
+     *
+     * @throws Exception si falla el cierre de algún fragmento
+     */
+    @Override
+    public void close() throws Exception {
+        executor.shutdownNow();
+        Exception failure = null;
+        for (ProductRepositoryPort shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long shardKey(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id must not be null");
+        }
+        return id;
+    }
+
+    private Map<Integer, List<Long>> groupByShard(List<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(ShardedIdGenerator.shardOf(shardKey(id), shards.size()), key -> new ArrayList<>())
+                    .add(id);
+        }
+        return idsByShard;
+    }
+
+    private <R> List<R> scatterAll(Function<ProductRepositoryPort, R> query) {
+        Map<Integer, Integer> everyShard = new LinkedHashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            everyShard.put(shard, shard);
+        }
+        return new ArrayList<>(scatter(everyShard, (shard, ignored) -> query.apply(shard)).values());
+    }
+
+    /**
+     * Ejecuta una operación en varios fragmentos a la vez y espera sus resultados.
+     * <p>
+     * Si solo interviene un fragmento, se ejecuta en el hilo actual. Si no, todos comparten el
+     * mismo plazo de {@code shardTimeout} desde el envío; al vencer se cancelan los pendientes.
+     *
+     * @param argumentsByShard argumento de la operación para cada fragmento
+     * @param operation operación sobre un fragmento
+     * @return resultado de cada fragmento
+     * @throws QueryTimeoutException si algún fragmento no responde a tiempo
+     */
+    private <A, R> Map<Integer, R> scatter(Map<Integer, A> argumentsByShard,
+                                           ShardOperation<A, R> operation) {
+        Map<Integer, R> results = new LinkedHashMap<>();
+        if (argumentsByShard.size() == 1) {
+            argumentsByShard.forEach((shard, argument) -> results.put(shard, operation.apply(shards.get(shard), argument)));
+            return results;
+        }
+        Map<Integer, Future<R>> futures = new LinkedHashMap<>();
+        argumentsByShard.forEach((shard, argument) ->
+                futures.put(shard, executor.submit(() -> operation.apply(shards.get(shard), argument))));
+        long deadline = System.nanoTime() + shardTimeoutNanos;
+        try {
+            for (Map.Entry<Integer, Future<R>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), await(entry.getKey(), entry.getValue(), deadline));
+            }
+            return results;
+        } finally {
+            futures.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <R> R await(int shard, Future<R> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Shard " + shard + " did not answer within "
+                    + Duration.ofNanos(shardTimeoutNanos), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shard " + shard + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard " + shard, e);
+        }
+    }
+
+    /**
+     * Mezcla de k vías de listas ordenadas por ID: toma cada vez el menor de los primeros
+     * elementos pendientes, hasta reunir {@code limit} elementos.
+     */
+    static <T> List<T> mergeById(List<List<T>> sortedLists, ToLongFunction<T> id, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> Long.compare(a.id, b.id));
+        int total = 0;
+        for (List<T> list : sortedLists) {
+            total += list.size();
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list, id));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor<T> head = heads.poll();
+            merged.add(head.current());
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "product-shard-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Operación sobre un fragmento con un argumento propio de ese fragmento.
+     */
+    private interface ShardOperation<A, R> {
+
+        R apply(ProductRepositoryPort shard, A argument);
+    }
+
+    /**
+     * Posición de lectura en una de las listas de la mezcla.
+     */
+    private static final class Cursor<T> {
+
+        private final List<T> list;
+        private final ToLongFunction<T> idOf;
+        private int index;
+        private long id;
+
+        Cursor(List<T> list, ToLongFunction<T> idOf) {
+            this.list = list;
+            this.idOf = idOf;
+            this.id = idOf.applyAsLong(list.get(0));
+        }
+
+        T current() {
+            return list.get(index);
+        }
+
+        boolean advance() {
+            if (++index == list.size()) {
+                return false;
+            }
+            id = idOf.applyAsLong(list.get(index));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Contadores de stock en memoria para los productos más reservados.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Cada producto configurado tiene un {@link StripedStockCounter}: las reservas se descuentan
+ *       en memoria sin pasar por la base de datos ni bloquear su fila</li>
+ *   <li>Cada reserva se anota en un {@link StockJournal} antes de confirmarse, de modo que una
+ *       caída del proceso no pierde reservas aceptadas</li>
+ *   <li>Cada {@code flushInterval} se escribe el stock de los contadores que han cambiado con
+ *       {@link ProductRepositoryPort#updateStockLevels(Map)} y se descarta el diario ya volcado</li>
+ *   <li>Al arrancar, el stock de cada producto se reconstruye a partir del diario si existe o
+ *       se lee de la base de datos si no</li>
+ * </ul>
+ * Los contadores asumen que esta instancia es la única que modifica el stock de estos productos.
+ */
+public class HotStockCounters implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockCounters.class);
+    private static final int MAX_STRIPES = 64;
+
+    private final ProductRepositoryPort delegate;
+    private final Set<Long> productIds;
+    private final Path journalDirectory;
+    private final Duration flushInterval;
+    private final boolean forceOnAppend;
+    private final int stripes;
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> lastFlushed = new HashMap<>();
+    private volatile StockJournal journal;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Crea los contadores; no leen ni escriben nada hasta {@link #start()}.
+     *
+     * @param delegate Repositorio donde se vuelca el stock
+     * @param productIds IDs de los productos con contador en memoria
+     * @param journalDirectory Directorio del diario de reservas
+     * @param flushInterval Intervalo entre volcados a la base de datos
+     * @param forceOnAppend Si es true, cada reserva se fuerza a disco antes de confirmarse
+     */
+    public HotStockCounters(ProductRepositoryPort delegate, Collection<Long> productIds, Path journalDirectory,
+                            Duration flushInterval, boolean forceOnAppend) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        this.delegate = delegate;
+        this.productIds = new LinkedHashSet<>(productIds);
+        this.journalDirectory = journalDirectory;
+        this.flushInterval = flushInterval;
+        this.forceOnAppend = forceOnAppend;
+        this.stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 2);
+    }
+
+    /**
+     * Carga el stock de los productos, abre el diario y programa los volcados.
+     * <p>
+     * Los productos configurados que no existen se ignoran. El stock recuperado del diario
+     * se escribe en la base de datos antes de aceptar reservas.
+     */
+    public synchronized void start() {
+        StockJournal.Recovery recovery = StockJournal.recover(journalDirectory);
+        Map<Long, Integer> initial = new HashMap<>();
+        for (Product product : delegate.findAllById(productIds)) {
+            initial.put(product.getId(), recovery.stock().getOrDefault(product.getId(), product.getStock()));
+        }
+        journal = StockJournal.open(journalDirectory, recovery.lastGeneration() + 1, forceOnAppend);
+        initial.forEach((id, stock) -> counters.put(id, new StripedStockCounter(stripes, stock)));
+        counters.forEach((id, counter) -> counter.snapshot(recorder(id)));
+        journal.force();
+        StockJournal.deleteGenerationsBefore(journalDirectory, journal.generation());
+        delegate.updateStockLevels(initial);
+        lastFlushed.putAll(initial);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-stock-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indica si un producto tiene contador en memoria.
+     *
+     * @param id ID del producto
+     * @return true si el stock del producto se gestiona en memoria
+     */
+    public boolean isHot(Long id) {
+        return id != null && counters.containsKey(id);
+    }
+
+    /**
+     * Stock disponible en memoria de un producto.
+     *
+     * @param id ID de un producto con contador
+     * @return unidades disponibles
+     * @throws IllegalArgumentException si el producto no tiene contador
+     */
+    public int available(Long id) {
+        return counter(id).available();
+    }
+
+    /**
+     * Reserva unidades de un producto con contador.
+     *
+     * @param id ID de un producto con contador
+     * @param quantity unidades a reservar (mayor que cero)
+     * @return {@link StockReservationResult#RESERVED} o {@link StockReservationResult#INSUFFICIENT_STOCK}
+     * @throws IllegalArgumentException si la cantidad no es positiva o el producto no tiene contador
+     */
+    public StockReservationResult reserve(Long id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity must be greater than zero");
+        }
+        return counter(id).tryReserve(quantity, recorder(id))
+                ? StockReservationResult.RESERVED
+                : StockReservationResult.INSUFFICIENT_STOCK;
+    }
+
+    /**
+     * Sustituye el stock en memoria tras una escritura directa en la base de datos.
+     *
+     * @param id ID del producto (se ignora si no tiene contador)
+     * @param stock nuevo stock, ya persistido
+     */
+    public void set(Long id, int stock) {
+        StripedStockCounter counter = id == null ? null : counters.get(id);
+        if (counter != null) {
+            synchronized (this) {
+                counter.set(stock, recorder(id));
+                lastFlushed.put(id, stock);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una escritura directa en la base de datos sobre productos con contador sin que un
+     * volcado pueda intercalarse.
+     * <p>
+     * La escritura debe confirmar su propia transacción y llamar a {@link #set(Long, int)} con el
+     * stock escrito antes de retornar: así un volcado nunca sobrescribe ese stock con un valor
+     * leído de los contadores antes de la escritura.
+     *
+     * @param write Escritura en la base de datos
+     * @return el resultado de la escritura
+     */
+    public synchronized <T> T writeThrough(Supplier<T> write) {
+        return write.get();
+    }
+
+    /**
+     * Deja de gestionar en memoria el stock de un producto borrado.
+     *
+     * @param id ID del producto
+     */
+    public synchronized void remove(Long id) {
+        if (id != null) {
+            counters.remove(id);
+            lastFlushed.remove(id);
+        }
+    }
+
+    /**
+     * Vuelca a la base de datos el stock de los contadores que han cambiado.
+     * <p>
+     * Primero se abre una generación nueva del diario con los valores actuales de cada contador
+     * y, una vez forzada a disco, se borra la anterior: la nueva basta para reconstruir el stock.
+     * Si la escritura en la base de datos falla, los contadores se vuelven a volcar en el
+     * siguiente intento.
+     */
+    public synchronized void flush() {
+        StockJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        StockJournal.Generation previous = current.rotate();
+        Map<Long, Integer> changed = new HashMap<>();
+        counters.forEach((id, counter) -> {
+            int stock = counter.snapshot(recorder(id));
+            if (!Integer.valueOf(stock).equals(lastFlushed.get(id))) {
+                changed.put(id, stock);
+            }
+        });
+        current.force();
+        current.retire(previous);
+        if (!changed.isEmpty()) {
+            delegate.updateStockLevels(changed);
+            lastFlushed.putAll(changed);
+        }
+    }
+
+    /**
+     * Detiene los volcados periódicos, vuelca el stock pendiente y cierra el diario.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (journal != null) {
+            flush();
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Hot stock flush failed; will retry", e);
+        }
+    }
+
+    private StripedStockCounter counter(Long id) {
+        StripedStockCounter counter = id == null ? null : counters.get(id);
+        if (counter == null) {
+            throw new IllegalArgumentException("Product " + id + " has no hot stock counter");
+        }
+        return counter;
+    }
+
+    private StripedStockCounter.StripeRecorder recorder(long productId) {
+        StockJournal target = journal;
+        return new StripedStockCounter.StripeRecorder() {
+            @Override
+            public void reserved(int stripe, int seq, int quantity) {
+                target.appendReservation(productId, stripe, seq, quantity);
+            }
+
+            @Override
+            public void checkpoint(int stripe, int seq, int stock) {
+                target.appendCheckpoint(productId, stripe, seq, stock);
+            }
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de {@link ProductRepositoryPort} que gestiona en memoria el stock de los productos
+ * con contador en {@link HotStockCounters}.
+ * <p>
+ * Comportamiento:
+ * <ul>
+ *   <li>{@link #reserveStock(Long, int)} descuenta las reservas de los productos con contador en
+ *       memoria; las del resto se delegan</li>
+ *   <li>Las lecturas sustituyen el stock (y, si se agota, el estado) de los productos con contador
+ *       por el valor en memoria, que puede no estar aún en la base de datos</li>
+ *   <li>Las escrituras que fijan el stock de un producto con contador se delegan y después
+ *       actualizan el contador, ambas con {@link HotStockCounters#writeThrough} para que un
+ *       volcado no las intercale; los borrados lo eliminan</li>
+ * </ul>
+ * Los filtros por stock o estado se resuelven en la base de datos, así que para los productos
+ * con contador reflejan el último volcado.
+ */
+public class HotStockProductRepositoryAdapter implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final HotStockCounters counters;
+
+    /**
+     * Crea el decorador.
+     *
+     * @param delegate Repositorio decorado
+     * @param counters Contadores de stock en memoria
+     */
+    public HotStockProductRepositoryAdapter(ProductRepositoryPort delegate, HotStockCounters counters) {
+        this.delegate = delegate;
+        this.counters = counters;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Product save(Product product) {
+        if (product == null || !counters.isHot(product.getId())) {
+            return delegate.save(product);
+        }
+        return counters.writeThrough(() -> {
+            Product saved = delegate.save(product);
+            counters.set(saved.getId(), saved.getStock());
+            return saved;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products == null || products.stream().noneMatch(product -> counters.isHot(product.getId()))) {
+            return delegate.saveAll(products);
+        }
+        return counters.writeThrough(() -> {
+            List<Product> saved = delegate.saveAll(products);
+            saved.forEach(product -> counters.set(product.getId(), product.getStock()));
+            return saved;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Product> findById(Long id) {
+        return delegate.findById(id).map(this::overlay);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        return overlay(delegate.findAllById(ids));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findAll() {
+        return overlay(delegate.findAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findPage(Long afterId, int limit) {
+        return overlay(delegate.findPage(afterId, limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll().map(this::overlay);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Product> findByFilter(ProductFilter filter, Long afterId, int limit) {
+        return overlay(delegate.findByFilter(filter, afterId, limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) {
+            counters.remove(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        int deleted = delegate.deleteAllById(ids);
+        if (ids != null) {
+            ids.forEach(counters::remove);
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findIdsByFilter(ProductFilter filter, Long afterId, int limit) {
+        return delegate.findIdsByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Si los cambios fijan el stock de un producto con contador, el contador toma ese valor
+     * y descarta las reservas aún no volcadas.
+     */
+    @Override
+    public boolean updateFields(Long id, Long expectedVersion, ProductChanges changes) {
+        if (changes == null || changes.getStock() == null || !counters.isHot(id)) {
+            return delegate.updateFields(id, expectedVersion, changes);
+        }
+        return counters.writeThrough(() -> {
+            boolean updated = delegate.updateFields(id, expectedVersion, changes);
+            if (updated) {
+                counters.set(id, changes.getStock());
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Las reservas de productos con contador no tocan la base de datos.
+     */
+    @Override
+    public StockReservationResult reserveStock(Long id, int quantity) {
+        if (counters.isHot(id)) {
+            return counters.reserve(id, quantity);
+        }
+        return delegate.reserveStock(id, quantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int updateStockLevels(Map<Long, Integer> stockById) {
+        if (stockById == null || stockById.keySet().stream().noneMatch(counters::isHot)) {
+            return delegate.updateStockLevels(stockById);
+        }
+        return counters.writeThrough(() -> {
+            int updated = delegate.updateStockLevels(stockById);
+            stockById.forEach(counters::set);
+            return updated;
+        });
+    }
+
+    private List<Product> overlay(List<Product> products) {
+        products.forEach(this::overlay);
+        return products;
+    }
+
+    private Product overlay(Product product) {
+        if (counters.isHot(product.getId())) {
+            product.setStock(counters.available(product.getId()));
+            product.setStatus(product.getStatus());
+        }
+        return product;
+    }
+}
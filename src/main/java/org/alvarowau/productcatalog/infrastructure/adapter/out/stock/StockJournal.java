@@ -0,0 +1,419 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario en disco de los cambios de los contadores de stock.
+ * <p>
+ * Formato:
+ * <ul>
+ *   <li>El diario se divide en generaciones, una por fichero ({@code stock-journal-<n>.log}).
+ *       Cada volcado a la base de datos abre una generación nueva y borra la anterior</li>
+ *   <li>Cada registro ocupa {@value #RECORD_SIZE} bytes: una reserva (franja, secuencia y unidades)
+ *       o un punto de control (franja, secuencia y unidades absolutas de la franja), con un CRC
+ *       que permite descartar registros incompletos</li>
+ *   <li>Cada escritura reserva su posición con un incremento atómico y escribe el registro con
+ *       una escritura posicional, sin cerrojos. Cuando la escritura retorna, el registro sobrevive
+ *       a una caída del proceso; para sobrevivir a una caída del sistema hay que forzarlo a disco</li>
+ * </ul>
+ * El stock de un producto se reconstruye sumando los puntos de control más recientes de sus franjas
+ * y restando las reservas posteriores a ellos (ver {@link #recover(Path)}).
+ */
+final class StockJournal implements AutoCloseable {
+
+    /**
+     * Tamaño en bytes de cada registro.
+     */
+    static final int RECORD_SIZE = 32;
+
+    private static final int MAGIC = 0x53544B31;
+    private static final int RESERVATION = 1;
+    private static final int CHECKPOINT = 2;
+    private static final Pattern FILE_NAME = Pattern.compile("stock-journal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final boolean forceOnAppend;
+    private volatile Generation active;
+
+    private StockJournal(Path directory, long generation, boolean forceOnAppend) throws IOException {
+        this.directory = directory;
+        this.forceOnAppend = forceOnAppend;
+        this.active = Generation.create(directory, generation);
+    }
+
+    /**
+     * Abre una generación nueva del diario.
+     *
+     * @param directory directorio del diario (se crea si no existe)
+     * @param generation número de la generación, mayor que el de cualquier generación existente
+     * @param forceOnAppend si es true, cada registro se fuerza a disco antes de retornar
+     * @return diario abierto
+     * @throws UncheckedIOException si no se puede crear el fichero
+     */
+    static StockJournal open(Path directory, long generation, boolean forceOnAppend) {
+        try {
+            Files.createDirectories(directory);
+            return new StockJournal(directory, generation, forceOnAppend);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Registra una reserva descontada de una franja.
+     *
+     * @param productId ID del producto
+     * @param stripe índice de la franja
+     * @param seq secuencia de la franja tras la reserva
+     * @param quantity unidades descontadas
+     * @throws UncheckedIOException si falla la escritura
+     */
+    void appendReservation(long productId, int stripe, int seq, int quantity) {
+        append(RESERVATION, productId, stripe, seq, quantity);
+    }
+
+    /**
+     * Registra el valor absoluto de una franja.
+     *
+     * @param productId ID del producto
+     * @param stripe índice de la franja
+     * @param seq secuencia de la franja con ese valor
+     * @param stock unidades de la franja
+     * @throws UncheckedIOException si falla la escritura
+     */
+    void appendCheckpoint(long productId, int stripe, int seq, int stock) {
+        append(CHECKPOINT, productId, stripe, seq, stock);
+    }
+
+    /**
+     * Abre la generación siguiente y espera a que terminen las escrituras en curso sobre la actual.
+     * <p>
+     * Al retornar, todos los registros nuevos van a la generación siguiente y la anterior ya no
+     * recibe escrituras. La anterior debe retirarse con {@link #retire(Generation)} una vez
+     * escritos y forzados los puntos de control en la nueva.
+     *
+     * @return generación anterior
+     * @throws UncheckedIOException si no se puede crear el fichero
+     */
+    Generation rotate() {
+        Generation previous = active;
+        try {
+            active = Generation.create(directory, previous.number + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        while (previous.inFlight.sum() != 0) {
+            Thread.onSpinWait();
+        }
+        return previous;
+    }
+
+    /**
+     * Fuerza a disco los registros de la generación actual.
+     *
+     * @throws UncheckedIOException si falla la escritura
+     */
+    void force() {
+        try {
+            active.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cierra y borra una generación anterior.
+     *
+     * @param generation generación devuelta por {@link #rotate()}
+     * @throws UncheckedIOException si no se puede borrar el fichero
+     */
+    void retire(Generation generation) {
+        try {
+            generation.channel.close();
+            Files.deleteIfExists(generation.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Número de la generación actual.
+     *
+     * @return número de generación
+     */
+    long generation() {
+        return active.number;
+    }
+
+    /**
+     * Borra las generaciones anteriores a la indicada.
+     *
+     * @param directory directorio del diario
+     * @param generation primera generación que se conserva
+     * @throws UncheckedIOException si no se puede leer el directorio o borrar un fichero
+     */
+    static void deleteGenerationsBefore(Path directory, long generation) {
+        for (Map.Entry<Long, Path> file : listGenerations(directory).entrySet()) {
+            if (file.getKey() < generation) {
+                try {
+                    Files.deleteIfExists(file.getValue());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconstruye el stock de cada producto a partir de las generaciones existentes.
+     * <p>
+     * Para cada franja se toma el punto de control de la generación más alta (y, dentro de ella,
+     * el de mayor secuencia) y se restan las reservas de esa generación o posteriores con una
+     * secuencia mayor. Las reservas anteriores al punto de control ya están incluidas en él.
+     *
+     * @param directory directorio del diario
+     * @return resultado de la recuperación (vacío si no hay diario)
+     * @throws UncheckedIOException si no se puede leer un fichero
+     */
+    static Recovery recover(Path directory) {
+        TreeMap<Long, Path> generations = listGenerations(directory);
+        Map<Long, Map<Integer, Checkpoint>> checkpoints = new HashMap<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (Map.Entry<Long, Path> file : generations.entrySet()) {
+            long generation = file.getKey();
+            readRecords(file.getValue(), record -> {
+                int type = record.getInt(4);
+                long productId = record.getLong(8);
+                int stripe = record.getInt(16);
+                int seq = record.getInt(20);
+                int value = record.getInt(24);
+                if (type == CHECKPOINT) {
+                    checkpoints.computeIfAbsent(productId, id -> new HashMap<>())
+                            .merge(stripe, new Checkpoint(generation, seq, value), Checkpoint::latest);
+                } else if (type == RESERVATION) {
+                    reservations.add(new Reservation(generation, productId, stripe, seq, value));
+                }
+            });
+        }
+        Map<Long, Long> stock = new HashMap<>();
+        checkpoints.forEach((productId, stripes) ->
+                stock.put(productId, stripes.values().stream().mapToLong(checkpoint -> checkpoint.stock).sum()));
+        for (Reservation reservation : reservations) {
+            Map<Integer, Checkpoint> stripes = checkpoints.get(reservation.productId);
+            Checkpoint checkpoint = stripes == null ? null : stripes.get(reservation.stripe);
+            if (checkpoint != null && reservation.generation >= checkpoint.generation
+                    && reservation.seq - checkpoint.seq > 0) {
+                stock.merge(reservation.productId, (long) -reservation.quantity, Long::sum);
+            }
+        }
+        Map<Long, Integer> result = new HashMap<>();
+        stock.forEach((productId, units) -> result.put(productId, (int) Math.max(0, Math.min(Integer.MAX_VALUE, units))));
+        return new Recovery(result, generations.isEmpty() ? 0 : generations.lastKey());
+    }
+
+    /**
+     * Cierra la generación actual sin borrarla.
+     */
+    @Override
+    public void close() {
+        try {
+            active.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(int type, long productId, int stripe, int seq, int value) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+                .putInt(MAGIC).putInt(type).putLong(productId).putInt(stripe).putInt(seq).putInt(value);
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 0, RECORD_SIZE - 4);
+        record.putInt((int) crc.getValue()).flip();
+        Generation generation = enter();
+        try {
+            long position = generation.position.getAndAdd(RECORD_SIZE);
+            while (record.hasRemaining()) {
+                position += generation.channel.write(record, position);
+            }
+            if (forceOnAppend) {
+                generation.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            generation.inFlight.decrement();
+        }
+    }
+
+    /**
+     * Registra una escritura en curso sobre la generación actual. Si la generación cambia
+     * mientras tanto se reintenta, de modo que {@link #rotate()} no pierde ninguna escritura.
+     */
+    private Generation enter() {
+        while (true) {
+            Generation generation = active;
+            generation.inFlight.increment();
+            if (generation == active) {
+                return generation;
+            }
+            generation.inFlight.decrement();
+        }
+    }
+
+    private static TreeMap<Long, Path> listGenerations(Path directory) {
+        TreeMap<Long, Path> generations = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return generations;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    generations.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return generations;
+    }
+
+    /**
+     * Recorre los registros válidos de un fichero; los huecos y los registros incompletos se ignoran.
+     */
+    private static void readRecords(Path file, Consumer<ByteBuffer> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    ByteBuffer record = buffer.slice(buffer.position(), RECORD_SIZE);
+                    buffer.position(buffer.position() + RECORD_SIZE);
+                    if (isValid(record)) {
+                        consumer.accept(record);
+                    }
+                }
+                if (buffer.hasRemaining() && channel.position() >= channel.size()) {
+                    break;
+                }
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isValid(ByteBuffer record) {
+        if (record.getInt(0) != MAGIC) {
+            return false;
+        }
+        byte[] bytes = new byte[RECORD_SIZE - 4];
+        record.get(0, bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue() == record.getInt(RECORD_SIZE - 4);
+    }
+
+    /**
+     * Resultado de {@link #recover(Path)}: stock reconstruido por ID de producto y número de la
+     * última generación encontrada (0 si no hay ninguna).
+     */
+    static final class Recovery {
+
+        private final Map<Long, Integer> stock;
+        private final long lastGeneration;
+
+        Recovery(Map<Long, Integer> stock, long lastGeneration) {
+            this.stock = stock;
+            this.lastGeneration = lastGeneration;
+        }
+
+        Map<Long, Integer> stock() {
+            return stock;
+        }
+
+        long lastGeneration() {
+            return lastGeneration;
+        }
+    }
+
+    /**
+     * Fichero de una generación del diario.
+     */
+    static final class Generation {
+
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong position = new AtomicLong();
+        private final LongAdder inFlight = new LongAdder();
+
+        private Generation(long number, Path path, FileChannel channel) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static Generation create(Path directory, long number) throws IOException {
+            Path path = directory.resolve("stock-journal-" + number + ".log");
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE, StandardOpenOption.READ);
+            return new Generation(number, path, channel);
+        }
+    }
+
+    private static final class Checkpoint {
+
+        private final long generation;
+        private final int seq;
+        private final int stock;
+
+        Checkpoint(long generation, int seq, int stock) {
+            this.generation = generation;
+            this.seq = seq;
+            this.stock = stock;
+        }
+
+        static Checkpoint latest(Checkpoint a, Checkpoint b) {
+            if (a.generation != b.generation) {
+                return a.generation > b.generation ? a : b;
+            }
+            return b.seq - a.seq >= 0 ? b : a;
+        }
+    }
+
+    private static final class Reservation {
+
+        private final long generation;
+        private final long productId;
+        private final int stripe;
+        private final int seq;
+        private final int quantity;
+
+        Reservation(long generation, long productId, int stripe, int seq, int quantity) {
+            this.generation = generation;
+            this.productId = productId;
+            this.stripe = stripe;
+            this.seq = seq;
+            this.quantity = quantity;
+        }
+    }
+}
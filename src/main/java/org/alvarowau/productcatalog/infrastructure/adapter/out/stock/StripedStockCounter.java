@@ -0,0 +1,223 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock de un producto repartido en franjas independientes.
+ * <p>
+ * Funcionamiento:
+ * <ul>
+ *   <li>Cada franja guarda en un único {@code long} sus unidades y un número de secuencia que
+ *       aumenta con cada cambio, y ocupa su propia línea de caché para no compartirla con las demás</li>
+ *   <li>Una reserva elige una franja al azar y descuenta las unidades con un CAS; si la franja no
+ *       tiene suficientes, prueba las siguientes. Las reservas de hilos distintos rara vez
+ *       compiten por la misma franja y ninguna toma cerrojos</li>
+ *   <li>Solo cuando ninguna franja tiene unidades suficientes por sí sola, la reserva toma el
+ *       cerrojo, reúne las unidades de todas las franjas y las vuelve a repartir</li>
+ * </ul>
+ * Cada cambio se notifica a un {@link StripeRecorder} con la franja y su nueva secuencia, lo que
+ * permite reconstruir el stock a partir de un diario (ver {@link StockJournal}).
+ */
+final class StripedStockCounter {
+
+    /**
+     * Número de {@code long} por franja: 64 bytes, una línea de caché.
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Receptor de los cambios de las franjas.
+     */
+    interface StripeRecorder {
+
+        /**
+         * Se ha descontado una reserva de una franja.
+         *
+         * @param stripe índice de la franja
+         * @param seq nueva secuencia de la franja
+         * @param quantity unidades descontadas
+         */
+        void reserved(int stripe, int seq, int quantity);
+
+        /**
+         * Una franja tiene un nuevo valor absoluto.
+         *
+         * @param stripe índice de la franja
+         * @param seq secuencia de la franja con ese valor
+         * @param stock unidades de la franja
+         */
+        void checkpoint(int stripe, int seq, int stock);
+    }
+
+    /**
+     * Crea el contador repartiendo el stock inicial entre las franjas.
+     *
+     * @param stripes número de franjas (potencia de dos)
+     * @param initialStock stock inicial (no negativo)
+     * @throws IllegalArgumentException si el número de franjas no es potencia de dos o el stock es negativo
+     */
+    StripedStockCounter(int stripes, int initialStock) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two");
+        }
+        if (initialStock < 0) {
+            throw new IllegalArgumentException("initialStock must not be negative");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * PADDING, pack(0, share(initialStock, stripe)));
+        }
+    }
+
+    /**
+     * Número de franjas del contador.
+     *
+     * @return número de franjas
+     */
+    int stripes() {
+        return stripes;
+    }
+
+    /**
+     * Suma las unidades de todas las franjas.
+     * <p>
+     * Con reservas concurrentes el resultado es aproximado, pero nunca negativo.
+     *
+     * @return unidades disponibles
+     */
+    int available() {
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += stock(cells.get(stripe * PADDING));
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    /**
+     * Descuenta unidades si hay suficientes.
+     *
+     * @param quantity unidades a descontar (mayor que cero)
+     * @param recorder receptor del cambio
+     * @return true si se han descontado; false si no hay unidades suficientes
+     */
+    boolean tryReserve(int quantity, StripeRecorder recorder) {
+        int start = ThreadLocalRandom.current().nextInt();
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (start + i) & (stripes - 1);
+            int index = stripe * PADDING;
+            long cell = cells.get(index);
+            while (stock(cell) >= quantity) {
+                int seq = seq(cell) + 1;
+                long witness = cells.compareAndExchange(index, cell, pack(seq, stock(cell) - quantity));
+                if (witness == cell) {
+                    recorder.reserved(stripe, seq, quantity);
+                    return true;
+                }
+                cell = witness;
+            }
+        }
+        return reserveAcrossStripes(quantity, recorder);
+    }
+
+    /**
+     * Sustituye el stock por un valor absoluto.
+     *
+     * @param stock nuevo stock (no negativo)
+     * @param recorder receptor de los nuevos valores de cada franja
+     */
+    void set(int stock, StripeRecorder recorder) {
+        lock.lock();
+        try {
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                cells.getAndUpdate(stripe * PADDING, cell -> pack(seq(cell), 0));
+            }
+            redistribute(stock, recorder);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Notifica el valor y la secuencia actuales de cada franja y devuelve su suma.
+     * <p>
+     * Las reservas que se descuenten después tendrán una secuencia mayor que la notificada.
+     *
+     * @param recorder receptor del valor de cada franja
+     * @return unidades disponibles en la instantánea
+     */
+    int snapshot(StripeRecorder recorder) {
+        lock.lock();
+        try {
+            long total = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                long cell = cells.get(stripe * PADDING);
+                recorder.checkpoint(stripe, seq(cell), stock(cell));
+                total += stock(cell);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Camino lento: reúne las unidades de todas las franjas bajo el cerrojo, descuenta la reserva
+     * si alcanzan y reparte el resto. Las reservas rápidas que encuentren su franja vacía mientras
+     * tanto acaban también aquí y esperan al cerrojo.
+     * <p>
+     * Fuera del cerrojo las franjas solo pueden disminuir, así que si la suma ya no alcanza
+     * la reserva se rechaza sin tocarlas: con un producto agotado, cada petición solo retiene
+     * el cerrojo mientras calcula la suma.
+     */
+    private boolean reserveAcrossStripes(int quantity, StripeRecorder recorder) {
+        lock.lock();
+        try {
+            if (available() < quantity) {
+                return false;
+            }
+            long total = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                total += stock(cells.getAndUpdate(stripe * PADDING, cell -> pack(seq(cell), 0)));
+            }
+            boolean reserved = total >= quantity;
+            redistribute((int) (reserved ? total - quantity : total), recorder);
+            return reserved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reparte las unidades entre franjas vacías; debe llamarse con el cerrojo tomado.
+     */
+    private void redistribute(int stock, StripeRecorder recorder) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int share = share(stock, stripe);
+            long cell = cells.getAndUpdate(stripe * PADDING, current -> pack(seq(current) + 1, share));
+            recorder.checkpoint(stripe, seq(cell) + 1, share);
+        }
+    }
+
+    private int share(int stock, int stripe) {
+        return stock / stripes + (stripe < stock % stripes ? 1 : 0);
+    }
+
+    private static long pack(int seq, int stock) {
+        return ((long) seq << 32) | (stock & 0xFFFF_FFFFL);
+    }
+
+    private static int seq(long cell) {
+        return (int) (cell >>> 32);
+    }
+
+    private static int stock(long cell) {
+        return (int) cell;
+    }
+}
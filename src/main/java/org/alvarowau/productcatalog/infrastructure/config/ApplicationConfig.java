@@ -1,30 +1,608 @@
 package org.alvarowau.productcatalog.infrastructure.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.alvarowau.productcatalog.application.port.in.CreateProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.DeleteProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.GetProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.ReserveStockUseCase;
+import org.alvarowau.productcatalog.application.port.in.UpdateProductUseCase;
 import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.application.service.AsyncProductService;
+import org.alvarowau.productcatalog.application.service.ProductImportService;
+import org.alvarowau.productcatalog.application.service.ProductChangeFeedService;
 import org.alvarowau.productcatalog.application.service.ProductService;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.ReadYourWritesFilter;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.admission.AdaptiveConcurrencyLimit;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.admission.AdmissionControlFilter;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.async.UseCaseExecutor;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.ProductChangeFeedJpaAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.ProductJpaAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.batch.BatchingProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.bloom.ProductIdFilter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.cache.CachingProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ConnectionLimitingDataSource;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadWriteRoutingDataSource;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc.JdbcProductReadAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc.JdbcProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc.JdbcReadQuery;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.log.LogStructuredProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.mapped.MappedProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.memory.InMemoryProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.shard.ShardedProductRepositoryAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.stock.HotStockCounters;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.stock.HotStockProductRepositoryAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Clase de configuración para la definición de beans de la aplicación.
  * <p>
  * Esta clase configura los beans principales del módulo de catálogo de productos,
  * estableciendo las dependencias entre los componentes según la arquitectura hexagonal.
+ * <p>
+ * Registra {@link DataSourceProperties} por sí misma porque, con un repositorio distinto de JPA,
+ * la configuración automática de la base de datos principal está desactivada
+ * (ver {@link RepositoryTypeEnvironmentPostProcessor}) y el repositorio repartido sigue tomando de
+ * ella el driver y las credenciales.
  */
 @Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
 public class ApplicationConfig {
 
+    private static final Set<String> CONNECTION_POOL_BEANS = Set.of("dataSource", "primaryDataSource", "replicaDataSource");
+
     /**
      * Define el bean del servicio de productos.
      * <p>
      * Configura la inyección de dependencias para el ProductService,
-     * conectando el puerto de entrada (caso de uso) con el puerto de salida (repositorio).
+     * conectando el puerto de entrada (caso de uso) con los puertos de salida (repositorio e índice de búsqueda).
+     *
+     * Si los contadores de stock en memoria están activos, el servicio recibe el repositorio
+     * envuelto en {@link HotStockProductRepositoryAdapter}.
      *
      * @param repositoryPort Puerto de repositorio inyectado automáticamente
+     * @param searchPort Puerto del índice de búsqueda inyectado automáticamente
+     * @param hotStockCounters Contadores de stock en memoria, si están activos
      * @return Instancia configurada del ProductService
      */
     @Bean
-    public ProductService productService(ProductRepositoryPort repositoryPort) {
-        return new ProductService(repositoryPort);
+    public ProductService productService(ProductRepositoryPort repositoryPort, ProductSearchPort searchPort,
+                                         ObjectProvider<HotStockCounters> hotStockCounters) {
+        HotStockCounters counters = hotStockCounters.getIfAvailable();
+        if (counters != null) {
+            repositoryPort = new HotStockProductRepositoryAdapter(repositoryPort, counters);
+        }
+        return new ProductService(repositoryPort, searchPort);
+    }
+
+    /**
+     * Define el ejecutor de los casos de uso asíncronos.
+     * <p>
+     * Tiene un número fijo de hilos y una cola acotada: con la cola llena, las peticiones que
+     * usan los casos de uso asíncronos se rechazan (503) en lugar de acumularse. Cada tarea
+     * hereda de la petición la marca de {@link ReadYourWrites}, para que sus lecturas vayan a la
+     * misma base de datos que irían en el hilo de la petición.
+     * <p>
+     * Solo se crea cuando las peticiones se atienden en hilos de plataforma. Con hilos virtuales
+     * (ver {@link #asyncProductService}) no hay hilo del servidor que liberar, y un pool fijo de
+     * hilos de plataforma volvería a limitar la concurrencia a su número de hilos.
+     *
+     * @param threads Número de hilos
+     * @param queueCapacity Número máximo de tareas esperando un hilo
+     * @return Ejecutor instrumentado de casos de uso
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public UseCaseExecutor useCaseExecutor(@Value("${product.async.threads:20}") int threads,
+                                           @Value("${product.async.queue-capacity:1000}") int queueCapacity) {
+        return new UseCaseExecutor(threads, queueCapacity, ReadYourWrites::propagate);
+    }
+
+    /**
+     * Define el bean del servicio con las variantes asíncronas de los casos de uso de productos,
+     * que ejecuta los casos de uso del {@link ProductService} en el {@link UseCaseExecutor}.
+     * <p>
+     * Con hilos virtuales ({@code spring.threads.virtual.enabled=true} en Java 21) no hay ejecutor:
+     * los casos de uso se ejecutan en el propio hilo virtual de la petición y la concurrencia frente
+     * a la base de datos la acota el semáforo de conexiones de cada pool.
+     *
+     * @param getProductUseCase Caso de uso para obtención de productos
+     * @param createProductUseCase Caso de uso para creación de productos
+     * @param updateProductUseCase Caso de uso para actualización de productos
+     * @param deleteProductUseCase Caso de uso para eliminación de productos
+     * @param reserveStockUseCase Caso de uso para reserva de stock
+     * @param useCaseExecutor Ejecutor de los casos de uso asíncronos, si las peticiones usan hilos de plataforma
+     * @return Instancia configurada del AsyncProductService
+     */
+    @Bean
+    public AsyncProductService asyncProductService(GetProductUseCase getProductUseCase,
+                                                   CreateProductUseCase createProductUseCase,
+                                                   UpdateProductUseCase updateProductUseCase,
+                                                   DeleteProductUseCase deleteProductUseCase,
+                                                   ReserveStockUseCase reserveStockUseCase,
+                                                   ObjectProvider<UseCaseExecutor> useCaseExecutor) {
+        Executor executor = useCaseExecutor.getIfAvailable();
+        return new AsyncProductService(getProductUseCase, createProductUseCase, updateProductUseCase,
+                deleteProductUseCase, reserveStockUseCase, executor != null ? executor : Runnable::run);
+    }
+
+    /**
+     * Define el bean del servicio de importación masiva de productos.
+     *
+     * @param repositoryPort Puerto de repositorio inyectado automáticamente
+     * @param searchPort Puerto del índice de búsqueda inyectado automáticamente
+     * @param workers Número de hilos de validación (0 para usar uno por procesador)
+     * @param batchSize Número de registros por bloque
+     * @param queueCapacity Número máximo de bloques en espera entre dos etapas
+     * @param maxReportedErrors Número máximo de errores incluidos en la respuesta
+     * @param progressEvery Número de registros entre dos avisos de progreso
+     * @return Instancia configurada del ProductImportService
+     */
+    @Bean
+    public ProductImportService productImportService(
+            ProductRepositoryPort repositoryPort,
+            ProductSearchPort searchPort,
+            @Value("${product.import.workers:0}") int workers,
+            @Value("${product.import.batch-size:1000}") int batchSize,
+            @Value("${product.import.queue-capacity:4}") int queueCapacity,
+            @Value("${product.import.max-reported-errors:1000}") int maxReportedErrors,
+            @Value("${product.import.progress-every:100000}") long progressEvery) {
+        int workerThreads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return new ProductImportService(repositoryPort, searchPort, workerThreads, batchSize, queueCapacity,
+                maxReportedErrors, progressEvery);
+    }
+
+    /**
+     * Define el bean del servicio de sincronización incremental del catálogo.
+     * <p>
+     * Solo se crea con el repositorio JPA, que es el único que escribe el historial de cambios;
+     * con los demás, {@code GET /product/changes} responde 501.
+     *
+     * @param changeFeedAdapter Adaptador JPA de lectura del historial de cambios
+     * @return Instancia configurada del ProductChangeFeedService
+     */
+    @Bean
+    @ConditionalOnExpression("'${product.repository.type:jpa}' == 'jpa'")
+    public ProductChangeFeedService productChangeFeedService(ProductChangeFeedJpaAdapter changeFeedAdapter) {
+        return new ProductChangeFeedService(changeFeedAdapter);
+    }
+
+    /**
+     * Define la caché de productos delante del adaptador JPA.
+     * <p>
+     * Se marca como primaria para que el servicio reciba el decorador en lugar del
+     * adaptador JPA. Se desactiva con {@code product.cache.enabled=false} y solo se crea
+     * con el repositorio JPA: los demás ya leen de memoria y no tienen coste de acceso que ahorrar.
+     * Si hay consultas resueltas con JDBC directo, la caché se coloca delante de ese adaptador, y
+     * si la agrupación de lecturas está activa, los fallos de la caché pasan por ella
+     * (ver {@link #batchingProductRepositoryAdapter}). Con réplica de lectura, la caché no publica
+     * lo leído de la réplica para productos escritos hace menos de {@code product.datasource.replica.max-lag},
+     * y las lecturas que deben ir a la base de datos principal no la consultan.
+     *
+     * @param jpaAdapter Adaptador JPA decorado
+     * @param jdbcReadAdapter Adaptador de lecturas con JDBC directo, si está activo
+     * @param maximumSize Número máximo de productos cacheados
+     * @param ttl Tiempo de vida de cada producto cacheado
+     * @param batching Si es true, agrupa las lecturas por ID que no están en la caché
+     * @param batchingWindow Tiempo máximo que una lectura espera a que se sumen otras a su lote
+     * @param batchingMaxSize Número de IDs a partir del cual un lote se envía sin esperar
+     * @param replicaUrl URL JDBC de la réplica de lectura, vacía si no hay réplica
+     * @param replicaMaxLag Retraso máximo de la réplica respecto a la base de datos principal
+     * @return Decorador con caché del puerto de repositorio
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("${product.cache.enabled:true} and '${product.repository.type:jpa}' == 'jpa'")
+    public CachingProductRepositoryAdapter cachingProductRepositoryAdapter(
+            ProductJpaAdapter jpaAdapter,
+            ObjectProvider<JdbcProductReadAdapter> jdbcReadAdapter,
+            @Value("${product.cache.maximum-size:10000}") int maximumSize,
+            @Value("${product.cache.ttl:5m}") Duration ttl,
+            @Value("${product.read.batching.enabled:false}") boolean batching,
+            @Value("${product.read.batching.window:200us}") Duration batchingWindow,
+            @Value("${product.read.batching.max-batch-size:100}") int batchingMaxSize,
+            @Value("${product.datasource.replica.url:}") String replicaUrl,
+            @Value("${product.datasource.replica.max-lag:2s}") Duration replicaMaxLag) {
+        ProductRepositoryPort delegate = jdbcReadAdapter.getIfAvailable();
+        if (delegate == null) {
+            delegate = jpaAdapter;
+        }
+        if (batching) {
+            delegate = new BatchingProductRepositoryAdapter(delegate, batchingWindow, batchingMaxSize);
+        }
+        return new CachingProductRepositoryAdapter(delegate, maximumSize, ttl,
+                replicaUrl.isEmpty() ? Duration.ZERO : replicaMaxLag);
+    }
+
+    /**
+     * Define el decorador que agrupa las lecturas por ID concurrentes en una sola consulta.
+     * <p>
+     * Se activa con el repositorio JPA y {@code product.read.batching.enabled=true}. Con la caché
+     * activa no se registra como bean: la propia caché lo coloca detrás de ella para agrupar
+     * solo los fallos; sin caché se marca como primario y decora al adaptador JDBC o JPA.
+     *
+     * @param jpaAdapter Adaptador JPA decorado
+     * @param jdbcReadAdapter Adaptador de lecturas con JDBC directo, si está activo
+     * @param window Tiempo máximo que una lectura espera a que se sumen otras a su lote
+     * @param maxBatchSize Número de IDs a partir del cual un lote se envía sin esperar
+     * @return Decorador con agrupación de lecturas del puerto de repositorio
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("!${product.cache.enabled:true} and '${product.repository.type:jpa}' == 'jpa'"
+            + " and ${product.read.batching.enabled:false}")
+    public BatchingProductRepositoryAdapter batchingProductRepositoryAdapter(
+            ProductJpaAdapter jpaAdapter,
+            ObjectProvider<JdbcProductReadAdapter> jdbcReadAdapter,
+            @Value("${product.read.batching.window:200us}") Duration window,
+            @Value("${product.read.batching.max-batch-size:100}") int maxBatchSize) {
+        ProductRepositoryPort delegate = jdbcReadAdapter.getIfAvailable();
+        return new BatchingProductRepositoryAdapter(delegate != null ? delegate : jpaAdapter, window, maxBatchSize);
+    }
+
+    /**
+     * Define el filtro de IDs de producto existentes del adaptador JPA.
+     * <p>
+     * Se activa con el repositorio JPA y {@code product.id-filter.enabled=true}. Permite responder
+     * en memoria que un producto no existe; solo es correcto con una única instancia escribiendo
+     * en la base de datos, porque no ve las altas hechas por otras.
+     *
+     * @param expectedIds Número de productos para el que se dimensiona el filtro
+     * @param falsePositiveRate Tasa de falsos positivos con ese número de productos
+     * @return Filtro de IDs, pendiente de sembrar al terminar el arranque
+     */
+    @Bean
+    @ConditionalOnExpression("${product.id-filter.enabled:false} and '${product.repository.type:jpa}' == 'jpa'")
+    public ProductIdFilter productIdFilter(
+            @Value("${product.id-filter.expected-ids:1000000}") long expectedIds,
+            @Value("${product.id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        return new ProductIdFilter(expectedIds, falsePositiveRate);
+    }
+
+    /**
+     * Define el adaptador que resuelve las lecturas más frecuentes con JDBC directo.
+     * <p>
+     * Se activa con el repositorio JPA cuando {@code product.read.jdbc.queries} indica al menos
+     * una consulta ({@code find-by-id}, {@code find-all}, {@code filter}); esas lecturas se leen
+     * de la tabla sin pasar por Hibernate y el resto, junto con todas las escrituras, siguen
+     * yendo al adaptador JPA.
+     *
+     * @param jpaAdapter Adaptador JPA decorado
+     * @param dataSource Origen de datos de la aplicación
+     * @param queries Consultas que se resuelven con JDBC directo
+     * @param streamFetchSize Número de filas que el driver trae por cada viaje al recorrer el catálogo
+     * @return Adaptador de lecturas con JDBC directo
+     */
+    @Bean
+    @ConditionalOnExpression("'${product.repository.type:jpa}' == 'jpa' and '${product.read.jdbc.queries:}' != ''")
+    public JdbcProductReadAdapter jdbcProductReadAdapter(
+            ProductJpaAdapter jpaAdapter,
+            DataSource dataSource,
+            @Value("${product.read.jdbc.queries}") Set<JdbcReadQuery> queries,
+            @Value("${product.export.fetch-size:500}") int streamFetchSize) {
+        return new JdbcProductReadAdapter(jpaAdapter, dataSource, queries, streamFetchSize);
+    }
+
+    /**
+     * Define el repositorio de productos en memoria.
+     * <p>
+     * Se activa con {@code product.repository.type=memory} y se marca como primario para que los
+     * servicios lo usen en lugar del adaptador JPA. Los datos no sobreviven a un reinicio; se
+     * pueden cargar al arrancar con {@code product.import.file}.
+     *
+     * @return Adaptador en memoria del puerto de repositorio
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "product.repository.type", havingValue = "memory")
+    public InMemoryProductRepositoryAdapter inMemoryProductRepositoryAdapter() {
+        return new InMemoryProductRepositoryAdapter();
+    }
+
+    /**
+     * Define el repositorio de productos sobre un fichero proyectado en memoria.
+     * <p>
+     * Se activa con {@code product.repository.type=mapped} y se marca como primario para que los
+     * servicios lo usen en lugar del adaptador JPA. Al arrancar solo se proyectan los ficheros y se
+     * reconstruye el índice de IDs; al parar se fuerzan a disco las páginas modificadas.
+     *
+     * @param directory Directorio del almacén
+     * @param chunkSize Tamaño de cada bloque proyectado de un almacén nuevo
+     * @return Adaptador del puerto de repositorio sobre el fichero proyectado
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(name = "product.repository.type", havingValue = "mapped")
+    public MappedProductRepositoryAdapter mappedProductRepositoryAdapter(
+            @Value("${product.repository.mapped.directory:product-store}") Path directory,
+            @Value("${product.repository.mapped.chunk-size:64MB}") DataSize chunkSize) {
+        return new MappedProductRepositoryAdapter(directory, Math.toIntExact(chunkSize.toBytes()));
+    }
+
+    /**
+     * Define el repositorio de productos sobre un log de solo escritura al final.
+     * <p>
+     * Se activa con {@code product.repository.type=log} y se marca como primario para que los
+     * servicios lo usen en lugar del adaptador JPA. Cada escritura se añade al log y se confirma
+     * con un {@code fsync} compartido; el índice se guarda periódicamente en una instantánea y los
+     * segmentos con muchos registros obsoletos se compactan en segundo plano.
+     *
+     * @param directory Directorio del log
+     * @param segmentSize Tamaño a partir del cual se abre un segmento nuevo
+     * @param fsync Si es true, cada escritura espera a estar en disco
+     * @param snapshotInterval Intervalo entre instantáneas del índice y compactaciones
+     * @param compactionMinGarbage Proporción mínima de bytes obsoletos para compactar un segmento
+     * @return Adaptador del puerto de repositorio sobre el log
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(name = "product.repository.type", havingValue = "log")
+    public LogStructuredProductRepositoryAdapter logStructuredProductRepositoryAdapter(
+            @Value("${product.repository.log.directory:product-log}") Path directory,
+            @Value("${product.repository.log.segment-size:64MB}") DataSize segmentSize,
+            @Value("${product.repository.log.fsync:true}") boolean fsync,
+            @Value("${product.repository.log.snapshot-interval:1m}") Duration snapshotInterval,
+            @Value("${product.repository.log.compaction-min-garbage:0.5}") double compactionMinGarbage) {
+        return new LogStructuredProductRepositoryAdapter(directory, segmentSize.toBytes(), fsync,
+                snapshotInterval, compactionMinGarbage);
+    }
+
+    /**
+     * Define el repositorio de productos repartido entre varias bases de datos.
+     * <p>
+     * Se activa con {@code product.repository.type=sharded} y se marca como primario para que los
+     * servicios lo usen en lugar del adaptador JPA. Crea un pool de conexiones y, si no existe, la
+     * tabla {@code products} en cada URL de {@code product.repository.sharded.urls}; el orden de
+     * las URLs no debe cambiar, porque el número de fragmento forma parte de los IDs. Si varias
+     * instancias escriben en los mismos fragmentos, cada una necesita su propio
+     * {@code product.repository.sharded.worker-id}.
+     *
+     * @param properties Configuración de la base de datos principal (driver y credenciales)
+     * @param urls URLs JDBC de los fragmentos
+     * @param timeout Tiempo máximo de respuesta de cada fragmento
+     * @param scatterThreads Hilos para las consultas en paralelo (0 para usar cuatro por fragmento)
+     * @param poolSize Número máximo de conexiones del pool de cada fragmento
+     * @param streamFetchSize Número de filas que el driver trae por cada viaje al recorrer el catálogo
+     * @param workerId Número de esta instancia, que forma parte de los IDs
+     * @return Adaptador del puerto de repositorio repartido
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(name = "product.repository.type", havingValue = "sharded")
+    public ShardedProductRepositoryAdapter shardedProductRepositoryAdapter(
+            DataSourceProperties properties,
+            @Value("${product.repository.sharded.urls}") List<String> urls,
+            @Value("${product.repository.sharded.timeout:2s}") Duration timeout,
+            @Value("${product.repository.sharded.scatter-threads:0}") int scatterThreads,
+            @Value("${product.repository.sharded.maximum-pool-size:10}") int poolSize,
+            @Value("${product.export.fetch-size:500}") int streamFetchSize,
+            @Value("${product.repository.sharded.worker-id:0}") int workerId) {
+        List<JdbcProductRepositoryAdapter> shards = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            pool.setPoolName("shard-" + i);
+            pool.setMaximumPoolSize(poolSize);
+            JdbcProductRepositoryAdapter shard = new JdbcProductRepositoryAdapter(pool, timeout, streamFetchSize);
+            shard.createTableIfMissing();
+            shards.add(shard);
+        }
+        int threads = scatterThreads > 0 ? scatterThreads : 4 * urls.size();
+        return new ShardedProductRepositoryAdapter(shards, timeout, threads, workerId);
+    }
+
+    /**
+     * Define el pool de conexiones de la base de datos principal cuando hay réplica de lectura.
+     * <p>
+     * Se configura con {@code spring.datasource.*} y {@code spring.datasource.hikari.*}, igual que el
+     * pool que crea Spring Boot cuando no hay réplica.
+     *
+     * @param properties Configuración de la base de datos principal
+     * @return Pool de conexiones de la base de datos principal
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnExpression("'${product.datasource.replica.url:}' != ''")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * Define el pool de conexiones de la réplica de lectura.
+     * <p>
+     * Usa el driver de la base de datos principal; el resto de opciones del pool se configuran con
+     * {@code product.datasource.replica.hikari.*}.
+     *
+     * @param properties Configuración de la base de datos principal (driver)
+     * @param replicaUrl URL JDBC de la réplica de lectura
+     * @param replicaUsername Usuario de la réplica
+     * @param replicaPassword Contraseña de la réplica
+     * @param replicaPoolSize Número máximo de conexiones del pool de la réplica
+     * @return Pool de conexiones de solo lectura de la réplica
+     */
+    @Bean
+    @ConfigurationProperties("product.datasource.replica.hikari")
+    @ConditionalOnExpression("'${product.datasource.replica.url:}' != ''")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${product.datasource.replica.url}") String replicaUrl,
+            @Value("${product.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${product.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${product.datasource.replica.maximum-pool-size:10}") int replicaPoolSize) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(replicaPoolSize);
+        return replica;
+    }
+
+    /**
+     * Define el origen de datos que separa lecturas y escrituras.
+     * <p>
+     * Se activa con {@code product.datasource.replica.url}. Reparte las conexiones entre el pool de
+     * la base de datos principal y el de la réplica de lectura: las transacciones de solo lectura
+     * (los casos de uso de consulta) usan la réplica y las demás la base de datos principal.
+     *
+     * @param primary Pool de la base de datos principal
+     * @param replica Pool de la réplica de lectura
+     * @return Origen de datos con enrutado de lecturas a la réplica
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${product.datasource.replica.url:}' != ''")
+    public ReadWriteRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    /**
+     * Limita las conexiones simultáneas de cada pool de conexiones de la aplicación cuando las
+     * peticiones se ejecutan en hilos virtuales.
+     * <p>
+     * Se activa con {@code spring.threads.virtual.enabled=true}. Decora cada pool (el bean
+     * {@code dataSource} de Spring Boot o, con réplica, {@code primaryDataSource} y
+     * {@code replicaDataSource}) con un semáforo de tantos permisos como conexiones tiene ese pool,
+     * para que las peticiones esperen aparcadas en orden de llegada en lugar de saturarlo. El
+     * enrutado a la réplica no se decora: cada lectura o escritura espera solo por el pool que usa.
+     *
+     * @param acquireTimeout Tiempo máximo de espera por una conexión
+     * @return Post-procesador que decora los pools de conexiones
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${product.datasource.connection-acquire-timeout:30s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (CONNECTION_POOL_BEANS.contains(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ReadWriteRoutingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maximumPoolSize(dataSource, beanName),
+                            acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static int maximumPoolSize(DataSource dataSource, String beanName) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the pool size of data source " + beanName, e);
+        }
+        throw new IllegalStateException("Data source " + beanName + " is not a Hikari pool; "
+                + "cannot size its connection permits");
+    }
+
+    /**
+     * Define el filtro que envía a la base de datos principal las lecturas de los clientes que
+     * acaban de escribir, mientras la réplica puede no tener aún sus cambios.
+     *
+     * @param maxReplicaLag Retraso máximo de la réplica respecto a la base de datos principal
+     * @return Filtro de lectura de las propias escrituras
+     */
+    @Bean
+    @ConditionalOnExpression("'${product.datasource.replica.url:}' != ''")
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${product.datasource.replica.max-lag:2s}") Duration maxReplicaLag) {
+        return new ReadYourWritesFilter(maxReplicaLag);
+    }
+
+    /**
+     * Define el filtro de control de admisión de la API de productos.
+     * <p>
+     * Se activa con {@code product.admission.enabled=true}. Lecturas y escrituras tienen límites
+     * de concurrencia separados que se ajustan según la latencia observada; lo que no cabe se
+     * rechaza con 503 y {@code Retry-After} en lugar de esperar en la cola de Tomcat.
+     *
+     * @param readInitialLimit Límite inicial de lecturas concurrentes
+     * @param readMaxLimit Límite máximo de lecturas concurrentes
+     * @param writeInitialLimit Límite inicial de escrituras concurrentes
+     * @param writeMaxLimit Límite máximo de escrituras concurrentes
+     * @param minLimit Límite mínimo de ambos
+     * @param expensiveShare Fracción del límite de lecturas disponible para las lecturas costosas
+     * @param retryAfter Tiempo que se indica al cliente que espere antes de reintentar
+     * @return Filtro de control de admisión
+     */
+    @Bean
+    @ConditionalOnProperty(name = "product.admission.enabled", havingValue = "true")
+    public AdmissionControlFilter admissionControlFilter(
+            @Value("${product.admission.read.initial-limit:50}") int readInitialLimit,
+            @Value("${product.admission.read.max-limit:400}") int readMaxLimit,
+            @Value("${product.admission.write.initial-limit:20}") int writeInitialLimit,
+            @Value("${product.admission.write.max-limit:100}") int writeMaxLimit,
+            @Value("${product.admission.min-limit:4}") int minLimit,
+            @Value("${product.admission.expensive-share:0.5}") double expensiveShare,
+            @Value("${product.admission.retry-after:1s}") Duration retryAfter) {
+        return new AdmissionControlFilter(
+                new AdaptiveConcurrencyLimit(readInitialLimit, minLimit, readMaxLimit),
+                new AdaptiveConcurrencyLimit(writeInitialLimit, minLimit, writeMaxLimit),
+                expensiveShare, retryAfter);
+    }
+
+    /**
+     * Define los contadores de stock en memoria para los productos más reservados.
+     * <p>
+     * Se activa con {@code product.stock.hot.enabled=true}. Las reservas de esos productos se
+     * descuentan en memoria, se anotan en un diario local y se vuelcan a la base de datos cada
+     * {@code flush-interval}. Solo debe activarse en una única instancia de la aplicación.
+     *
+     * @param repositoryPort Puerto de repositorio donde se vuelca el stock
+     * @param productIds IDs de los productos con contador en memoria
+     * @param flushInterval Intervalo entre volcados a la base de datos
+     * @param journalDirectory Directorio del diario de reservas
+     * @param forceOnAppend Si es true, cada reserva se fuerza a disco antes de confirmarse
+     * @return Contadores de stock en memoria
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "product.stock.hot.enabled", havingValue = "true")
+    public HotStockCounters hotStockCounters(
+            ProductRepositoryPort repositoryPort,
+            @Value("${product.stock.hot.product-ids:}") List<Long> productIds,
+            @Value("${product.stock.hot.flush-interval:1s}") Duration flushInterval,
+            @Value("${product.stock.hot.journal-dir:stock-journal}") Path journalDirectory,
+            @Value("${product.stock.hot.journal-force-on-append:false}") boolean forceOnAppend) {
+        return new HotStockCounters(repositoryPort, productIds, journalDirectory, flushInterval, forceOnAppend);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package org.alvarowau.productcatalog.infrastructure.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Desactiva la base de datos principal y JPA cuando el repositorio de productos no es JPA.
+ * <p>
+ * Con cualquier {@code product.repository.type} distinto de {@code jpa}, añade a
+ * {@code spring.autoconfigure.exclude} la configuración automática del pool de
+ * {@code spring.datasource.*} y de Hibernate, de modo que no se arrancan ni la base de datos H2,
+ * ni Hikari, ni el {@code EntityManagerFactory}. Los repositorios de Spring Data, el gestor de
+ * transacciones y los adaptadores JPA dependen de ellos y tampoco se crean. Las exclusiones ya
+ * configuradas se conservan.
+ */
+public class RepositoryTypeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    static final List<String> JPA_AUTO_CONFIGURATIONS = List.of(
+            DataSourceAutoConfiguration.class.getName(),
+            HibernateJpaAutoConfiguration.class.getName());
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("jpa".equals(environment.getProperty("product.repository.type", "jpa"))) {
+            return;
+        }
+        Set<String> excluded = new LinkedHashSet<>(List.of(Binder.get(environment)
+                .bind(EXCLUDE_PROPERTY, String[].class)
+                .orElse(new String[0])));
+        excluded.addAll(JPA_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("productRepositoryType",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excluded))));
+    }
+}
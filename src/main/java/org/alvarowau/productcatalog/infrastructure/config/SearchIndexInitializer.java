@@ -0,0 +1,43 @@
+package org.alvarowau.productcatalog.infrastructure.config;
+
+import org.alvarowau.productcatalog.application.port.in.SearchProductUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inicializador del índice de búsqueda de texto.
+ * <p>
+ * El índice vive en memoria, por lo que se construye a partir del repositorio
+ * cuando la aplicación termina de arrancar. Mientras tanto las búsquedas se
+ * resuelven con el índice parcial y las altas, modificaciones y bajas recibidas
+ * se incorporan al índice nuevo.
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private final SearchProductUseCase searchProductUseCase;
+
+    /**
+     * Constructor para inyección de dependencias.
+     *
+     * @param searchProductUseCase Caso de uso de búsqueda, responsable de reconstruir el índice
+     */
+    public SearchIndexInitializer(SearchProductUseCase searchProductUseCase) {
+        this.searchProductUseCase = searchProductUseCase;
+    }
+
+    /**
+     * Construye el índice de búsqueda al finalizar el arranque de la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        long start = System.nanoTime();
+        searchProductUseCase.rebuildSearchIndex();
+        log.info("Search index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,188 @@
+package org.alvarowau.productcatalog;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mide el rendimiento y la latencia p99 de {@code GET /product/{id}} con el modo de hilos actual.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pbenchmark}, una vez con hilos de plataforma y otra con hilos
+ * virtuales (esta última solo con Java 21 o superior). Para simular el tiempo de ida y vuelta a
+ * la base de datos, cada conexión tarda {@code benchmark.latency} en entregarse y la caché está
+ * desactivada. Parámetros ajustables con {@code -Dbenchmark.*}: {@code clients} (peticiones
+ * concurrentes), {@code requests}, {@code latency}, {@code tomcat-threads} y {@code pool-size}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "product.cache.enabled=false",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=${benchmark.tomcat-threads:50}",
+        "spring.datasource.hikari.maximum-pool-size=${benchmark.pool-size:100}"
+})
+class ThreadModeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeBenchmarkTest.class);
+    private static final int PRODUCTS = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepositoryPort repositoryPort;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${benchmark.clients:400}")
+    private int clients;
+
+    @Value("${benchmark.requests:20000}")
+    private int requests;
+
+    @Test
+    @DisplayName("Debería medir rendimiento y p99 de la lectura por ID")
+    void measureFindByIdThroughput() throws Exception {
+        assumeTrue(!virtualThreads || Runtime.version().feature() >= 21, "Los hilos virtuales requieren Java 21");
+
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product(null, "Producto " + i, "Descripción", BigDecimal.TEN, 100, Category.ELECTRONICS, Status.AVAILABLE));
+        }
+        List<Long> ids = repositoryPort.saveAll(products).stream().map(Product::getId).toList();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        run(client, ids, requests / 10);
+
+        // Act
+        long start = System.nanoTime();
+        long[] latencies = run(client, ids, requests);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert
+        Arrays.sort(latencies);
+        log.info("Benchmark {} threads: {} requests, {} clients, {} req/s, p50 {} ms, p99 {} ms",
+                virtualThreads ? "virtual" : "platform", requests, clients,
+                String.format("%.0f", requests / seconds),
+                String.format("%.2f", percentile(latencies, 0.50) / 1e6),
+                String.format("%.2f", percentile(latencies, 0.99) / 1e6));
+    }
+
+    /**
+     * Lanza {@code count} peticiones repartidas entre {@code clients} clientes concurrentes, cada uno
+     * con su siguiente petición al recibir la respuesta anterior, y devuelve la latencia de cada una.
+     */
+    private long[] run(HttpClient client, List<Long> ids, int count) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product/" + id)).build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        assertEquals(200, response.statusCode());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return latencies;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    @TestConfiguration
+    static class SimulatedLatencyConfig {
+
+        /**
+         * Retrasa la entrega de cada conexión, antes de cualquier otro decorador del origen de datos.
+         */
+        @Bean
+        static BeanPostProcessor simulatedLatencyDataSourcePostProcessor(
+                @Value("${benchmark.latency:5ms}") Duration latency) {
+            return new LatencyPostProcessor(latency);
+        }
+    }
+
+    private static final class LatencyPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Duration latency;
+
+        private LatencyPostProcessor(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(latency.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -2,8 +2,11 @@ package org.alvarowau.productcatalog.application.mapper;
 
 import org.alvarowau.productcatalog.domain.model.Category;
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
 import org.alvarowau.productcatalog.domain.model.Status;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
 import org.junit.jupiter.api.DisplayName;
@@ -131,6 +134,29 @@ class ProductApplicationMapperTest {
         assertEquals(Status.AVAILABLE, existingProduct.getStatus(), "El estado no debería cambiar"); // Sin cambio
     }
 
+    @Test
+    @DisplayName("Debería calcular solo los campos que cambia el UpdateProductRequest sin modificar el Product")
+    void shouldComputeProductChangesWithoutModifyingProduct() {
+        // Arrange
+        Product existingProduct = new Product(
+                2L, "Producto Original", "Descripción original", BigDecimal.valueOf(200.00), 20,
+                Category.ELECTRONICS, Status.AVAILABLE
+        );
+        UpdateProductRequest request = new UpdateProductRequest(
+                "Producto Original", null, BigDecimal.valueOf(180.00), 20, null, null
+        );
+
+        // Act
+        ProductChanges changes = ProductApplicationMapper.toProductChanges(existingProduct, request);
+
+        // Assert
+        assertEquals(BigDecimal.valueOf(180.00), changes.getPrice(), "Solo debería cambiar el precio");
+        assertNull(changes.getName(), "El nombre reenviado sin cambios no debería incluirse");
+        assertNull(changes.getStock(), "El stock reenviado sin cambios no debería incluirse");
+        assertTrue(BigDecimal.valueOf(200.00).compareTo(existingProduct.getPrice()) == 0,
+                "El producto original no debería modificarse");
+    }
+
     @Test
     @DisplayName("Debería manejar Product nulo en updateDomainProduct")
     void shouldHandleNullProductInUpdateDomainProduct() {
@@ -274,5 +300,30 @@ class ProductApplicationMapperTest {
         assertTrue(optionalResponse.isEmpty(), "La Optional de respuesta debería estar vacía");
     }
 
+    // --- Tests para toProductFilter (ProductFilterRequest -> ProductFilter) ---
 
+    @Test
+    @DisplayName("Debería mapear ProductFilterRequest a ProductFilter de dominio correctamente")
+    void shouldMapProductFilterRequestToDomainFilterCorrectly() {
+        // Arrange
+        ProductFilterRequest request = new ProductFilterRequest(
+                Category.ELECTRONICS, Status.AVAILABLE, BigDecimal.ONE, BigDecimal.valueOf(50), true
+        );
+
+        // Act
+        ProductFilter filter = ProductApplicationMapper.toProductFilter(request);
+
+        // Assert
+        assertEquals(Category.ELECTRONICS, filter.getCategory(), "La categoría no coincide");
+        assertEquals(Status.AVAILABLE, filter.getStatus(), "El estado no coincide");
+        assertEquals(BigDecimal.ONE, filter.getMinPrice(), "El precio mínimo no coincide");
+        assertEquals(BigDecimal.valueOf(50), filter.getMaxPrice(), "El precio máximo no coincide");
+        assertEquals(Boolean.TRUE, filter.getInStock(), "El criterio de stock no coincide");
+    }
+
+    @Test
+    @DisplayName("Debería devolver un filtro vacío si el ProductFilterRequest es nulo")
+    void shouldReturnEmptyFilterWhenFilterRequestIsNull() {
+        assertTrue(ProductApplicationMapper.toProductFilter(null).isEmpty(), "El filtro debería estar vacío");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.port.in.CreateProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.DeleteProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.GetProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.ReserveStockUseCase;
+import org.alvarowau.productcatalog.application.port.in.UpdateProductUseCase;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncProductServiceTest {
+
+    @Mock
+    private GetProductUseCase getProductUseCase;
+    @Mock
+    private CreateProductUseCase createProductUseCase;
+    @Mock
+    private UpdateProductUseCase updateProductUseCase;
+    @Mock
+    private DeleteProductUseCase deleteProductUseCase;
+    @Mock
+    private ReserveStockUseCase reserveStockUseCase;
+
+    private AsyncProductService service(Executor executor) {
+        return new AsyncProductService(getProductUseCase, createProductUseCase, updateProductUseCase,
+                deleteProductUseCase, reserveStockUseCase, executor);
+    }
+
+    @Test
+    @DisplayName("Debería resolver el caso de uso en un hilo del ejecutor")
+    void shouldRunUseCaseOnExecutorThread() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "async-test"));
+        Thread[] caller = new Thread[1];
+        when(getProductUseCase.getProductById(1L)).thenAnswer(invocation -> {
+            caller[0] = Thread.currentThread();
+            return Optional.of(new ProductResponse(1L, "P", "D", BigDecimal.TEN, 1, Category.HOME, Status.AVAILABLE));
+        });
+        try {
+            // Act
+            Optional<ProductResponse> result = service(executor).getProductById(1L).get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(1L, result.orElseThrow().getId());
+            assertEquals("async-test", caller[0].getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería completar con error, sin lanzarlo, cuando el caso de uso falla")
+    void shouldCompleteExceptionallyWhenUseCaseFails() {
+        // Arrange
+        when(reserveStockUseCase.reserveStock(eq(1L), any()))
+                .thenThrow(new IllegalArgumentException("quantity must be positive"));
+
+        // Act
+        CompletableFuture<StockReservationResult> result = service(Runnable::run).reserveStock(1L, new StockReservationRequest(0));
+
+        // Assert
+        ExecutionException error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @Test
+    @DisplayName("Debería completar con el rechazo del ejecutor sin ejecutar el caso de uso")
+    void shouldCompleteExceptionallyWhenExecutorRejects() {
+        // Arrange
+        Executor saturated = command -> {
+            throw new RejectedExecutionException("queue full");
+        };
+
+        // Act
+        CompletableFuture<Boolean> result = service(saturated).deleteProduct(1L);
+
+        // Assert
+        ExecutionException error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        verifyNoInteractions(deleteProductUseCase);
+    }
+}
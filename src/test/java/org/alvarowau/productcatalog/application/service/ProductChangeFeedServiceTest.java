@@ -0,0 +1,86 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.port.out.ProductChangeFeedPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangesResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeFeedServiceTest {
+
+    @Mock
+    private ProductChangeFeedPort productChangeFeedPort;
+
+    @Test
+    @DisplayName("Debería convertir los cambios y tomar como secuencia siguiente la del último")
+    void shouldMapChangesAndUseLastSequenceAsNextSince() {
+        // Arrange
+        Product product = new Product(3L, "Lámpara", "LED", BigDecimal.TEN, 4, Category.HOME, Status.AVAILABLE, 2L);
+        when(productChangeFeedPort.findChangesAfter(10L, 50)).thenReturn(List.of(
+                new ProductChangeEvent(11L, 3L, ProductChangeType.UPSERT, product),
+                new ProductChangeEvent(14L, 8L, ProductChangeType.DELETE, null)));
+        ProductChangeFeedService service = new ProductChangeFeedService(productChangeFeedPort);
+
+        // Act
+        ProductChangesResponse response = service.getChanges(10L, 50);
+
+        // Assert
+        assertEquals(14L, response.getNextSince());
+        assertEquals(2, response.getChanges().size());
+        assertEquals(ProductChangeType.UPSERT, response.getChanges().get(0).getType());
+        assertEquals("Lámpara", response.getChanges().get(0).getProduct().getName());
+        assertEquals(2L, response.getChanges().get(0).getProduct().getVersion());
+        assertEquals(8L, response.getChanges().get(1).getProductId());
+        assertNull(response.getChanges().get(1).getProduct());
+    }
+
+    @Test
+    @DisplayName("Debería conservar la secuencia recibida si no hay cambios nuevos")
+    void shouldKeepSinceWhenThereAreNoChanges() {
+        // Arrange
+        when(productChangeFeedPort.findChangesAfter(25L, 100)).thenReturn(List.of());
+        ProductChangeFeedService service = new ProductChangeFeedService(productChangeFeedPort);
+
+        // Act
+        ProductChangesResponse response = service.getChanges(25L, 100);
+
+        // Assert
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(25L, response.getNextSince());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una secuencia negativa o un límite fuera de rango")
+    void shouldRejectInvalidSinceOrLimit() {
+        // Arrange
+        ProductChangeFeedService service = new ProductChangeFeedService(productChangeFeedPort);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.getChanges(-1L, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getChanges(0L, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getChanges(0L, ProductChangeFeedService.MAX_CHANGES_PAGE_SIZE + 1));
+        verify(productChangeFeedPort, never()).findChangesAfter(anyLong(), anyInt());
+    }
+}
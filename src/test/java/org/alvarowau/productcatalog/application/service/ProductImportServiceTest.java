@@ -0,0 +1,242 @@
+package org.alvarowau.productcatalog.application.service;
+
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkItemResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductImportResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepositoryPort productRepositoryPort;
+
+    @Mock
+    private ProductSearchPort productSearchPort;
+
+    @Test
+    @DisplayName("Debería guardar por bloques los registros válidos y contar los inválidos")
+    void shouldImportValidRecordsInBatches() {
+        // Arrange
+        List<String> records = IntStream.rangeClosed(1, 25)
+                .mapToObj(i -> i % 10 == 0 ? "" : "Producto " + i + ";" + (i % 3))
+                .collect(Collectors.toList());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        stubSaveAllAssigningIds(batchSizes);
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                3, 4, 2, 100, 1_000);
+
+        // Act
+        ProductImportResponse response = service.importProducts(new ListSource(records), progress -> { });
+
+        // Assert
+        assertEquals(25, response.getRead());
+        assertEquals(23, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertNull(response.getAbortReason());
+        assertEquals(List.of(10, 20), response.getErrors().stream().map(ProductBulkItemResult::getIndex).sorted().toList());
+        assertEquals("name must not be blank", response.getErrors().get(0).getError());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4), "Ningún lote debería superar el tamaño de bloque");
+        verify(productSearchPort, times(23)).index(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Debería normalizar los productos con las reglas de la entidad")
+    void shouldNormalizeRecordsWithProductRules() {
+        // Arrange
+        List<Product> saved = Collections.synchronizedList(new ArrayList<>());
+        when(productRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            saved.addAll(products);
+            return products;
+        });
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                1, 10, 1, 100, 1_000);
+
+        // Act
+        service.importProducts(new ListSource(List.of("Agotado;0")), progress -> { });
+
+        // Assert
+        assertEquals(1, saved.size());
+        assertEquals(Status.OUT_OF_STOCK, saved.get(0).getStatus());
+        assertEquals("No disponible", saved.get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Debería limitar los errores devueltos sin dejar de contarlos")
+    void shouldCapReportedErrors() {
+        // Arrange
+        List<String> records = Collections.nCopies(50, "");
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                2, 8, 2, 5, 1_000);
+
+        // Act
+        ProductImportResponse response = service.importProducts(new ListSource(records), progress -> { });
+
+        // Assert
+        assertEquals(50, response.getFailed());
+        assertEquals(5, response.getErrors().size());
+        verify(productRepositoryPort, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Debería marcar como fallidos los registros de un bloque que no se puede guardar")
+    void shouldFailRecordsOfUnsavedBatch() {
+        // Arrange
+        when(productRepositoryPort.saveAll(anyList())).thenThrow(new RuntimeException("DB error"));
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                1, 10, 1, 100, 1_000);
+
+        // Act
+        ProductImportResponse response = service.importProducts(new ListSource(List.of("A;1", "B;2")), progress -> { });
+
+        // Assert
+        assertEquals(0, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getErrors().get(0).getError().contains("DB error"));
+    }
+
+    @Test
+    @DisplayName("Debería conservar lo importado e informar del motivo si la lectura falla")
+    void shouldReportAbortWhenInputFails() {
+        // Arrange
+        stubSaveAllAssigningIds(new ArrayList<>());
+        ProductRecordSource failing = new ListSource(List.of("A;1", "B;2")) {
+            private int calls;
+
+            @Override
+            public String nextRecord() throws IOException {
+                if (++calls > 2) {
+                    throw new IOException("connection reset");
+                }
+                return super.nextRecord();
+            }
+        };
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                2, 10, 1, 100, 1_000);
+
+        // Act
+        ProductImportResponse response = service.importProducts(failing, progress -> { });
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertNotNull(response.getAbortReason());
+        assertTrue(response.getAbortReason().contains("connection reset"));
+    }
+
+    @Test
+    @DisplayName("Debería terminar e informar del motivo si la validación falla con un Error")
+    void shouldReportAbortWhenValidationThrowsError() {
+        // Arrange
+        stubSaveAllAssigningIds(new ArrayList<>());
+        List<String> records = IntStream.rangeClosed(1, 20).mapToObj(i -> "P" + i + ";1").collect(Collectors.toList());
+        ProductRecordSource failing = new ListSource(records) {
+            @Override
+            public CreateProductRequest decode(String record) {
+                if (record.equals("P7;1")) {
+                    throw new StackOverflowError("decoder blew up");
+                }
+                return super.decode(record);
+            }
+        };
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                2, 5, 1, 100, 1_000);
+
+        // Act
+        ProductImportResponse response = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> service.importProducts(failing, progress -> { }));
+
+        // Assert
+        assertEquals(15, response.getCreated());
+        assertNotNull(response.getAbortReason());
+        assertTrue(response.getAbortReason().contains("decoder blew up"));
+    }
+
+    @Test
+    @DisplayName("Debería informar del progreso cada número configurado de registros")
+    void shouldReportProgress() {
+        // Arrange
+        stubSaveAllAssigningIds(new ArrayList<>());
+        List<Long> reported = new ArrayList<>();
+        List<String> records = IntStream.rangeClosed(1, 30).mapToObj(i -> "P" + i + ";1").collect(Collectors.toList());
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                1, 5, 1, 100, 10);
+
+        // Act
+        service.importProducts(new ListSource(records), progress -> reported.add(progress.getRead()));
+
+        // Assert
+        assertEquals(List.of(10L, 20L, 30L), reported);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un origen nulo")
+    void shouldRejectNullSource() {
+        // Arrange
+        ProductImportService service = new ProductImportService(productRepositoryPort, productSearchPort,
+                1, 10, 1, 100, 1_000);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.importProducts(null, progress -> { }));
+    }
+
+    private void stubSaveAllAssigningIds(List<Integer> batchSizes) {
+        AtomicLong ids = new AtomicLong();
+        when(productRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            batchSizes.add(products.size());
+            products.forEach(product -> product.setId(ids.incrementAndGet()));
+            return products;
+        });
+    }
+
+    /**
+     * Origen de prueba: cada registro es {@code nombre;stock}.
+     */
+    private static class ListSource implements ProductRecordSource {
+
+        private final Iterator<String> records;
+
+        ListSource(List<String> records) {
+            this.records = records.iterator();
+        }
+
+        @Override
+        public String nextRecord() throws IOException {
+            return records.hasNext() ? records.next() : null;
+        }
+
+        @Override
+        public CreateProductRequest decode(String record) {
+            String[] fields = record.split(";", -1);
+            CreateProductRequest request = new CreateProductRequest();
+            request.setName(fields[0]);
+            request.setStock(fields.length > 1 ? Integer.valueOf(fields[1]) : null);
+            return request;
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package org.alvarowau.productcatalog.application.service;
 
 import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.application.port.out.ProductSearchPort;
+import org.alvarowau.productcatalog.domain.exception.ProductVersionConflictException;
 import org.alvarowau.productcatalog.domain.model.Category;
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
 import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBatchResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductDeleteResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductPageResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,12 +28,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +51,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepositoryPort productRepositoryPort;
 
+    @Mock
+    private ProductSearchPort productSearchPort;
+
     @InjectMocks
     private ProductService productService;
 
@@ -145,6 +169,340 @@ class ProductServiceTest {
         verify(productRepositoryPort, times(1)).findAll();
     }
 
+    // --- Tests para getProductPage ---
+    @Test
+    @DisplayName("Debería devolver una página con cursor siguiente si hay más productos")
+    void shouldReturnPageWithNextCursorWhenMoreProductsExist() {
+        // Arrange
+        List<Product> products = Arrays.asList(
+                new Product(1L, "P1", "D1", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product(2L, "P2", "D2", BigDecimal.TEN, 2, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product(3L, "P3", "D3", BigDecimal.TEN, 3, Category.ELECTRONICS, Status.AVAILABLE)
+        );
+        // Se solicitan limit + 1 productos para detectar si existe una página siguiente
+        when(productRepositoryPort.findPage(null, 3)).thenReturn(products);
+
+        // Act
+        ProductPageResponse page = productService.getProductPage(null, 2);
+
+        // Assert
+        assertEquals(2, page.getContent().size(), "La página debería contener 2 productos");
+        assertEquals(2L, page.getContent().get(1).getId(), "El último producto de la página no coincide");
+        assertNotNull(page.getNextCursor(), "Debería existir un cursor siguiente");
+        assertEquals(2L, ProductService.decodeCursor(page.getNextCursor()), "El cursor debería apuntar al último ID");
+    }
+
+    @Test
+    @DisplayName("Debería continuar desde el cursor y no devolver cursor en la última página")
+    void shouldContinueFromCursorAndReturnNullCursorOnLastPage() {
+        // Arrange
+        String cursor = ProductService.encodeCursor(2L);
+        when(productRepositoryPort.findPage(2L, 3)).thenReturn(List.of(
+                new Product(3L, "P3", "D3", BigDecimal.TEN, 3, Category.BOOKS, Status.AVAILABLE)
+        ));
+
+        // Act
+        ProductPageResponse page = productService.getProductPage(cursor, 2);
+
+        // Assert
+        assertEquals(1, page.getContent().size(), "La última página debería contener 1 producto");
+        assertNull(page.getNextCursor(), "No debería haber cursor en la última página");
+        verify(productRepositoryPort, times(1)).findPage(2L, 3);
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException con cursor o límite inválidos")
+    void shouldThrowExceptionWithInvalidCursorOrLimit() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage("%%%", 10));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductPage(null, ProductService.MAX_PAGE_SIZE + 1));
+        verify(productRepositoryPort, never()).findPage(any(), anyInt());
+    }
+
+    // --- Tests para getProductsByFilter ---
+    @Test
+    @DisplayName("Debería delegar el filtro al repositorio y devolver la página filtrada")
+    void shouldDelegateFilterToRepositoryAndReturnPage() {
+        // Arrange
+        ProductFilterRequest request = new ProductFilterRequest(
+                Category.ELECTRONICS, Status.AVAILABLE, null, BigDecimal.valueOf(50), null
+        );
+        ProductFilter expectedFilter = new ProductFilter(
+                Category.ELECTRONICS, Status.AVAILABLE, null, BigDecimal.valueOf(50), null
+        );
+        when(productRepositoryPort.findByFilter(expectedFilter, null, 11)).thenReturn(List.of(
+                new Product(4L, "Cable", "USB-C", BigDecimal.valueOf(9.99), 40, Category.ELECTRONICS, Status.AVAILABLE)
+        ));
+
+        // Act
+        ProductPageResponse page = productService.getProductsByFilter(request, null, 10);
+
+        // Assert
+        assertEquals(1, page.getContent().size(), "Debería devolver 1 producto filtrado");
+        assertEquals("Cable", page.getContent().get(0).getName());
+        assertNull(page.getNextCursor(), "No debería haber cursor siguiente");
+        verify(productRepositoryPort, times(1)).findByFilter(expectedFilter, null, 11);
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException si el precio mínimo supera al máximo")
+    void shouldThrowExceptionWhenMinPriceIsGreaterThanMaxPrice() {
+        ProductFilterRequest request = new ProductFilterRequest(
+                null, null, BigDecimal.valueOf(100), BigDecimal.valueOf(50), null
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByFilter(request, null, 10));
+        verify(productRepositoryPort, never()).findByFilter(any(), any(), anyInt());
+    }
+
+    // --- Tests para createProducts ---
+    @Test
+    @DisplayName("Debería crear productos en bloque e informar del resultado de cada elemento")
+    void shouldCreateProductsInBulkWithPerItemResults() {
+        // Arrange
+        List<CreateProductRequest> requests = new ArrayList<>(List.of(
+                new CreateProductRequest("A", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE),
+                new CreateProductRequest(" ", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE),
+                new CreateProductRequest("B", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE)));
+        requests.add(null);
+        when(productRepositoryPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            long id = 100;
+            List<Product> saved = new ArrayList<>();
+            for (Product product : products) {
+                saved.add(new Product(id++, product.getName(), product.getDescription(), product.getPrice(),
+                        product.getStock(), product.getCategory(), product.getStatus()));
+            }
+            return saved;
+        });
+
+        // Act
+        ProductBulkResponse response = productService.createProducts(requests);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(100L, response.getResults().get(0).getId());
+        assertNotNull(response.getResults().get(1).getError(), "Un nombre en blanco debería rechazarse");
+        assertEquals(101L, response.getResults().get(2).getId());
+        assertNotNull(response.getResults().get(3).getError(), "Un elemento nulo debería rechazarse");
+        verify(productRepositoryPort, times(1)).saveAll(anyList());
+        verify(productSearchPort, times(2)).index(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Debería marcar como fallidos solo los elementos del bloque que no se pudo guardar")
+    void shouldMarkOnlyFailedChunkItemsAsFailed() {
+        // Arrange
+        List<CreateProductRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ProductService.BULK_CHUNK_SIZE + 1; i++) {
+            requests.add(new CreateProductRequest("P" + i, "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE));
+        }
+        when(productRepositoryPort.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("constraint violation"))
+                .thenAnswer(invocation -> List.of(new Product(
+                        5000L, "P", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE)));
+
+        // Act
+        ProductBulkResponse response = productService.createProducts(requests);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(ProductService.BULK_CHUNK_SIZE, response.getFailed());
+        assertNull(response.getResults().get(0).getId());
+        assertEquals(5000L, response.getResults().get(ProductService.BULK_CHUNK_SIZE).getId());
+        verify(productRepositoryPort, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException si la creación masiva está vacía")
+    void shouldThrowExceptionWhenBulkRequestIsEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> productService.createProducts(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> productService.createProducts(null));
+        verify(productRepositoryPort, never()).saveAll(anyList());
+    }
+
+    // --- Tests para deleteProductsByIds y deleteProductsByFilter ---
+    @Test
+    @DisplayName("Debería eliminar por bloques los productos indicados y retirarlos del índice")
+    void shouldDeleteProductsByIdsInChunks() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, ProductService.DELETE_CHUNK_SIZE + 1).boxed().toList();
+        when(productRepositoryPort.deleteAllById(anyList())).thenReturn(ProductService.DELETE_CHUNK_SIZE, 0);
+
+        // Act
+        ProductDeleteResponse response = productService.deleteProductsByIds(ids);
+
+        // Assert
+        assertEquals(ProductService.DELETE_CHUNK_SIZE, response.getDeleted());
+        verify(productRepositoryPort, times(2)).deleteAllById(anyList());
+        verify(productRepositoryPort, never()).deleteById(any());
+        verify(productSearchPort, times(ids.size())).remove(any());
+    }
+
+    @Test
+    @DisplayName("Debería eliminar por bloques los productos que cumplen el filtro hasta agotarlos")
+    void shouldDeleteProductsByFilterInChunks() {
+        // Arrange
+        ProductFilterRequest request = new ProductFilterRequest(Category.TOYS, Status.DISCONTINUED, null, null, null);
+        List<Long> firstChunk = LongStream.rangeClosed(1, ProductService.DELETE_CHUNK_SIZE).boxed().toList();
+        long lastId = ProductService.DELETE_CHUNK_SIZE;
+        when(productRepositoryPort.findIdsByFilter(any(ProductFilter.class), eq(null), eq(ProductService.DELETE_CHUNK_SIZE)))
+                .thenReturn(firstChunk);
+        when(productRepositoryPort.findIdsByFilter(any(ProductFilter.class), eq(lastId), eq(ProductService.DELETE_CHUNK_SIZE)))
+                .thenReturn(List.of(lastId + 5));
+        when(productRepositoryPort.deleteAllById(firstChunk)).thenReturn(ProductService.DELETE_CHUNK_SIZE);
+        when(productRepositoryPort.deleteAllById(List.of(lastId + 5))).thenReturn(1);
+
+        // Act
+        ProductDeleteResponse response = productService.deleteProductsByFilter(request);
+
+        // Assert
+        assertEquals(ProductService.DELETE_CHUNK_SIZE + 1, response.getDeleted());
+        verify(productRepositoryPort, times(2)).findIdsByFilter(any(ProductFilter.class), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería exigir categoría o estado para eliminar por filtro")
+    void shouldRequireCategoryOrStatusToDeleteByFilter() {
+        ProductFilterRequest onlyPrice = new ProductFilterRequest(null, null, null, BigDecimal.TEN, null);
+
+        assertThrows(IllegalArgumentException.class, () -> productService.deleteProductsByFilter(null));
+        assertThrows(IllegalArgumentException.class, () -> productService.deleteProductsByFilter(onlyPrice));
+        verify(productRepositoryPort, never()).findIdsByFilter(any(), any(), anyInt());
+        verify(productRepositoryPort, never()).deleteAllById(any());
+    }
+
+    // --- Tests para reserveStock ---
+    @Test
+    @DisplayName("Debería delegar la reserva de stock en el repositorio sin leer el producto")
+    void shouldReserveStockThroughRepository() {
+        // Arrange
+        when(productRepositoryPort.reserveStock(1L, 3)).thenReturn(StockReservationResult.RESERVED);
+
+        // Act
+        StockReservationResult result = productService.reserveStock(1L, new StockReservationRequest(3));
+
+        // Assert
+        assertEquals(StockReservationResult.RESERVED, result);
+        verify(productRepositoryPort, never()).findById(any());
+        verify(productRepositoryPort, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException si la cantidad a reservar no es positiva")
+    void shouldRejectNonPositiveReservationQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(1L, new StockReservationRequest(0)));
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(1L, new StockReservationRequest(null)));
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(null, new StockReservationRequest(1)));
+        verify(productRepositoryPort, never()).reserveStock(any(), anyInt());
+    }
+
+    // --- Tests para getProductsByIds ---
+    @Test
+    @DisplayName("Debería devolver los productos en el orden solicitado e informar de los IDs inexistentes")
+    void shouldReturnProductsInRequestedOrderAndReportMissingIds() {
+        // Arrange
+        when(productRepositoryPort.findAllById(new LinkedHashSet<>(List.of(5L, 2L, 8L)))).thenReturn(List.of(
+                new Product(2L, "P2", "D", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE),
+                new Product(5L, "P5", "D", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE)));
+
+        // Act
+        ProductBatchResponse response = productService.getProductsByIds(List.of(5L, 2L, 8L, 5L));
+
+        // Assert
+        assertEquals(List.of(5L, 2L), response.getProducts().stream().map(ProductResponse::getId).toList(),
+                "Los productos deberían seguir el orden de la petición, sin repetir IDs");
+        assertEquals(List.of(8L), response.getMissingIds());
+        verify(productRepositoryPort, times(1)).findAllById(any());
+        verify(productRepositoryPort, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException si la lista de IDs está vacía, contiene nulos o es demasiado larga")
+    void shouldThrowExceptionWhenIdListIsInvalid() {
+        List<Long> withNull = new ArrayList<>(List.of(1L));
+        withNull.add(null);
+        List<Long> tooMany = LongStream.rangeClosed(1, ProductService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(null));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(withNull));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(tooMany));
+        verify(productRepositoryPort, never()).findAllById(any());
+    }
+
+    // --- Tests para searchProducts ---
+    @Test
+    @DisplayName("Debería devolver los productos encontrados en el orden de relevancia del índice")
+    void shouldReturnSearchResultsInIndexRelevanceOrder() {
+        // Arrange
+        when(productSearchPort.search("altavoz", SearchMode.OR, 10)).thenReturn(List.of(7L, 3L, 99L));
+        when(productRepositoryPort.findAllById(List.of(7L, 3L, 99L))).thenReturn(List.of(
+                new Product(3L, "Radio", "Con altavoz", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product(7L, "Altavoz", "D", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE)));
+
+        // Act
+        List<ProductResponse> results = productService.searchProducts("altavoz", SearchMode.OR, 10);
+
+        // Assert
+        assertEquals(2, results.size(), "Los IDs inexistentes en el repositorio deberían descartarse");
+        assertEquals(7L, results.get(0).getId());
+        assertEquals(3L, results.get(1).getId());
+        verify(productRepositoryPort, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debería lanzar IllegalArgumentException si la consulta de búsqueda está vacía")
+    void shouldThrowExceptionWhenSearchQueryIsBlank() {
+        assertThrows(IllegalArgumentException.class, () -> productService.searchProducts("  ", SearchMode.AND, 10));
+        verify(productSearchPort, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería indexar el producto creado y retirar del índice el producto eliminado")
+    void shouldIndexCreatedProductAndRemoveDeletedProduct() {
+        // Arrange
+        Product savedProduct = new Product(
+                5L, "Lámpara", "LED", BigDecimal.TEN, 3, Category.HOME, Status.AVAILABLE
+        );
+        when(productRepositoryPort.save(any(Product.class))).thenReturn(savedProduct);
+        when(productRepositoryPort.deleteById(5L)).thenReturn(true);
+
+        // Act
+        productService.createProduct(new CreateProductRequest(
+                "Lámpara", "LED", BigDecimal.TEN, 3, Category.HOME, Status.AVAILABLE));
+        productService.deleteProduct(5L);
+
+        // Assert
+        verify(productSearchPort, times(1)).index(savedProduct);
+        verify(productSearchPort, times(1)).remove(5L);
+    }
+
+    // --- Tests para exportProducts ---
+    @Test
+    @DisplayName("Debería exportar todos los productos en orden y cerrar el flujo")
+    void shouldExportAllProductsInOrderAndCloseStream() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<Product> products = Stream.of(
+                new Product(1L, "P1", "D1", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product(2L, "P2", "D2", BigDecimal.valueOf(20), 2, Category.BOOKS, Status.AVAILABLE)
+        ).onClose(() -> closed.set(true));
+        when(productRepositoryPort.streamAll()).thenReturn(products);
+        List<ProductResponse> exported = new ArrayList<>();
+
+        // Act
+        productService.exportProducts(exported::add);
+
+        // Assert
+        assertEquals(2, exported.size(), "Deberían exportarse 2 productos");
+        assertEquals("P1", exported.get(0).getName());
+        assertEquals("P2", exported.get(1).getName());
+        assertTrue(closed.get(), "El flujo del repositorio debería cerrarse al terminar");
+    }
+
     // --- Tests para updateProduct ---
     @Test
     @DisplayName("Debería actualizar un producto existente exitosamente")
@@ -157,23 +515,70 @@ class ProductServiceTest {
         UpdateProductRequest updateRequest = new UpdateProductRequest(
                 "New Name", "New Desc", BigDecimal.valueOf(20.00), 20, Category.ELECTRONICS, Status.OUT_OF_STOCK
         );
-        Product updatedProduct = new Product( // El producto que el repositorio devolverá después de actualizar
-                productId, "New Name", "New Desc", BigDecimal.valueOf(20.00), 20, Category.ELECTRONICS, Status.OUT_OF_STOCK
-        );
-
         // Configurar el mock:
         when(productRepositoryPort.findById(productId)).thenReturn(Optional.of(existingProduct));
-        when(productRepositoryPort.save(any(Product.class))).thenReturn(updatedProduct);
+        when(productRepositoryPort.updateFields(eq(productId), any(), any(ProductChanges.class))).thenReturn(true);
 
         // Act
         ProductResponse response = productService.updateProduct(productId, updateRequest);
 
         // Assert
         assertNotNull(response, "La respuesta no debería ser nula");
-        assertEquals(updatedProduct.getName(), response.getName(), "El nombre no se actualizó correctamente");
-        assertEquals(updatedProduct.getStock(), response.getStock(), "El stock no se actualizó correctamente");
+        assertEquals("New Name", response.getName(), "El nombre no se actualizó correctamente");
+        assertEquals(20, response.getStock(), "El stock no se actualizó correctamente");
         verify(productRepositoryPort, times(1)).findById(productId);
-        verify(productRepositoryPort, times(1)).save(any(Product.class));
+        verify(productRepositoryPort, times(1)).updateFields(eq(productId), any(), argThat(changes ->
+                "New Name".equals(changes.getName()) && changes.getStock() == 20));
+        verify(productRepositoryPort, never()).save(any(Product.class));
+        verify(productSearchPort).index(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Debería no escribir nada si la actualización no cambia ningún campo")
+    void shouldSkipWriteWhenUpdateChangesNothing() {
+        // Arrange
+        Long productId = 1L;
+        Product existingProduct = new Product(
+                productId, "Name", "Desc", new BigDecimal("10.00"), 10, Category.BOOKS, Status.AVAILABLE
+        );
+        UpdateProductRequest sameData = new UpdateProductRequest(
+                "Name", "Desc", new BigDecimal("10.0"), 10, Category.BOOKS, Status.AVAILABLE
+        );
+        when(productRepositoryPort.findById(productId)).thenReturn(Optional.of(existingProduct));
+
+        // Act
+        ProductResponse response = productService.updateProduct(productId, sameData);
+
+        // Assert
+        assertEquals("Name", response.getName());
+        verify(productRepositoryPort, never()).updateFields(any(), any(), any());
+        verify(productRepositoryPort, never()).save(any(Product.class));
+        verify(productSearchPort, never()).index(any());
+    }
+
+    @Test
+    @DisplayName("Debería escribir solo el precio y no reindexar si solo cambia el precio")
+    void shouldWriteOnlyChangedPriceWithoutReindexing() {
+        // Arrange
+        Long productId = 1L;
+        Product existingProduct = new Product(
+                productId, "Name", "Desc", new BigDecimal("10.00"), 10, Category.BOOKS, Status.AVAILABLE
+        );
+        UpdateProductRequest priceSync = new UpdateProductRequest(
+                "Name", "Desc", new BigDecimal("12.50"), 10, Category.BOOKS, Status.AVAILABLE
+        );
+        when(productRepositoryPort.findById(productId)).thenReturn(Optional.of(existingProduct));
+        when(productRepositoryPort.updateFields(eq(productId), any(), any(ProductChanges.class))).thenReturn(true);
+
+        // Act
+        ProductResponse response = productService.updateProduct(productId, priceSync);
+
+        // Assert
+        assertEquals(new BigDecimal("12.50"), response.getPrice());
+        verify(productRepositoryPort).updateFields(eq(productId), any(), argThat(changes ->
+                new BigDecimal("12.50").equals(changes.getPrice()) && changes.getName() == null
+                        && changes.getStock() == null && changes.getStatus() == null));
+        verify(productSearchPort, never()).index(any());
     }
 
     @Test
@@ -194,6 +599,58 @@ class ProductServiceTest {
         verify(productRepositoryPort, never()).save(any(Product.class)); // Asegurarse de que save nunca fue llamado
     }
 
+    @Test
+    @DisplayName("Debería devolver la nueva versión tras actualizar con la versión esperada")
+    void shouldUpdateWithExpectedVersionAndReturnNextVersion() {
+        // Arrange
+        Product existingProduct = new Product(1L, "Name", "Desc", BigDecimal.TEN, 10, Category.BOOKS, Status.AVAILABLE, 3L);
+        UpdateProductRequest request = new UpdateProductRequest("Other", null, null, null, null, null);
+        when(productRepositoryPort.findById(1L)).thenReturn(Optional.of(existingProduct));
+        when(productRepositoryPort.updateFields(eq(1L), eq(3L), any(ProductChanges.class))).thenReturn(true);
+
+        // Act
+        ProductResponse response = productService.updateProduct(1L, request, 3L);
+
+        // Assert
+        assertEquals(4L, response.getVersion());
+        assertEquals("Other", response.getName());
+    }
+
+    @Test
+    @DisplayName("Debería fallar la precondición si la versión esperada no es la actual")
+    void shouldFailPreconditionWhenExpectedVersionDiffers() {
+        // Arrange
+        Product existingProduct = new Product(1L, "Name", "Desc", BigDecimal.TEN, 10, Category.BOOKS, Status.AVAILABLE, 4L);
+        UpdateProductRequest request = new UpdateProductRequest("Other", null, null, null, null, null);
+        when(productRepositoryPort.findById(1L)).thenReturn(Optional.of(existingProduct));
+
+        // Act
+        ProductVersionConflictException exception = assertThrows(ProductVersionConflictException.class,
+                () -> productService.updateProduct(1L, request, 3L));
+
+        // Assert
+        assertTrue(exception.isPreconditionFailed());
+        verify(productRepositoryPort, never()).updateFields(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debería señalar un conflicto si el producto cambia entre la lectura y la escritura")
+    void shouldReportConflictWhenProductChangesDuringUpdate() {
+        // Arrange
+        Product existingProduct = new Product(1L, "Name", "Desc", BigDecimal.TEN, 10, Category.BOOKS, Status.AVAILABLE, 4L);
+        UpdateProductRequest request = new UpdateProductRequest("Other", null, null, null, null, null);
+        when(productRepositoryPort.findById(1L)).thenReturn(Optional.of(existingProduct));
+        when(productRepositoryPort.updateFields(eq(1L), eq(4L), any(ProductChanges.class))).thenReturn(false);
+
+        // Act
+        ProductVersionConflictException exception = assertThrows(ProductVersionConflictException.class,
+                () -> productService.updateProduct(1L, request));
+
+        // Assert
+        assertFalse(exception.isPreconditionFailed());
+        verify(productSearchPort, never()).index(any());
+    }
+
     // --- Tests para deleteProduct ---
     @Test
     @DisplayName("Debería eliminar un producto exitosamente")
@@ -0,0 +1,60 @@
+package org.alvarowau.productcatalog.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+class ProductChangesTest {
+
+    private final Product current = new Product(
+            1L, "Auriculares", "Auriculares inalámbricos", new BigDecimal("45.50"), 3,
+            Category.ELECTRONICS, Status.AVAILABLE
+    );
+
+    @Test
+    @DisplayName("Debería no detectar cambios entre estados equivalentes, aunque el precio cambie de escala")
+    void deberiaNoDetectarCambiosEntreEstadosEquivalentes() {
+        Product same = new Product(
+                1L, "Auriculares", "Auriculares inalámbricos", new BigDecimal("45.5000"), 3,
+                Category.ELECTRONICS, Status.AVAILABLE
+        );
+
+        ProductChanges changes = ProductChanges.between(current, same);
+
+        assertTrue(changes.isEmpty(), "No debería haber cambios");
+        assertFalse(changes.affectsSearchText());
+    }
+
+    @Test
+    @DisplayName("Debería contener solo los campos modificados")
+    void deberiaContenerSoloLosCamposModificados() {
+        Product updated = new Product(
+                1L, "Auriculares", "Auriculares inalámbricos", new BigDecimal("39.99"), 3,
+                Category.ELECTRONICS, Status.DISCONTINUED
+        );
+
+        ProductChanges changes = ProductChanges.between(current, updated);
+
+        assertFalse(changes.isEmpty());
+        assertEquals(new BigDecimal("39.99"), changes.getPrice());
+        assertEquals(Status.DISCONTINUED, changes.getStatus());
+        assertNull(changes.getName());
+        assertNull(changes.getDescription());
+        assertNull(changes.getStock());
+        assertNull(changes.getCategory());
+        assertFalse(changes.affectsSearchText(), "El precio y el estado no se indexan para la búsqueda");
+    }
+
+    @Test
+    @DisplayName("Debería indicar que afecta a la búsqueda si cambia el nombre o la descripción")
+    void deberiaIndicarQueAfectaALaBusquedaSiCambiaElTexto() {
+        Product renamed = new Product(
+                1L, "Cascos", "Auriculares inalámbricos", new BigDecimal("45.50"), 3,
+                Category.ELECTRONICS, Status.AVAILABLE
+        );
+
+        assertTrue(ProductChanges.between(current, renamed).affectsSearchText());
+    }
+}
@@ -0,0 +1,45 @@
+package org.alvarowau.productcatalog.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+class ProductFilterTest {
+
+    private final Product product = new Product(
+            1L, "Auriculares", "Auriculares inalámbricos", BigDecimal.valueOf(45.50), 3,
+            Category.ELECTRONICS, Status.AVAILABLE
+    );
+
+    @Test
+    @DisplayName("Debería considerar vacío un filtro sin criterios y aceptar cualquier producto")
+    void deberiaConsiderarVacioFiltroSinCriterios() {
+        ProductFilter filter = new ProductFilter();
+
+        assertTrue(filter.isEmpty(), "El filtro sin criterios debería estar vacío");
+        assertTrue(filter.matches(product), "Un filtro vacío debería aceptar cualquier producto");
+    }
+
+    @Test
+    @DisplayName("Debería aceptar el producto si cumple todos los criterios")
+    void deberiaAceptarProductoQueCumpleTodosLosCriterios() {
+        ProductFilter filter = new ProductFilter(
+                Category.ELECTRONICS, Status.AVAILABLE, BigDecimal.valueOf(45.50), BigDecimal.valueOf(50), true
+        );
+
+        assertFalse(filter.isEmpty());
+        assertTrue(filter.matches(product), "El producto cumple todos los criterios (límites inclusivos)");
+    }
+
+    @Test
+    @DisplayName("Debería rechazar el producto si algún criterio no se cumple")
+    void deberiaRechazarProductoSiAlgunCriterioNoSeCumple() {
+        assertFalse(new ProductFilter(Category.BOOKS, null, null, null, null).matches(product));
+        assertFalse(new ProductFilter(null, Status.DISCONTINUED, null, null, null).matches(product));
+        assertFalse(new ProductFilter(null, null, BigDecimal.valueOf(46), null, null).matches(product));
+        assertFalse(new ProductFilter(null, null, null, BigDecimal.valueOf(45), null).matches(product));
+        assertFalse(new ProductFilter(null, null, null, null, false).matches(product));
+    }
+}
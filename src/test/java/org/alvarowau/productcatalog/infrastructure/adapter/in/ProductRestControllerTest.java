@@ -4,33 +4,69 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.alvarowau.productcatalog.application.port.in.CreateProductUseCase;
 import org.alvarowau.productcatalog.application.port.in.DeleteProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.ExportProductsUseCase;
+import org.alvarowau.productcatalog.application.port.in.GetProductChangesUseCase;
 import org.alvarowau.productcatalog.application.port.in.GetProductUseCase;
+import org.alvarowau.productcatalog.application.port.in.ImportProductsUseCase;
+import org.alvarowau.productcatalog.application.port.in.ProductRecordSource;
+import org.alvarowau.productcatalog.application.port.in.ReserveStockUseCase;
+import org.alvarowau.productcatalog.application.port.in.SearchProductUseCase;
 import org.alvarowau.productcatalog.application.port.in.UpdateProductUseCase;
+import org.alvarowau.productcatalog.application.service.AsyncProductService;
+import org.alvarowau.productcatalog.domain.exception.ProductVersionConflictException;
 import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
 import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBatchRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBatchResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkItemResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductBulkResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangeResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductChangesResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductDeleteResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductFilterRequest;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductImportResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductPageResponse;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.ProductResponse;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.StockReservationRequest;
 import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.UpdateProductRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductRestControllerImpl.class)
+@Import(ProductRestControllerTest.DirectAsyncUseCaseConfig.class)
 class ProductRestControllerTest {
 
     @Autowired
@@ -47,6 +83,16 @@ class ProductRestControllerTest {
     private UpdateProductUseCase updateProductUseCase;
     @MockBean
     private DeleteProductUseCase deleteProductUseCase;
+    @MockBean
+    private ExportProductsUseCase exportProductsUseCase;
+    @MockBean
+    private SearchProductUseCase searchProductUseCase;
+    @MockBean
+    private ReserveStockUseCase reserveStockUseCase;
+    @MockBean
+    private ImportProductsUseCase importProductsUseCase;
+    @MockBean
+    private GetProductChangesUseCase getProductChangesUseCase;
 
     // --- Test para crear un producto (POST /product) ---
     @Test
@@ -64,7 +110,7 @@ class ProductRestControllerTest {
                 .thenReturn(expectedResponse);
 
         // Act & Assert
-        mockMvc.perform(post("/product")
+        performAsync(post("/product")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -81,12 +127,71 @@ class ProductRestControllerTest {
                 .thenReturn(null);
 
         // Act & Assert
-        mockMvc.perform(post("/product")
+        performAsync(post("/product")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(new CreateProductRequest())))
                 .andExpect(status().isBadRequest());
     }
 
+    // --- Test para crear productos en bloque (POST /product/_bulk) ---
+    @Test
+    @DisplayName("Debería crear productos en bloque y devolver el resultado de cada elemento")
+    void shouldCreateProductsInBulkAndReturn200Ok() throws Exception {
+        // Arrange
+        List<CreateProductRequest> requests = List.of(
+                new CreateProductRequest("A", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE),
+                new CreateProductRequest("", "D", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE));
+        ProductBulkResponse response = new ProductBulkResponse(1, 1, List.of(
+                ProductBulkItemResult.created(0, 7L),
+                ProductBulkItemResult.failed(1, "name must not be blank")));
+        when(createProductUseCase.createProducts(any())).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/product/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(7))
+                .andExpect(jsonPath("$.results[1].error").value("name must not be blank"));
+    }
+
+    // --- Test para importar productos (POST /product/_import) ---
+    @Test
+    @DisplayName("Debería importar un CSV y devolver los totales")
+    void shouldImportCsvAndReturnTotals() throws Exception {
+        // Arrange
+        when(importProductsUseCase.importProducts(any(), any())).thenAnswer(invocation -> {
+            ProductRecordSource source = invocation.getArgument(0);
+            assertEquals("Teclado", source.decode(source.nextRecord()).getName());
+            return new ProductImportResponse(1, 1, 0, List.of(), null);
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/product/_import")
+                        .contentType("text/csv")
+                        .content("name,price\nTeclado,10\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(1))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 si el CSV no tiene cabecera válida y 415 si el formato no se admite")
+    void shouldRejectInvalidImport() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/product/_import")
+                        .contentType("text/csv")
+                        .content("price,stock\n1,2\n"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/product/_import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<products/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     // --- Test para obtener un producto por ID (GET /product/{id}) ---
     @Test
     @DisplayName("Debería obtener un producto por ID y devolver 200 OK")
@@ -101,7 +206,7 @@ class ProductRestControllerTest {
                 .thenReturn(Optional.of(expectedResponse));
 
         // Act & Assert
-        mockMvc.perform(get("/product/{id}", productId)
+        performAsync(get("/product/{id}", productId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -118,7 +223,7 @@ class ProductRestControllerTest {
                 .thenReturn(Optional.empty());
 
         // Act & Assert
-        mockMvc.perform(get("/product/{id}", nonExistentId)
+        performAsync(get("/product/{id}", nonExistentId)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
@@ -154,6 +259,247 @@ class ProductRestControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    // --- Test para paginación por cursor (GET /product?after=&limit=) ---
+    @Test
+    @DisplayName("Debería devolver una página de productos con cursor siguiente y 200 OK")
+    void shouldGetProductPageAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(3L, "P3", "D3", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE);
+        ProductPageResponse page = new ProductPageResponse(List.of(p1), "Mw");
+
+        when(getProductUseCase.getProductPage("Mg", 1)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/product")
+                        .param("after", "Mg")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(p1.getId()))
+                .andExpect(jsonPath("$.nextCursor").value("Mw"));
+    }
+
+    @Test
+    @DisplayName("Debería paginar con el tamaño por defecto si llega un cursor sin límite")
+    void shouldGetProductPageWithDefaultLimitWhenOnlyCursorIsGiven() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(3L, "P3", "D3", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE);
+        when(getProductUseCase.getProductPage("Mg", 100)).thenReturn(new ProductPageResponse(List.of(p1), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/product")
+                        .param("after", "Mg")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(p1.getId()));
+        verify(getProductUseCase, never()).getAllProducts();
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si el cursor no es válido")
+    void shouldReturn400BadRequestIfCursorIsInvalid() throws Exception {
+        // Arrange
+        when(getProductUseCase.getProductPage("invalido", 10))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/product")
+                        .param("after", "invalido")
+                        .param("limit", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para consultar varios productos por ID (GET /product?ids= y POST /product/_batch) ---
+    @Test
+    @DisplayName("Debería devolver varios productos por ID con los IDs inexistentes y 200 OK")
+    void shouldGetProductsByIdsAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p3 = new ProductResponse(3L, "P3", "D3", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE);
+        ProductResponse p1 = new ProductResponse(1L, "P1", "D1", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE);
+        when(getProductUseCase.getProductsByIds(List.of(3L, 1L, 9L)))
+                .thenReturn(new ProductBatchResponse(List.of(p3, p1), List.of(9L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/product")
+                        .param("ids", "3,1,9")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(3))
+                .andExpect(jsonPath("$.products[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar la lista de IDs en el cuerpo de un POST y devolver 200 OK")
+    void shouldGetProductsByIdsFromRequestBodyAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p2 = new ProductResponse(2L, "P2", "D2", BigDecimal.TEN, 1, Category.BOOKS, Status.AVAILABLE);
+        when(getProductUseCase.getProductsByIds(List.of(2L, 4L)))
+                .thenReturn(new ProductBatchResponse(List.of(p2), List.of(4L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/product/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of(2L, 4L))))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(2))
+                .andExpect(jsonPath("$.missingIds[0]").value(4));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si la lista de IDs no es válida")
+    void shouldReturn400BadRequestIfIdListIsInvalid() throws Exception {
+        // Arrange
+        when(getProductUseCase.getProductsByIds(any()))
+                .thenThrow(new IllegalArgumentException("ids must not be empty"));
+
+        // Act & Assert
+        mockMvc.perform(post("/product/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para filtrar productos (GET /product/filter) ---
+    @Test
+    @DisplayName("Debería filtrar productos por parámetros de consulta y devolver 200 OK")
+    void shouldFilterProductsAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(5L, "Cable", "USB-C", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE);
+        when(getProductUseCase.getProductsByFilter(any(ProductFilterRequest.class), eq(null), eq(100)))
+                .thenReturn(new ProductPageResponse(List.of(p1), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/filter")
+                        .param("category", "ELECTRONICS")
+                        .param("status", "AVAILABLE")
+                        .param("maxPrice", "50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value(p1.getName()));
+        verify(getProductUseCase).getProductsByFilter(argThat(filter ->
+                filter.getCategory() == Category.ELECTRONICS
+                        && filter.getStatus() == Status.AVAILABLE
+                        && BigDecimal.valueOf(50).compareTo(filter.getMaxPrice()) == 0), eq(null), eq(100));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si los criterios de filtrado no son válidos")
+    void shouldReturn400BadRequestIfFilterIsInvalid() throws Exception {
+        // Arrange
+        when(getProductUseCase.getProductsByFilter(any(ProductFilterRequest.class), eq(null), eq(100)))
+                .thenThrow(new IllegalArgumentException("minPrice must not be greater than maxPrice"));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/filter")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para el historial de cambios (GET /product/changes) ---
+    @Test
+    @DisplayName("Debería devolver los cambios posteriores a la secuencia y 200 OK")
+    void shouldReturnChangesAfterSequenceAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(5L, "Cable", "USB-C", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE);
+        when(getProductChangesUseCase.getChanges(40L, 2)).thenReturn(new ProductChangesResponse(List.of(
+                new ProductChangeResponse(41L, ProductChangeType.UPSERT, 5L, p1),
+                new ProductChangeResponse(42L, ProductChangeType.DELETE, 7L, null)), 42L));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/changes")
+                        .param("since", "40")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("UPSERT"))
+                .andExpect(jsonPath("$.changes[0].product.name").value(p1.getName()))
+                .andExpect(jsonPath("$.changes[1].type").value("DELETE"))
+                .andExpect(jsonPath("$.changes[1].productId").value(7))
+                .andExpect(jsonPath("$.nextSince").value(42));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si la secuencia o el límite no son válidos")
+    void shouldReturn400BadRequestIfChangesParametersAreInvalid() throws Exception {
+        // Arrange
+        when(getProductChangesUseCase.getChanges(0L, 5000))
+                .thenThrow(new IllegalArgumentException("limit must be between 1 and 1000"));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/changes")
+                        .param("limit", "5000")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para buscar productos (GET /product/search) ---
+    @Test
+    @DisplayName("Debería buscar productos por texto y devolver 200 OK")
+    void shouldSearchProductsAndReturn200Ok() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(4L, "Altavoz Bluetooth", "Portátil", BigDecimal.TEN, 3, Category.ELECTRONICS, Status.AVAILABLE);
+        when(searchProductUseCase.searchProducts("altavoz portatil", SearchMode.OR, 5)).thenReturn(List.of(p1));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/search")
+                        .param("q", "altavoz portatil")
+                        .param("mode", "OR")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(p1.getId()));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si la consulta de búsqueda está vacía")
+    void shouldReturn400BadRequestIfSearchQueryIsBlank() throws Exception {
+        // Arrange
+        when(searchProductUseCase.searchProducts(" ", SearchMode.AND, 20))
+                .thenThrow(new IllegalArgumentException("query must not be blank"));
+
+        // Act & Assert
+        mockMvc.perform(get("/product/search")
+                        .param("q", " ")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para exportar el catálogo (GET /product/export) ---
+    @Test
+    @DisplayName("Debería exportar el catálogo como NDJSON con un producto por línea")
+    void shouldExportCatalogAsNdjson() throws Exception {
+        // Arrange
+        ProductResponse p1 = new ProductResponse(1L, "P1", "D1", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE);
+        ProductResponse p2 = new ProductResponse(2L, "P2", "D2", BigDecimal.valueOf(20), 2, Category.BOOKS, Status.OUT_OF_STOCK);
+        doAnswer(invocation -> {
+            Consumer<ProductResponse> consumer = invocation.getArgument(0);
+            consumer.accept(p1);
+            consumer.accept(p2);
+            return null;
+        }).when(exportProductsUseCase).exportProducts(any());
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(get("/product/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length, "Debería haber una línea por producto");
+        assertEquals(1L, objectMapper.readValue(lines[0], ProductResponse.class).getId());
+        assertEquals("P2", objectMapper.readValue(lines[1], ProductResponse.class).getName());
+    }
+
     // --- Test para actualizar un producto (PUT /product/{id}) ---
     @Test
     @DisplayName("Debería actualizar un producto y devolver 200 OK")
@@ -171,7 +517,7 @@ class ProductRestControllerTest {
                 .thenReturn(updatedResponse);
 
         // Act & Assert
-        mockMvc.perform(put("/product/{id}", productId)
+        performAsync(put("/product/{id}", productId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
                 .andExpect(status().isOk())
@@ -192,12 +538,79 @@ class ProductRestControllerTest {
                 .thenThrow(new RuntimeException("Product not found"));
 
         // Act & Assert
-        mockMvc.perform(put("/product/{id}", nonExistentId)
+        performAsync(put("/product/{id}", nonExistentId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Debería actualizar con If-Match y devolver la nueva versión en el ETag")
+    void shouldUpdateProductWithIfMatchAndReturnETag() throws Exception {
+        // Arrange
+        UpdateProductRequest updateRequest = new UpdateProductRequest("Nuevo", null, null, null, null, null);
+        ProductResponse updated = new ProductResponse(1L, "Nuevo", "Desc", BigDecimal.TEN, 5,
+                Category.ELECTRONICS, Status.AVAILABLE, 4L);
+        when(updateProductUseCase.updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L))).thenReturn(updated);
+
+        // Act & Assert
+        performAsync(put("/product/{id}", 1L)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 412 si la versión de If-Match no coincide y 409 si hay una modificación concurrente")
+    void shouldReturn412Or409OnVersionConflicts() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(new UpdateProductRequest("Nuevo", null, null, null, null, null));
+        when(updateProductUseCase.updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L)))
+                .thenThrow(new ProductVersionConflictException(1L, true));
+        when(updateProductUseCase.updateProduct(eq(1L), any(UpdateProductRequest.class)))
+                .thenThrow(new ProductVersionConflictException(1L, false));
+
+        // Act & Assert
+        performAsync(put("/product/{id}", 1L).header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        performAsync(put("/product/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Debería devolver 412 si If-Match lleva una etiqueta débil aunque su versión coincida")
+    void shouldReturn412ForWeakIfMatch() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(new UpdateProductRequest("Nuevo", null, null, null, null, null));
+        when(updateProductUseCase.updateProduct(eq(1L), any(UpdateProductRequest.class), eq(-1L)))
+                .thenThrow(new ProductVersionConflictException(1L, true));
+
+        // Act & Assert
+        performAsync(put("/product/{id}", 1L).header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        verify(updateProductUseCase, never()).updateProduct(eq(1L), any(UpdateProductRequest.class), eq(3L));
+    }
+
+    @Test
+    @DisplayName("Debería incluir la versión del producto en el ETag al obtenerlo por ID")
+    void shouldReturnETagWhenGettingProductById() throws Exception {
+        // Arrange
+        ProductResponse response = new ProductResponse(1L, "Producto", "Desc", BigDecimal.TEN, 5,
+                Category.ELECTRONICS, Status.AVAILABLE, 7L);
+        when(getProductUseCase.getProductById(1L)).thenReturn(Optional.of(response));
+
+        // Act & Assert
+        performAsync(get("/product/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
     // --- Test para eliminar un producto (DELETE /product/{id}) ---
     @Test
     @DisplayName("Debería eliminar un producto y devolver 204 No Content")
@@ -207,7 +620,7 @@ class ProductRestControllerTest {
         when(deleteProductUseCase.deleteProduct(productId)).thenReturn(true);
 
         // Act & Assert
-        mockMvc.perform(delete("/product/{id}", productId))
+        performAsync(delete("/product/{id}", productId))
                 .andExpect(status().isNoContent());
     }
 
@@ -219,7 +632,132 @@ class ProductRestControllerTest {
         when(deleteProductUseCase.deleteProduct(nonExistentId)).thenReturn(false);
 
         // Act & Assert
-        mockMvc.perform(delete("/product/{id}", nonExistentId))
+        performAsync(delete("/product/{id}", nonExistentId))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    // --- Test para eliminar productos en bloque (DELETE /product) ---
+    @Test
+    @DisplayName("Debería eliminar varios productos por ID y devolver cuántos se eliminaron")
+    void shouldDeleteProductsByIdsAndReturn200Ok() throws Exception {
+        // Arrange
+        when(deleteProductUseCase.deleteProductsByIds(List.of(1L, 2L, 3L))).thenReturn(new ProductDeleteResponse(2));
+
+        // Act & Assert
+        mockMvc.perform(delete("/product").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar los productos que cumplen el filtro y devolver cuántos se eliminaron")
+    void shouldDeleteProductsByFilterAndReturn200Ok() throws Exception {
+        // Arrange
+        when(deleteProductUseCase.deleteProductsByFilter(argThat(filter ->
+                filter.getCategory() == Category.TOYS && filter.getStatus() == Status.DISCONTINUED)))
+                .thenReturn(new ProductDeleteResponse(1500));
+
+        // Act & Assert
+        mockMvc.perform(delete("/product")
+                        .param("category", "TOYS")
+                        .param("status", "DISCONTINUED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1500));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si se combinan IDs y filtro o no se indica ningún criterio")
+    void shouldReturn400BadRequestForAmbiguousOrMissingDeleteCriteria() throws Exception {
+        // Arrange
+        when(deleteProductUseCase.deleteProductsByFilter(any()))
+                .thenThrow(new IllegalArgumentException("category or status is required to delete by filter"));
+
+        // Act & Assert
+        mockMvc.perform(delete("/product").param("ids", "1").param("category", "TOYS"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/product"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test para reservar stock (POST /product/{id}/stock/reserve) ---
+    @Test
+    @DisplayName("Debería reservar stock y devolver 204 No Content")
+    void shouldReserveStockAndReturn204NoContent() throws Exception {
+        // Arrange
+        when(reserveStockUseCase.reserveStock(eq(1L), argThat(request -> request.getQuantity() == 2)))
+                .thenReturn(StockReservationResult.RESERVED);
+
+        // Act & Assert
+        performAsync(post("/product/1/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockReservationRequest(2))))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Debería devolver 409 Conflict si no hay stock suficiente y 404 si no existe el producto")
+    void shouldReturn409OrNotFoundWhenReservationFails() throws Exception {
+        // Arrange
+        when(reserveStockUseCase.reserveStock(eq(1L), any())).thenReturn(StockReservationResult.INSUFFICIENT_STOCK);
+        when(reserveStockUseCase.reserveStock(eq(99L), any())).thenReturn(StockReservationResult.NOT_FOUND);
+        String body = objectMapper.writeValueAsString(new StockReservationRequest(5));
+
+        // Act & Assert
+        performAsync(post("/product/1/stock/reserve").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        performAsync(post("/product/99/stock/reserve").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Debería devolver 400 Bad Request si la cantidad a reservar es inválida")
+    void shouldReturn400BadRequestForInvalidReservationQuantity() throws Exception {
+        // Arrange
+        when(reserveStockUseCase.reserveStock(eq(1L), any()))
+                .thenThrow(new IllegalArgumentException("quantity must be positive"));
+
+        // Act & Assert
+        performAsync(post("/product/1/stock/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockReservationRequest(0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Debería devolver 503 Service Unavailable si el ejecutor de casos de uso rechaza el trabajo")
+    void shouldReturn503WhenUseCaseExecutorRejectsWork() throws Exception {
+        // Arrange
+        when(getProductUseCase.getProductById(1L)).thenThrow(new RejectedExecutionException("queue full"));
+
+        // Act & Assert
+        performAsync(get("/product/{id}", 1L))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    /**
+     * Ejecuta una petición a un endpoint asíncrono y devuelve el resultado de su respuesta final.
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    /**
+     * Resuelve los casos de uso asíncronos con los casos de uso simulados, en el propio hilo de la petición.
+     */
+    @TestConfiguration
+    static class DirectAsyncUseCaseConfig {
+
+        @Bean
+        AsyncProductService asyncProductService(GetProductUseCase getProductUseCase,
+                                                CreateProductUseCase createProductUseCase,
+                                                UpdateProductUseCase updateProductUseCase,
+                                                DeleteProductUseCase deleteProductUseCase,
+                                                ReserveStockUseCase reserveStockUseCase) {
+            return new AsyncProductService(getProductUseCase, createProductUseCase, updateProductUseCase,
+                    deleteProductUseCase, reserveStockUseCase, Runnable::run);
+        }
+    }
+}
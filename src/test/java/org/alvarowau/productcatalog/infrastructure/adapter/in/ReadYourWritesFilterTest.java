@@ -0,0 +1,83 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in;
+
+import jakarta.servlet.http.Cookie;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(2), clock::get);
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.reset();
+    }
+
+    /**
+     * Ejecuta el filtro y devuelve si la cadena se ejecutó exigiendo la base de datos principal.
+     */
+    private boolean primaryRequiredDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> primaryRequired.set(ReadYourWrites.isPrimaryRequired()));
+        return primaryRequired.get();
+    }
+
+    @Test
+    @DisplayName("Debería marcar con una cookie las escrituras y atenderlas con la base de datos principal")
+    void shouldMarkWritesWithCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/product/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean primaryRequired = primaryRequiredDuring(request, response);
+
+        // Assert
+        assertTrue(primaryRequired);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals("1000000", cookie.getValue());
+        assertEquals(2, cookie.getMaxAge());
+        assertFalse(ReadYourWrites.isPrimaryRequired(), "La marca no debe sobrevivir a la petición");
+    }
+
+    @Test
+    @DisplayName("Debería leer de la base de datos principal mientras la réplica puede ir con retraso")
+    void shouldRequirePrimaryWithinMaxLag() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "999000"));
+
+        // Act & Assert
+        assertTrue(primaryRequiredDuring(request, new MockHttpServletResponse()));
+        clock.set(1_001_000L);
+        assertFalse(primaryRequiredDuring(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    @DisplayName("Debería leer de la réplica sin cookie o con una cookie no válida")
+    void shouldUseReplicaWithoutValidCookie() throws Exception {
+        // Arrange
+        MockHttpServletRequest withoutCookie = new MockHttpServletRequest("GET", "/product");
+        MockHttpServletRequest invalidCookie = new MockHttpServletRequest("GET", "/product");
+        invalidCookie.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "abc"));
+        MockHttpServletRequest futureCookie = new MockHttpServletRequest("GET", "/product");
+        futureCookie.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "9000000"));
+
+        // Act & Assert
+        assertFalse(primaryRequiredDuring(withoutCookie, new MockHttpServletResponse()));
+        assertFalse(primaryRequiredDuring(invalidCookie, new MockHttpServletResponse()));
+        assertFalse(primaryRequiredDuring(futureCookie, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,156 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    @DisplayName("Debería rechazar las peticiones que superan el límite sin esperar")
+    void shouldRejectBeyondLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        // Act
+        boolean first = limit.tryAcquire(1.0);
+        boolean second = limit.tryAcquire(1.0);
+        boolean third = limit.tryAcquire(1.0);
+        limit.release(FAST, false, false);
+        boolean afterRelease = limit.tryAcquire(1.0);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        ConcurrencyLimitStats stats = limit.stats();
+        assertEquals(2, stats.getInFlight());
+        assertEquals(3, stats.getAcceptedCount());
+        assertEquals(1, stats.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Debería limitar las peticiones de menor prioridad a su fracción del límite")
+    void shouldLimitLowPriorityToShare() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10);
+        limit.tryAcquire(0.5);
+        limit.tryAcquire(0.5);
+
+        // Act
+        boolean lowPriority = limit.tryAcquire(0.5);
+        boolean highPriority = limit.tryAcquire(1.0);
+
+        // Assert
+        assertFalse(lowPriority);
+        assertTrue(highPriority);
+    }
+
+    @Test
+    @DisplayName("Debería reducir el límite cuando la latencia supera la habitual")
+    void shouldDecreaseWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(FAST, false, true);
+        }
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(SLOW, false, true);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < 20, "limit was " + limit.getLimit());
+        assertTrue(limit.stats().getShortRttMicros() > limit.stats().getLongRttMicros());
+    }
+
+    @Test
+    @DisplayName("Debería aumentar el límite con latencia estable si se está usando")
+    void shouldGrowWhenHealthyAndSaturated() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire(1.0);
+        }
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.release(FAST, false, true);
+            limit.tryAcquire(1.0);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("No debería aumentar el límite si apenas se usa")
+    void shouldNotGrowWhenUnused() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(FAST, false, true);
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Debería reducir el límite tras un fallo del servidor sin bajar del mínimo")
+    void shouldBackOffOnDrop() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 8, 100);
+
+        // Act
+        limit.tryAcquire(1.0);
+        limit.release(FAST, true, true);
+        int afterFirstDrop = limit.getLimit();
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire(1.0);
+            limit.release(FAST, true, true);
+        }
+
+        // Assert
+        assertEquals(9, afterFirstDrop);
+        assertEquals(8, limit.getLimit());
+        assertEquals(0, limit.stats().getInFlight());
+    }
+
+    @Test
+    @DisplayName("No debería ajustar el límite con las peticiones que no se muestrean")
+    void shouldIgnoreUnsampledRequests() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        // Act
+        limit.tryAcquire(1.0);
+        limit.release(SLOW, true, false);
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+        assertEquals(0, limit.stats().getLongRttMicros());
+        assertEquals(0, limit.stats().getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar límites incoherentes")
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(5, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(10, 1, 5));
+    }
+}
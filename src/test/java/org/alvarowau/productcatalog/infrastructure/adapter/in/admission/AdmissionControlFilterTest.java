@@ -0,0 +1,149 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.admission;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private static final FilterChain START_ASYNC = (req, res) -> req.startAsync();
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(
+            new AdaptiveConcurrencyLimit(4, 1, 10), new AdaptiveConcurrencyLimit(1, 1, 10),
+            0.5, Duration.ofMillis(1500));
+
+    /**
+     * Ejecuta una petición que queda en curso (asíncrona) hasta completar su contexto.
+     */
+    private MockHttpServletRequest hold(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), START_ASYNC);
+        return request;
+    }
+
+    /**
+     * Ejecuta una petición y devuelve si llegó al resto de la cadena.
+     */
+    private boolean admitted(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean invoked = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+        return invoked.get();
+    }
+
+    @Test
+    @DisplayName("Debería rechazar con 503 y Retry-After las peticiones que superan el límite")
+    void shouldRejectWithRetryAfter() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 4; i++) {
+            hold("GET", "/product/" + i);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean admitted = admitted(new MockHttpServletRequest("GET", "/product/5"), response);
+
+        // Assert
+        assertFalse(admitted);
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals(1, filter.readStats().getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Debería descartar antes los listados que la consulta por ID")
+    void shouldPrioritizeGetById() throws Exception {
+        // Arrange
+        hold("GET", "/product");
+        hold("GET", "/product/search");
+        MockHttpServletResponse listResponse = new MockHttpServletResponse();
+        MockHttpServletResponse byIdResponse = new MockHttpServletResponse();
+
+        // Act
+        boolean listAdmitted = admitted(new MockHttpServletRequest("GET", "/product"), listResponse);
+        boolean byIdAdmitted = admitted(new MockHttpServletRequest("GET", "/product/7"), byIdResponse);
+
+        // Assert
+        assertFalse(listAdmitted);
+        assertEquals(503, listResponse.getStatus());
+        assertTrue(byIdAdmitted);
+        assertEquals(200, byIdResponse.getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería limitar por separado las lecturas y las escrituras")
+    void shouldLimitReadsAndWritesSeparately() throws Exception {
+        // Arrange
+        hold("PUT", "/product/1");
+
+        // Act
+        boolean writeAdmitted = admitted(new MockHttpServletRequest("DELETE", "/product/2"), new MockHttpServletResponse());
+        boolean readAdmitted = admitted(new MockHttpServletRequest("GET", "/product/2"), new MockHttpServletResponse());
+
+        // Assert
+        assertFalse(writeAdmitted);
+        assertTrue(readAdmitted);
+        assertEquals(1, filter.writeStats().getInFlight());
+        assertEquals(0, filter.readStats().getInFlight());
+    }
+
+    @Test
+    @DisplayName("Debería liberar el permiso de una petición asíncrona al completarse")
+    void shouldReleaseAsyncPermitOnComplete() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = hold("POST", "/product");
+        int inFlightBeforeComplete = filter.writeStats().getInFlight();
+
+        // Act
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        // Assert
+        assertEquals(1, inFlightBeforeComplete);
+        assertEquals(0, filter.writeStats().getInFlight());
+        assertTrue(admitted(new MockHttpServletRequest("POST", "/product"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    @DisplayName("Debería liberar el permiso si la cadena lanza una excepción")
+    void shouldReleasePermitOnException() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/product");
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), failing));
+        assertEquals(0, filter.writeStats().getInFlight());
+    }
+
+    @Test
+    @DisplayName("No debería controlar las peticiones fuera de la API de productos")
+    void shouldIgnoreOtherPaths() throws Exception {
+        // Arrange
+        hold("POST", "/product");
+
+        // Act
+        boolean admitted = admitted(new MockHttpServletRequest("POST", "/h2-console/login.do"), new MockHttpServletResponse());
+
+        // Assert
+        assertTrue(admitted);
+        assertEquals(0, filter.writeStats().getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una configuración inválida")
+    void shouldRejectInvalidConfiguration() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionControlFilter(limit, limit, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionControlFilter(limit, limit, 0.5, Duration.ofSeconds(-1)));
+    }
+}
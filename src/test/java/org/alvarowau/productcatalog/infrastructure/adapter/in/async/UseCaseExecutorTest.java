@@ -0,0 +1,85 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.async;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseExecutorTest {
+
+    private final UseCaseExecutor executor = new UseCaseExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar y contar las tareas que no caben en la cola")
+    void shouldRejectAndCountTasksBeyondQueueCapacity() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        UseCaseExecutorStats stats = executor.stats();
+        assertEquals(3, stats.getSubmittedCount());
+        assertEquals(1, stats.getRejectedCount());
+        assertEquals(1, stats.getActiveThreads());
+        assertEquals(1, stats.getQueueSize());
+        assertEquals(1, stats.getQueueCapacity());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Debería aplicar el decorador de tareas en el hilo que envía la tarea")
+    void shouldDecorateTasksOnSubmittingThread() throws Exception {
+        // Arrange
+        ThreadLocal<String> context = new ThreadLocal<>();
+        UseCaseExecutor decorating = new UseCaseExecutor(1, 1, task -> {
+            String captured = context.get();
+            return () -> {
+                context.set(captured);
+                try {
+                    task.run();
+                } finally {
+                    context.remove();
+                }
+            };
+        });
+        context.set("petición");
+
+        try {
+            // Act
+            String inherited = CompletableFuture.supplyAsync(context::get, decorating).get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals("petición", inherited);
+        } finally {
+            context.remove();
+            decorating.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
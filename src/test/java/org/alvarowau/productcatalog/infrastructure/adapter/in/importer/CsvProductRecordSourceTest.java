@@ -0,0 +1,93 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvProductRecordSourceTest {
+
+    @Test
+    @DisplayName("Debería decodificar las columnas de la cabecera en cualquier orden")
+    void shouldDecodeColumnsByHeader() throws IOException {
+        // Arrange
+        CsvProductRecordSource source = source("Stock,Name,price,category,status,ignored\n"
+                + "5,Teclado,19.99,electronics,AVAILABLE,x\n");
+
+        // Act
+        CreateProductRequest request = source.decode(source.nextRecord());
+
+        // Assert
+        assertEquals("Teclado", request.getName());
+        assertEquals(new BigDecimal("19.99"), request.getPrice());
+        assertEquals(5, request.getStock());
+        assertEquals(Category.ELECTRONICS, request.getCategory());
+        assertEquals(Status.AVAILABLE, request.getStatus());
+        assertNull(request.getDescription());
+        assertNull(source.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Debería respetar las comillas, las comillas escapadas y los saltos de línea dentro de un campo")
+    void shouldHandleQuotedFields() throws IOException {
+        // Arrange
+        CsvProductRecordSource source = source("name,description,price\r\n"
+                + "\"Monitor, 27\"\"\",\"Línea 1\nLínea 2\",150\r\n"
+                + "\n"
+                + "Ratón,,10\r\n");
+
+        // Act
+        CreateProductRequest first = source.decode(source.nextRecord());
+        CreateProductRequest second = source.decode(source.nextRecord());
+
+        // Assert
+        assertEquals("Monitor, 27\"", first.getName());
+        assertEquals("Línea 1\nLínea 2", first.getDescription());
+        assertEquals(new BigDecimal("150"), first.getPrice());
+        assertEquals("Ratón", second.getName());
+        assertNull(second.getDescription());
+        assertNull(source.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar valores numéricos o enumerados inválidos")
+    void shouldRejectInvalidValues() throws IOException {
+        // Arrange
+        CsvProductRecordSource source = source("name,price,stock,category\n");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> source.decode("A,abc,1,BOOKS"));
+        assertThrows(IllegalArgumentException.class, () -> source.decode("A,1,1.5,BOOKS"));
+        assertThrows(IllegalArgumentException.class, () -> source.decode("A,1,1,PLANTS"));
+    }
+
+    @Test
+    @DisplayName("Debería exigir una cabecera con la columna name")
+    void shouldRequireNameColumn() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> source("price,stock\n1,2\n"));
+        assertThrows(IllegalArgumentException.class, () -> source(""));
+    }
+
+    @Test
+    @DisplayName("Debería fallar si un campo entre comillas no se cierra")
+    void shouldFailOnUnterminatedQuote() throws IOException {
+        // Arrange
+        CsvProductRecordSource source = source("name\n\"Sin cerrar\n");
+
+        // Act & Assert
+        assertThrows(IOException.class, source::nextRecord);
+    }
+
+    private static CsvProductRecordSource source(String content) throws IOException {
+        return new CsvProductRecordSource(new BufferedReader(new StringReader(content)));
+    }
+}
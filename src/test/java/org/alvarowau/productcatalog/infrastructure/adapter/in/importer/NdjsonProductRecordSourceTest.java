@@ -0,0 +1,52 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.in.importer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.infrastructure.adapter.in.dto.CreateProductRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonProductRecordSourceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Test
+    @DisplayName("Debería leer un producto por línea ignorando las líneas en blanco")
+    void shouldReadOneProductPerLine() throws IOException {
+        // Arrange
+        NdjsonProductRecordSource source = new NdjsonProductRecordSource(new BufferedReader(new StringReader(
+                "{\"name\":\"Libro\",\"stock\":3,\"category\":\"BOOKS\",\"id\":7}\n\n{\"name\":\"Balón\"}\n")),
+                objectMapper);
+
+        // Act
+        CreateProductRequest first = source.decode(source.nextRecord());
+        CreateProductRequest second = source.decode(source.nextRecord());
+
+        // Assert
+        assertEquals("Libro", first.getName());
+        assertEquals(3, first.getStock());
+        assertEquals(Category.BOOKS, first.getCategory());
+        assertEquals("Balón", second.getName());
+        assertNull(source.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una línea que no es JSON válido")
+    void shouldRejectMalformedLine() {
+        // Arrange
+        NdjsonProductRecordSource source = new NdjsonProductRecordSource(
+                new BufferedReader(new StringReader("")), objectMapper);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> source.decode("{\"name\":"));
+        assertThrows(IllegalArgumentException.class, () -> source.decode("{\"stock\":\"muchos\"}"));
+    }
+}
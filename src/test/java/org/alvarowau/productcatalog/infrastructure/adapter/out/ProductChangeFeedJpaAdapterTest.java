@@ -0,0 +1,163 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChangeEvent;
+import org.alvarowau.productcatalog.domain.model.ProductChangeType;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeJpaEntity;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductChangeJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ProductJpaAdapter.class, ProductChangeFeedJpaAdapter.class})
+@ActiveProfiles("test")
+class ProductChangeFeedJpaAdapterTest {
+
+    @Autowired
+    private ProductJpaAdapter productJpaAdapter;
+
+    @Autowired
+    private ProductChangeFeedJpaAdapter changeFeedAdapter;
+
+    @Autowired
+    private ProductChangeJpaRepository changeRepository;
+
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        start = changeRepository.findAll().stream().mapToLong(ProductChangeJpaEntity::getSequence).max().orElse(0L);
+    }
+
+    @Test
+    @DisplayName("Debería registrar cada escritura con secuencias consecutivas y en orden")
+    void shouldRecordEveryWriteWithConsecutiveSequences() {
+        // Arrange
+        Product first = productJpaAdapter.save(newProduct("Primero", 5));
+        Product second = productJpaAdapter.save(newProduct("Segundo", 5));
+
+        // Act
+        productJpaAdapter.updateFields(first.getId(), first.getVersion(),
+                ProductChanges.between(first, withName(first, "Primero v2")));
+        productJpaAdapter.reserveStock(second.getId(), 2);
+        productJpaAdapter.deleteById(first.getId());
+
+        // Assert
+        List<ProductChangeJpaEntity> entries = changeRepository.findAll().stream()
+                .filter(entry -> entry.getSequence() > start)
+                .sorted((a, b) -> Long.compare(a.getSequence(), b.getSequence()))
+                .toList();
+        assertEquals(List.of(start + 1, start + 2, start + 3, start + 4, start + 5),
+                entries.stream().map(ProductChangeJpaEntity::getSequence).toList());
+        assertEquals(List.of(first.getId(), second.getId(), first.getId(), second.getId(), first.getId()),
+                entries.stream().map(ProductChangeJpaEntity::getProductId).toList());
+        assertEquals(ProductChangeType.DELETE, entries.get(4).getType());
+    }
+
+    @Test
+    @DisplayName("No debería registrar cambios cuando la escritura no modifica ningún producto")
+    void shouldNotRecordWritesThatChangeNothing() {
+        // Arrange
+        Product product = productJpaAdapter.save(newProduct("Sin stock", 1));
+
+        // Act
+        assertFalse(productJpaAdapter.deleteById(-1L));
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, productJpaAdapter.reserveStock(product.getId(), 5));
+        assertEquals(0, productJpaAdapter.updateStockLevels(Map.of(-1L, 3)));
+        assertEquals(0, productJpaAdapter.deleteAllById(List.of(-1L, -2L)));
+
+        // Assert
+        assertEquals(List.of(start + 1), changeFeedAdapter.findChangesAfter(start, 100).stream()
+                .map(ProductChangeEvent::getSequence).toList());
+    }
+
+    @Test
+    @DisplayName("Debería registrar las escrituras masivas y solo las lápidas de los productos existentes")
+    void shouldRecordBulkWritesAndTombstonesOfExistingProducts() {
+        // Arrange
+        List<Product> saved = productJpaAdapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 1), newProduct("C", 1)));
+        long afterSave = start + 3;
+
+        // Act
+        productJpaAdapter.updateStockLevels(Map.of(saved.get(0).getId(), 9));
+        productJpaAdapter.deleteAllById(List.of(saved.get(1).getId(), saved.get(2).getId(), -1L));
+
+        // Assert
+        List<ProductChangeEvent> changes = changeFeedAdapter.findChangesAfter(afterSave, 100);
+        assertEquals(3, changes.size());
+        assertEquals(ProductChangeType.UPSERT, changes.get(0).getType());
+        assertEquals(9, changes.get(0).getProduct().getStock());
+        assertEquals(ProductChangeType.DELETE, changes.get(1).getType());
+        assertEquals(ProductChangeType.DELETE, changes.get(2).getType());
+        assertEquals(afterSave + 3, changes.get(2).getSequence());
+    }
+
+    @Test
+    @DisplayName("Debería devolver el estado actual y solo el último cambio de cada producto de la página")
+    void shouldReturnCurrentStateAndLatestChangePerProduct() {
+        // Arrange
+        Product kept = productJpaAdapter.save(newProduct("Conservado", 5));
+        Product removed = productJpaAdapter.save(newProduct("Eliminado", 5));
+        productJpaAdapter.reserveStock(kept.getId(), 1);
+        productJpaAdapter.reserveStock(kept.getId(), 1);
+        productJpaAdapter.deleteById(removed.getId());
+
+        // Act
+        List<ProductChangeEvent> changes = changeFeedAdapter.findChangesAfter(start, 100);
+
+        // Assert
+        assertEquals(2, changes.size());
+        assertEquals(start + 4, changes.get(0).getSequence());
+        assertEquals(kept.getId(), changes.get(0).getProductId());
+        assertEquals(3, changes.get(0).getProduct().getStock());
+        assertEquals(start + 5, changes.get(1).getSequence());
+        assertEquals(ProductChangeType.DELETE, changes.get(1).getType());
+        assertNull(changes.get(1).getProduct());
+    }
+
+    @Test
+    @DisplayName("Debería paginar por secuencia y convertir en lápida el alta de un producto ya eliminado")
+    void shouldPageBySequenceAndTurnUpsertOfDeletedProductIntoTombstone() {
+        // Arrange
+        Product product = productJpaAdapter.save(newProduct("Efímero", 5));
+        Product other = productJpaAdapter.save(newProduct("Otro", 5));
+        productJpaAdapter.deleteById(product.getId());
+
+        // Act
+        List<ProductChangeEvent> firstPage = changeFeedAdapter.findChangesAfter(start, 1);
+        List<ProductChangeEvent> secondPage = changeFeedAdapter.findChangesAfter(firstPage.get(0).getSequence(), 1);
+        List<ProductChangeEvent> rest = changeFeedAdapter.findChangesAfter(start + 3, 10);
+
+        // Assert
+        assertEquals(ProductChangeType.DELETE, firstPage.get(0).getType());
+        assertEquals(product.getId(), firstPage.get(0).getProductId());
+        assertEquals(start + 1, firstPage.get(0).getSequence());
+        assertEquals(other.getId(), secondPage.get(0).getProductId());
+        assertEquals("Otro", secondPage.get(0).getProduct().getName());
+        assertTrue(rest.isEmpty());
+    }
+
+    private static Product newProduct(String name, int stock) {
+        return new Product(null, name, "Desc", BigDecimal.TEN, stock, Category.HOME, Status.AVAILABLE);
+    }
+
+    private static Product withName(Product product, String name) {
+        return new Product(product.getId(), name, product.getDescription(), product.getPrice(), product.getStock(),
+                product.getCategory(), product.getStatus(), product.getVersion());
+    }
+}
@@ -0,0 +1,121 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.bloom.ProductIdFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ProductJpaAdapter.class, ProductJpaAdapterIdFilterTest.IdFilterConfig.class})
+@ActiveProfiles("test")
+class ProductJpaAdapterIdFilterTest {
+
+    @Autowired
+    private ProductJpaAdapter productJpaAdapter;
+
+    @Autowired
+    private ProductIdFilter idFilter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        productJpaAdapter.seedIdFilter();
+    }
+
+    @Test
+    @DisplayName("Debería responder que no existe un producto descartado por el filtro sin consultar la base de datos")
+    void shouldAnswerAbsentIdsFromFilter() {
+        // Arrange
+        Long missingId = absentId();
+        long negatives = idFilter.stats().getNegativeCount();
+
+        // Act & Assert
+        assertTrue(productJpaAdapter.findById(missingId).isEmpty());
+        assertFalse(productJpaAdapter.deleteById(missingId));
+        assertEquals(StockReservationResult.NOT_FOUND, productJpaAdapter.reserveStock(missingId, 1));
+        assertTrue(productJpaAdapter.findAllById(List.of(missingId)).isEmpty());
+        assertEquals(negatives + 4, idFilter.stats().getNegativeCount());
+    }
+
+    @Test
+    @DisplayName("Debería encontrar los productos insertados después de sembrar el filtro")
+    void shouldFindProductsInsertedAfterSeeding() {
+        // Arrange
+        Product saved = productJpaAdapter.save(newProduct("Nuevo"));
+
+        // Act
+        boolean known = idFilter.mightContain(saved.getId());
+
+        // Assert
+        assertTrue(known);
+        assertTrue(productJpaAdapter.findById(saved.getId()).isPresent());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Debería retirar del filtro un producto al confirmar su eliminación, y no si se deshace")
+    void shouldRemoveIdOnlyAfterCommit() {
+        // Arrange
+        Product saved = productJpaAdapter.save(newProduct("Eliminado"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            assertTrue(productJpaAdapter.deleteById(saved.getId()));
+            status.setRollbackOnly();
+        });
+        boolean knownAfterRollback = idFilter.mightContain(saved.getId());
+        boolean deleted = productJpaAdapter.deleteById(saved.getId());
+
+        // Assert
+        assertTrue(knownAfterRollback);
+        assertTrue(deleted);
+        assertFalse(idFilter.mightContain(saved.getId()));
+        assertTrue(productJpaAdapter.findById(saved.getId()).isEmpty());
+    }
+
+    /**
+     * Busca un ID que el filtro descarta, sin alterar sus estadísticas más que con la respuesta negativa.
+     */
+    private Long absentId() {
+        long id = 1_000_000L;
+        while (idFilter.mightContain(id)) {
+            id++;
+        }
+        return id;
+    }
+
+    private static Product newProduct(String name) {
+        return new Product(null, name, "Descripción", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+
+    @TestConfiguration
+    static class IdFilterConfig {
+
+        @Bean
+        ProductIdFilter productIdFilter() {
+            return new ProductIdFilter(1_000, 0.01);
+        }
+    }
+}
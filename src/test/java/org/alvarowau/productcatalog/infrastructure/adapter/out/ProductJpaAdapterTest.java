@@ -2,7 +2,10 @@ package org.alvarowau.productcatalog.infrastructure.adapter.out;
 
 import org.alvarowau.productcatalog.domain.model.Category;
 import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
 import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
 import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaEntity;
 import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +17,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,6 +69,32 @@ class ProductJpaAdapterTest {
         assertEquals(savedProduct.getName(), retrievedEntity.get().getName(), "Los nombres deberían coincidir");
     }
 
+    // --- Tests para saveAll ---
+    @Test
+    @DisplayName("Debería guardar en bloque productos nuevos y existentes conservando el orden")
+    void shouldSaveAllProductsInOrder() {
+        // Arrange: más productos que un lote JDBC, con un producto existente en medio
+        ProductJpaEntity existing = productJpaRepository.save(
+                new ProductJpaEntity(null, "Existente", "Desc", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(new Product(null, "Nuevo " + i, "Desc", BigDecimal.TEN, 5, Category.HOME, Status.AVAILABLE));
+        }
+        products.add(60, new Product(existing.getId(), "Existente modificado", "Desc", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE));
+
+        // Act
+        List<Product> saved = productJpaAdapter.saveAll(products);
+
+        // Assert
+        assertEquals(121, saved.size());
+        assertEquals(121, productJpaRepository.count(), "El producto existente debería actualizarse, no duplicarse");
+        assertEquals("Nuevo 0", saved.get(0).getName());
+        assertEquals(existing.getId(), saved.get(60).getId());
+        assertEquals("Existente modificado", productJpaRepository.findById(existing.getId()).orElseThrow().getName());
+        assertEquals("Nuevo 119", saved.get(120).getName());
+        assertTrue(saved.stream().allMatch(product -> product.getId() != null), "Todos los productos deberían tener ID");
+    }
+
     // --- Tests para findById ---
     @Test
     @DisplayName("Debería encontrar un producto por ID correctamente")
@@ -129,6 +163,103 @@ class ProductJpaAdapterTest {
         assertTrue(products.isEmpty(), "Debería devolver una lista vacía");
     }
 
+    // --- Tests para findAllById ---
+    @Test
+    @DisplayName("Debería encontrar varios productos por ID omitiendo los inexistentes, también en listas largas")
+    void shouldFindAllByIdSkippingMissingIds() {
+        // Arrange
+        List<ProductJpaEntity> saved = productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Producto 1", "Desc 1", BigDecimal.TEN, 1, Category.HOME, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 2", "Desc 2", BigDecimal.TEN, 2, Category.HOME, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 3", "Desc 3", BigDecimal.TEN, 3, Category.HOME, Status.AVAILABLE)
+        ));
+        // Más IDs que un bloque IN, con los existentes repartidos en bloques distintos
+        List<Long> ids = new ArrayList<>(LongStream.range(100_000, 100_000 + 2L * ProductJpaAdapter.IN_CLAUSE_CHUNK_SIZE).boxed().toList());
+        ids.add(0, saved.get(2).getId());
+        ids.add(ProductJpaAdapter.IN_CLAUSE_CHUNK_SIZE + 10, saved.get(0).getId());
+        ids.add(saved.get(0).getId());
+
+        // Act
+        List<Product> products = productJpaAdapter.findAllById(ids);
+
+        // Assert
+        assertEquals(2, products.size(), "Debería encontrar solo los 2 productos existentes, sin repetirlos");
+        assertTrue(products.stream().map(Product::getId).toList()
+                .containsAll(List.of(saved.get(0).getId(), saved.get(2).getId())));
+    }
+
+    // --- Tests para findPage ---
+    @Test
+    @DisplayName("Debería recorrer los productos por páginas ordenadas por ID")
+    void shouldFindPagesOrderedById() {
+        // Arrange
+        List<ProductJpaEntity> saved = productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Producto 1", "Desc 1", BigDecimal.TEN, 1, Category.FASHION, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 2", "Desc 2", BigDecimal.TEN, 2, Category.FASHION, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 3", "Desc 3", BigDecimal.TEN, 3, Category.FASHION, Status.AVAILABLE)
+        ));
+
+        // Act
+        List<Product> firstPage = productJpaAdapter.findPage(null, 2);
+        List<Product> secondPage = productJpaAdapter.findPage(firstPage.get(1).getId(), 2);
+
+        // Assert
+        assertEquals(2, firstPage.size(), "La primera página debería tener 2 productos");
+        assertEquals(saved.get(0).getId(), firstPage.get(0).getId());
+        assertEquals(saved.get(1).getId(), firstPage.get(1).getId());
+        assertEquals(1, secondPage.size(), "La segunda página debería tener 1 producto");
+        assertEquals(saved.get(2).getId(), secondPage.get(0).getId());
+    }
+
+    // --- Tests para findByFilter ---
+    @Test
+    @DisplayName("Debería filtrar por categoría, estado, rango de precio y stock en una consulta")
+    void shouldFindProductsByFilter() {
+        // Arrange
+        productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Ratón", "Desc", BigDecimal.valueOf(25), 5, Category.ELECTRONICS, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Monitor", "Desc", BigDecimal.valueOf(180), 2, Category.ELECTRONICS, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Teclado", "Desc", BigDecimal.valueOf(45), 0, Category.ELECTRONICS, Status.OUT_OF_STOCK),
+                new ProductJpaEntity(null, "Novela", "Desc", BigDecimal.valueOf(15), 9, Category.BOOKS, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Cable", "Desc", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE)
+        ));
+        ProductFilter filter = new ProductFilter(
+                Category.ELECTRONICS, Status.AVAILABLE, null, BigDecimal.valueOf(50), true
+        );
+
+        // Act
+        List<Product> firstPage = productJpaAdapter.findByFilter(filter, null, 1);
+        List<Product> secondPage = productJpaAdapter.findByFilter(filter, firstPage.get(0).getId(), 10);
+
+        // Assert
+        assertEquals(1, firstPage.size(), "La primera página debería tener 1 producto");
+        assertEquals("Ratón", firstPage.get(0).getName());
+        assertEquals(1, secondPage.size(), "La segunda página debería tener 1 producto");
+        assertEquals("Cable", secondPage.get(0).getName());
+    }
+
+    // --- Tests para streamAll ---
+    @Test
+    @DisplayName("Debería recorrer todos los productos en streaming ordenados por ID")
+    void shouldStreamAllProductsOrderedById() {
+        // Arrange
+        productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Producto 1", "Desc 1", BigDecimal.TEN, 1, Category.HOME, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 2", "Desc 2", BigDecimal.TEN, 2, Category.HOME, Status.AVAILABLE)
+        ));
+
+        // Act
+        List<Product> products;
+        try (Stream<Product> stream = productJpaAdapter.streamAll()) {
+            products = stream.toList();
+        }
+
+        // Assert
+        assertEquals(2, products.size(), "Debería recorrer 2 productos");
+        assertEquals("Producto 1", products.get(0).getName());
+        assertEquals("Producto 2", products.get(1).getName());
+    }
+
     // --- Tests para deleteById ---
     @Test
     @DisplayName("Debería eliminar un producto por ID correctamente")
@@ -159,4 +290,195 @@ class ProductJpaAdapterTest {
         // Assert
         assertFalse(result, "Debería devolver false");
     }
-}
\ No newline at end of file
+
+    // --- Tests para deleteAllById ---
+    @Test
+    @DisplayName("Debería eliminar varios productos por ID y devolver cuántos se eliminaron")
+    void shouldDeleteAllByIdAndReturnDeletedCount() {
+        // Arrange
+        List<ProductJpaEntity> saved = productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Producto 1", "Desc", BigDecimal.TEN, 1, Category.TOYS, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 2", "Desc", BigDecimal.TEN, 1, Category.TOYS, Status.AVAILABLE),
+                new ProductJpaEntity(null, "Producto 3", "Desc", BigDecimal.TEN, 1, Category.TOYS, Status.AVAILABLE)
+        ));
+
+        // Act
+        int deleted = productJpaAdapter.deleteAllById(List.of(saved.get(0).getId(), saved.get(2).getId(), 999_999L));
+
+        // Assert
+        assertEquals(2, deleted, "Solo deberían contarse los productos existentes");
+        assertEquals(1, productJpaRepository.count());
+        assertTrue(productJpaRepository.existsById(saved.get(1).getId()));
+    }
+
+    // --- Tests para findIdsByFilter ---
+    @Test
+    @DisplayName("Debería obtener por bloques los IDs de los productos que cumplen el filtro")
+    void shouldFindIdsByFilterInChunks() {
+        // Arrange
+        List<ProductJpaEntity> saved = productJpaRepository.saveAll(List.of(
+                new ProductJpaEntity(null, "Juguete 1", "Desc", BigDecimal.TEN, 0, Category.TOYS, Status.DISCONTINUED),
+                new ProductJpaEntity(null, "Libro", "Desc", BigDecimal.TEN, 0, Category.BOOKS, Status.DISCONTINUED),
+                new ProductJpaEntity(null, "Juguete 2", "Desc", BigDecimal.TEN, 0, Category.TOYS, Status.DISCONTINUED),
+                new ProductJpaEntity(null, "Juguete 3", "Desc", BigDecimal.TEN, 4, Category.TOYS, Status.AVAILABLE)
+        ));
+        ProductFilter filter = new ProductFilter(Category.TOYS, Status.DISCONTINUED, null, null, null);
+
+        // Act
+        List<Long> firstChunk = productJpaAdapter.findIdsByFilter(filter, null, 1);
+        List<Long> secondChunk = productJpaAdapter.findIdsByFilter(filter, firstChunk.get(0), 10);
+
+        // Assert
+        assertEquals(List.of(saved.get(0).getId()), firstChunk);
+        assertEquals(List.of(saved.get(2).getId()), secondChunk);
+    }
+
+    // --- Tests para updateFields ---
+    @Test
+    @DisplayName("Debería actualizar solo los campos modificados del producto")
+    void shouldUpdateOnlyChangedFields() {
+        // Arrange
+        ProductJpaEntity saved = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE));
+        Product current = new Product(saved.getId(), "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+        Product updated = new Product(saved.getId(), "Consola", "Desc", BigDecimal.valueOf(8), 5, Category.ELECTRONICS, Status.AVAILABLE);
+
+        // Act
+        boolean result = productJpaAdapter.updateFields(saved.getId(), saved.getVersion(), ProductChanges.between(current, updated));
+
+        // Assert
+        assertTrue(result);
+        ProductJpaEntity reloaded = productJpaRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(reloaded.getPrice()));
+        assertEquals("Consola", reloaded.getName());
+        assertEquals(5, reloaded.getStock());
+        assertEquals(saved.getVersion() + 1, reloaded.getVersion(), "La versión debería incrementarse");
+    }
+
+    @Test
+    @DisplayName("Debería no actualizar los campos si la versión esperada ya no es la actual")
+    void shouldNotUpdateFieldsWithStaleVersion() {
+        // Arrange
+        ProductJpaEntity saved = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE));
+        Long readVersion = saved.getVersion();
+        Product current = new Product(saved.getId(), "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+        Product first = new Product(saved.getId(), "Consola", "Desc", BigDecimal.valueOf(8), 5, Category.ELECTRONICS, Status.AVAILABLE);
+        Product second = new Product(saved.getId(), "Consola", "Desc", BigDecimal.valueOf(9), 5, Category.ELECTRONICS, Status.AVAILABLE);
+        assertTrue(productJpaAdapter.updateFields(saved.getId(), readVersion, ProductChanges.between(current, first)));
+
+        // Act
+        boolean result = productJpaAdapter.updateFields(saved.getId(), readVersion, ProductChanges.between(current, second));
+
+        // Assert
+        assertFalse(result, "La segunda escritura con la misma versión leída no debería aplicarse");
+        assertEquals(0, BigDecimal.valueOf(8).compareTo(productJpaRepository.findById(saved.getId()).orElseThrow().getPrice()));
+    }
+
+    @Test
+    @DisplayName("Debería devolver false al actualizar campos de un producto inexistente y rechazar cambios vacíos")
+    void shouldReturnFalseWhenUpdatingFieldsOfMissingProduct() {
+        // Arrange
+        Product current = new Product(999_999L, "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+        Product renamed = new Product(999_999L, "Otra", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+
+        // Act & Assert
+        assertFalse(productJpaAdapter.updateFields(999_999L, null, ProductChanges.between(current, renamed)));
+        assertThrows(IllegalArgumentException.class,
+                () -> productJpaAdapter.updateFields(999_999L, null, ProductChanges.between(current, current)));
+    }
+
+    // --- Tests para reserveStock ---
+    @Test
+    @DisplayName("Debería descontar el stock con una sentencia condicional")
+    void shouldReserveStock() {
+        // Arrange
+        ProductJpaEntity saved = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE));
+
+        // Act
+        StockReservationResult result = productJpaAdapter.reserveStock(saved.getId(), 3);
+
+        // Assert
+        assertEquals(StockReservationResult.RESERVED, result);
+        ProductJpaEntity reloaded = productJpaRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(2, reloaded.getStock());
+        assertEquals(Status.AVAILABLE, reloaded.getStatus());
+        assertEquals(saved.getVersion() + 1, reloaded.getVersion(), "La reserva debería incrementar la versión");
+    }
+
+    @Test
+    @DisplayName("Debería marcar el producto como agotado al reservar las últimas unidades, salvo si está descontinuado")
+    void shouldMarkOutOfStockWhenStockReachesZero() {
+        // Arrange
+        ProductJpaEntity available = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 2, Category.ELECTRONICS, Status.AVAILABLE));
+        ProductJpaEntity discontinued = productJpaRepository.save(
+                new ProductJpaEntity(null, "Radio", "Desc", BigDecimal.TEN, 2, Category.ELECTRONICS, Status.DISCONTINUED));
+
+        // Act
+        productJpaAdapter.reserveStock(available.getId(), 2);
+        productJpaAdapter.reserveStock(discontinued.getId(), 2);
+
+        // Assert
+        ProductJpaEntity reloadedAvailable = productJpaRepository.findById(available.getId()).orElseThrow();
+        assertEquals(0, reloadedAvailable.getStock());
+        assertEquals(Status.OUT_OF_STOCK, reloadedAvailable.getStatus());
+        ProductJpaEntity reloadedDiscontinued = productJpaRepository.findById(discontinued.getId()).orElseThrow();
+        assertEquals(0, reloadedDiscontinued.getStock());
+        assertEquals(Status.DISCONTINUED, reloadedDiscontinued.getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar la reserva sin modificar el stock si no hay unidades suficientes o no existe el producto")
+    void shouldRejectReservationWithoutEnoughStock() {
+        // Arrange
+        ProductJpaEntity saved = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 1, Category.ELECTRONICS, Status.AVAILABLE));
+
+        // Act & Assert
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, productJpaAdapter.reserveStock(saved.getId(), 2));
+        assertEquals(StockReservationResult.NOT_FOUND, productJpaAdapter.reserveStock(999_999L, 1));
+        assertEquals(1, productJpaRepository.findById(saved.getId()).orElseThrow().getStock());
+        assertThrows(IllegalArgumentException.class, () -> productJpaAdapter.reserveStock(saved.getId(), 0));
+    }
+
+    // --- Tests para updateStockLevels ---
+    @Test
+    @DisplayName("Debería fijar el stock de varios productos, omitiendo los que no cambian y los inexistentes")
+    void shouldUpdateStockLevels() {
+        // Arrange
+        ProductJpaEntity changed = productJpaRepository.save(
+                new ProductJpaEntity(null, "Consola", "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE));
+        ProductJpaEntity unchanged = productJpaRepository.save(
+                new ProductJpaEntity(null, "Radio", "Desc", BigDecimal.TEN, 4, Category.ELECTRONICS, Status.AVAILABLE));
+        ProductJpaEntity emptied = productJpaRepository.save(
+                new ProductJpaEntity(null, "Lámpara", "Desc", BigDecimal.TEN, 3, Category.HOME, Status.AVAILABLE));
+        Map<Long, Integer> levels = new HashMap<>();
+        levels.put(changed.getId(), 8);
+        levels.put(unchanged.getId(), 4);
+        levels.put(emptied.getId(), 0);
+        levels.put(999_999L, 1);
+
+        // Act
+        int updated = productJpaAdapter.updateStockLevels(levels);
+
+        // Assert
+        assertEquals(2, updated);
+        ProductJpaEntity reloadedChanged = productJpaRepository.findById(changed.getId()).orElseThrow();
+        assertEquals(8, reloadedChanged.getStock());
+        assertEquals(changed.getVersion() + 1, reloadedChanged.getVersion());
+        assertEquals(unchanged.getVersion(), productJpaRepository.findById(unchanged.getId()).orElseThrow().getVersion());
+        ProductJpaEntity reloadedEmptied = productJpaRepository.findById(emptied.getId()).orElseThrow();
+        assertEquals(0, reloadedEmptied.getStock());
+        assertEquals(Status.OUT_OF_STOCK, reloadedEmptied.getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar niveles de stock nulos o negativos")
+    void shouldRejectInvalidStockLevels() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productJpaAdapter.updateStockLevels(null));
+        assertThrows(IllegalArgumentException.class, () -> productJpaAdapter.updateStockLevels(Map.of(1L, -1)));
+    }
+}
@@ -0,0 +1,220 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.batch;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingProductRepositoryAdapterTest {
+
+    @Mock
+    private ProductRepositoryPort delegate;
+
+    @Test
+    @DisplayName("Debería resolver las lecturas concurrentes con una sola consulta de IDs distintos")
+    void shouldCoalesceConcurrentLookupsIntoOneQuery() throws Exception {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(List.of(product(1L), product(2L)));
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofSeconds(1), 100);
+
+        // Act
+        List<Optional<Product>> results = lookUpConcurrently(adapter, List.of(1L, 2L, 2L, 3L));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate, times(1)).findAllById(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(ids.getValue()));
+        assertEquals(1L, results.get(0).orElseThrow().getId());
+        assertEquals(2L, results.get(1).orElseThrow().getId());
+        assertNotSame(results.get(1).orElseThrow(), results.get(2).orElseThrow(),
+                "Cada lectura debería recibir su propia copia del producto");
+        assertTrue(results.get(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería enviar el lote sin esperar la ventana al alcanzar el tamaño máximo")
+    void shouldDispatchFullBatchWithoutWaitingForWindow() throws Exception {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenReturn(List.of(product(1L), product(2L)));
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 2);
+
+        // Act
+        List<Optional<Product>> results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> lookUpConcurrently(adapter, List.of(1L, 2L)));
+
+        // Assert
+        assertTrue(results.get(0).isPresent());
+        assertTrue(results.get(1).isPresent());
+        verify(delegate, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Debería usar la consulta por ID cuando el lote solo tiene un producto")
+    void shouldUseFindByIdForSingleLookup() {
+        // Arrange
+        when(delegate.findById(7L)).thenReturn(Optional.of(product(7L)));
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100);
+
+        // Act
+        Optional<Product> result = adapter.findById(7L);
+
+        // Assert
+        assertEquals(7L, result.orElseThrow().getId());
+        verify(delegate, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debería entregar el fallo del repositorio a todas las lecturas del lote")
+    void shouldPropagateFailureToEveryLookupOfBatch() throws Exception {
+        // Arrange
+        when(delegate.findAllById(anyCollection())).thenThrow(new IllegalStateException("base de datos caída"));
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Act
+            Future<Optional<Product>> first = executor.submit(() -> adapter.findById(1L));
+            Future<Optional<Product>> second = executor.submit(() -> adapter.findById(2L));
+
+            // Assert
+            ExecutionException firstError = assertThrows(ExecutionException.class, first::get);
+            ExecutionException secondError = assertThrows(ExecutionException.class, second::get);
+            assertInstanceOf(IllegalStateException.class, firstError.getCause());
+            assertInstanceOf(IllegalStateException.class, secondError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería delegar sin agrupar las lecturas hechas dentro de una transacción")
+    void shouldBypassBatchingInsideTransaction() {
+        // Arrange
+        when(delegate.findById(3L)).thenReturn(Optional.of(product(3L)));
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofSeconds(30), 100);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // Act
+            long start = System.nanoTime();
+            Optional<Product> result = adapter.findById(3L);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Assert
+            assertTrue(result.isPresent());
+            assertTrue(elapsed.compareTo(Duration.ofSeconds(10)) < 0, "La lectura no debería esperar la ventana");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    @DisplayName("No debería unir a un lote de la réplica las lecturas que deben ir a la base de datos principal")
+    void shouldBypassBatchingWhenPrimaryRequired() throws Exception {
+        // Arrange
+        AtomicBoolean readOnPrimary = new AtomicBoolean();
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L)));
+        when(delegate.findById(2L)).thenAnswer(invocation -> {
+            readOnPrimary.set(ReadYourWrites.isPrimaryRequired());
+            return Optional.of(product(2L));
+        });
+        BatchingProductRepositoryAdapter adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(500), 100);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch replicaReadStarted = new CountDownLatch(1);
+        try {
+            Future<Optional<Product>> replicaRead = executor.submit(() -> {
+                replicaReadStarted.countDown();
+                return adapter.findById(1L);
+            });
+            replicaReadStarted.await();
+            Thread.sleep(50);
+
+            // Act
+            Optional<Product> writerRead;
+            ReadYourWrites.requirePrimary();
+            try {
+                writerRead = adapter.findById(2L);
+            } finally {
+                ReadYourWrites.reset();
+            }
+
+            // Assert
+            assertEquals(2L, writerRead.orElseThrow().getId());
+            assertTrue(readOnPrimary.get(), "La lectura del escritor debería ejecutarse en su propio hilo");
+            assertEquals(1L, replicaRead.get().orElseThrow().getId());
+            verify(delegate, never()).findAllById(anyCollection());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una ventana negativa o un tamaño de lote no positivo")
+    void shouldRejectInvalidConfiguration() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(-1), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 0));
+    }
+
+    /**
+     * Lanza una lectura por ID en un hilo distinto, todas a la vez, y devuelve los resultados en orden.
+     */
+    private static List<Optional<Product>> lookUpConcurrently(BatchingProductRepositoryAdapter adapter, List<Long> ids)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch ready = new CountDownLatch(ids.size());
+        try {
+            List<Future<Optional<Product>>> futures = new ArrayList<>();
+            for (Long id : ids) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return adapter.findById(id);
+                }));
+            }
+            List<Optional<Product>> results = new ArrayList<>();
+            for (Future<Optional<Product>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Producto " + id, "Descripción", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
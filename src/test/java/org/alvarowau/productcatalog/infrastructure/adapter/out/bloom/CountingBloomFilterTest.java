@@ -0,0 +1,99 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Debería reconocer todas las claves añadidas")
+    void shouldNeverReportAddedKeyAsAbsent() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+
+        // Act
+        for (long key = 1; key <= 10_000; key++) {
+            filter.add(key);
+        }
+
+        // Assert
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(filter.mightContain(key), "Falso negativo para la clave " + key);
+        }
+    }
+
+    @Test
+    @DisplayName("Debería mantener la tasa de falsos positivos cerca de la configurada")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (long key = 1; key <= 10_000; key++) {
+            filter.add(key);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        double observed = falsePositives / 100_000.0;
+        assertTrue(observed < 0.02, "Tasa observada " + observed);
+        assertEquals(0.01, filter.estimatedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    @DisplayName("Debería dar por ausente una clave borrada sin afectar a las demás")
+    void shouldForgetRemovedKeyAndKeepOthers() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        for (long key = 1; key <= 1_000; key++) {
+            filter.add(key);
+        }
+
+        // Act
+        for (long key = 1; key <= 500; key++) {
+            filter.remove(key);
+        }
+
+        // Assert
+        for (long key = 501; key <= 1_000; key++) {
+            assertTrue(filter.mightContain(key), "Falso negativo para la clave " + key);
+        }
+        long stillPresent = java.util.stream.LongStream.rangeClosed(1, 500).filter(filter::mightContain).count();
+        assertTrue(stillPresent < 25, "Claves borradas que siguen presentes: " + stillPresent);
+    }
+
+    @Test
+    @DisplayName("No debería decrementar un contador saturado")
+    void shouldKeepSaturatedCounters() {
+        // Arrange
+        CountingBloomFilter filter = new CountingBloomFilter(1, 0.5);
+        for (int i = 0; i < 20; i++) {
+            filter.add(42L);
+        }
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            filter.remove(42L);
+        }
+
+        // Assert
+        assertTrue(filter.mightContain(42L));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un tamaño o una tasa de falsos positivos fuera de rango")
+    void shouldRejectInvalidConfiguration() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(Long.MAX_VALUE / 2, 0.01));
+    }
+}
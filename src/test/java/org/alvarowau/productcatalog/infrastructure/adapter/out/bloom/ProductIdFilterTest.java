@@ -0,0 +1,80 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductIdFilterTest {
+
+    @Test
+    @DisplayName("Debería dar cualquier producto por posible mientras no esté sembrado")
+    void shouldAnswerMaybeUntilSeeded() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(1_000, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.isSeeded());
+        assertTrue(filter.mightContain(123L));
+        assertEquals(0, filter.stats().getNegativeCount());
+    }
+
+    @Test
+    @DisplayName("Debería descartar los productos que no se sembraron ni se añadieron")
+    void shouldRuleOutUnknownIdsOnceSeeded() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(1_000, 0.01);
+        filter.add(7L);
+
+        // Act
+        filter.seed(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertTrue(filter.isSeeded());
+        assertTrue(filter.mightContain(1L));
+        assertTrue(filter.mightContain(7L));
+        assertFalse(filter.mightContain(999_999L));
+        assertTrue(filter.mightContain(null));
+    }
+
+    @Test
+    @DisplayName("Debería retirar los productos eliminados")
+    void shouldRemoveDeletedIds() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(1_000, 0.01);
+        filter.seed(List.of(1L, 2L));
+
+        // Act
+        filter.remove(List.of(1L));
+
+        // Assert
+        assertFalse(filter.mightContain(1L));
+        assertTrue(filter.mightContain(2L));
+    }
+
+    @Test
+    @DisplayName("Debería exponer las respuestas, los falsos positivos y el tamaño del filtro")
+    void shouldExposeStats() {
+        // Arrange
+        ProductIdFilter filter = new ProductIdFilter(1_000, 0.01);
+        filter.seed(List.of(1L, 2L, 3L));
+        filter.mightContain(1L);
+        filter.mightContain(999_999L);
+        filter.recordFalsePositives(1);
+
+        // Act
+        ProductIdFilterStats stats = filter.stats();
+
+        // Assert
+        assertEquals(1, stats.getPositiveCount());
+        assertEquals(1, stats.getNegativeCount());
+        assertEquals(1, stats.getFalsePositiveCount());
+        assertEquals(0.5, stats.observedFalsePositiveRate());
+        assertEquals(3, stats.getSeededIds());
+        assertTrue(stats.isSeeded());
+        assertEquals(stats.getCounterCount() / 2, stats.getMemoryBytes());
+        assertTrue(stats.getEstimatedFalsePositiveRate() < 0.01);
+    }
+}
@@ -0,0 +1,439 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.cache;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductRepositoryAdapterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration REPLICA_LAG = Duration.ofSeconds(2);
+
+    @Mock
+    private ProductRepositoryPort delegate;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CachingProductRepositoryAdapter cachingAdapter;
+
+    @BeforeEach
+    void setUp() {
+        cachingAdapter = new CachingProductRepositoryAdapter(delegate, 100, TTL, clock::get);
+    }
+
+    @Test
+    @DisplayName("Debería resolver desde la caché las lecturas repetidas de un producto")
+    void shouldServeRepeatedReadsFromCache() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+
+        // Act
+        cachingAdapter.findById(1L);
+        Optional<Product> second = cachingAdapter.findById(1L);
+        Optional<Product> third = cachingAdapter.findById(1L);
+
+        // Assert
+        assertEquals("Teclado", second.orElseThrow().getName());
+        assertEquals("Teclado", third.orElseThrow().getName());
+        verify(delegate, times(1)).findById(1L);
+        ProductCacheStats stats = cachingAdapter.stats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("No debería cachear productos inexistentes")
+    void shouldNotCacheMissingProducts() {
+        // Arrange
+        when(delegate.findById(9L)).thenReturn(Optional.empty());
+
+        // Act
+        cachingAdapter.findById(9L);
+        cachingAdapter.findById(9L);
+
+        // Assert
+        verify(delegate, times(2)).findById(9L);
+        assertEquals(0, cachingAdapter.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Debería entregar copias para que modificar un producto leído no altere la caché")
+    void shouldReturnDefensiveCopies() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+
+        // Act
+        cachingAdapter.findById(1L).orElseThrow().setName("Modificado sin guardar");
+        cachingAdapter.findById(1L).orElseThrow().setName("Otra modificación");
+
+        // Assert
+        assertEquals("Teclado", cachingAdapter.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada al guardar y al eliminar un producto")
+    void shouldInvalidateEntryOnSaveAndDelete() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(
+                Optional.of(product(1L, "Teclado")),
+                Optional.of(product(1L, "Teclado mecánico")),
+                Optional.empty());
+        when(delegate.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delegate.deleteById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals("Teclado", cachingAdapter.findById(1L).orElseThrow().getName());
+
+        cachingAdapter.save(product(1L, "Teclado mecánico"));
+        assertEquals("Teclado mecánico", cachingAdapter.findById(1L).orElseThrow().getName());
+
+        cachingAdapter.deleteById(1L);
+        assertTrue(cachingAdapter.findById(1L).isEmpty());
+        verify(delegate, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Debería invalidar las entradas de los productos guardados en bloque")
+    void shouldInvalidateEntriesOnSaveAll() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(
+                Optional.of(product(1L, "Teclado")),
+                Optional.of(product(1L, "Teclado mecánico")));
+        when(delegate.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        cachingAdapter.findById(1L);
+
+        // Act
+        cachingAdapter.saveAll(List.of(product(1L, "Teclado mecánico"), product(null, "Nuevo")));
+
+        // Assert
+        assertEquals("Teclado mecánico", cachingAdapter.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar las entradas de los productos eliminados en bloque")
+    void shouldInvalidateEntriesOnDeleteAllById() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")), Optional.empty());
+        when(delegate.deleteAllById(List.of(1L, 2L))).thenReturn(1);
+        cachingAdapter.findById(1L);
+
+        // Act
+        cachingAdapter.deleteAllById(List.of(1L, 2L));
+
+        // Assert
+        assertTrue(cachingAdapter.findById(1L).isEmpty());
+        assertEquals(0, cachingAdapter.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada del producto al actualizar campos sueltos")
+    void shouldInvalidateEntryOnUpdateFields() {
+        // Arrange
+        Product cached = product(1L, "Teclado");
+        Product renamed = product(1L, "Teclado mecánico");
+        when(delegate.findById(1L)).thenReturn(Optional.of(cached), Optional.of(renamed));
+        when(delegate.updateFields(eq(1L), any(), any())).thenReturn(true);
+        cachingAdapter.findById(1L);
+
+        // Act
+        cachingAdapter.updateFields(1L, null, ProductChanges.between(cached, renamed));
+
+        // Assert
+        assertEquals("Teclado mecánico", cachingAdapter.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada del producto al reservar stock")
+    void shouldInvalidateEntryOnReserveStock() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+        when(delegate.reserveStock(1L, 2)).thenReturn(StockReservationResult.RESERVED);
+        cachingAdapter.findById(1L);
+
+        // Act
+        cachingAdapter.reserveStock(1L, 2);
+        cachingAdapter.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Debería invalidar las entradas de los productos al fijar niveles de stock")
+    void shouldInvalidateEntriesOnUpdateStockLevels() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+        when(delegate.updateStockLevels(Map.of(1L, 7))).thenReturn(1);
+        cachingAdapter.findById(1L);
+
+        // Act
+        cachingAdapter.updateStockLevels(Map.of(1L, 7));
+        cachingAdapter.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Debería invalidar la entrada aunque la escritura en el repositorio falle")
+    void shouldInvalidateEntryEvenIfSaveFails() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+        when(delegate.save(any(Product.class))).thenThrow(new IllegalStateException("fallo de escritura"));
+        cachingAdapter.findById(1L);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> cachingAdapter.save(product(1L, "Teclado mecánico")));
+        cachingAdapter.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Debería pedir al repositorio en una sola llamada solo los productos no cacheados")
+    void shouldLoadOnlyUncachedProductsInOneCall() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+        when(delegate.findAllById(Set.of(2L, 3L))).thenReturn(List.of(product(2L, "Ratón")));
+        cachingAdapter.findById(1L);
+
+        // Act
+        List<Product> first = cachingAdapter.findAllById(List.of(1L, 2L, 3L, 2L));
+        List<Product> second = cachingAdapter.findAllById(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        verify(delegate, times(1)).findAllById(any());
+        assertEquals(2, cachingAdapter.stats().getSize());
+    }
+
+    @Test
+    @DisplayName("Debería volver a cargar el producto cuando la entrada caduca")
+    void shouldReloadProductAfterTtlExpires() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Teclado")));
+        cachingAdapter.findById(1L);
+
+        // Act
+        clock.addAndGet(TTL.toNanos() - 1);
+        cachingAdapter.findById(1L);
+        clock.addAndGet(1);
+        cachingAdapter.findById(1L);
+
+        // Assert
+        verify(delegate, times(2)).findById(1L);
+        assertEquals(1, cachingAdapter.stats().getExpirationCount());
+    }
+
+    @Test
+    @DisplayName("No debería publicar un producto cargado antes de una invalidación concurrente")
+    void shouldNotPublishProductLoadedBeforeConcurrentInvalidation() {
+        // Arrange: mientras se carga la versión antigua, otro hilo guarda una nueva
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            cachingAdapter.deleteById(1L);
+            return Optional.of(product(1L, "Versión antigua"));
+        }).thenReturn(Optional.of(product(1L, "Versión nueva")));
+
+        // Act
+        cachingAdapter.findById(1L);
+        Optional<Product> reloaded = cachingAdapter.findById(1L);
+
+        // Assert
+        assertEquals("Versión nueva", reloaded.orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería proteger los productos frecuentes frente a un recorrido de productos consultados una sola vez")
+    void shouldKeepFrequentProductsWhenScanningOneOffProducts() {
+        // Arrange
+        cachingAdapter = new CachingProductRepositoryAdapter(delegate, 256, TTL, clock::get);
+        when(delegate.findById(anyLong())).thenAnswer(invocation -> Optional.of(product(invocation.getArgument(0), "P")));
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 200; id++) {
+                cachingAdapter.findById(id);
+            }
+        }
+
+        // Act: cada producto del recorrido se consulta una sola vez
+        for (long id = 10_000; id < 11_000; id++) {
+            cachingAdapter.findById(id);
+        }
+        clearInvocations(delegate);
+        for (long id = 1; id <= 200; id++) {
+            cachingAdapter.findById(id);
+        }
+
+        // Assert
+        verify(delegate, never()).findById(anyLong());
+        ProductCacheStats stats = cachingAdapter.stats();
+        assertTrue(stats.getRejectionCount() > 0, "Los productos del recorrido no deberían admitirse");
+        assertEquals(256, stats.getSize(), "La caché no debería superar su tamaño máximo");
+    }
+
+    @Test
+    @DisplayName("Debería respetar el tamaño máximo expulsando entradas cuando llegan productos más frecuentes")
+    void shouldEvictEntriesWhenMoreFrequentProductsArrive() {
+        // Arrange
+        cachingAdapter = new CachingProductRepositoryAdapter(delegate, 256, TTL, clock::get);
+        when(delegate.findById(anyLong())).thenAnswer(invocation -> Optional.of(product(invocation.getArgument(0), "P")));
+        for (long id = 1; id <= 256; id++) {
+            cachingAdapter.findById(id);
+        }
+
+        // Act: productos nuevos que se piden varias veces acaban desplazando a los antiguos
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1000; id < 1100; id++) {
+                cachingAdapter.findById(id);
+            }
+        }
+        clearInvocations(delegate);
+        for (long id = 1000; id < 1100; id++) {
+            cachingAdapter.findById(id);
+        }
+
+        // Assert
+        verify(delegate, never()).findById(anyLong());
+        ProductCacheStats stats = cachingAdapter.stats();
+        assertEquals(100, stats.getEvictionCount());
+        assertEquals(256, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("Debería soportar lecturas concurrentes de productos calientes")
+    void shouldSupportConcurrentReadsOfHotProducts() throws Exception {
+        // Arrange
+        when(delegate.findById(anyLong())).thenAnswer(invocation -> Optional.of(product(invocation.getArgument(0), "P")));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int found = 0;
+                for (int i = 0; i < 10_000; i++) {
+                    long id = i % 10 + 1;
+                    if (cachingAdapter.findById(id).map(Product::getId).orElse(-1L) == id) {
+                        found++;
+                    }
+                }
+                return found;
+            }));
+        }
+        start.countDown();
+
+        // Assert
+        for (Future<Integer> result : results) {
+            assertEquals(10_000, result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        ProductCacheStats stats = cachingAdapter.stats();
+        assertEquals(threads * 10_000L, stats.getHitCount() + stats.getMissCount());
+        assertTrue(stats.hitRate() > 0.99, "Casi todas las lecturas deberían resolverse desde la caché");
+    }
+
+    @Test
+    @DisplayName("Debería servir al escritor su cambio aunque otro cliente lea antes de la réplica atrasada")
+    void shouldReadYourWritesAfterLaggedReplicaRead() {
+        // Arrange
+        CachingProductRepositoryAdapter adapter = laggingReplicaAdapter();
+        adapter.findById(1L);
+        adapter.save(product(1L, "Nuevo"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Act
+        Optional<Product> otherClient = adapter.findById(1L);
+        Optional<Product> writer;
+        ReadYourWrites.requirePrimary();
+        try {
+            writer = adapter.findById(1L);
+        } finally {
+            ReadYourWrites.reset();
+        }
+
+        // Assert
+        assertEquals("Antiguo", otherClient.orElseThrow().getName());
+        assertEquals("Nuevo", writer.orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("No debería cachear lo leído de la réplica mientras puede estar atrasada respecto a una escritura")
+    void shouldNotCacheLaggedReplicaRead() {
+        // Arrange
+        CachingProductRepositoryAdapter adapter = laggingReplicaAdapter();
+        adapter.save(product(1L, "Nuevo"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        adapter.findById(1L);
+        clock.addAndGet(REPLICA_LAG.toNanos());
+
+        // Act
+        Optional<Product> afterLag = adapter.findById(1L);
+        adapter.findById(1L);
+
+        // Assert
+        assertEquals("Nuevo", afterLag.orElseThrow().getName());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    /**
+     * Caché delante de un repositorio con réplica: la base de datos principal ve la escritura al
+     * momento y la réplica solo cuando ha pasado {@link #REPLICA_LAG}.
+     */
+    private CachingProductRepositoryAdapter laggingReplicaAdapter() {
+        AtomicBoolean written = new AtomicBoolean();
+        AtomicLong replicaCatchUp = new AtomicLong();
+        when(delegate.save(any(Product.class))).thenAnswer(invocation -> {
+            written.set(true);
+            replicaCatchUp.set(clock.get() + REPLICA_LAG.toNanos());
+            return invocation.getArgument(0);
+        });
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            boolean visible = written.get()
+                    && (ReadYourWrites.isPrimaryRequired() || clock.get() >= replicaCatchUp.get());
+            return Optional.of(product(1L, visible ? "Nuevo" : "Antiguo"));
+        });
+        return new CachingProductRepositoryAdapter(delegate, 100, TTL, REPLICA_LAG, clock::get);
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, "Descripción", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
@@ -0,0 +1,55 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySketchTest {
+
+    @Test
+    @DisplayName("Debería estimar la frecuencia de cada clave")
+    void shouldEstimateKeyFrequency() {
+        FrequencySketch sketch = new FrequencySketch(512);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42L);
+        }
+        sketch.increment(7L);
+
+        assertEquals(5, sketch.frequency(42L));
+        assertEquals(1, sketch.frequency(7L));
+        assertEquals(0, sketch.frequency(1234L));
+    }
+
+    @Test
+    @DisplayName("Debería saturar los contadores en el valor máximo")
+    void shouldSaturateAtMaximumFrequency() {
+        FrequencySketch sketch = new FrequencySketch(512);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42L);
+        }
+
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(42L));
+    }
+
+    @Test
+    @DisplayName("Debería reducir a la mitad las frecuencias al completar la muestra")
+    void shouldHalveFrequenciesAfterSample() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < FrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment(42L);
+        }
+
+        // Una muestra son 10 × 16 incrementos efectivos
+        long key = 1000;
+        while (sketch.frequency(42L) == FrequencySketch.MAX_FREQUENCY && key < 2000) {
+            sketch.increment(key++);
+        }
+
+        assertTrue(key < 2000, "La muestra debería completarse");
+        assertTrue(sketch.frequency(42L) <= FrequencySketch.MAX_FREQUENCY / 2,
+                "La frecuencia antigua debería haberse reducido a la mitad");
+    }
+}
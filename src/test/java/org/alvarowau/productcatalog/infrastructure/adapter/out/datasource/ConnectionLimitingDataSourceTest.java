@@ -0,0 +1,83 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionLimitingDataSourceTest {
+
+    private static DataSource database() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    @Test
+    @DisplayName("Debería fallar al superar el límite de conexiones abiertas cuando vence la espera")
+    void shouldTimeOutWhenAllPermitsAreTaken() throws SQLException {
+        // Arrange
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(database(), 1, Duration.ofMillis(50));
+
+        try (Connection first = dataSource.getConnection()) {
+            // Act & Assert
+            assertEquals(0, dataSource.availablePermits());
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Debería entregar la conexión a quien espera en cuanto otra se cierra")
+    void shouldHandOverPermitWhenConnectionIsClosed() throws Exception {
+        // Arrange
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(database(), 1, Duration.ofSeconds(10));
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try (Connection second = dataSource.getConnection()) {
+                return second.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Act
+        first.close();
+
+        // Assert
+        assertTrue(waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Debería devolver el permiso una sola vez aunque la conexión se cierre varias veces")
+    void shouldReleasePermitOnlyOnce() throws SQLException {
+        // Arrange
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(database(), 2, Duration.ofMillis(50));
+        Connection connection = dataSource.getConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un límite no positivo o una espera negativa")
+    void shouldRejectInvalidConfiguration() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(database(), 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLimitingDataSource(database(), 1, Duration.ofMillis(-1)));
+    }
+}
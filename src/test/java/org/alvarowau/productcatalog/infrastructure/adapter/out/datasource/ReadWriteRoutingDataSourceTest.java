@@ -0,0 +1,81 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static DataSource database(String name, String role) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(h2);
+        setup.execute("CREATE TABLE IF NOT EXISTS node (role VARCHAR(16))");
+        setup.execute("DELETE FROM node");
+        setup.update("INSERT INTO node VALUES (?)", role);
+        return h2;
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadWriteRoutingDataSource(database("routing-primary", "primary"), database("routing-replica", "replica"));
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.reset();
+    }
+
+    private String currentNode() {
+        return jdbc.queryForObject("SELECT role FROM node", String.class);
+    }
+
+    @Test
+    @DisplayName("Debería enviar las transacciones de solo lectura a la réplica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Act & Assert
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("Debería enviar a la base de datos principal las transacciones de escritura y el acceso sin transacción")
+    void shouldRouteReadWriteTransactionsAndNonTransactionalAccessToPrimary() {
+        // Act & Assert
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    @DisplayName("Debería leer de la base de datos principal cuando el cliente debe ver sus propias escrituras")
+    void shouldRouteReadOnlyTransactionsToPrimaryWhenPrimaryIsRequired() {
+        // Arrange
+        ReadYourWrites.requirePrimary();
+
+        // Act
+        String node = readOnly.execute(status -> currentNode());
+
+        // Assert
+        assertEquals("primary", node);
+        ReadYourWrites.reset();
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+}
@@ -0,0 +1,54 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.reset();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Debería propagar la marca del hilo que envía la tarea sin dejarla en el hilo que la ejecuta")
+    void shouldPropagateMarkToWorkerWithoutLeaking() throws Exception {
+        // Arrange
+        ReadYourWrites.requirePrimary();
+        Runnable marked = ReadYourWrites.propagate(() -> assertTrue(ReadYourWrites.isPrimaryRequired()));
+        ReadYourWrites.reset();
+
+        // Act
+        CompletableFuture.runAsync(marked, executor).get(10, TimeUnit.SECONDS);
+        boolean leaked = CompletableFuture.supplyAsync(ReadYourWrites::isPrimaryRequired, executor)
+                .get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(leaked, "La marca no debería quedar en el hilo del ejecutor");
+    }
+
+    @Test
+    @DisplayName("Debería restaurar la marca del hilo que ejecuta la tarea cuando la ejecuta el propio llamante")
+    void shouldRestoreMarkWhenRunInline() {
+        // Arrange
+        Runnable unmarked = ReadYourWrites.propagate(() -> assertFalse(ReadYourWrites.isPrimaryRequired()));
+        ReadYourWrites.requirePrimary();
+
+        // Act
+        unmarked.run();
+
+        // Assert
+        assertTrue(ReadYourWrites.isPrimaryRequired());
+    }
+}
@@ -0,0 +1,180 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.ProductJpaAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.persistence.ProductJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(ProductJpaAdapter.class)
+@ActiveProfiles("test")
+class JdbcProductReadAdapterTest {
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private ProductJpaAdapter productJpaAdapter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcProductReadAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        productJpaRepository.deleteAll();
+        adapter = new JdbcProductReadAdapter(productJpaAdapter, dataSource, EnumSet.allOf(JdbcReadQuery.class), 100);
+    }
+
+    private List<Product> saveCatalog() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product("Portátil", "Ultraligero", new BigDecimal("999.99"), 3, Category.ELECTRONICS, Status.AVAILABLE));
+        products.add(new Product("Camiseta", "", new BigDecimal("15.50"), 0, Category.FASHION, Status.AVAILABLE));
+        products.add(new Product("Auriculares", "Inalámbricos", new BigDecimal("59.00"), 10, Category.ELECTRONICS, Status.DISCONTINUED));
+        products.add(new Product("Novela", "Tapa blanda", new BigDecimal("12.00"), 7, Category.BOOKS, Status.AVAILABLE));
+        return productJpaAdapter.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("Debería leer por ID el mismo producto que el adaptador JPA")
+    void shouldFindByIdSameProductAsJpa() {
+        // Arrange
+        Product saved = saveCatalog().get(1);
+
+        // Act
+        Optional<Product> found = adapter.findById(saved.getId());
+
+        // Assert
+        assertTrue(found.isPresent());
+        assertEquals(productJpaAdapter.findById(saved.getId()).orElseThrow(), found.get());
+        assertEquals("No disponible", found.get().getDescription());
+        assertEquals(Status.OUT_OF_STOCK, found.get().getStatus());
+        assertEquals(0L, found.get().getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería devolver vacío al buscar un ID inexistente y rechazar un ID nulo")
+    void shouldReturnEmptyForUnknownIdAndRejectNull() {
+        // Act & Assert
+        assertTrue(adapter.findById(999_999L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> adapter.findById(null));
+    }
+
+    @Test
+    @DisplayName("Debería obtener varios productos por ID ignorando repetidos e inexistentes")
+    void shouldFindAllByIdIgnoringDuplicatesAndMissing() {
+        // Arrange
+        List<Product> saved = saveCatalog();
+        Long first = saved.get(0).getId();
+        Long third = saved.get(2).getId();
+
+        // Act
+        List<Product> found = adapter.findAllById(List.of(third, first, third, 999_999L));
+
+        // Assert
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(productJpaAdapter.findAllById(List.of(first, third))));
+    }
+
+    @Test
+    @DisplayName("Debería listar, paginar y recorrer el catálogo igual que el adaptador JPA")
+    void shouldListPageAndStreamLikeJpa() {
+        // Arrange
+        List<Product> saved = saveCatalog();
+
+        // Act
+        List<Product> all = adapter.findAll();
+        List<Product> page = adapter.findPage(saved.get(0).getId(), 2);
+        List<Product> streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.toList();
+        }
+
+        // Assert
+        assertEquals(saved, all);
+        assertEquals(productJpaAdapter.findPage(saved.get(0).getId(), 2), page);
+        assertEquals(saved.subList(1, 3), page);
+        assertEquals(saved, streamed);
+    }
+
+    @Test
+    @DisplayName("Debería filtrar con los mismos criterios que el adaptador JPA")
+    void shouldFilterLikeJpa() {
+        // Arrange
+        List<Product> saved = saveCatalog();
+        ProductFilter electronics = new ProductFilter(Category.ELECTRONICS, null, new BigDecimal("50"), new BigDecimal("1000"), true);
+        ProductFilter outOfStock = new ProductFilter(null, null, null, null, false);
+        ProductFilter available = new ProductFilter(null, Status.AVAILABLE, null, null, null);
+
+        // Act & Assert
+        assertEquals(productJpaAdapter.findByFilter(electronics, null, 10), adapter.findByFilter(electronics, null, 10));
+        assertEquals(List.of(saved.get(1)), adapter.findByFilter(outOfStock, null, 10));
+        assertEquals(List.of(saved.get(3)), adapter.findByFilter(available, saved.get(0).getId(), 10));
+        assertEquals(1, adapter.findByFilter(available, null, 1).size());
+        assertEquals(productJpaAdapter.findIdsByFilter(available, null, 10), adapter.findIdsByFilter(available, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findByFilter(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Debería ver los cambios escritos a través de JPA")
+    void shouldSeeWritesMadeThroughJpa() {
+        // Arrange
+        Product saved = saveCatalog().get(0);
+        Product changed = new Product(saved.getId(), saved.getName(), saved.getDescription(), new BigDecimal("899.99"),
+                0, saved.getCategory(), saved.getStatus(), saved.getVersion());
+
+        // Act
+        Product updated = adapter.save(changed);
+
+        // Assert
+        Product found = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(updated, found);
+        assertEquals(1L, found.getVersion());
+        assertEquals(Status.OUT_OF_STOCK, found.getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería delegar en el adaptador decorado las lecturas no seleccionadas y las escrituras")
+    void shouldDelegateUnselectedReadsAndWrites() {
+        // Arrange
+        ProductRepositoryPort delegate = mock(ProductRepositoryPort.class);
+        ProductFilter filter = new ProductFilter(Category.BOOKS, null, null, null, null);
+        JdbcProductReadAdapter findByIdOnly = new JdbcProductReadAdapter(delegate, dataSource, Set.of(JdbcReadQuery.FIND_BY_ID), 100);
+
+        // Act
+        findByIdOnly.findAll();
+        findByIdOnly.findPage(null, 5);
+        findByIdOnly.findByFilter(filter, null, 5);
+        findByIdOnly.deleteById(1L);
+
+        // Assert
+        verify(delegate).findAll();
+        verify(delegate).findPage(null, 5);
+        verify(delegate).findByFilter(filter, null, 5);
+        verify(delegate).deleteById(1L);
+        verifyNoMoreInteractions(delegate);
+    }
+}
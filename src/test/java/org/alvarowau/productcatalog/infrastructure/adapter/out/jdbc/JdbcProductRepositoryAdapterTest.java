@@ -0,0 +1,197 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcProductRepositoryAdapterTest {
+
+    private JdbcProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jdbc-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        adapter = new JdbcProductRepositoryAdapter(dataSource, Duration.ofSeconds(5), 100);
+        adapter.createTableIfMissing();
+    }
+
+    private static Product product(long id, String name, int stock, Category category, Status status) {
+        return new Product(id, name, "Descripción " + name, new BigDecimal("10.00"), stock, category, status);
+    }
+
+    @Test
+    @DisplayName("Debería insertar con versión 0 un producto con ID asignado y sin versión")
+    void shouldInsertNewProductWithVersionZero() {
+        // Act
+        Product saved = adapter.save(product(7L, "Lámpara", 3, Category.HOME, Status.AVAILABLE));
+
+        // Assert
+        assertEquals(0L, saved.getVersion());
+        assertEquals(saved, adapter.findById(7L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un producto sin ID asignado")
+    void shouldRejectProductWithoutId() {
+        // Arrange
+        Product withoutId = new Product("Lámpara", "Desc", BigDecimal.ONE, 1, Category.HOME, Status.AVAILABLE);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(withoutId));
+        assertThrows(IllegalArgumentException.class, () -> adapter.saveAll(List.of(withoutId)));
+    }
+
+    @Test
+    @DisplayName("Debería comprobar la versión al actualizar y sobrescribir sin comprobarla si no se indica")
+    void shouldCheckVersionOnUpdate() {
+        // Arrange
+        Product saved = adapter.save(product(1L, "Mesa", 2, Category.HOME, Status.AVAILABLE));
+        Product stale = new Product(1L, "Mesa vieja", "Desc", BigDecimal.ONE, 2, Category.HOME, Status.AVAILABLE, 5L);
+        Product missing = new Product(99L, "Nada", "Desc", BigDecimal.ONE, 2, Category.HOME, Status.AVAILABLE, 0L);
+
+        // Act
+        Product updated = adapter.save(new Product(1L, "Mesa grande", saved.getDescription(), saved.getPrice(),
+                saved.getStock(), saved.getCategory(), saved.getStatus(), saved.getVersion()));
+        Product overwritten = adapter.save(product(1L, "Mesa extensible", 2, Category.HOME, Status.AVAILABLE));
+
+        // Assert
+        assertEquals(1L, updated.getVersion());
+        assertEquals(2L, overwritten.getVersion());
+        assertEquals("Mesa extensible", adapter.findById(1L).orElseThrow().getName());
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.save(stale));
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.save(missing));
+    }
+
+    @Test
+    @DisplayName("Debería guardar en bloque productos nuevos y existentes, y deshacer todo si una versión no coincide")
+    void shouldSaveAllAndRollBackOnConflict() {
+        // Arrange
+        adapter.save(product(1L, "Existente", 1, Category.BOOKS, Status.AVAILABLE));
+
+        // Act
+        List<Product> saved = adapter.saveAll(List.of(
+                product(2L, "Nuevo", 1, Category.BOOKS, Status.AVAILABLE),
+                product(1L, "Existente actualizado", 1, Category.BOOKS, Status.AVAILABLE)));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), saved.stream().map(Product::getId).toList());
+        assertEquals(List.of(0L, 1L), saved.stream().map(Product::getVersion).toList());
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.saveAll(List.of(
+                product(3L, "Otro", 1, Category.BOOKS, Status.AVAILABLE),
+                new Product(1L, "Obsoleto", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE, 0L))));
+        assertTrue(adapter.findById(3L).isEmpty(), "El lote fallido no debe dejar productos a medias");
+    }
+
+    @Test
+    @DisplayName("Debería guardar en orden un bloque que repite un ID")
+    void shouldSaveAllWithRepeatedIds() {
+        // Act
+        List<Product> saved = adapter.saveAll(List.of(
+                product(5L, "Primero", 1, Category.TOYS, Status.AVAILABLE),
+                product(5L, "Segundo", 1, Category.TOYS, Status.AVAILABLE)));
+
+        // Assert
+        assertEquals(List.of(0L, 1L), saved.stream().map(Product::getVersion).toList());
+        assertEquals("Segundo", adapter.findById(5L).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería listar, paginar, recorrer y filtrar ordenando por ID")
+    void shouldListPageStreamAndFilterById() {
+        // Arrange
+        adapter.saveAll(List.of(
+                product(3L, "C", 0, Category.BOOKS, Status.AVAILABLE),
+                product(1L, "A", 5, Category.BOOKS, Status.AVAILABLE),
+                product(2L, "B", 5, Category.TOYS, Status.AVAILABLE)));
+        ProductFilter books = new ProductFilter(Category.BOOKS, null, null, null, null);
+
+        // Act
+        List<Long> all = adapter.findAll().stream().map(Product::getId).toList();
+        List<Long> page = adapter.findPage(1L, 1).stream().map(Product::getId).toList();
+        List<Long> streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.map(Product::getId).toList();
+        }
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), all);
+        assertEquals(List.of(2L), page);
+        assertEquals(all, streamed);
+        assertEquals(List.of(1L, 3L), adapter.findIdsByFilter(books, null, 10));
+        assertEquals(List.of(3L), adapter.findByFilter(books, 1L, 10).stream().map(Product::getId).toList());
+        assertEquals(2, adapter.findAllById(List.of(1L, 3L, 3L, 9L)).size());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar solo los campos indicados y comprobar la versión esperada")
+    void shouldUpdateFields() {
+        // Arrange
+        adapter.save(product(1L, "Balón", 4, Category.SPORTS, Status.AVAILABLE));
+        Product changed = new Product(1L, "Balón", "Descripción Balón", new BigDecimal("12.50"), 4, Category.SPORTS, Status.AVAILABLE);
+        ProductChanges changes = ProductChanges.between(adapter.findById(1L).orElseThrow(), changed);
+
+        // Act & Assert
+        assertFalse(adapter.updateFields(1L, 3L, changes));
+        assertTrue(adapter.updateFields(1L, 0L, changes));
+        Product updated = adapter.findById(1L).orElseThrow();
+        assertEquals(0, new BigDecimal("12.50").compareTo(updated.getPrice()));
+        assertEquals(1L, updated.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> adapter.updateFields(1L, null, ProductChanges.between(changed, changed)));
+    }
+
+    @Test
+    @DisplayName("Debería reservar stock, agotar el producto al llegar a cero y distinguir producto inexistente")
+    void shouldReserveStock() {
+        // Arrange
+        adapter.save(product(1L, "Cuaderno", 2, Category.BOOKS, Status.AVAILABLE));
+        adapter.save(product(2L, "Antiguo", 1, Category.BOOKS, Status.DISCONTINUED));
+
+        // Act & Assert
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(1L, 2));
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, adapter.reserveStock(1L, 1));
+        assertEquals(StockReservationResult.NOT_FOUND, adapter.reserveStock(9L, 1));
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(2L, 1));
+        assertEquals(Status.OUT_OF_STOCK, adapter.findById(1L).orElseThrow().getStatus());
+        assertEquals(Status.DISCONTINUED, adapter.findById(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería fijar niveles de stock omitiendo los que no cambian, y eliminar productos")
+    void shouldUpdateStockLevelsAndDelete() {
+        // Arrange
+        adapter.save(product(1L, "A", 3, Category.TOYS, Status.AVAILABLE));
+        adapter.save(product(2L, "B", 4, Category.TOYS, Status.AVAILABLE));
+        adapter.save(product(3L, "C", 4, Category.TOYS, Status.AVAILABLE));
+
+        // Act
+        int updated = adapter.updateStockLevels(Map.of(1L, 0, 2L, 4, 9L, 1));
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(Status.OUT_OF_STOCK, adapter.findById(1L).orElseThrow().getStatus());
+        assertEquals(0L, adapter.findById(2L).orElseThrow().getVersion());
+        assertThrows(IllegalArgumentException.class, () -> adapter.updateStockLevels(Map.of(1L, -1)));
+        assertTrue(adapter.deleteById(1L));
+        assertFalse(adapter.deleteById(1L));
+        assertEquals(2, adapter.deleteAllById(List.of(2L, 3L, 2L, 9L)));
+        assertTrue(adapter.findAll().isEmpty());
+    }
+}
@@ -0,0 +1,226 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStructuredProductRepositoryAdapterTest {
+
+    private static final long SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private LogStructuredProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+
+    @Test
+    @DisplayName("Debería asignar ID y versión inicial y encontrar el producto por ID")
+    void shouldSaveAndFindById() {
+        // Act
+        Product saved = adapter.save(newProduct("Ratón", 5));
+
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals(saved, adapter.findById(1L).orElseThrow());
+        assertTrue(adapter.findById(2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir el índice reproduciendo el log al reabrir sin instantánea")
+    void shouldReplayLogWithoutSnapshot() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2), newProduct("C", 3)));
+        Product renamed = adapter.findById(saved.get(0).getId()).orElseThrow();
+        renamed.setName("A2");
+        adapter.save(renamed);
+        adapter.deleteById(saved.get(1).getId());
+        crashAndReopen();
+
+        // Act
+        Product next = adapter.save(newProduct("D", 4));
+
+        // Assert
+        assertEquals(List.of("A2", "C", "D"), adapter.findAll().stream().map(Product::getName).toList());
+        assertEquals(1L, adapter.findById(saved.get(0).getId()).orElseThrow().getVersion());
+        assertEquals(4L, next.getId());
+    }
+
+    @Test
+    @DisplayName("Debería arrancar desde la instantánea del índice y reproducir solo los segmentos posteriores")
+    void shouldRecoverFromSnapshotAndNewerSegments() {
+        // Arrange
+        adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2)));
+        adapter.maintain();
+        adapter.save(newProduct("C", 3));
+        adapter.deleteById(1L);
+        crashAndReopen();
+
+        // Act
+        List<String> names = adapter.findAll().stream().map(Product::getName).toList();
+
+        // Assert
+        assertTrue(Files.exists(directory.resolve("index-2.snapshot")), "La instantánea debería cubrir el segmento 1");
+        assertEquals(List.of("B", "C"), names);
+        assertEquals(4L, adapter.save(newProduct("D", 4)).getId());
+    }
+
+    @Test
+    @DisplayName("Debería compactar los segmentos cubiertos por la instantánea conservando solo los registros vigentes")
+    void shouldCompactSupersededRecords() throws IOException {
+        // Arrange
+        adapter.saveAll(IntStream.rangeClosed(1, 20).mapToObj(i -> newProduct("P" + i, 100)).toList());
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 20; id++) {
+                adapter.reserveStock(id, 1);
+            }
+        }
+        adapter.deleteById(20L);
+        long bytesBefore = logBytes();
+
+        // Act
+        adapter.maintain();
+        adapter.maintain();
+
+        // Assert
+        assertTrue(logBytes() < bytesBefore / 2, "La compactación debería descartar los registros sustituidos");
+        assertEquals(19, adapter.findAll().size());
+        assertEquals(95, adapter.findById(7L).orElseThrow().getStock());
+        crashAndReopen();
+        assertEquals(19, adapter.findAll().size());
+        assertTrue(adapter.findById(20L).isEmpty());
+        assertEquals(5L, adapter.findById(7L).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería incrementar la versión al actualizar y rechazar una versión obsoleta")
+    void shouldIncrementVersionAndRejectStaleVersion() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+        Product stale = adapter.findById(saved.getId()).orElseThrow();
+        saved.setName("Ratón inalámbrico");
+
+        // Act
+        Product updated = adapter.save(saved);
+
+        // Assert
+        assertEquals(1L, updated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.save(stale));
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.saveAll(List.of(newProduct("X", 1), stale)));
+        assertEquals(1, adapter.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Debería paginar, filtrar y recorrer en streaming en orden de ID")
+    void shouldPageFilterAndStream() {
+        // Arrange
+        adapter.saveAll(List.of(
+                new Product("Ratón", "Desc", BigDecimal.valueOf(25), 5, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Monitor", "Desc", BigDecimal.valueOf(180), 2, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Novela", "Desc", BigDecimal.valueOf(15), 9, Category.BOOKS, Status.AVAILABLE),
+                new Product("Cable", "Desc", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE)
+        ));
+        ProductFilter filter = new ProductFilter(Category.ELECTRONICS, null, null, BigDecimal.valueOf(50), null);
+
+        // Act
+        List<Product> page = adapter.findPage(1L, 2);
+        List<Long> ids = adapter.findIdsByFilter(filter, null, 10);
+        long streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.count();
+        }
+
+        // Assert
+        assertEquals(List.of(2L, 3L), page.stream().map(Product::getId).toList());
+        assertEquals(List.of(1L, 4L), ids);
+        assertEquals(List.of("Cable"), adapter.findByFilter(filter, 1L, 10).stream().map(Product::getName).toList());
+        assertEquals(4, streamed);
+    }
+
+    @Test
+    @DisplayName("Debería actualizar campos, reservar stock y fijar niveles de stock con sus versiones")
+    void shouldUpdateFieldsReserveAndSetStock() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 3));
+        Product changed = adapter.findById(saved.getId()).orElseThrow();
+        changed.setPrice(BigDecimal.valueOf(30));
+
+        // Act & Assert
+        assertFalse(adapter.updateFields(saved.getId(), 9L, ProductChanges.between(saved, changed)));
+        assertTrue(adapter.updateFields(saved.getId(), 0L, ProductChanges.between(saved, changed)));
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(saved.getId(), 3));
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, adapter.reserveStock(saved.getId(), 1));
+        assertEquals(StockReservationResult.NOT_FOUND, adapter.reserveStock(99L, 1));
+        assertEquals(0, adapter.updateStockLevels(Map.of(saved.getId(), 0)));
+        Product current = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(BigDecimal.valueOf(30), current.getPrice());
+        assertEquals(Status.OUT_OF_STOCK, current.getStatus());
+        assertEquals(2L, current.getVersion());
+        assertEquals(1, adapter.updateStockLevels(Map.of(saved.getId(), 4)));
+        assertEquals(4, adapter.findById(saved.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar argumentos nulos o inválidos")
+    void shouldRejectInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findById(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.deleteAllById(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.reserveStock(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> adapter.updateStockLevels(Map.of(1L, -1)));
+    }
+
+    private LogStructuredProductRepositoryAdapter open() {
+        return new LogStructuredProductRepositoryAdapter(directory, SEGMENT_SIZE, true, Duration.ofHours(1), 0.5);
+    }
+
+    /**
+     * Simula una caída: abre el log de nuevo sin cerrar el adaptador anterior, así que no se
+     * guarda la instantánea final y hay que reproducir lo escrito desde la última.
+     */
+    private void crashAndReopen() {
+        adapter = open();
+    }
+
+    private long logBytes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static Product newProduct(String name, int stock) {
+        return new Product(name, "Desc", BigDecimal.TEN, stock, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
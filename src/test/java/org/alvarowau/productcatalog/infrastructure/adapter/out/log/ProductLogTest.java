@@ -0,0 +1,138 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.log;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debería codificar y decodificar un producto y detectar un registro dañado")
+    void shouldRoundTripRecordsAndDetectCorruption() {
+        // Arrange
+        Product product = new Product(3L, "Cámara", null, new BigDecimal("499.90"), 2,
+                Category.ELECTRONICS, Status.AVAILABLE, 4L);
+
+        // Act
+        byte[] put = ProductLogCodec.encodePut(product);
+        byte[] delete = ProductLogCodec.encodeDelete(3L);
+
+        // Assert
+        assertTrue(ProductLogCodec.isValid(put));
+        assertEquals(product, ProductLogCodec.decodePut(put));
+        assertEquals(4L, ProductLogCodec.version(put));
+        assertEquals(ProductLogCodec.DELETE, ProductLogCodec.type(delete));
+        assertEquals(3L, ProductLogCodec.id(delete));
+        put[put.length - 1] ^= 1;
+        assertFalse(ProductLogCodec.isValid(put));
+    }
+
+    @Test
+    @DisplayName("Debería leer cada registro por su posición y abrir un segmento nuevo al llenarse el activo")
+    void shouldAppendReadAndRollSegments() {
+        try (ProductLog log = ProductLog.open(directory, 100, true)) {
+            log.startSegment(1);
+
+            // Act
+            List<RecordLocation> locations = new ArrayList<>();
+            for (long id = 1; id <= 5; id++) {
+                locations.add(log.append(ProductLogCodec.encodePut(product(id)), 0L));
+            }
+            log.sync();
+
+            // Assert
+            assertTrue(log.segments().size() > 1, "Los registros deberían repartirse en varios segmentos");
+            for (int i = 0; i < locations.size(); i++) {
+                assertEquals(i + 1L, ProductLogCodec.decodePut(log.read(locations.get(i))).getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería truncar al reabrir un registro escrito a medias al final del último segmento")
+    void shouldTruncateTornTailOnScan() throws IOException {
+        // Arrange
+        try (ProductLog log = ProductLog.open(directory, 1 << 20, true)) {
+            log.startSegment(1);
+            log.append(ProductLogCodec.encodePut(product(1)), 0L);
+            log.append(ProductLogCodec.encodePut(product(2)), 0L);
+        }
+        Path segment = directory.resolve("segment-1.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        try (ProductLog reopened = ProductLog.open(directory, 1 << 20, true)) {
+            reopened.scan(1, (number, offset, record) -> ids.add(ProductLogCodec.id(record)));
+
+            // Assert
+            assertEquals(List.of(1L), ids);
+            assertEquals(ProductLogCodec.encodePut(product(1)).length, reopened.size(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería confirmar en grupo escrituras concurrentes sin perder registros")
+    void shouldGroupCommitConcurrentWriters() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ProductLog log = ProductLog.open(directory, 1 << 20, true)) {
+            log.startSegment(1);
+
+            // Act
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * perThread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long id = base + 1; id <= base + perThread; id++) {
+                        log.append(ProductLogCodec.encodePut(product(id)), 0L);
+                        log.sync();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            // Assert
+            List<Long> ids = new ArrayList<>();
+            log.scan(1, (number, offset, record) -> ids.add(ProductLogCodec.id(record)));
+            assertEquals(threads * perThread, ids.size());
+            assertEquals(threads * perThread, ids.stream().distinct().count());
+        }
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "P" + id, "Desc", BigDecimal.TEN, 5, Category.BOOKS, Status.AVAILABLE, 0L);
+    }
+}
@@ -0,0 +1,124 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.mapped;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedProductFileTest {
+
+    private static final int CHUNK_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debería leer un producto exactamente como se escribió, incluidos precio con escala y textos UTF-8")
+    void shouldRoundTripProduct() {
+        // Arrange
+        Product product = new Product(7L, "Cámara réflex", "Óptica 18–55 mm", new BigDecimal("499.90"), 3,
+                Category.ELECTRONICS, Status.AVAILABLE, 2L);
+
+        // Act
+        try (MappedProductFile file = MappedProductFile.open(directory, CHUNK_SIZE)) {
+            int record = file.append(product);
+
+            // Assert
+            assertEquals(product, file.read(record));
+            assertEquals(1, file.recordCount());
+            assertTrue(file.isLive(record));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería conservar los campos nulos")
+    void shouldRoundTripNullFields() {
+        // Arrange
+        Product product = new Product(1L, null, null, null, null, null, null, null);
+
+        // Act
+        try (MappedProductFile file = MappedProductFile.open(directory, CHUNK_SIZE)) {
+            int record = file.append(product);
+
+            // Assert
+            assertEquals(product, file.read(record));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería conservar los registros y los textos al reabrir y no partir textos entre bloques")
+    void shouldPersistAcrossReopenWithoutSplittingStrings() {
+        // Arrange
+        String longText = "x".repeat(200);
+        try (MappedProductFile file = MappedProductFile.open(directory, CHUNK_SIZE)) {
+            for (long id = 1; id <= 10; id++) {
+                file.append(new Product(id, "P" + id, longText + id, BigDecimal.ONE, (int) id,
+                        Category.BOOKS, Status.AVAILABLE, 0L));
+            }
+        }
+
+        // Act
+        try (MappedProductFile reopened = MappedProductFile.open(directory, 4096)) {
+
+            // Assert
+            assertEquals(10, reopened.recordCount());
+            for (int record = 0; record < 10; record++) {
+                Product product = reopened.read(record);
+                assertEquals(record + 1, product.getId());
+                assertEquals(longText + (record + 1), product.getDescription());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería actualizar stock, estado y versión en el sitio sin cambiar los textos")
+    void shouldWriteStockInPlace() {
+        // Arrange
+        try (MappedProductFile file = MappedProductFile.open(directory, CHUNK_SIZE)) {
+            int record = file.append(new Product(1L, "Ratón", "Desc", BigDecimal.TEN, 2,
+                    Category.ELECTRONICS, Status.AVAILABLE, 0L));
+
+            // Act
+            file.writeStock(record, 0, Status.OUT_OF_STOCK, 1L);
+
+            // Assert
+            Product product = file.read(record);
+            assertEquals(0, product.getStock());
+            assertEquals(Status.OUT_OF_STOCK, product.getStatus());
+            assertEquals(1L, product.getVersion());
+            assertEquals("Ratón", product.getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar precios y textos que no caben en la disposición del registro")
+    void shouldRejectValuesThatDoNotFit() {
+        try (MappedProductFile file = MappedProductFile.open(directory, CHUNK_SIZE)) {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> file.checkFits(new Product(1L, "x".repeat(300), "d",
+                    BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE)));
+            assertThrows(IllegalArgumentException.class, () -> file.checkFits(new Product(1L, "x", "d",
+                    new BigDecimal("1e40").setScale(0), 1, Category.BOOKS, Status.AVAILABLE)));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un fichero que no es un almacén de productos")
+    void shouldRejectForeignFile() throws Exception {
+        // Arrange
+        Files.write(directory.resolve("products.records"), new byte[]{1, 2, 3, 4, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> MappedProductFile.open(directory, CHUNK_SIZE));
+    }
+}
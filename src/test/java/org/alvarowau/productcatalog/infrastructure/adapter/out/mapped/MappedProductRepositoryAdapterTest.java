@@ -0,0 +1,229 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.mapped;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedProductRepositoryAdapterTest {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private MappedProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new MappedProductRepositoryAdapter(directory, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.close();
+    }
+
+    @Test
+    @DisplayName("Debería asignar ID y versión inicial y encontrar el producto por ID")
+    void shouldSaveAndFindById() {
+        // Act
+        Product saved = adapter.save(newProduct("Ratón", 5));
+
+        // Assert
+        assertEquals(1L, saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals(saved, adapter.findById(1L).orElseThrow());
+        assertTrue(adapter.findById(2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería conservar productos, borrados y secuencia de IDs al reabrir el almacén")
+    void shouldSurviveReopen() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2), newProduct("C", 3)));
+        adapter.deleteById(saved.get(1).getId());
+        adapter.close();
+
+        // Act
+        adapter = new MappedProductRepositoryAdapter(directory, CHUNK_SIZE);
+        Product next = adapter.save(newProduct("D", 4));
+
+        // Assert
+        assertEquals(List.of(saved.get(0), saved.get(2), next), adapter.findAll());
+        assertEquals(4L, next.getId());
+    }
+
+    @Test
+    @DisplayName("Debería incrementar la versión al actualizar y rechazar una versión obsoleta")
+    void shouldIncrementVersionAndRejectStaleVersion() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+        Product stale = adapter.findById(saved.getId()).orElseThrow();
+        saved.setName("Ratón inalámbrico");
+
+        // Act
+        Product updated = adapter.save(saved);
+
+        // Assert
+        assertEquals(1L, updated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.save(stale));
+        assertEquals("Ratón inalámbrico", adapter.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar saveAll entero, sin guardar nada, si algún producto tiene una versión obsoleta")
+    void shouldRejectSaveAllWithoutPartialWrites() {
+        // Arrange
+        Product existing = adapter.save(newProduct("Ratón", 5));
+        Product stale = new Product(99L, "Fantasma", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE, 4L);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> adapter.saveAll(List.of(newProduct("Nuevo", 1), stale)));
+        assertEquals(List.of(existing), adapter.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería mantener el orden por ID con IDs explícitos y reutilizar el registro de un ID borrado")
+    void shouldKeepIdOrderWithExplicitIds() {
+        // Arrange
+        adapter.save(new Product(10L, "Diez", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE));
+        adapter.save(new Product(5L, "Cinco", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE));
+        adapter.deleteById(5L);
+
+        // Act
+        adapter.save(new Product(5L, "Cinco otra vez", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE));
+        Product next = adapter.save(newProduct("Nuevo", 1));
+
+        // Assert
+        assertEquals(List.of(5L, 10L, 11L), adapter.findAll().stream().map(Product::getId).toList());
+        assertEquals("Cinco otra vez", adapter.findById(5L).orElseThrow().getName());
+        assertEquals(11L, next.getId());
+    }
+
+    @Test
+    @DisplayName("Debería paginar y recorrer en streaming más productos que una página interna")
+    void shouldPageAndStreamAllProducts() {
+        // Arrange
+        adapter.saveAll(IntStream.rangeClosed(1, 1200).mapToObj(i -> newProduct("P" + i, i)).toList());
+
+        // Act
+        List<Product> page = adapter.findPage(1000L, 10);
+        long streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.count();
+        }
+
+        // Assert
+        assertEquals(1001L, page.get(0).getId());
+        assertEquals(10, page.size());
+        assertEquals(1200, streamed);
+    }
+
+    @Test
+    @DisplayName("Debería filtrar por categoría, estado, rango de precio y stock con paginación por cursor")
+    void shouldFindProductsByFilter() {
+        // Arrange
+        adapter.saveAll(List.of(
+                new Product("Ratón", "Desc", BigDecimal.valueOf(25), 5, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Monitor", "Desc", BigDecimal.valueOf(180), 2, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Teclado", "Desc", BigDecimal.valueOf(45), 0, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Novela", "Desc", BigDecimal.valueOf(15), 9, Category.BOOKS, Status.AVAILABLE),
+                new Product("Cable", "Desc", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE)
+        ));
+        ProductFilter filter = new ProductFilter(Category.ELECTRONICS, Status.AVAILABLE, null, BigDecimal.valueOf(50), true);
+
+        // Act
+        List<Product> firstPage = adapter.findByFilter(filter, null, 1);
+        List<Product> secondPage = adapter.findByFilter(filter, firstPage.get(0).getId(), 10);
+        List<Long> ids = adapter.findIdsByFilter(filter, null, 10);
+
+        // Assert
+        assertEquals(List.of("Ratón"), firstPage.stream().map(Product::getName).toList());
+        assertEquals(List.of("Cable"), secondPage.stream().map(Product::getName).toList());
+        assertEquals(List.of(firstPage.get(0).getId(), secondPage.get(0).getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Debería eliminar por ID y en bloque devolviendo cuántos existían")
+    void shouldDeleteByIdAndInBulk() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2), newProduct("C", 3)));
+
+        // Act & Assert
+        assertTrue(adapter.deleteById(saved.get(0).getId()));
+        assertFalse(adapter.deleteById(saved.get(0).getId()));
+        assertEquals(1, adapter.deleteAllById(List.of(saved.get(1).getId(), saved.get(1).getId(), 99L)));
+        assertEquals(List.of(saved.get(2)), adapter.findAllById(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    @DisplayName("Debería actualizar solo los campos cambiados y respetar la versión esperada")
+    void shouldUpdateFieldsWithExpectedVersion() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+        Product updated = adapter.findById(saved.getId()).orElseThrow();
+        updated.setPrice(BigDecimal.valueOf(30));
+        ProductChanges changes = ProductChanges.between(saved, updated);
+
+        // Act & Assert
+        assertFalse(adapter.updateFields(saved.getId(), 7L, changes));
+        assertTrue(adapter.updateFields(saved.getId(), saved.getVersion(), changes));
+        Product current = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(BigDecimal.valueOf(30), current.getPrice());
+        assertEquals("Ratón", current.getName());
+        assertEquals(1L, current.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería reservar stock y fijar niveles de stock marcando como agotado al llegar a cero")
+    void shouldReserveStockAndUpdateStockLevels() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 3), newProduct("B", 2)));
+
+        // Act & Assert
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(saved.get(0).getId(), 3));
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, adapter.reserveStock(saved.get(0).getId(), 1));
+        assertEquals(StockReservationResult.NOT_FOUND, adapter.reserveStock(99L, 1));
+        assertEquals(1, adapter.updateStockLevels(Map.of(saved.get(1).getId(), 0, saved.get(0).getId(), 0)));
+        List<Product> current = adapter.findAll();
+        assertEquals(Status.OUT_OF_STOCK, current.get(0).getStatus());
+        assertEquals(1L, current.get(0).getVersion());
+        assertEquals(Status.OUT_OF_STOCK, current.get(1).getStatus());
+        assertEquals(0, current.get(1).getStock());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar argumentos nulos o inválidos")
+    void shouldRejectInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findById(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findByFilter(null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> adapter.reserveStock(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> adapter.updateStockLevels(Map.of(1L, -1)));
+        assertThrows(IllegalArgumentException.class, () -> new MappedProductRepositoryAdapter(directory.resolve("x"), 100));
+    }
+
+    private static Product newProduct(String name, int stock) {
+        return new Product(name, "Desc", BigDecimal.TEN, stock, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
@@ -44,6 +44,22 @@ class ProductJpaMapperTest {
         assertEquals(domainProduct.getStatus(), jpaEntity.getStatus(), "El estado no coincide");
     }
 
+    @Test
+    @DisplayName("Debería conservar la versión al mapear en ambos sentidos")
+    void shouldMapVersionInBothDirections() {
+        // Arrange
+        Product domainProduct = new Product(1L, "Producto", "Desc", BigDecimal.TEN, 1,
+                Category.ELECTRONICS, Status.AVAILABLE, 5L);
+
+        // Act
+        ProductJpaEntity jpaEntity = ProductJpaMapper.toJpaEntity(domainProduct);
+        Product mappedBack = ProductJpaMapper.toDomainEntity(jpaEntity);
+
+        // Assert
+        assertEquals(5L, jpaEntity.getVersion(), "La versión no coincide en la entidad JPA");
+        assertEquals(5L, mappedBack.getVersion(), "La versión no coincide en el producto de dominio");
+    }
+
     @Test
     @DisplayName("Debería mapear Product de dominio con ID nulo a ProductJpaEntity correctamente")
     void shouldMapDomainProductWithNullIdToJpaEntityCorrectly() {
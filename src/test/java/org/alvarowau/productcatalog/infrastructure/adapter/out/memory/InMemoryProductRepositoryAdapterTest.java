@@ -0,0 +1,248 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.memory;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductRepositoryAdapterTest {
+
+    private InMemoryProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new InMemoryProductRepositoryAdapter();
+    }
+
+    @Test
+    @DisplayName("Debería asignar ID y versión inicial al guardar un producto nuevo")
+    void shouldAssignIdAndVersionOnSave() {
+        // Act
+        Product first = adapter.save(newProduct("Ratón", 5));
+        Product second = adapter.save(newProduct("Teclado", 3));
+
+        // Assert
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals(0L, first.getVersion());
+        assertEquals(Optional.of(first), adapter.findById(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Debería devolver copias, de modo que modificar el resultado no altere lo guardado")
+    void shouldReturnDefensiveCopies() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+
+        // Act
+        adapter.findById(saved.getId()).orElseThrow().setName("Cambiado");
+        adapter.findAll().get(0).setName("Cambiado");
+        saved.setName("Cambiado");
+
+        // Assert
+        assertEquals("Ratón", adapter.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería incrementar la versión al actualizar y rechazar una versión obsoleta")
+    void shouldIncrementVersionAndRejectStaleVersion() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+        Product stale = adapter.findById(saved.getId()).orElseThrow();
+        saved.setName("Ratón inalámbrico");
+
+        // Act
+        Product updated = adapter.save(saved);
+
+        // Assert
+        assertEquals(1L, updated.getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> adapter.save(stale));
+        assertEquals("Ratón inalámbrico", adapter.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Debería restaurar los productos de la llamada si saveAll encuentra un conflicto de versión")
+    void shouldRollBackSaveAllOnConflict() {
+        // Arrange
+        Product existing = adapter.save(newProduct("Ratón", 5));
+        Product renamed = adapter.findById(existing.getId()).orElseThrow();
+        renamed.setName("Ratón inalámbrico");
+        Product stale = new Product(99L, "Fantasma", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE, 4L);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> adapter.saveAll(List.of(newProduct("Nuevo", 1), renamed, stale)));
+        assertEquals(List.of(existing), adapter.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería continuar la secuencia de IDs tras guardar un producto con ID explícito")
+    void shouldAdvanceIdsPastExplicitIds() {
+        // Arrange
+        adapter.save(new Product(10L, "Importado", "Desc", BigDecimal.ONE, 1, Category.BOOKS, Status.AVAILABLE));
+
+        // Act
+        Product next = adapter.save(newProduct("Nuevo", 1));
+
+        // Assert
+        assertEquals(11L, next.getId());
+    }
+
+    @Test
+    @DisplayName("Debería listar, paginar y recorrer los productos ordenados por ID, viendo las escrituras posteriores")
+    void shouldListPagesAndStreamInIdOrder() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2), newProduct("C", 3)));
+        assertEquals(3, adapter.findAll().size());
+
+        // Act
+        adapter.deleteById(saved.get(1).getId());
+        Product added = adapter.save(newProduct("D", 4));
+        List<Product> firstPage = adapter.findPage(null, 2);
+        List<Product> secondPage = adapter.findPage(firstPage.get(1).getId(), 2);
+        List<Long> streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.map(Product::getId).toList();
+        }
+
+        // Assert
+        assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId()),
+                firstPage.stream().map(Product::getId).toList());
+        assertEquals(List.of(added.getId()), secondPage.stream().map(Product::getId).toList());
+        assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId(), added.getId()), streamed);
+    }
+
+    @Test
+    @DisplayName("Debería buscar varios IDs ignorando duplicados e inexistentes")
+    void shouldFindAllByIdIgnoringDuplicatesAndMissing() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2)));
+
+        // Act
+        List<Product> found = adapter.findAllById(List.of(saved.get(1).getId(), 99L, saved.get(1).getId(), saved.get(0).getId()));
+
+        // Assert
+        assertEquals(List.of(saved.get(1), saved.get(0)), found);
+    }
+
+    @Test
+    @DisplayName("Debería filtrar por categoría, estado, rango de precio y stock con paginación por cursor")
+    void shouldFindProductsByFilter() {
+        // Arrange
+        adapter.saveAll(List.of(
+                new Product("Ratón", "Desc", BigDecimal.valueOf(25), 5, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Monitor", "Desc", BigDecimal.valueOf(180), 2, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Teclado", "Desc", BigDecimal.valueOf(45), 0, Category.ELECTRONICS, Status.AVAILABLE),
+                new Product("Novela", "Desc", BigDecimal.valueOf(15), 9, Category.BOOKS, Status.AVAILABLE),
+                new Product("Cable", "Desc", BigDecimal.valueOf(9), 30, Category.ELECTRONICS, Status.AVAILABLE)
+        ));
+        ProductFilter filter = new ProductFilter(Category.ELECTRONICS, Status.AVAILABLE, null, BigDecimal.valueOf(50), true);
+
+        // Act
+        List<Product> firstPage = adapter.findByFilter(filter, null, 1);
+        List<Product> secondPage = adapter.findByFilter(filter, firstPage.get(0).getId(), 10);
+        List<Long> ids = adapter.findIdsByFilter(filter, null, 10);
+
+        // Assert
+        assertEquals(List.of("Ratón"), firstPage.stream().map(Product::getName).toList());
+        assertEquals(List.of("Cable"), secondPage.stream().map(Product::getName).toList());
+        assertEquals(List.of(firstPage.get(0).getId(), secondPage.get(0).getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Debería eliminar por ID y en bloque devolviendo cuántos existían")
+    void shouldDeleteByIdAndInBulk() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 1), newProduct("B", 2), newProduct("C", 3)));
+
+        // Act & Assert
+        assertTrue(adapter.deleteById(saved.get(0).getId()));
+        assertFalse(adapter.deleteById(saved.get(0).getId()));
+        assertEquals(1, adapter.deleteAllById(List.of(saved.get(1).getId(), saved.get(1).getId(), 99L)));
+        assertEquals(List.of(saved.get(2)), adapter.findAll());
+    }
+
+    @Test
+    @DisplayName("Debería actualizar solo los campos cambiados y respetar la versión esperada")
+    void shouldUpdateFieldsWithExpectedVersion() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 5));
+        Product updated = adapter.findById(saved.getId()).orElseThrow();
+        updated.setPrice(BigDecimal.valueOf(30));
+        ProductChanges changes = ProductChanges.between(saved, updated);
+
+        // Act & Assert
+        assertFalse(adapter.updateFields(saved.getId(), 7L, changes));
+        assertTrue(adapter.updateFields(saved.getId(), saved.getVersion(), changes));
+        assertFalse(adapter.updateFields(99L, null, changes));
+        Product current = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(BigDecimal.valueOf(30), current.getPrice());
+        assertEquals("Ratón", current.getName());
+        assertEquals(1L, current.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería reservar stock de forma atómica y marcar el producto como agotado al llegar a cero")
+    void shouldReserveStock() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Ratón", 3));
+
+        // Act & Assert
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(saved.getId(), 2));
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, adapter.reserveStock(saved.getId(), 2));
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(saved.getId(), 1));
+        assertEquals(StockReservationResult.NOT_FOUND, adapter.reserveStock(99L, 1));
+        Product current = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(0, current.getStock());
+        assertEquals(Status.OUT_OF_STOCK, current.getStatus());
+        assertEquals(2L, current.getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería fijar niveles de stock omitiendo los que no cambian y los productos inexistentes")
+    void shouldUpdateStockLevels() {
+        // Arrange
+        List<Product> saved = adapter.saveAll(List.of(newProduct("A", 5), newProduct("B", 2)));
+        Map<Long, Integer> levels = Map.of(saved.get(0).getId(), 0, saved.get(1).getId(), 2, 99L, 4);
+
+        // Act
+        int updated = adapter.updateStockLevels(levels);
+
+        // Assert
+        assertEquals(1, updated);
+        Map<Long, Product> byId = adapter.findAll().stream().collect(Collectors.toMap(Product::getId, p -> p));
+        assertEquals(Status.OUT_OF_STOCK, byId.get(saved.get(0).getId()).getStatus());
+        assertEquals(1L, byId.get(saved.get(0).getId()).getVersion());
+        assertEquals(0L, byId.get(saved.get(1).getId()).getVersion());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar argumentos nulos o inválidos")
+    void shouldRejectInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findById(null));
+        assertThrows(IllegalArgumentException.class, () -> adapter.findByFilter(null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> adapter.reserveStock(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> adapter.updateStockLevels(Map.of(1L, -1)));
+    }
+
+    private static Product newProduct(String name, int stock) {
+        return new Product(name, "Desc", BigDecimal.TEN, stock, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
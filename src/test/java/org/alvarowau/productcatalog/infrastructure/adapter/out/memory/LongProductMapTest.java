@@ -0,0 +1,146 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.memory;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongProductMapTest {
+
+    @Test
+    @DisplayName("Debería guardar, sustituir y eliminar productos por clave")
+    void shouldPutReplaceAndRemoveProducts() {
+        // Arrange
+        LongProductMap map = new LongProductMap();
+        Product first = product(1L, "Ratón");
+        Product second = product(1L, "Ratón inalámbrico");
+
+        // Act & Assert
+        assertNull(map.put(1L, first));
+        assertSame(first, map.put(1L, second));
+        assertSame(second, map.get(1L));
+        assertEquals(1, map.size());
+        assertSame(second, map.remove(1L));
+        assertNull(map.get(1L));
+        assertNull(map.remove(1L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    @DisplayName("Debería conservar todas las claves al crecer y al borrar dentro de cadenas de sondeo")
+    void shouldKeepKeysReachableAcrossResizesAndDeletions() {
+        // Arrange
+        LongProductMap map = new LongProductMap();
+        int count = 20_000;
+        for (long key = 1; key <= count; key++) {
+            map.put(key, product(key, "P" + key));
+        }
+
+        // Act
+        for (long key = 1; key <= count; key += 3) {
+            map.remove(key);
+        }
+
+        // Assert
+        int expected = 0;
+        for (long key = 1; key <= count; key++) {
+            if ((key - 1) % 3 == 0) {
+                assertNull(map.get(key), "La clave " + key + " debería estar eliminada");
+            } else {
+                expected++;
+                assertEquals(key, map.get(key).getId(), "La clave " + key + " debería seguir accesible");
+            }
+        }
+        assertEquals(expected, map.size());
+        List<Product> all = new ArrayList<>();
+        map.forEach(all::add);
+        assertEquals(expected, all.size());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar compute de forma atómica y eliminar la clave si devuelve null")
+    void shouldComputeAtomically() {
+        // Arrange
+        LongProductMap map = new LongProductMap();
+        map.put(7L, product(7L, "Teclado"));
+
+        // Act
+        Product previous = map.compute(7L, current -> product(7L, current.getName() + " mecánico"));
+        map.compute(8L, current -> null);
+
+        // Assert
+        assertEquals("Teclado", previous.getName());
+        assertEquals("Teclado mecánico", map.get(7L).getName());
+        assertNull(map.get(8L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Debería admitir escrituras y lecturas concurrentes sin perder claves")
+    void shouldSupportConcurrentWritersAndReaders() throws Exception {
+        // Arrange
+        LongProductMap map = new LongProductMap();
+        int threads = 8;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long key = base + 1; key <= base + perThread; key++) {
+                    map.put(key, product(key, "P" + key));
+                }
+                return null;
+            }));
+        }
+        Set<Long> misreads = new HashSet<>();
+        for (int r = 0; r < 2; r++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long key = 1; key <= (long) threads * perThread; key++) {
+                    Product found = map.get(key);
+                    if (found != null && found.getId() != key) {
+                        synchronized (misreads) {
+                            misreads.add(key);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(misreads.isEmpty(), "Ninguna lectura debería devolver el producto de otra clave");
+        assertEquals(threads * perThread, map.size());
+        for (long key = 1; key <= (long) threads * perThread; key++) {
+            assertNotNull(map.get(key));
+        }
+    }
+
+    private static Product product(long id, String name) {
+        return new Product(id, name, "Desc", BigDecimal.TEN, 5, Category.ELECTRONICS, Status.AVAILABLE, 0L);
+    }
+}
@@ -0,0 +1,109 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.SearchMode;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexProductSearchAdapterTest {
+
+    private InvertedIndexProductSearchAdapter searchAdapter;
+
+    @BeforeEach
+    void setUp() {
+        searchAdapter = new InvertedIndexProductSearchAdapter();
+        searchAdapter.index(product(1L, "Camiseta de algodón", "Camiseta básica de manga corta"));
+        searchAdapter.index(product(2L, "Pantalón vaquero", "Pantalón de algodón orgánico"));
+        searchAdapter.index(product(3L, "Sudadera", "Sudadera con capucha, tejido de algodón y poliéster"));
+        searchAdapter.index(product(4L, "Altavoz Bluetooth", "Altavoz portátil resistente al agua"));
+    }
+
+    @Test
+    @DisplayName("Debería encontrar productos sin distinguir mayúsculas ni acentos")
+    void shouldFindProductsIgnoringCaseAndAccents() {
+        List<Long> ids = searchAdapter.search("PANTALON", SearchMode.AND, 10);
+
+        assertEquals(List.of(2L), ids);
+    }
+
+    @Test
+    @DisplayName("Debería puntuar más alto las coincidencias en el nombre que en la descripción")
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        List<Long> ids = searchAdapter.search("algodon", SearchMode.AND, 10);
+
+        assertEquals(3, ids.size(), "Tres productos contienen 'algodón'");
+        assertEquals(1L, ids.get(0), "El producto con el término en el nombre debería ir primero");
+    }
+
+    @Test
+    @DisplayName("Debería exigir todos los términos en modo AND y alguno en modo OR")
+    void shouldRequireAllTermsInAndModeAndAnyInOrMode() {
+        List<Long> all = searchAdapter.search("algodón capucha", SearchMode.AND, 10);
+        List<Long> any = searchAdapter.search("capucha altavoz", SearchMode.OR, 10);
+
+        assertEquals(List.of(3L), all);
+        assertEquals(2, any.size());
+        assertTrue(any.containsAll(List.of(3L, 4L)));
+        assertTrue(searchAdapter.search("algodón inexistente", SearchMode.AND, 10).isEmpty(),
+                "Un término sin coincidencias anula la búsqueda AND");
+    }
+
+    @Test
+    @DisplayName("Debería limitar el número de resultados a los más relevantes")
+    void shouldLimitResultsToTopRanked() {
+        List<Long> ids = searchAdapter.search("algodón", SearchMode.OR, 1);
+
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    @DisplayName("Debería actualizar y eliminar productos del índice de forma incremental")
+    void shouldUpdateAndRemoveProductsIncrementally() {
+        // Act
+        searchAdapter.index(product(4L, "Altavoz inteligente", "Altavoz con asistente de voz"));
+        searchAdapter.remove(1L);
+
+        // Assert
+        assertTrue(searchAdapter.search("bluetooth", SearchMode.AND, 10).isEmpty(), "El término antiguo no debería indexarse");
+        assertEquals(List.of(4L), searchAdapter.search("inteligente", SearchMode.AND, 10));
+        assertFalse(searchAdapter.search("camiseta", SearchMode.OR, 10).contains(1L), "El producto eliminado no debería aparecer");
+        assertEquals(3, searchAdapter.documentCount());
+    }
+
+    @Test
+    @DisplayName("Debería reconstruir el índice conservando los cambios recibidos durante la reconstrucción")
+    void shouldRebuildIndexKeepingConcurrentChanges() {
+        // Arrange: el flujo simula la lectura del repositorio mientras llegan cambios
+        Stream<Product> products = Stream.of(
+                product(10L, "Lámpara de mesa", "Lámpara LED regulable"),
+                product(11L, "Silla de oficina", "Silla ergonómica")
+        ).peek(product -> {
+            if (product.getId() == 11L) {
+                searchAdapter.index(product(12L, "Mesa de escritorio", "Mesa de madera"));
+                searchAdapter.remove(10L);
+            }
+        });
+
+        // Act
+        searchAdapter.rebuild(products);
+
+        // Assert
+        assertEquals(2, searchAdapter.documentCount(), "Solo deberían quedar los productos 11 y 12");
+        assertTrue(searchAdapter.search("lampara", SearchMode.AND, 10).isEmpty());
+        assertEquals(List.of(12L), searchAdapter.search("escritorio", SearchMode.AND, 10));
+        assertTrue(searchAdapter.search("camiseta", SearchMode.AND, 10).isEmpty(), "El índice anterior debería descartarse");
+    }
+
+    private static Product product(Long id, String name, String description) {
+        return new Product(id, name, description, BigDecimal.TEN, 5, Category.DEFAULT, Status.AVAILABLE);
+    }
+}
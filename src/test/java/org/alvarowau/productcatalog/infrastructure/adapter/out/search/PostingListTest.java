@@ -0,0 +1,44 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    @DisplayName("Debería encontrar con búsqueda galopante la misma posición que la búsqueda binaria completa")
+    void shouldGallopToSamePositionAsBinarySearch() {
+        // Arrange
+        PostingList list = new PostingList("camiseta");
+        for (long id = 10; id <= 1_000; id += 10) {
+            list.put(id, 1);
+        }
+
+        // Act & Assert
+        for (int from = 0; from <= list.size(); from++) {
+            for (long id = 0; id <= 1_010; id += 3) {
+                if (from == 0 || list.idAt(from - 1) < id) {
+                    assertEquals(list.indexOf(id), list.indexOf(id, from), "id " + id + " desde " + from);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería devolver el punto de inserción al final si el ID supera a todos")
+    void shouldReturnInsertionPointPastEnd() {
+        // Arrange
+        PostingList list = new PostingList("algodon");
+        list.put(1, 1);
+        list.put(5, 1);
+        list.put(9, 1);
+
+        // Act & Assert
+        assertEquals(2, list.indexOf(9, 0));
+        assertEquals(-4, list.indexOf(100, 1));
+        assertEquals(-2, list.indexOf(3, 0));
+        assertEquals(-4, list.indexOf(3, 3));
+    }
+}
@@ -0,0 +1,35 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTextAnalyzerTest {
+
+    @Test
+    @DisplayName("Debería eliminar acentos, pasar a minúsculas y separar por signos de puntuación")
+    void shouldFoldAccentsLowercaseAndSplit() {
+        List<String> terms = SearchTextAnalyzer.analyze("Camión TELEDIRIGIDO, año 2024 (pingüino)");
+
+        assertEquals(List.of("camion", "teledirigido", "ano", "2024", "pinguino"), terms);
+    }
+
+    @Test
+    @DisplayName("Debería descartar palabras vacías y letras sueltas pero conservar dígitos sueltos")
+    void shouldDiscardStopWordsAndSingleLettersButKeepDigits() {
+        List<String> terms = SearchTextAnalyzer.analyze("Funda de la tablet y cargador x 2");
+
+        assertEquals(List.of("funda", "tablet", "cargador", "2"), terms);
+    }
+
+    @Test
+    @DisplayName("Debería devolver una lista vacía para texto nulo o en blanco")
+    void shouldReturnEmptyListForNullOrBlankText() {
+        assertTrue(SearchTextAnalyzer.analyze(null).isEmpty());
+        assertTrue(SearchTextAnalyzer.analyze("   ").isEmpty());
+        assertTrue(SearchTextAnalyzer.analyze("¿?¡!").isEmpty());
+    }
+}
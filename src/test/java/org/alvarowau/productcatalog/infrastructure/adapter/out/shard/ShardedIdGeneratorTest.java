@@ -0,0 +1,95 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedIdGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(ShardedIdGenerator.EPOCH_MILLIS + 1_000);
+    private final ShardedIdGenerator generator = new ShardedIdGenerator(0, clock::get);
+
+    @Test
+    @DisplayName("Debería codificar el fragmento en el ID")
+    void shouldEncodeShardInId() {
+        // Act & Assert
+        for (int shard = 0; shard < 5; shard++) {
+            assertEquals(shard, ShardedIdGenerator.shardOf(generator.next(shard), 5));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería generar IDs únicos y crecientes aunque se agote la secuencia o el reloj retroceda")
+    void shouldGenerateUniqueIncreasingIds() {
+        // Arrange
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+
+        // Act & Assert
+        for (int i = 0; i < 3_000; i++) {
+            if (i == 2_000) {
+                clock.addAndGet(-500);
+            }
+            long id = generator.next(1);
+            assertTrue(id > previous, "Los IDs deben crecer");
+            assertTrue(ids.add(id), "Los IDs no deben repetirse");
+            assertEquals(1, ShardedIdGenerator.shardOf(id, 2));
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("No debería repetir IDs entre instancias con distinto número")
+    void shouldNotRepeatIdsAcrossWorkers() {
+        // Arrange
+        ShardedIdGenerator other = new ShardedIdGenerator(ShardedIdGenerator.MAX_WORKERS - 1, clock::get);
+        Set<Long> ids = new HashSet<>();
+
+        // Act & Assert
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(ids.add(generator.next(2)), "Los IDs no deben repetirse");
+            long id = other.next(2);
+            assertTrue(ids.add(id), "Los IDs no deben repetirse");
+            assertEquals(2, ShardedIdGenerator.shardOf(id, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería generar IDs positivos hasta el final del rango del reloj y rechazar los posteriores")
+    void shouldKeepIdsPositiveUntilClockRangeEnds() {
+        // Arrange
+        long lastMillis = ShardedIdGenerator.EPOCH_MILLIS + (1L << ShardedIdGenerator.TIMESTAMP_BITS) - 1;
+        ShardedIdGenerator last = new ShardedIdGenerator(ShardedIdGenerator.MAX_WORKERS - 1, () -> lastMillis);
+        ShardedIdGenerator beyond = new ShardedIdGenerator(0, () -> lastMillis + 1);
+
+        // Act
+        long id = last.next(ShardedIdGenerator.MAX_SHARDS - 1);
+
+        // Assert
+        assertTrue(id > 0);
+        assertThrows(IllegalStateException.class, () -> beyond.next(0));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un número de instancia fuera de rango")
+    void shouldRejectInvalidWorkerId() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ShardedIdGenerator(-1, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedIdGenerator(ShardedIdGenerator.MAX_WORKERS, clock::get));
+    }
+
+    @Test
+    @DisplayName("Debería asignar un fragmento fijo a los IDs anteriores al reparto")
+    void shouldMapLegacyIdsToFixedShard() {
+        // Act & Assert
+        assertEquals(0, ShardedIdGenerator.shardOf(1L, 4));
+        assertEquals(ShardedIdGenerator.shardOf(5_000L, 4), ShardedIdGenerator.shardOf(5_000L, 4));
+        assertTrue(ShardedIdGenerator.shardOf(Long.MAX_VALUE, 3) < 3);
+    }
+}
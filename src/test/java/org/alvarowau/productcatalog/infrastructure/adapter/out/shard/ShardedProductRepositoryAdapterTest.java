@@ -0,0 +1,188 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.shard;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductFilter;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.jdbc.JdbcProductRepositoryAdapter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ShardedProductRepositoryAdapterTest {
+
+    private List<JdbcProductRepositoryAdapter> shards;
+    private ShardedProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            JdbcProductRepositoryAdapter shard = new JdbcProductRepositoryAdapter(dataSource, Duration.ofSeconds(5), 100);
+            shard.createTableIfMissing();
+            shards.add(shard);
+        }
+        adapter = new ShardedProductRepositoryAdapter(shards, Duration.ofSeconds(5), 4);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        adapter.close();
+    }
+
+    private static Product newProduct(String name, int stock, Category category) {
+        return new Product(name, "Descripción " + name, new BigDecimal("20.00"), stock, category, Status.AVAILABLE);
+    }
+
+    private List<Product> saveCatalog(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(newProduct("Producto " + i, i % 4, i % 2 == 0 ? Category.BOOKS : Category.TOYS));
+        }
+        return adapter.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("Debería repartir los productos nuevos entre los fragmentos y leerlos de su fragmento")
+    void shouldSpreadNewProductsAcrossShards() {
+        // Act
+        List<Product> saved = saveCatalog(9);
+
+        // Assert
+        for (JdbcProductRepositoryAdapter shard : shards) {
+            assertEquals(3, shard.findAll().size(), "Los productos nuevos se asignan por turnos");
+        }
+        for (Product product : saved) {
+            assertEquals(0L, product.getVersion());
+            assertEquals(product, adapter.findById(product.getId()).orElseThrow());
+            assertTrue(shards.get(ShardedIdGenerator.shardOf(product.getId(), 3)).findById(product.getId()).isPresent());
+        }
+        assertEquals(List.of("Producto 0", "Producto 1", "Producto 2"),
+                saved.subList(0, 3).stream().map(Product::getName).toList(), "saveAll conserva el orden recibido");
+    }
+
+    @Test
+    @DisplayName("Debería listar, paginar y recorrer todos los fragmentos ordenando por ID")
+    void shouldMergeListsAcrossShardsById() {
+        // Arrange
+        List<Long> ids = saveCatalog(20).stream().map(Product::getId).sorted().toList();
+
+        // Act
+        List<Long> all = adapter.findAll().stream().map(Product::getId).toList();
+        List<Long> firstPage = adapter.findPage(null, 7).stream().map(Product::getId).toList();
+        List<Long> secondPage = adapter.findPage(firstPage.get(6), 7).stream().map(Product::getId).toList();
+        List<Long> streamed;
+        try (Stream<Product> stream = adapter.streamAll()) {
+            streamed = stream.map(Product::getId).toList();
+        }
+
+        // Assert
+        assertEquals(ids, all);
+        assertEquals(ids.subList(0, 7), firstPage);
+        assertEquals(ids.subList(7, 14), secondPage);
+        assertEquals(ids, streamed);
+    }
+
+    @Test
+    @DisplayName("Debería filtrar en todos los fragmentos y combinar los resultados hasta el límite")
+    void shouldFilterAcrossShards() {
+        // Arrange
+        List<Product> saved = saveCatalog(20);
+        List<Long> expected = saved.stream()
+                .filter(product -> product.getCategory() == Category.BOOKS && product.getStock() > 0)
+                .map(Product::getId)
+                .sorted()
+                .toList();
+        ProductFilter booksInStock = new ProductFilter(Category.BOOKS, null, null, null, true);
+
+        // Act
+        List<Long> found = adapter.findByFilter(booksInStock, null, 100).stream().map(Product::getId).toList();
+        List<Long> limited = adapter.findIdsByFilter(booksInStock, expected.get(0), 2);
+
+        // Assert
+        assertEquals(expected, found);
+        assertEquals(expected.subList(1, 3), limited);
+    }
+
+    @Test
+    @DisplayName("Debería agrupar por fragmento las operaciones sobre varios IDs")
+    void shouldGroupMultiIdOperationsByShard() {
+        // Arrange
+        List<Product> saved = saveCatalog(6);
+        List<Long> ids = saved.stream().map(Product::getId).toList();
+
+        // Act
+        List<Product> found = adapter.findAllById(List.of(ids.get(0), ids.get(1), ids.get(1), 1L));
+        int updated = adapter.updateStockLevels(Map.of(ids.get(0), 9, ids.get(1), 9, ids.get(2), 9));
+        int deleted = adapter.deleteAllById(List.of(ids.get(3), ids.get(4), ids.get(4)));
+
+        // Assert
+        assertEquals(2, found.size());
+        assertEquals(3, updated);
+        assertEquals(9, adapter.findById(ids.get(2)).orElseThrow().getStock());
+        assertEquals(2, deleted);
+        assertEquals(4, adapter.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Debería enviar al fragmento del ID las escrituras de un solo producto")
+    void shouldRouteSingleProductWritesToItsShard() {
+        // Arrange
+        Product saved = adapter.save(newProduct("Peonza", 1, Category.TOYS));
+
+        // Act & Assert
+        assertEquals(StockReservationResult.RESERVED, adapter.reserveStock(saved.getId(), 1));
+        assertEquals(Status.OUT_OF_STOCK, adapter.findById(saved.getId()).orElseThrow().getStatus());
+        assertTrue(adapter.deleteById(saved.getId()));
+        assertTrue(adapter.findById(saved.getId()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> adapter.findById(null));
+    }
+
+    @Test
+    @DisplayName("Debería fallar si un fragmento no responde a tiempo en una consulta en paralelo")
+    void shouldFailWhenShardTimesOut() throws Exception {
+        // Arrange
+        ProductRepositoryPort slow = mock(ProductRepositoryPort.class);
+        when(slow.findPage(any(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+        ProductRepositoryPort fast = mock(ProductRepositoryPort.class);
+        when(fast.findPage(any(), anyInt())).thenReturn(List.of());
+        try (ShardedProductRepositoryAdapter withSlowShard =
+                     new ShardedProductRepositoryAdapter(List.of(fast, slow), Duration.ofMillis(100), 2)) {
+
+            // Act & Assert
+            assertThrows(QueryTimeoutException.class, () -> withSlowShard.findPage(null, 10));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería mezclar listas ordenadas respetando el límite")
+    void shouldMergeSortedListsUpToLimit() {
+        // Act
+        List<Long> merged = ShardedProductRepositoryAdapter.mergeById(
+                List.of(List.of(1L, 4L, 9L), List.of(), List.of(2L, 3L, 10L)), Long::longValue, 5);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 9L), merged);
+    }
+}
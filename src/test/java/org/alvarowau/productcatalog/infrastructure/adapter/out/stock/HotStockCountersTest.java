@@ -0,0 +1,103 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotStockCountersTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofHours(1);
+
+    @Mock
+    private ProductRepositoryPort delegate;
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    @DisplayName("Debería cargar el stock de la base de datos y volcar solo los contadores que cambian")
+    void shouldFlushChangedCounters() {
+        // Arrange
+        when(delegate.findAllById(any())).thenReturn(List.of(product(1L, 10), product(2L, 5)));
+        HotStockCounters counters = new HotStockCounters(delegate, List.of(1L, 2L, 3L), journalDirectory,
+                FLUSH_INTERVAL, false);
+        counters.start();
+
+        // Act
+        StockReservationResult reserved = counters.reserve(1L, 4);
+        StockReservationResult rejected = counters.reserve(2L, 6);
+        counters.flush();
+        counters.flush();
+        counters.close();
+
+        // Assert
+        assertEquals(StockReservationResult.RESERVED, reserved);
+        assertEquals(StockReservationResult.INSUFFICIENT_STOCK, rejected);
+        assertTrue(counters.isHot(1L));
+        assertFalse(counters.isHot(3L), "Los productos inexistentes no deberían tener contador");
+        verify(delegate).updateStockLevels(Map.of(1L, 10, 2L, 5));
+        verify(delegate).updateStockLevels(Map.of(1L, 6));
+        verify(delegate, times(2)).updateStockLevels(anyMap());
+    }
+
+    @Test
+    @DisplayName("Debería recuperar del diario las reservas no volcadas tras una caída")
+    void shouldRecoverUnflushedReservationsFromJournal() {
+        // Arrange
+        when(delegate.findAllById(any())).thenReturn(List.of(product(1L, 10)));
+        HotStockCounters crashed = new HotStockCounters(delegate, List.of(1L), journalDirectory, FLUSH_INTERVAL, false);
+        crashed.start();
+        crashed.reserve(1L, 3);
+        crashed.reserve(1L, 2);
+
+        // Act: un proceso nuevo arranca sin que el anterior haya volcado ni cerrado
+        HotStockCounters restarted = new HotStockCounters(delegate, List.of(1L), journalDirectory, FLUSH_INTERVAL, false);
+        restarted.start();
+
+        // Assert
+        assertEquals(5, restarted.available(1L));
+        verify(delegate).updateStockLevels(Map.of(1L, 5));
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Debería volver a volcar el stock si la escritura en la base de datos falla")
+    void shouldRetryFailedFlush() {
+        // Arrange
+        when(delegate.findAllById(any())).thenReturn(List.of(product(1L, 10)));
+        HotStockCounters counters = new HotStockCounters(delegate, List.of(1L), journalDirectory, FLUSH_INTERVAL, false);
+        counters.start();
+        counters.reserve(1L, 1);
+        when(delegate.updateStockLevels(Map.of(1L, 9))).thenThrow(new IllegalStateException("DB down")).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, counters::flush);
+        counters.flush();
+        verify(delegate, times(2)).updateStockLevels(Map.of(1L, 9));
+        counters.close();
+    }
+
+    private static Product product(Long id, int stock) {
+        return new Product(id, "Producto " + id, "Desc", BigDecimal.TEN, stock, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
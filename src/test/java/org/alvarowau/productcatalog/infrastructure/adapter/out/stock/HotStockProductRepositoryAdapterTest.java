@@ -0,0 +1,171 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.domain.model.Category;
+import org.alvarowau.productcatalog.domain.model.Product;
+import org.alvarowau.productcatalog.domain.model.ProductChanges;
+import org.alvarowau.productcatalog.domain.model.Status;
+import org.alvarowau.productcatalog.domain.model.StockReservationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotStockProductRepositoryAdapterTest {
+
+    @Mock
+    private ProductRepositoryPort delegate;
+
+    @TempDir
+    Path journalDirectory;
+
+    private HotStockCounters counters;
+
+    private HotStockProductRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.findAllById(any())).thenReturn(List.of(product(1L, 3)));
+        counters = new HotStockCounters(delegate, List.of(1L), journalDirectory, Duration.ofHours(1), false);
+        counters.start();
+        adapter = new HotStockProductRepositoryAdapter(delegate, counters);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counters.close();
+    }
+
+    @Test
+    @DisplayName("Debería reservar en memoria el stock de los productos con contador")
+    void shouldReserveHotProductsInMemory() {
+        // Act
+        StockReservationResult result = adapter.reserveStock(1L, 2);
+
+        // Assert
+        assertEquals(StockReservationResult.RESERVED, result);
+        assertEquals(1, counters.available(1L));
+        verify(delegate, never()).reserveStock(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debería delegar las reservas de los productos sin contador")
+    void shouldDelegateReservationsOfOtherProducts() {
+        // Arrange
+        when(delegate.reserveStock(2L, 1)).thenReturn(StockReservationResult.NOT_FOUND);
+
+        // Act
+        StockReservationResult result = adapter.reserveStock(2L, 1);
+
+        // Assert
+        assertEquals(StockReservationResult.NOT_FOUND, result);
+    }
+
+    @Test
+    @DisplayName("Debería mostrar el stock en memoria y marcar como agotado el producto sin unidades")
+    void shouldOverlayInMemoryStockOnReads() {
+        // Arrange
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, 3)));
+        adapter.reserveStock(1L, 3);
+
+        // Act
+        Product product = adapter.findById(1L).orElseThrow();
+
+        // Assert
+        assertEquals(0, product.getStock());
+        assertEquals(Status.OUT_OF_STOCK, product.getStatus());
+    }
+
+    @Test
+    @DisplayName("Debería fijar el contador cuando una actualización cambia el stock")
+    void shouldResetCounterOnStockUpdate() {
+        // Arrange
+        Product current = product(1L, 3);
+        Product updated = product(1L, 20);
+        when(delegate.updateFields(eq(1L), any(), any())).thenReturn(true);
+
+        // Act
+        adapter.updateFields(1L, null, ProductChanges.between(current, updated));
+
+        // Assert
+        assertEquals(20, counters.available(1L));
+    }
+
+    @Test
+    @DisplayName("No debería sobrescribir con un volcado el stock fijado por una actualización concurrente")
+    void shouldNotLetFlushOverwriteConcurrentStockUpdate() throws Exception {
+        // Arrange
+        AtomicInteger storedStock = new AtomicInteger(3);
+        CountDownLatch flushWriting = new CountDownLatch(1);
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Map<Long, Integer> stockById = invocation.getArgument(0);
+            flushWriting.countDown();
+            assertTrue(releaseFlush.await(5, TimeUnit.SECONDS));
+            storedStock.set(stockById.get(1L));
+            return 1;
+        }).when(delegate).updateStockLevels(any());
+        when(delegate.updateFields(eq(1L), any(), any())).thenAnswer(invocation -> {
+            storedStock.set(20);
+            return true;
+        });
+        adapter.reserveStock(1L, 1);
+        Thread flush = new Thread(counters::flush);
+        Thread update = new Thread(() ->
+                adapter.updateFields(1L, null, ProductChanges.between(product(1L, 3), product(1L, 20))));
+
+        // Act
+        flush.start();
+        assertTrue(flushWriting.await(5, TimeUnit.SECONDS));
+        update.start();
+        while (update.getState() != Thread.State.BLOCKED && update.isAlive()) {
+            Thread.onSpinWait();
+        }
+        releaseFlush.countDown();
+        flush.join(5000);
+        update.join(5000);
+
+        // Assert
+        assertEquals(20, storedStock.get());
+        assertEquals(20, counters.available(1L));
+    }
+
+    @Test
+    @DisplayName("Debería dejar de gestionar el stock de un producto borrado")
+    void shouldDropCounterOnDelete() {
+        // Arrange
+        when(delegate.deleteById(1L)).thenReturn(true);
+
+        // Act
+        adapter.deleteById(1L);
+
+        // Assert
+        assertFalse(counters.isHot(1L));
+    }
+
+    private static Product product(Long id, int stock) {
+        return new Product(id, "Producto " + id, "Desc", BigDecimal.TEN, stock, Category.ELECTRONICS, Status.AVAILABLE);
+    }
+}
@@ -0,0 +1,111 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Debería reconstruir el stock restando las reservas posteriores al punto de control")
+    void shouldRecoverStockFromCheckpointsAndReservations() {
+        // Arrange
+        try (StockJournal journal = StockJournal.open(directory, 1, false)) {
+            journal.appendCheckpoint(1L, 0, 0, 5);
+            journal.appendCheckpoint(1L, 1, 0, 5);
+            journal.appendReservation(1L, 0, 1, 2);
+            journal.appendReservation(1L, 1, 1, 1);
+            journal.appendCheckpoint(2L, 0, 3, 4);
+        }
+
+        // Act
+        StockJournal.Recovery recovery = StockJournal.recover(directory);
+
+        // Assert
+        assertEquals(Map.of(1L, 7, 2L, 4), recovery.stock());
+        assertEquals(1, recovery.lastGeneration());
+    }
+
+    @Test
+    @DisplayName("No debería descontar las reservas ya incluidas en un punto de control más reciente")
+    void shouldIgnoreReservationsCoveredByNewerCheckpoint() {
+        // Arrange
+        try (StockJournal journal = StockJournal.open(directory, 1, false)) {
+            journal.appendCheckpoint(1L, 0, 0, 10);
+            journal.appendReservation(1L, 0, 1, 3);
+            StockJournal.Generation previous = journal.rotate();
+            journal.appendReservation(1L, 0, 2, 1);
+            journal.appendCheckpoint(1L, 0, 2, 6);
+            journal.appendReservation(1L, 0, 3, 2);
+            journal.force();
+            assertTrue(Files.exists(directory.resolve("stock-journal-1.log")));
+            journal.retire(previous);
+        }
+
+        // Act
+        StockJournal.Recovery recovery = StockJournal.recover(directory);
+
+        // Assert
+        assertEquals(Map.of(1L, 4), recovery.stock());
+        assertEquals(2, recovery.lastGeneration());
+        assertFalse(Files.exists(directory.resolve("stock-journal-1.log")));
+    }
+
+    @Test
+    @DisplayName("Debería contar las reservas de la generación nueva si la caída ocurre antes de su punto de control")
+    void shouldRecoverReservationsWrittenBeforeNewCheckpoint() {
+        // Arrange
+        try (StockJournal journal = StockJournal.open(directory, 1, false)) {
+            journal.appendCheckpoint(1L, 0, 0, 10);
+            journal.appendReservation(1L, 0, 1, 3);
+            journal.rotate();
+            journal.appendReservation(1L, 0, 2, 1);
+        }
+
+        // Act
+        StockJournal.Recovery recovery = StockJournal.recover(directory);
+
+        // Assert
+        assertEquals(Map.of(1L, 6), recovery.stock());
+    }
+
+    @Test
+    @DisplayName("Debería descartar un registro incompleto al final del fichero")
+    void shouldIgnoreTornRecord() throws IOException {
+        // Arrange
+        try (StockJournal journal = StockJournal.open(directory, 1, false)) {
+            journal.appendCheckpoint(1L, 0, 0, 10);
+            journal.appendReservation(1L, 0, 1, 3);
+        }
+        Files.write(directory.resolve("stock-journal-1.log"), new byte[StockJournal.RECORD_SIZE / 2],
+                StandardOpenOption.APPEND);
+
+        // Act
+        StockJournal.Recovery recovery = StockJournal.recover(directory);
+
+        // Assert
+        assertEquals(Map.of(1L, 7), recovery.stock());
+    }
+
+    @Test
+    @DisplayName("Debería devolver una recuperación vacía si no hay diario")
+    void shouldRecoverNothingWithoutJournal() {
+        // Act
+        StockJournal.Recovery recovery = StockJournal.recover(directory.resolve("missing"));
+
+        // Assert
+        assertTrue(recovery.stock().isEmpty());
+        assertEquals(0, recovery.lastGeneration());
+    }
+}
@@ -0,0 +1,123 @@
+package org.alvarowau.productcatalog.infrastructure.adapter.out.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    private static final StripedStockCounter.StripeRecorder NO_OP = new StripedStockCounter.StripeRecorder() {
+        @Override
+        public void reserved(int stripe, int seq, int quantity) {
+        }
+
+        @Override
+        public void checkpoint(int stripe, int seq, int stock) {
+        }
+    };
+
+    @Test
+    @DisplayName("Debería repartir el stock inicial entre las franjas")
+    void shouldSpreadInitialStockAcrossStripes() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+        List<Integer> stripes = new ArrayList<>();
+
+        // Act
+        int total = counter.snapshot(new StripedStockCounter.StripeRecorder() {
+            @Override
+            public void reserved(int stripe, int seq, int quantity) {
+            }
+
+            @Override
+            public void checkpoint(int stripe, int seq, int stock) {
+                stripes.add(stock);
+            }
+        });
+
+        // Assert
+        assertEquals(10, total);
+        assertEquals(List.of(3, 3, 2, 2), stripes);
+    }
+
+    @Test
+    @DisplayName("Debería reunir las unidades de varias franjas cuando ninguna basta por sí sola")
+    void shouldReserveAcrossStripes() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(4, 10);
+
+        // Act & Assert
+        assertTrue(counter.tryReserve(7, NO_OP));
+        assertEquals(3, counter.available());
+        assertFalse(counter.tryReserve(4, NO_OP));
+        assertEquals(3, counter.available());
+        assertTrue(counter.tryReserve(3, NO_OP));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    @DisplayName("Debería sustituir el stock por un valor absoluto")
+    void shouldSetAbsoluteStock() {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(8, 3);
+
+        // Act
+        counter.set(20, NO_OP);
+
+        // Assert
+        assertEquals(20, counter.available());
+    }
+
+    @Test
+    @DisplayName("No debería vender más unidades de las disponibles con reservas concurrentes")
+    void shouldNeverOversellUnderContention() throws Exception {
+        // Arrange
+        StripedStockCounter counter = new StripedStockCounter(8, 1000);
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    int quantity = 1 + i % 3;
+                    if (counter.tryReserve(quantity, NO_OP)) {
+                        reserved.addAndGet(quantity);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(reserved.get() <= 1000, "No debería reservar más del stock inicial");
+        assertEquals(1000 - reserved.get(), counter.available());
+        assertTrue(counter.available() < 3, "Solo deberían quedar unidades que no alcanzan para ninguna reserva pendiente");
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un número de franjas que no sea potencia de dos")
+    void shouldRejectInvalidStripeCount() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new StripedStockCounter(3, 10));
+        assertThrows(IllegalArgumentException.class, () -> new StripedStockCounter(4, -1));
+    }
+}
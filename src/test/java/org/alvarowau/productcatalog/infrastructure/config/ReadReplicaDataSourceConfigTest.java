@@ -0,0 +1,75 @@
+package org.alvarowau.productcatalog.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ConnectionLimitingDataSource;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.datasource.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "product.datasource.replica.url=jdbc:h2:mem:productdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "product.datasource.replica.maximum-pool-size=3",
+        "product.datasource.replica.hikari.connection-timeout=4000",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "spring.datasource.hikari.connection-timeout=5000",
+        "spring.threads.virtual.enabled=true"
+})
+class ReadReplicaDataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    @DisplayName("Debería aplicar la configuración spring.datasource.hikari al pool principal cuando hay réplica")
+    void shouldBindHikariSettingsToPrimaryPool() throws Exception {
+        // Act
+        HikariDataSource primary = primaryDataSource.unwrap(HikariDataSource.class);
+
+        // Assert
+        assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+        assertEquals("primary", primary.getPoolName());
+        assertEquals(7, primary.getMaximumPoolSize());
+        assertEquals(5000, primary.getConnectionTimeout());
+    }
+
+    @Test
+    @DisplayName("Debería configurar el pool de la réplica con sus propias opciones")
+    void shouldConfigureReplicaPool() throws Exception {
+        // Act
+        HikariDataSource replica = replicaDataSource.unwrap(HikariDataSource.class);
+
+        // Assert
+        assertEquals("replica", replica.getPoolName());
+        assertTrue(replica.isReadOnly());
+        assertEquals(3, replica.getMaximumPoolSize());
+        assertEquals(4000, replica.getConnectionTimeout());
+    }
+
+    @Test
+    @DisplayName("Debería limitar cada pool con tantos permisos como conexiones tiene en modo de hilos virtuales")
+    void shouldSizeConnectionPermitsPerPool() {
+        // Act
+        ConnectionLimitingDataSource primary = assertInstanceOf(ConnectionLimitingDataSource.class, primaryDataSource);
+        ConnectionLimitingDataSource replica = assertInstanceOf(ConnectionLimitingDataSource.class, replicaDataSource);
+
+        // Assert
+        assertEquals(7, primary.availablePermits());
+        assertEquals(3, replica.availablePermits());
+        assertFalse(dataSource instanceof ConnectionLimitingDataSource);
+    }
+}
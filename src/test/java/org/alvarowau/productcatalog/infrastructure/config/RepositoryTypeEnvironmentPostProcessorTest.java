@@ -0,0 +1,35 @@
+package org.alvarowau.productcatalog.infrastructure.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.alvarowau.productcatalog.application.port.out.ProductRepositoryPort;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.ProductJpaAdapter;
+import org.alvarowau.productcatalog.infrastructure.adapter.out.memory.InMemoryProductRepositoryAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "product.repository.type=memory")
+class RepositoryTypeEnvironmentPostProcessorTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ProductRepositoryPort productRepositoryPort;
+
+    @Test
+    @DisplayName("No debería arrancar la base de datos ni JPA con un repositorio distinto de JPA")
+    void shouldNotStartDataSourceOrJpaWithOtherRepositories() {
+        // Assert
+        assertInstanceOf(InMemoryProductRepositoryAdapter.class, productRepositoryPort);
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+        assertEquals(0, context.getBeanNamesForType(EntityManagerFactory.class).length);
+        assertEquals(0, context.getBeanNamesForType(ProductJpaAdapter.class).length);
+    }
+}